@@ -0,0 +1,51 @@
+package com.unslg.aulavirtual.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    // Boot only creates its pooled executor when no other Executor bean exists, and the beans below
+    // would replace it with an unpooled one for MVC async requests (StreamingResponseBody exports
+    // and feeds). Declared here so it keeps the spring.task.execution settings.
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    // Runs the independent queries of one request side by side. Bounded by the connection pool;
+    // when the queue is full the request thread runs the query itself instead of failing.
+    @Bean
+    public ThreadPoolTaskExecutor agendaExecutor(@Value("${app.agenda.query-threads:8}") int queryThreads,
+                                                 @Value("${app.agenda.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(queryThreads);
+        executor.setMaxPoolSize(queryThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("agenda-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // Renders daily digests for several user chunks at once; the scheduling thread runs a chunk
+    // itself when the queue is full, which keeps the backlog of claimed chunks bounded
+    @Bean
+    public ThreadPoolTaskExecutor digestExecutor(@Value("${app.notification.digest.threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 2);
+        executor.setThreadNamePrefix("digest-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,33 @@
+package com.unslg.aulavirtual.controller;
+
+import com.unslg.aulavirtual.dto.response.AgendaItemResponse;
+import com.unslg.aulavirtual.dto.response.ApiResponse;
+import com.unslg.aulavirtual.dto.response.CursorPageResponse;
+import com.unslg.aulavirtual.security.UserPrincipal;
+import com.unslg.aulavirtual.service.AgendaService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/agenda")
+@RequiredArgsConstructor
+public class AgendaController {
+
+    private final AgendaService agendaService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<CursorPageResponse<AgendaItemResponse>>> getAgenda(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPageResponse<AgendaItemResponse> agenda = agendaService.getAgenda(currentUser.getId(), from, to, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success("Agenda retrieved successfully", agenda));
+    }
+}
@@ -1,10 +1,20 @@
 package com.unslg.aulavirtual.controller;
 
+import com.unslg.aulavirtual.dto.request.AnnouncementRequest;
+import com.unslg.aulavirtual.dto.response.AnnouncementResponse;
+import com.unslg.aulavirtual.dto.response.AnnouncementSummaryResponse;
 import com.unslg.aulavirtual.dto.response.ApiResponse;
-import com.unslg.aulavirtual.entity.Announcement;
+import com.unslg.aulavirtual.dto.response.CursorPageResponse;
+import com.unslg.aulavirtual.security.UserPrincipal;
+import com.unslg.aulavirtual.service.AnnouncementFeedService;
+import com.unslg.aulavirtual.service.AnnouncementService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -14,36 +24,57 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AnnouncementController {
 
+    private final AnnouncementService announcementService;
+    private final AnnouncementFeedService announcementFeedService;
+
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Announcement>>> getAllAnnouncements() {
-        // Implementation would go here
-        return ResponseEntity.ok(ApiResponse.success("Announcements retrieved successfully"));
+    public ResponseEntity<ApiResponse<List<AnnouncementResponse>>> getAllAnnouncements() {
+        List<AnnouncementResponse> announcements = announcementService.getPublishedAnnouncements();
+        return ResponseEntity.ok(ApiResponse.success("Announcements retrieved successfully", announcements));
+    }
+
+    // Site-wide announcements plus those of the user's courses; unchanged feeds answer 304
+    @GetMapping("/feed")
+    public ResponseEntity<ApiResponse<CursorPageResponse<AnnouncementSummaryResponse>>> getFeed(@RequestParam(required = false) String cursor,
+                                                                                             @RequestParam(required = false) Integer limit,
+                                                                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                                                             @AuthenticationPrincipal UserPrincipal currentUser) {
+        String eTag = announcementFeedService.getFeedETag(currentUser.getId(), cursor, limit);
+        if (eTag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        CursorPageResponse<AnnouncementSummaryResponse> feed = announcementFeedService.getFeed(currentUser.getId(), cursor, limit);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(ApiResponse.success("Announcement feed retrieved successfully", feed));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Announcement>> getAnnouncementById(@PathVariable Long id) {
-        // Implementation would go here
-        return ResponseEntity.ok(ApiResponse.success("Announcement retrieved successfully"));
+    public ResponseEntity<ApiResponse<AnnouncementResponse>> getAnnouncementById(@PathVariable Long id,
+                                                                                 @AuthenticationPrincipal UserPrincipal currentUser) {
+        AnnouncementResponse announcement = announcementService.getAnnouncementById(id, currentUser.getId());
+        return ResponseEntity.ok(ApiResponse.success("Announcement retrieved successfully", announcement));
     }
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
-    public ResponseEntity<ApiResponse<Announcement>> createAnnouncement(@RequestBody Announcement announcement) {
-        // Implementation would go here
-        return ResponseEntity.ok(ApiResponse.success("Announcement created successfully"));
+    public ResponseEntity<ApiResponse<AnnouncementResponse>> createAnnouncement(@Valid @RequestBody AnnouncementRequest request,
+                                                                                @AuthenticationPrincipal UserPrincipal currentUser) {
+        AnnouncementResponse announcement = announcementService.createAnnouncement(request, currentUser.getId());
+        return ResponseEntity.ok(ApiResponse.success("Announcement created successfully", announcement));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
-    public ResponseEntity<ApiResponse<Announcement>> updateAnnouncement(@PathVariable Long id, @RequestBody Announcement announcementDetails) {
-        // Implementation would go here
-        return ResponseEntity.ok(ApiResponse.success("Announcement updated successfully"));
+    public ResponseEntity<ApiResponse<AnnouncementResponse>> updateAnnouncement(@PathVariable Long id, @Valid @RequestBody AnnouncementRequest request) {
+        AnnouncementResponse announcement = announcementService.updateAnnouncement(id, request);
+        return ResponseEntity.ok(ApiResponse.success("Announcement updated successfully", announcement));
     }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
     public ResponseEntity<ApiResponse<Void>> deleteAnnouncement(@PathVariable Long id) {
-        // Implementation would go here
+        announcementService.deleteAnnouncement(id);
         return ResponseEntity.ok(ApiResponse.success("Announcement deleted successfully"));
     }
 }
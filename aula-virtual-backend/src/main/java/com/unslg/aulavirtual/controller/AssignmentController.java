@@ -1,16 +1,28 @@
 package com.unslg.aulavirtual.controller;
 
 import com.unslg.aulavirtual.dto.request.AssignmentRequest;
+import com.unslg.aulavirtual.dto.request.GradeRequest;
+import com.unslg.aulavirtual.dto.request.ResponseIncludes;
 import com.unslg.aulavirtual.dto.response.ApiResponse;
-import com.unslg.aulavirtual.entity.Assignment;
+import com.unslg.aulavirtual.dto.response.AssignmentResponse;
+import com.unslg.aulavirtual.dto.response.SubmissionResponse;
+import com.unslg.aulavirtual.security.UserPrincipal;
 import com.unslg.aulavirtual.service.AssignmentService;
+import com.unslg.aulavirtual.service.SubmissionArchiveService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/assignments")
@@ -18,42 +30,58 @@ import java.util.List;
 public class AssignmentController {
 
     private final AssignmentService assignmentService;
+    private final SubmissionArchiveService submissionArchiveService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Assignment>>> getAllAssignments() {
-        List<Assignment> assignments = assignmentService.getAllAssignments();
+    public ResponseEntity<ApiResponse<List<AssignmentResponse>>> getAllAssignments(@RequestParam(required = false) Set<String> include) {
+        List<AssignmentResponse> assignments = assignmentService.getAllAssignments(ResponseIncludes.of(include));
         return ResponseEntity.ok(ApiResponse.success("Assignments retrieved successfully", assignments));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Assignment>> getAssignmentById(@PathVariable Long id) {
-        Assignment assignment = assignmentService.getAssignmentById(id);
+    public ResponseEntity<ApiResponse<AssignmentResponse>> getAssignmentById(@PathVariable Long id, @RequestParam(required = false) Set<String> include) {
+        AssignmentResponse assignment = assignmentService.getAssignmentById(id, ResponseIncludes.of(include));
         return ResponseEntity.ok(ApiResponse.success("Assignment retrieved successfully", assignment));
     }
 
+    @GetMapping(value = "/{id}/submissions.zip", produces = "application/zip")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
+    public ResponseEntity<StreamingResponseBody> downloadSubmissions(@PathVariable Long id,
+                                                                     @AuthenticationPrincipal UserPrincipal currentUser) {
+        submissionArchiveService.checkCanExport(id, currentUser);
+        StreamingResponseBody body = outputStream -> submissionArchiveService.writeSubmissionsZip(id, outputStream);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("assignment-" + id + "-submissions.zip")
+                        .build()
+                        .toString())
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(body);
+    }
+
     @GetMapping("/course/{courseId}")
-    public ResponseEntity<ApiResponse<List<Assignment>>> getAssignmentsByCourse(@PathVariable Long courseId) {
-        List<Assignment> assignments = assignmentService.getAssignmentsByCourse(courseId);
+    public ResponseEntity<ApiResponse<List<AssignmentResponse>>> getAssignmentsByCourse(@PathVariable Long courseId, @RequestParam(required = false) Set<String> include) {
+        List<AssignmentResponse> assignments = assignmentService.getAssignmentsByCourse(courseId, ResponseIncludes.of(include));
         return ResponseEntity.ok(ApiResponse.success("Course assignments retrieved successfully", assignments));
     }
 
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<ApiResponse<List<Assignment>>> getAssignmentsByStudent(@PathVariable Long studentId) {
-        List<Assignment> assignments = assignmentService.getAssignmentsByStudent(studentId);
+    public ResponseEntity<ApiResponse<List<AssignmentResponse>>> getAssignmentsByStudent(@PathVariable Long studentId, @RequestParam(required = false) Set<String> include) {
+        List<AssignmentResponse> assignments = assignmentService.getAssignmentsByStudent(studentId, ResponseIncludes.of(include));
         return ResponseEntity.ok(ApiResponse.success("Student assignments retrieved successfully", assignments));
     }
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
-    public ResponseEntity<ApiResponse<Assignment>> createAssignment(@Valid @RequestBody AssignmentRequest request) {
-        Assignment assignment = assignmentService.createAssignment(request);
+    public ResponseEntity<ApiResponse<AssignmentResponse>> createAssignment(@Valid @RequestBody AssignmentRequest request) {
+        AssignmentResponse assignment = assignmentService.createAssignment(request);
         return ResponseEntity.ok(ApiResponse.success("Assignment created successfully", assignment));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
-    public ResponseEntity<ApiResponse<Assignment>> updateAssignment(@PathVariable Long id, @Valid @RequestBody AssignmentRequest request) {
-        Assignment assignment = assignmentService.updateAssignment(id, request);
+    public ResponseEntity<ApiResponse<AssignmentResponse>> updateAssignment(@PathVariable Long id, @Valid @RequestBody AssignmentRequest request) {
+        AssignmentResponse assignment = assignmentService.updateAssignment(id, request);
         return ResponseEntity.ok(ApiResponse.success("Assignment updated successfully", assignment));
     }
 
@@ -64,9 +92,33 @@ public class AssignmentController {
         return ResponseEntity.ok(ApiResponse.success("Assignment deleted successfully"));
     }
 
+    @PostMapping(value = "/{id}/submissions", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<ApiResponse<SubmissionResponse>> submitAssignment(@PathVariable Long id,
+                                                                            @RequestParam(required = false) String submissionText,
+                                                                            @RequestParam(required = false) MultipartFile file,
+                                                                            @AuthenticationPrincipal UserPrincipal currentUser) {
+        SubmissionResponse submission = assignmentService.submitAssignment(id, currentUser.getId(), submissionText, file);
+        return ResponseEntity.ok(ApiResponse.success("Assignment submitted successfully", submission));
+    }
+
+    @DeleteMapping("/submissions/{submissionId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
+    public ResponseEntity<ApiResponse<Void>> deleteSubmission(@PathVariable Long submissionId) {
+        assignmentService.deleteSubmission(submissionId);
+        return ResponseEntity.ok(ApiResponse.success("Submission deleted successfully"));
+    }
+
+    @PutMapping("/submissions/{submissionId}/grade")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
+    public ResponseEntity<ApiResponse<Void>> gradeSubmission(@PathVariable Long submissionId, @Valid @RequestBody GradeRequest request) {
+        assignmentService.gradeSubmission(submissionId, request);
+        return ResponseEntity.ok(ApiResponse.success("Submission graded successfully"));
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<Assignment>>> searchAssignments(@RequestParam String q) {
-        List<Assignment> assignments = assignmentService.searchAssignments(q);
+    public ResponseEntity<ApiResponse<List<AssignmentResponse>>> searchAssignments(@RequestParam String q, @RequestParam(required = false) Set<String> include) {
+        List<AssignmentResponse> assignments = assignmentService.searchAssignments(q, ResponseIncludes.of(include));
         return ResponseEntity.ok(ApiResponse.success("Search completed successfully", assignments));
     }
 }
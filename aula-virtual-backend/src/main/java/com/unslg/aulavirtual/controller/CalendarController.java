@@ -1,12 +1,19 @@
 package com.unslg.aulavirtual.controller;
 
 import com.unslg.aulavirtual.dto.response.ApiResponse;
+import com.unslg.aulavirtual.dto.response.CalendarEventResponse;
+import com.unslg.aulavirtual.dto.response.CalendarFeedTokenResponse;
+import com.unslg.aulavirtual.dto.response.CursorPageResponse;
 import com.unslg.aulavirtual.entity.CalendarEvent;
+import com.unslg.aulavirtual.security.UserPrincipal;
+import com.unslg.aulavirtual.service.CalendarFeedService;
+import com.unslg.aulavirtual.service.CalendarIndexService;
 import com.unslg.aulavirtual.service.CalendarService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
@@ -18,6 +25,8 @@ import java.util.List;
 public class CalendarController {
 
     private final CalendarService calendarService;
+    private final CalendarIndexService calendarIndexService;
+    private final CalendarFeedService calendarFeedService;
 
     @GetMapping("/events")
     public ResponseEntity<ApiResponse<List<CalendarEvent>>> getAllEvents() {
@@ -51,6 +60,27 @@ public class CalendarController {
         return ResponseEntity.ok(ApiResponse.success("User events retrieved successfully", events));
     }
 
+    @GetMapping("/me")
+    public ResponseEntity<ApiResponse<CursorPageResponse<CalendarEventResponse>>> getMyEvents(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPageResponse<CalendarEventResponse> events =
+                calendarIndexService.getUserEvents(currentUser.getId(), from, to, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success("Events retrieved successfully", events));
+    }
+
+    // Issues the secret URL of the personal feed, or of one course's feed; replaces any previous one
+    @PostMapping("/feeds")
+    public ResponseEntity<ApiResponse<CalendarFeedTokenResponse>> createFeedToken(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @RequestParam(required = false) Long courseId) {
+        CalendarFeedTokenResponse feedToken = calendarFeedService.createToken(currentUser.getId(), courseId);
+        return ResponseEntity.ok(ApiResponse.success("Calendar feed created successfully", feedToken));
+    }
+
     @PostMapping("/events")
     @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
     public ResponseEntity<ApiResponse<CalendarEvent>> createEvent(@RequestBody CalendarEvent event) {
@@ -0,0 +1,34 @@
+package com.unslg.aulavirtual.controller;
+
+import com.unslg.aulavirtual.service.CalendarFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+// Polled by external calendar apps, which cannot send a JWT; the secret token in the path is the credential
+@RestController
+@RequestMapping("/api/public/calendar")
+@RequiredArgsConstructor
+public class CalendarFeedController {
+
+    private final CalendarFeedService calendarFeedService;
+
+    @GetMapping(value = "/{token}.ics", produces = "text/calendar")
+    public ResponseEntity<StreamingResponseBody> getFeed(@PathVariable String token, WebRequest webRequest) {
+        CalendarFeedService.Feed feed = calendarFeedService.resolveFeed(token);
+        // Also writes the ETag and Last-Modified headers, so they are not repeated on the 200 below
+        if (webRequest.checkNotModified(feed.eTag(), feed.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        StreamingResponseBody body = outputStream -> calendarFeedService.writeFeed(feed, outputStream);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.parseMediaType("text/calendar; charset=UTF-8"))
+                .body(body);
+    }
+}
@@ -1,6 +1,7 @@
 package com.unslg.aulavirtual.controller;
 
 import com.unslg.aulavirtual.dto.request.CourseRequest;
+import com.unslg.aulavirtual.dto.request.ResponseIncludes;
 import com.unslg.aulavirtual.dto.response.ApiResponse;
 import com.unslg.aulavirtual.dto.response.CourseResponse;
 import com.unslg.aulavirtual.service.CourseService;
@@ -11,6 +12,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/courses")
@@ -20,26 +22,26 @@ public class CourseController {
     private final CourseService courseService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<CourseResponse>>> getAllCourses() {
-        List<CourseResponse> courses = courseService.getAllCourses();
+    public ResponseEntity<ApiResponse<List<CourseResponse>>> getAllCourses(@RequestParam(required = false) Set<String> include) {
+        List<CourseResponse> courses = courseService.getAllCourses(ResponseIncludes.of(include));
         return ResponseEntity.ok(ApiResponse.success("Courses retrieved successfully", courses));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<CourseResponse>> getCourseById(@PathVariable Long id) {
-        CourseResponse course = courseService.getCourseById(id);
+    public ResponseEntity<ApiResponse<CourseResponse>> getCourseById(@PathVariable Long id, @RequestParam(required = false) Set<String> include) {
+        CourseResponse course = courseService.getCourseById(id, ResponseIncludes.of(include));
         return ResponseEntity.ok(ApiResponse.success("Course retrieved successfully", course));
     }
 
     @GetMapping("/instructor/{instructorId}")
-    public ResponseEntity<ApiResponse<List<CourseResponse>>> getCoursesByInstructor(@PathVariable Long instructorId) {
-        List<CourseResponse> courses = courseService.getCoursesByInstructor(instructorId);
+    public ResponseEntity<ApiResponse<List<CourseResponse>>> getCoursesByInstructor(@PathVariable Long instructorId, @RequestParam(required = false) Set<String> include) {
+        List<CourseResponse> courses = courseService.getCoursesByInstructor(instructorId, ResponseIncludes.of(include));
         return ResponseEntity.ok(ApiResponse.success("Instructor courses retrieved successfully", courses));
     }
 
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<ApiResponse<List<CourseResponse>>> getCoursesByStudent(@PathVariable Long studentId) {
-        List<CourseResponse> courses = courseService.getCoursesByStudent(studentId);
+    public ResponseEntity<ApiResponse<List<CourseResponse>>> getCoursesByStudent(@PathVariable Long studentId, @RequestParam(required = false) Set<String> include) {
+        List<CourseResponse> courses = courseService.getCoursesByStudent(studentId, ResponseIncludes.of(include));
         return ResponseEntity.ok(ApiResponse.success("Student courses retrieved successfully", courses));
     }
 
@@ -79,8 +81,8 @@ public class CourseController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<CourseResponse>>> searchCourses(@RequestParam String q) {
-        List<CourseResponse> courses = courseService.searchCourses(q);
+    public ResponseEntity<ApiResponse<List<CourseResponse>>> searchCourses(@RequestParam String q, @RequestParam(required = false) Set<String> include) {
+        List<CourseResponse> courses = courseService.searchCourses(q, ResponseIncludes.of(include));
         return ResponseEntity.ok(ApiResponse.success("Search completed successfully", courses));
     }
 }
@@ -1,16 +1,24 @@
 package com.unslg.aulavirtual.controller;
 
+import com.unslg.aulavirtual.dto.request.ExamAnswersRequest;
 import com.unslg.aulavirtual.dto.request.ExamRequest;
+import com.unslg.aulavirtual.dto.request.GradeRequest;
+import com.unslg.aulavirtual.dto.request.ResponseIncludes;
 import com.unslg.aulavirtual.dto.response.ApiResponse;
-import com.unslg.aulavirtual.entity.Exam;
+import com.unslg.aulavirtual.dto.response.ExamResponse;
+import com.unslg.aulavirtual.dto.response.ExamSessionResponse;
+import com.unslg.aulavirtual.security.UserPrincipal;
 import com.unslg.aulavirtual.service.ExamService;
+import com.unslg.aulavirtual.service.ExamSessionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/exams")
@@ -18,42 +26,45 @@ import java.util.List;
 public class ExamController {
 
     private final ExamService examService;
+    private final ExamSessionService examSessionService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Exam>>> getAllExams() {
-        List<Exam> exams = examService.getAllExams();
+    public ResponseEntity<ApiResponse<List<ExamResponse>>> getAllExams(@RequestParam(required = false) Set<String> include) {
+        List<ExamResponse> exams = examService.getAllExams(ResponseIncludes.of(include));
         return ResponseEntity.ok(ApiResponse.success("Exams retrieved successfully", exams));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Exam>> getExamById(@PathVariable Long id) {
-        Exam exam = examService.getExamById(id);
+    public ResponseEntity<ApiResponse<ExamResponse>> getExamById(@PathVariable Long id, @RequestParam(required = false) Set<String> include,
+                                                                 @AuthenticationPrincipal UserPrincipal currentUser) {
+        Long studentId = isStudentOnly(currentUser) ? currentUser.getId() : null;
+        ExamResponse exam = examService.getExamById(id, studentId, ResponseIncludes.of(include));
         return ResponseEntity.ok(ApiResponse.success("Exam retrieved successfully", exam));
     }
 
     @GetMapping("/course/{courseId}")
-    public ResponseEntity<ApiResponse<List<Exam>>> getExamsByCourse(@PathVariable Long courseId) {
-        List<Exam> exams = examService.getExamsByCourse(courseId);
+    public ResponseEntity<ApiResponse<List<ExamResponse>>> getExamsByCourse(@PathVariable Long courseId, @RequestParam(required = false) Set<String> include) {
+        List<ExamResponse> exams = examService.getExamsByCourse(courseId, ResponseIncludes.of(include));
         return ResponseEntity.ok(ApiResponse.success("Course exams retrieved successfully", exams));
     }
 
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<ApiResponse<List<Exam>>> getExamsByStudent(@PathVariable Long studentId) {
-        List<Exam> exams = examService.getExamsByStudent(studentId);
+    public ResponseEntity<ApiResponse<List<ExamResponse>>> getExamsByStudent(@PathVariable Long studentId, @RequestParam(required = false) Set<String> include) {
+        List<ExamResponse> exams = examService.getExamsByStudent(studentId, ResponseIncludes.of(include));
         return ResponseEntity.ok(ApiResponse.success("Student exams retrieved successfully", exams));
     }
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
-    public ResponseEntity<ApiResponse<Exam>> createExam(@Valid @RequestBody ExamRequest request) {
-        Exam exam = examService.createExam(request);
+    public ResponseEntity<ApiResponse<ExamResponse>> createExam(@Valid @RequestBody ExamRequest request) {
+        ExamResponse exam = examService.createExam(request);
         return ResponseEntity.ok(ApiResponse.success("Exam created successfully", exam));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
-    public ResponseEntity<ApiResponse<Exam>> updateExam(@PathVariable Long id, @Valid @RequestBody ExamRequest request) {
-        Exam exam = examService.updateExam(id, request);
+    public ResponseEntity<ApiResponse<ExamResponse>> updateExam(@PathVariable Long id, @Valid @RequestBody ExamRequest request) {
+        ExamResponse exam = examService.updateExam(id, request);
         return ResponseEntity.ok(ApiResponse.success("Exam updated successfully", exam));
     }
 
@@ -63,4 +74,48 @@ public class ExamController {
         examService.deleteExam(id);
         return ResponseEntity.ok(ApiResponse.success("Exam deleted successfully"));
     }
+
+    @PutMapping("/{id}/grades/{studentId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
+    public ResponseEntity<ApiResponse<Void>> gradeExam(@PathVariable Long id, @PathVariable Long studentId, @Valid @RequestBody GradeRequest request) {
+        examService.gradeExam(id, studentId, request);
+        return ResponseEntity.ok(ApiResponse.success("Exam graded successfully"));
+    }
+
+    @PostMapping("/{id}/session")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<ApiResponse<ExamSessionResponse>> startSession(@PathVariable Long id, @AuthenticationPrincipal UserPrincipal currentUser) {
+        ExamSessionResponse session = examSessionService.startSession(id, currentUser.getId());
+        return ResponseEntity.ok(ApiResponse.success("Exam session started successfully", session));
+    }
+
+    @GetMapping("/{id}/session")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<ApiResponse<ExamSessionResponse>> getSession(@PathVariable Long id, @AuthenticationPrincipal UserPrincipal currentUser) {
+        ExamSessionResponse session = examSessionService.getSession(id, currentUser.getId());
+        return ResponseEntity.ok(ApiResponse.success("Exam session retrieved successfully", session));
+    }
+
+    @PutMapping("/{id}/session/answers")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<ApiResponse<ExamSessionResponse>> saveAnswers(@PathVariable Long id, @Valid @RequestBody ExamAnswersRequest request,
+                                                                        @AuthenticationPrincipal UserPrincipal currentUser) {
+        ExamSessionResponse session = examSessionService.saveAnswers(id, currentUser.getId(), request.getAnswers().toString());
+        return ResponseEntity.ok(ApiResponse.success("Answers saved successfully", session));
+    }
+
+    @PostMapping("/{id}/session/submit")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<ApiResponse<ExamSessionResponse>> submitSession(@PathVariable Long id, @RequestBody(required = false) ExamAnswersRequest request,
+                                                                          @AuthenticationPrincipal UserPrincipal currentUser) {
+        String answers = request != null && request.getAnswers() != null ? request.getAnswers().toString() : null;
+        ExamSessionResponse session = examSessionService.submit(id, currentUser.getId(), answers);
+        return ResponseEntity.ok(ApiResponse.success("Exam submitted successfully", session));
+    }
+
+    private boolean isStudentOnly(UserPrincipal user) {
+        return user != null && user.getAuthorities().stream()
+                .map(authority -> authority.getAuthority())
+                .noneMatch(role -> role.equals("ROLE_ADMIN") || role.equals("ROLE_INSTRUCTOR"));
+    }
 }
@@ -1,11 +1,22 @@
 package com.unslg.aulavirtual.controller;
 
+import com.unslg.aulavirtual.dto.request.ForumPostRequest;
+import com.unslg.aulavirtual.dto.request.ForumReadRequest;
 import com.unslg.aulavirtual.dto.response.ApiResponse;
+import com.unslg.aulavirtual.dto.response.CursorPageResponse;
+import com.unslg.aulavirtual.dto.response.ForumActivityResponse;
+import com.unslg.aulavirtual.dto.response.ForumPostResponse;
+import com.unslg.aulavirtual.dto.response.ForumUnreadResponse;
+import com.unslg.aulavirtual.dto.response.UnreadSummaryResponse;
 import com.unslg.aulavirtual.entity.Forum;
+import com.unslg.aulavirtual.security.UserPrincipal;
+import com.unslg.aulavirtual.service.ForumReadStateService;
 import com.unslg.aulavirtual.service.ForumService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -16,6 +27,7 @@ import java.util.List;
 public class ForumController {
 
     private final ForumService forumService;
+    private final ForumReadStateService forumReadStateService;
 
     @GetMapping
     public ResponseEntity<ApiResponse<List<Forum>>> getAllForums() {
@@ -35,6 +47,21 @@ public class ForumController {
         return ResponseEntity.ok(ApiResponse.success("Course forums retrieved successfully", forums));
     }
 
+    @GetMapping("/activity")
+    public ResponseEntity<ApiResponse<CursorPageResponse<ForumActivityResponse>>> getActivityFeed(@RequestParam(required = false) String cursor,
+                                                                                               @RequestParam(required = false) Integer limit) {
+        CursorPageResponse<ForumActivityResponse> forums = forumService.getActivityFeed(null, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success("Forum activity retrieved successfully", forums));
+    }
+
+    @GetMapping("/course/{courseId}/activity")
+    public ResponseEntity<ApiResponse<CursorPageResponse<ForumActivityResponse>>> getCourseActivityFeed(@PathVariable Long courseId,
+                                                                                                     @RequestParam(required = false) String cursor,
+                                                                                                     @RequestParam(required = false) Integer limit) {
+        CursorPageResponse<ForumActivityResponse> forums = forumService.getActivityFeed(courseId, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success("Course forum activity retrieved successfully", forums));
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
     public ResponseEntity<ApiResponse<Forum>> createForum(@RequestBody Forum forum) {
@@ -61,4 +88,65 @@ public class ForumController {
         List<Forum> forums = forumService.searchForums(q);
         return ResponseEntity.ok(ApiResponse.success("Search completed successfully", forums));
     }
+
+    @GetMapping("/{id}/posts")
+    public ResponseEntity<ApiResponse<CursorPageResponse<ForumPostResponse>>> getThreads(@PathVariable Long id,
+                                                                                      @RequestParam(required = false) String cursor,
+                                                                                      @RequestParam(required = false) Integer limit,
+                                                                                      @RequestParam(required = false) Integer depth) {
+        CursorPageResponse<ForumPostResponse> threads = forumService.getThreads(id, cursor, limit, depth);
+        return ResponseEntity.ok(ApiResponse.success("Forum posts retrieved successfully", threads));
+    }
+
+    @PostMapping("/{id}/posts")
+    public ResponseEntity<ApiResponse<ForumPostResponse>> createPost(@PathVariable Long id,
+                                                                     @Valid @RequestBody ForumPostRequest request,
+                                                                     @AuthenticationPrincipal UserPrincipal currentUser) {
+        ForumPostResponse post = forumService.createPost(id, currentUser.getId(), request);
+        return ResponseEntity.ok(ApiResponse.success("Forum post created successfully", post));
+    }
+
+    @GetMapping("/posts/{postId}/replies")
+    public ResponseEntity<ApiResponse<CursorPageResponse<ForumPostResponse>>> getReplies(@PathVariable Long postId,
+                                                                                      @RequestParam(required = false) String cursor,
+                                                                                      @RequestParam(required = false) Integer limit,
+                                                                                      @RequestParam(required = false) Integer depth) {
+        CursorPageResponse<ForumPostResponse> replies = forumService.getReplies(postId, cursor, limit, depth);
+        return ResponseEntity.ok(ApiResponse.success("Forum replies retrieved successfully", replies));
+    }
+
+    @GetMapping("/unread")
+    public ResponseEntity<ApiResponse<UnreadSummaryResponse>> getUnreadSummary(@AuthenticationPrincipal UserPrincipal currentUser) {
+        UnreadSummaryResponse unread = forumReadStateService.getUnreadSummary(currentUser.getId());
+        return ResponseEntity.ok(ApiResponse.success("Unread counts retrieved successfully", unread));
+    }
+
+    @GetMapping("/{id}/unread")
+    public ResponseEntity<ApiResponse<ForumUnreadResponse>> getForumUnread(@PathVariable Long id,
+                                                                           @AuthenticationPrincipal UserPrincipal currentUser) {
+        ForumUnreadResponse unread = forumReadStateService.getForumUnread(currentUser.getId(), id);
+        return ResponseEntity.ok(ApiResponse.success("Unread counts retrieved successfully", unread));
+    }
+
+    @PostMapping("/{id}/read")
+    public ResponseEntity<ApiResponse<ForumUnreadResponse>> markRead(@PathVariable Long id,
+                                                                     @Valid @RequestBody ForumReadRequest request,
+                                                                     @AuthenticationPrincipal UserPrincipal currentUser) {
+        ForumUnreadResponse unread = forumReadStateService.markRead(currentUser.getId(), id, request.getPostIds());
+        return ResponseEntity.ok(ApiResponse.success("Posts marked as read successfully", unread));
+    }
+
+    @PostMapping("/{id}/read-all")
+    public ResponseEntity<ApiResponse<ForumUnreadResponse>> markAllRead(@PathVariable Long id,
+                                                                        @AuthenticationPrincipal UserPrincipal currentUser) {
+        ForumUnreadResponse unread = forumReadStateService.markAllRead(currentUser.getId(), id);
+        return ResponseEntity.ok(ApiResponse.success("Forum marked as read successfully", unread));
+    }
+
+    @DeleteMapping("/posts/{postId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
+    public ResponseEntity<ApiResponse<Void>> deletePost(@PathVariable Long postId) {
+        forumService.deletePost(postId);
+        return ResponseEntity.ok(ApiResponse.success("Forum post deleted successfully"));
+    }
 }
@@ -0,0 +1,33 @@
+package com.unslg.aulavirtual.controller;
+
+import com.unslg.aulavirtual.dto.request.GradebookWeightsRequest;
+import com.unslg.aulavirtual.dto.response.ApiResponse;
+import com.unslg.aulavirtual.dto.response.GradebookResponse;
+import com.unslg.aulavirtual.service.GradebookService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/gradebook")
+@RequiredArgsConstructor
+public class GradebookController {
+
+    private final GradebookService gradebookService;
+
+    @GetMapping("/course/{courseId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR') or hasRole('COORDINATOR')")
+    public ResponseEntity<ApiResponse<GradebookResponse>> getGradebook(@PathVariable Long courseId) {
+        GradebookResponse gradebook = gradebookService.getGradebook(courseId);
+        return ResponseEntity.ok(ApiResponse.success("Gradebook retrieved successfully", gradebook));
+    }
+
+    @PutMapping("/course/{courseId}/weights")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR') or hasRole('COORDINATOR')")
+    public ResponseEntity<ApiResponse<GradebookResponse>> updateWeights(@PathVariable Long courseId, @Valid @RequestBody GradebookWeightsRequest request) {
+        GradebookResponse gradebook = gradebookService.updateWeights(courseId, request);
+        return ResponseEntity.ok(ApiResponse.success("Gradebook weights updated successfully", gradebook));
+    }
+}
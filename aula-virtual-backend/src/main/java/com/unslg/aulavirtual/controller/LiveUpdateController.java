@@ -0,0 +1,26 @@
+package com.unslg.aulavirtual.controller;
+
+import com.unslg.aulavirtual.security.UserPrincipal;
+import com.unslg.aulavirtual.service.LiveUpdateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/live")
+@RequiredArgsConstructor
+public class LiveUpdateController {
+
+    private final LiveUpdateService liveUpdateService;
+
+    // Without courseId the stream follows every course the user teaches or is enrolled in
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) Set<Long> courseId,
+                             @AuthenticationPrincipal UserPrincipal currentUser) {
+        return liveUpdateService.subscribe(currentUser, courseId);
+    }
+}
@@ -0,0 +1,39 @@
+package com.unslg.aulavirtual.controller;
+
+import com.unslg.aulavirtual.dto.response.ApiResponse;
+import com.unslg.aulavirtual.dto.response.GradeStatisticsResponse;
+import com.unslg.aulavirtual.dto.response.PeriodStatisticsResponse;
+import com.unslg.aulavirtual.service.StatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/statistics")
+@RequiredArgsConstructor
+public class StatisticsController {
+
+    private final StatisticsService statisticsService;
+
+    @GetMapping("/exams/{examId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR') or hasRole('COORDINATOR')")
+    public ResponseEntity<ApiResponse<GradeStatisticsResponse>> getExamStatistics(@PathVariable Long examId) {
+        GradeStatisticsResponse statistics = statisticsService.getExamStatistics(examId);
+        return ResponseEntity.ok(ApiResponse.success("Exam statistics retrieved successfully", statistics));
+    }
+
+    @GetMapping("/assignments/{assignmentId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR') or hasRole('COORDINATOR')")
+    public ResponseEntity<ApiResponse<GradeStatisticsResponse>> getAssignmentStatistics(@PathVariable Long assignmentId) {
+        GradeStatisticsResponse statistics = statisticsService.getAssignmentStatistics(assignmentId);
+        return ResponseEntity.ok(ApiResponse.success("Assignment statistics retrieved successfully", statistics));
+    }
+
+    @GetMapping("/period/{academicPeriod}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COORDINATOR')")
+    public ResponseEntity<ApiResponse<PeriodStatisticsResponse>> getPeriodStatistics(@PathVariable String academicPeriod) {
+        PeriodStatisticsResponse statistics = statisticsService.getPeriodStatistics(academicPeriod);
+        return ResponseEntity.ok(ApiResponse.success("Period statistics retrieved successfully", statistics));
+    }
+}
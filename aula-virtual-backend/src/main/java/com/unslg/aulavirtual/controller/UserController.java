@@ -4,11 +4,13 @@ import com.unslg.aulavirtual.dto.request.RegisterRequest;
 import com.unslg.aulavirtual.dto.response.ApiResponse;
 import com.unslg.aulavirtual.dto.response.UserResponse;
 import com.unslg.aulavirtual.entity.User;
+import com.unslg.aulavirtual.security.UserPrincipal;
 import com.unslg.aulavirtual.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -62,6 +64,13 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success("User status updated successfully", user));
     }
 
+    @PutMapping("/me/notification-mode")
+    public ResponseEntity<ApiResponse<UserResponse>> changeNotificationMode(@RequestParam User.NotificationMode mode,
+                                                                            @AuthenticationPrincipal UserPrincipal currentUser) {
+        UserResponse user = userService.changeNotificationMode(currentUser.getId(), mode);
+        return ResponseEntity.ok(ApiResponse.success("Notification mode updated successfully", user));
+    }
+
     @GetMapping("/search")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<List<UserResponse>>> searchUsers(@RequestParam String q) {
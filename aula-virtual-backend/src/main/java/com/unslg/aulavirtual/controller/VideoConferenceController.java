@@ -1,10 +1,15 @@
 package com.unslg.aulavirtual.controller;
 
+import com.unslg.aulavirtual.dto.request.VideoConferenceRequest;
 import com.unslg.aulavirtual.dto.response.ApiResponse;
-import com.unslg.aulavirtual.entity.VideoConference;
+import com.unslg.aulavirtual.dto.response.VideoConferenceResponse;
+import com.unslg.aulavirtual.security.UserPrincipal;
+import com.unslg.aulavirtual.service.VideoConferenceService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -14,36 +19,42 @@ import java.util.List;
 @RequiredArgsConstructor
 public class VideoConferenceController {
 
+    private final VideoConferenceService videoConferenceService;
+
     @GetMapping
-    public ResponseEntity<ApiResponse<List<VideoConference>>> getAllConferences() {
-        // Implementation would go here
-        return ResponseEntity.ok(ApiResponse.success("Conferences retrieved successfully"));
+    public ResponseEntity<ApiResponse<List<VideoConferenceResponse>>> getAllConferences() {
+        List<VideoConferenceResponse> conferences = videoConferenceService.getAllConferences();
+        return ResponseEntity.ok(ApiResponse.success("Conferences retrieved successfully", conferences));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<VideoConference>> getConferenceById(@PathVariable Long id) {
-        // Implementation would go here
-        return ResponseEntity.ok(ApiResponse.success("Conference retrieved successfully"));
+    public ResponseEntity<ApiResponse<VideoConferenceResponse>> getConferenceById(@PathVariable Long id) {
+        VideoConferenceResponse conference = videoConferenceService.getConferenceById(id);
+        return ResponseEntity.ok(ApiResponse.success("Conference retrieved successfully", conference));
     }
 
+    // Overlapping bookings of the host or the course are rejected with 409 and the conflicting items
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
-    public ResponseEntity<ApiResponse<VideoConference>> createConference(@RequestBody VideoConference conference) {
-        // Implementation would go here
-        return ResponseEntity.ok(ApiResponse.success("Conference created successfully"));
+    public ResponseEntity<ApiResponse<VideoConferenceResponse>> createConference(@Valid @RequestBody VideoConferenceRequest request,
+                                                                                 @AuthenticationPrincipal UserPrincipal currentUser) {
+        VideoConferenceResponse conference = videoConferenceService.createConference(request, currentUser.getId());
+        return ResponseEntity.ok(ApiResponse.success("Conference created successfully", conference));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
-    public ResponseEntity<ApiResponse<VideoConference>> updateConference(@PathVariable Long id, @RequestBody VideoConference conferenceDetails) {
-        // Implementation would go here
-        return ResponseEntity.ok(ApiResponse.success("Conference updated successfully"));
+    public ResponseEntity<ApiResponse<VideoConferenceResponse>> updateConference(@PathVariable Long id,
+                                                                                 @Valid @RequestBody VideoConferenceRequest request,
+                                                                                 @AuthenticationPrincipal UserPrincipal currentUser) {
+        VideoConferenceResponse conference = videoConferenceService.updateConference(id, request, currentUser.getId());
+        return ResponseEntity.ok(ApiResponse.success("Conference updated successfully", conference));
     }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
     public ResponseEntity<ApiResponse<Void>> deleteConference(@PathVariable Long id) {
-        // Implementation would go here
+        videoConferenceService.deleteConference(id);
         return ResponseEntity.ok(ApiResponse.success("Conference deleted successfully"));
     }
 }
@@ -0,0 +1,16 @@
+package com.unslg.aulavirtual.dto.projection;
+
+import java.time.LocalDateTime;
+
+public interface AgendaItemView {
+
+    Long getId();
+
+    String getTitle();
+
+    LocalDateTime getStartsAt();
+
+    LocalDateTime getEndsAt();
+
+    Long getCourseId();
+}
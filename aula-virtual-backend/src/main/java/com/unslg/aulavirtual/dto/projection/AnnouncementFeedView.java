@@ -0,0 +1,28 @@
+package com.unslg.aulavirtual.dto.projection;
+
+import com.unslg.aulavirtual.entity.Announcement;
+
+import java.time.LocalDateTime;
+
+public interface AnnouncementFeedView {
+
+    Long getId();
+
+    String getTitle();
+
+    String getSummary();
+
+    Announcement.Priority getPriority();
+
+    Boolean getIsPinned();
+
+    LocalDateTime getPublishedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    Long getCourseId();
+
+    String getAuthorFirstName();
+
+    String getAuthorLastName();
+}
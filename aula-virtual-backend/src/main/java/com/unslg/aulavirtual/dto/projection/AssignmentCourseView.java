@@ -0,0 +1,8 @@
+package com.unslg.aulavirtual.dto.projection;
+
+public interface AssignmentCourseView {
+
+    Long getId();
+
+    Long getCourseId();
+}
@@ -0,0 +1,34 @@
+package com.unslg.aulavirtual.dto.projection;
+
+import com.unslg.aulavirtual.entity.CalendarEvent;
+
+import java.time.LocalDateTime;
+
+public interface CalendarEventView {
+
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    CalendarEvent.EventType getEventType();
+
+    LocalDateTime getStartDatetime();
+
+    LocalDateTime getEndDatetime();
+
+    String getLocation();
+
+    Boolean getIsVirtual();
+
+    String getMeetingUrl();
+
+    Long getCourseId();
+
+    Long getCreatedById();
+
+    String getRecurrenceRule();
+
+    LocalDateTime getSeriesEnd();
+}
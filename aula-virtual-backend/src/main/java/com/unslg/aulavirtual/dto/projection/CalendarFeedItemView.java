@@ -0,0 +1,8 @@
+package com.unslg.aulavirtual.dto.projection;
+
+public interface CalendarFeedItemView extends FeedItemView {
+
+    String getLocation();
+
+    String getRecurrenceRule();
+}
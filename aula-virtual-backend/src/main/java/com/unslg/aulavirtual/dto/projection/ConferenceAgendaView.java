@@ -0,0 +1,16 @@
+package com.unslg.aulavirtual.dto.projection;
+
+import java.time.LocalDateTime;
+
+public interface ConferenceAgendaView {
+
+    Long getId();
+
+    String getTitle();
+
+    LocalDateTime getScheduledTime();
+
+    Integer getDuration();
+
+    Long getCourseId();
+}
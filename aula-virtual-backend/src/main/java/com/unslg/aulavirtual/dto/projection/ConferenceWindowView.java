@@ -0,0 +1,12 @@
+package com.unslg.aulavirtual.dto.projection;
+
+import java.time.LocalDateTime;
+
+public interface ConferenceWindowView {
+
+    Long getId();
+
+    LocalDateTime getScheduledTime();
+
+    Integer getDuration();
+}
@@ -0,0 +1,12 @@
+package com.unslg.aulavirtual.dto.projection;
+
+public interface ExamGradeCountView {
+
+    Long getExamId();
+
+    Long getInProgress();
+
+    Long getCompleted();
+
+    Long getGraded();
+}
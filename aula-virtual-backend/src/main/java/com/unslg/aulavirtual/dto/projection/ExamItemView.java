@@ -0,0 +1,6 @@
+package com.unslg.aulavirtual.dto.projection;
+
+public interface ExamItemView extends GradedItemView {
+
+    Double getPassingGrade();
+}
@@ -0,0 +1,26 @@
+package com.unslg.aulavirtual.dto.projection;
+
+import com.unslg.aulavirtual.entity.ExamGrade;
+
+import java.time.LocalDateTime;
+
+public interface ExamSessionView {
+
+    Long getGradeId();
+
+    Long getExamId();
+
+    Long getStudentId();
+
+    LocalDateTime getStartTime();
+
+    Integer getDurationMinutes();
+
+    LocalDateTime getExamEndTime();
+
+    ExamGrade.ExamStatus getStatus();
+
+    String getAnswers();
+
+    Long getAnswersVersion();
+}
@@ -0,0 +1,12 @@
+package com.unslg.aulavirtual.dto.projection;
+
+import java.time.LocalDateTime;
+
+public interface ExamWindowView {
+
+    Long getId();
+
+    Long getCourseId();
+
+    LocalDateTime getEndTime();
+}
@@ -0,0 +1,18 @@
+package com.unslg.aulavirtual.dto.projection;
+
+import java.time.LocalDateTime;
+
+public interface FeedItemView {
+
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    LocalDateTime getStartsAt();
+
+    LocalDateTime getEndsAt();
+
+    LocalDateTime getUpdatedAt();
+}
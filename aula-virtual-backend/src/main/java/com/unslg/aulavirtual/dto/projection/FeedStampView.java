@@ -0,0 +1,10 @@
+package com.unslg.aulavirtual.dto.projection;
+
+import java.time.LocalDateTime;
+
+public interface FeedStampView {
+
+    LocalDateTime getLastModified();
+
+    Long getTotal();
+}
@@ -0,0 +1,24 @@
+package com.unslg.aulavirtual.dto.projection;
+
+import com.unslg.aulavirtual.entity.Forum;
+
+import java.time.LocalDateTime;
+
+public interface ForumActivityView {
+
+    Long getId();
+
+    String getTitle();
+
+    Forum.ForumType getForumType();
+
+    Forum.ForumStatus getStatus();
+
+    Long getCourseId();
+
+    Integer getPostCount();
+
+    Integer getReplyCount();
+
+    LocalDateTime getLastActivity();
+}
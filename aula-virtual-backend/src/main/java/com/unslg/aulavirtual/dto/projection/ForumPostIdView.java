@@ -0,0 +1,10 @@
+package com.unslg.aulavirtual.dto.projection;
+
+public interface ForumPostIdView {
+
+    Long getId();
+
+    Long getForumId();
+
+    Long getRootPostId();
+}
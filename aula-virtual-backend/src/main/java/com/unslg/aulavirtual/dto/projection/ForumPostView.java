@@ -0,0 +1,30 @@
+package com.unslg.aulavirtual.dto.projection;
+
+import java.time.LocalDateTime;
+
+public interface ForumPostView {
+
+    Long getId();
+
+    Long getParentPostId();
+
+    Integer getDepth();
+
+    String getTitle();
+
+    String getContent();
+
+    Boolean getIsPinned();
+
+    Integer getReplyCount();
+
+    Long getAuthorId();
+
+    String getAuthorFirstName();
+
+    String getAuthorLastName();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
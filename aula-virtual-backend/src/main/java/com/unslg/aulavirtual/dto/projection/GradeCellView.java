@@ -0,0 +1,10 @@
+package com.unslg.aulavirtual.dto.projection;
+
+public interface GradeCellView {
+
+    Long getItemId();
+
+    Long getStudentId();
+
+    Double getGrade();
+}
@@ -0,0 +1,12 @@
+package com.unslg.aulavirtual.dto.projection;
+
+public interface GradedItemView {
+
+    Long getId();
+
+    String getTitle();
+
+    Long getCourseId();
+
+    Integer getMaxPoints();
+}
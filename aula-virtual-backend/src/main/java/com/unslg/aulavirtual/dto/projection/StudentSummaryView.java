@@ -0,0 +1,12 @@
+package com.unslg.aulavirtual.dto.projection;
+
+public interface StudentSummaryView {
+
+    Long getId();
+
+    String getUserCode();
+
+    String getFirstName();
+
+    String getLastName();
+}
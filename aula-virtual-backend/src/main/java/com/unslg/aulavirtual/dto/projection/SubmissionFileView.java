@@ -0,0 +1,12 @@
+package com.unslg.aulavirtual.dto.projection;
+
+public interface SubmissionFileView {
+
+    Long getId();
+
+    String getUserCode();
+
+    String getFileUrl();
+
+    String getFileName();
+}
@@ -0,0 +1,33 @@
+package com.unslg.aulavirtual.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class AnnouncementRequest {
+
+    @NotBlank(message = "Announcement title is required")
+    @Size(max = 200, message = "Title must not exceed 200 characters")
+    private String title;
+
+    @NotBlank(message = "Content is required")
+    private String content;
+
+    @Size(max = 300, message = "Summary must not exceed 300 characters")
+    private String summary;
+
+    private String priority;
+
+    // DRAFT, PUBLISHED or SCHEDULED; SCHEDULED requires scheduledAt
+    private String status;
+
+    private Boolean isPinned;
+
+    private LocalDateTime scheduledAt;
+
+    // Null for a site-wide announcement
+    private Long courseId;
+}
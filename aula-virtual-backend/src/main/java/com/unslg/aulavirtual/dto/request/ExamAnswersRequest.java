@@ -0,0 +1,13 @@
+package com.unslg.aulavirtual.dto.request;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class ExamAnswersRequest {
+
+    // Free-form answer document owned by the exam client; stored as JSON text
+    @NotNull(message = "Answers are required")
+    private JsonNode answers;
+}
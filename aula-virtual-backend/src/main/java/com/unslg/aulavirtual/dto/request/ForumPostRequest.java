@@ -0,0 +1,17 @@
+package com.unslg.aulavirtual.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class ForumPostRequest {
+
+    @Size(max = 150, message = "Title must not exceed 150 characters")
+    private String title;
+
+    @NotBlank(message = "Content is required")
+    private String content;
+
+    private Long parentPostId;
+}
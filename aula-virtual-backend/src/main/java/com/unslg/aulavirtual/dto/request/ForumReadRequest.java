@@ -0,0 +1,13 @@
+package com.unslg.aulavirtual.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ForumReadRequest {
+
+    @NotEmpty(message = "Post ids are required")
+    private List<Long> postIds;
+}
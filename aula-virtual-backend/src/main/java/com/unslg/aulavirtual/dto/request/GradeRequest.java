@@ -0,0 +1,15 @@
+package com.unslg.aulavirtual.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class GradeRequest {
+
+    @NotNull(message = "Grade is required")
+    @DecimalMin(value = "0.0", message = "Grade must not be negative")
+    private Double grade;
+
+    private String feedback;
+}
@@ -0,0 +1,17 @@
+package com.unslg.aulavirtual.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class GradebookWeightsRequest {
+
+    @NotNull(message = "Exam weight is required")
+    @DecimalMin(value = "0.0", message = "Exam weight must not be negative")
+    private Double examWeight;
+
+    @NotNull(message = "Assignment weight is required")
+    @DecimalMin(value = "0.0", message = "Assignment weight must not be negative")
+    private Double assignmentWeight;
+}
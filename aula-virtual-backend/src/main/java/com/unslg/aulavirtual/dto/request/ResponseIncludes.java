@@ -0,0 +1,27 @@
+package com.unslg.aulavirtual.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+
+// Optional parts of a response requested through ?include=course,counts
+@Getter
+@AllArgsConstructor
+public class ResponseIncludes {
+
+    public static final String COURSE = "course";
+    public static final String COUNTS = "counts";
+
+    public static final ResponseIncludes NONE = new ResponseIncludes(false, false);
+
+    private final boolean course;
+    private final boolean counts;
+
+    public static ResponseIncludes of(Set<String> include) {
+        if (include == null || include.isEmpty()) {
+            return NONE;
+        }
+        return new ResponseIncludes(include.contains(COURSE), include.contains(COUNTS));
+    }
+}
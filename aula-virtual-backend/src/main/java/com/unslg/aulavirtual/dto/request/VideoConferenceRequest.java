@@ -0,0 +1,49 @@
+package com.unslg.aulavirtual.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class VideoConferenceRequest {
+
+    @NotBlank(message = "Conference title is required")
+    @Size(max = 150, message = "Title must not exceed 150 characters")
+    private String title;
+
+    private String description;
+
+    @NotNull(message = "Scheduled time is required")
+    private LocalDateTime scheduledTime;
+
+    @NotNull(message = "Duration is required")
+    @Min(value = 1, message = "Duration must be at least 1 minute")
+    @Max(value = 1440, message = "Duration must not exceed 24 hours")
+    private Integer duration;
+
+    private String platform;
+
+    @NotBlank(message = "Meeting URL is required")
+    @Size(max = 500, message = "Meeting URL must not exceed 500 characters")
+    private String meetingUrl;
+
+    private String meetingId;
+
+    private String meetingPassword;
+
+    private Boolean recordingEnabled;
+
+    private Boolean waitingRoom;
+
+    private Integer maxParticipants;
+
+    private Long courseId;
+
+    // Defaults to the current user
+    private Long hostId;
+}
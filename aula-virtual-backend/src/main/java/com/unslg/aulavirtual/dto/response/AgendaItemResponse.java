@@ -0,0 +1,19 @@
+package com.unslg.aulavirtual.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgendaItemResponse {
+    private String type;
+    private Long id;
+    private String title;
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+    private Long courseId;
+}
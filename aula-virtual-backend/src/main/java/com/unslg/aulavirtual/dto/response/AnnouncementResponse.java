@@ -0,0 +1,24 @@
+package com.unslg.aulavirtual.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class AnnouncementResponse {
+    private Long id;
+    private String title;
+    private String content;
+    private String summary;
+    private String priority;
+    private String status;
+    private Boolean isPinned;
+    private LocalDateTime publishedAt;
+    private LocalDateTime scheduledAt;
+    private Integer viewsCount;
+    private Long courseId;
+    private Long authorId;
+    private String authorName;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
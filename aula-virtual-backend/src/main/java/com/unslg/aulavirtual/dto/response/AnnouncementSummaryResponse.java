@@ -0,0 +1,17 @@
+package com.unslg.aulavirtual.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class AnnouncementSummaryResponse {
+    private Long id;
+    private String title;
+    private String summary;
+    private String priority;
+    private Boolean isPinned;
+    private LocalDateTime publishedAt;
+    private Long courseId;
+    private String authorName;
+}
@@ -0,0 +1,51 @@
+package com.unslg.aulavirtual.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.unslg.aulavirtual.entity.Assignment;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AssignmentResponse {
+    private Long id;
+    private String title;
+    private String description;
+    private String instructions;
+    private LocalDateTime dueDate;
+    private Integer maxPoints;
+    private String submissionType;
+    private Long maxFileSize;
+    private String allowedExtensions;
+    private String status;
+    private Long courseId;
+    private CourseSummaryResponse course;
+    private SubmissionCountsResponse submissionCounts;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Used by the JPQL constructor projections in AssignmentRepository
+    public AssignmentResponse(Long id, String title, String description, String instructions,
+                              LocalDateTime dueDate, Integer maxPoints, Assignment.SubmissionType submissionType,
+                              Long maxFileSize, String allowedExtensions, Assignment.AssignmentStatus status,
+                              Long courseId, String courseCode, String courseName,
+                              LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.instructions = instructions;
+        this.dueDate = dueDate;
+        this.maxPoints = maxPoints;
+        this.submissionType = submissionType.name();
+        this.maxFileSize = maxFileSize;
+        this.allowedExtensions = allowedExtensions;
+        this.status = status.name();
+        this.courseId = courseId;
+        this.course = new CourseSummaryResponse(courseId, courseCode, courseName);
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+}
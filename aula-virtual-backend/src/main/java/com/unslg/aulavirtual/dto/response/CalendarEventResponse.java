@@ -0,0 +1,22 @@
+package com.unslg.aulavirtual.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class CalendarEventResponse {
+    private Long id;
+    private String title;
+    private String description;
+    private String eventType;
+    private LocalDateTime startDatetime;
+    private LocalDateTime endDatetime;
+    private String location;
+    private Boolean isVirtual;
+    private String meetingUrl;
+    private Long courseId;
+    private Long createdById;
+    // Set on every occurrence of a recurring event
+    private String recurrenceRule;
+}
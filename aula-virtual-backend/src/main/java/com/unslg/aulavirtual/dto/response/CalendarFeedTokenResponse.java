@@ -0,0 +1,14 @@
+package com.unslg.aulavirtual.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarFeedTokenResponse {
+    private String token;
+    private Long courseId;
+    private String feedPath;
+}
@@ -1,30 +1,34 @@
 package com.unslg.aulavirtual.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
 import java.time.LocalDateTime;
-import java.util.Set;
 
 @Data
-public class UserResponse {
+public class CourseResponse {
     private Long id;
-    private String userCode;
-    private String username;
-    private String email;
-    private String firstName;
-    private String lastName;
-    private String maternalSurname;
-    private String phone;
-    private String profilePicture;
+    private String name;
+    private String code;
+    private String description;
+    private Integer credits;
+    private String academicPeriod;
+    private String groupNumber;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
     private String status;
-    private Set<RoleResponse> roles;
+    private Integer enrolledStudents;
     private LocalDateTime createdAt;
-    private LocalDateTime lastLogin;
+    private InstructorResponse instructor;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private SubmissionCountsResponse submissionCounts;
 
     @Data
-    public static class RoleResponse {
+    public static class InstructorResponse {
         private Long id;
-        private String name;
-        private String description;
+        private String firstName;
+        private String lastName;
+        private String email;
     }
 }
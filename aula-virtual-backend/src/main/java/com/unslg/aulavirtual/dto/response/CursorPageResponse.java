@@ -0,0 +1,20 @@
+package com.unslg.aulavirtual.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public static <T> CursorPageResponse<T> of(List<T> items, String nextCursor) {
+        return new CursorPageResponse<>(items, nextCursor, nextCursor != null);
+    }
+}
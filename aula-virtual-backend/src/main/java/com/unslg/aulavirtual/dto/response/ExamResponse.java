@@ -0,0 +1,60 @@
+package com.unslg.aulavirtual.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.unslg.aulavirtual.entity.Exam;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExamResponse {
+    private Long id;
+    private String title;
+    private String description;
+    private String examType;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Integer durationMinutes;
+    private Integer maxPoints;
+    private Double passingGrade;
+    private String instructions;
+    private String status;
+    private Long courseId;
+    private CourseSummaryResponse course;
+    private GradeCountsResponse gradeCounts;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Used by the JPQL constructor projections in ExamRepository
+    public ExamResponse(Long id, String title, String description, Exam.ExamType examType,
+                        LocalDateTime startTime, LocalDateTime endTime, Integer durationMinutes,
+                        Integer maxPoints, Double passingGrade, String instructions, Exam.ExamStatus status,
+                        Long courseId, String courseCode, String courseName,
+                        LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.examType = examType.name();
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.durationMinutes = durationMinutes;
+        this.maxPoints = maxPoints;
+        this.passingGrade = passingGrade;
+        this.instructions = instructions;
+        this.status = status.name();
+        this.courseId = courseId;
+        this.course = new CourseSummaryResponse(courseId, courseCode, courseName);
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    @Data
+    public static class GradeCountsResponse {
+        private long inProgress;
+        private long completed;
+        private long graded;
+    }
+}
@@ -0,0 +1,20 @@
+package com.unslg.aulavirtual.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ExamSessionResponse {
+    private Long examId;
+    private Long studentId;
+    private String status;
+    private LocalDateTime startedAt;
+    private LocalDateTime deadline;
+    private long remainingSeconds;
+    private long version;
+
+    @JsonRawValue
+    private String answers;
+}
@@ -0,0 +1,17 @@
+package com.unslg.aulavirtual.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ForumActivityResponse {
+    private Long id;
+    private String title;
+    private String forumType;
+    private String status;
+    private Long courseId;
+    private Integer postCount;
+    private Integer replyCount;
+    private LocalDateTime lastActivity;
+}
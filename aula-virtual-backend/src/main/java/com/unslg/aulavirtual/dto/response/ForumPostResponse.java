@@ -0,0 +1,27 @@
+package com.unslg.aulavirtual.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ForumPostResponse {
+    private Long id;
+    private Long parentPostId;
+    private Integer depth;
+    private String title;
+    private String content;
+    private Boolean isPinned;
+    private Long authorId;
+    private String authorName;
+    private Integer replyCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private List<ForumPostResponse> replies = new ArrayList<>();
+    // Set when replies were cut by the depth or per-post limit; pass it to /posts/{id}/replies
+    private String repliesCursor;
+}
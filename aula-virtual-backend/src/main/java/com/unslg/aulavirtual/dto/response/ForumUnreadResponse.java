@@ -0,0 +1,15 @@
+package com.unslg.aulavirtual.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ForumUnreadResponse {
+    private Long forumId;
+    private Long unread;
+    // Unread posts per thread, keyed by top-level post id; only threads with unread posts
+    private Map<Long, Long> threads;
+}
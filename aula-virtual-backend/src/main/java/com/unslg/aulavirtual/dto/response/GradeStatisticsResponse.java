@@ -0,0 +1,35 @@
+package com.unslg.aulavirtual.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GradeStatisticsResponse {
+    private String itemType;
+    private Long itemId;
+    private String title;
+    private Long courseId;
+    private Double maxPoints;
+    private long count;
+    private Double mean;
+    private Double standardDeviation;
+    private Double min;
+    private Double max;
+    private Double median;
+    private Double p25;
+    private Double p75;
+    private Double p90;
+    private Double passingGrade;
+    private Double passRate;
+    private List<HistogramBucketResponse> histogram;
+
+    @Data
+    public static class HistogramBucketResponse {
+        private double from;
+        private double to;
+        private long count;
+    }
+}
@@ -0,0 +1,36 @@
+package com.unslg.aulavirtual.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class GradebookResponse {
+    private Long courseId;
+    private Double examWeight;
+    private Double assignmentWeight;
+    private Double scale;
+    private List<ItemResponse> items;
+    private List<StudentRowResponse> students;
+    private LocalDateTime builtAt;
+
+    @Data
+    public static class ItemResponse {
+        private Long id;
+        private String type;
+        private String title;
+        private Double maxPoints;
+    }
+
+    @Data
+    public static class StudentRowResponse {
+        private Long studentId;
+        private String userCode;
+        private String fullName;
+        private List<Double> grades;
+        private Double examAverage;
+        private Double assignmentAverage;
+        private Double finalGrade;
+    }
+}
@@ -0,0 +1,17 @@
+package com.unslg.aulavirtual.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LiveUpdateResponse {
+    private String type;
+    private Long courseId;
+    private Long entityId;
+    private Long forumId;
+    private String title;
+    private LocalDateTime publishedAt;
+}
@@ -0,0 +1,15 @@
+package com.unslg.aulavirtual.dto.response;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class PeriodStatisticsResponse {
+    private String academicPeriod;
+    private Integer courses;
+    // Grades rescaled to app.gradebook.scale so different courses can be combined
+    private GradeStatisticsResponse exams;
+    private GradeStatisticsResponse assignments;
+    private List<GradeStatisticsResponse> items;
+}
@@ -0,0 +1,21 @@
+package com.unslg.aulavirtual.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleConflictResponse {
+    // HOST or COURSE
+    private String scope;
+    // CONFERENCE or CALENDAR_EVENT
+    private String type;
+    private Long id;
+    private String title;
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+}
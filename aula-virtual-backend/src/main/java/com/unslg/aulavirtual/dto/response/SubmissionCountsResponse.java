@@ -0,0 +1,11 @@
+package com.unslg.aulavirtual.dto.response;
+
+import lombok.Data;
+
+@Data
+public class SubmissionCountsResponse {
+    private long submitted;
+    private long graded;
+    private long late;
+    private long missing;
+}
@@ -0,0 +1,19 @@
+package com.unslg.aulavirtual.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class SubmissionResponse {
+    private Long id;
+    private Long assignmentId;
+    private Long studentId;
+    private String submissionText;
+    private String fileName;
+    private Double grade;
+    private String feedback;
+    private String status;
+    private LocalDateTime submissionDate;
+    private LocalDateTime gradedAt;
+}
@@ -0,0 +1,11 @@
+package com.unslg.aulavirtual.dto.response;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class UnreadSummaryResponse {
+    private Long total;
+    private List<ForumUnreadResponse> forums;
+}
@@ -17,6 +17,7 @@ public class UserResponse {
     private String phone;
     private String profilePicture;
     private String status;
+    private String notificationMode;
     private Set<RoleResponse> roles;
     private LocalDateTime createdAt;
     private LocalDateTime lastLogin;
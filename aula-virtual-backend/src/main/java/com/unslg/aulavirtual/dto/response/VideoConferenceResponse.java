@@ -0,0 +1,25 @@
+package com.unslg.aulavirtual.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class VideoConferenceResponse {
+    private Long id;
+    private String title;
+    private String description;
+    private LocalDateTime scheduledTime;
+    private Integer duration;
+    private String platform;
+    private String meetingUrl;
+    private String meetingId;
+    private Boolean recordingEnabled;
+    private Boolean waitingRoom;
+    private Integer maxParticipants;
+    private String status;
+    private Long courseId;
+    private Long hostId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
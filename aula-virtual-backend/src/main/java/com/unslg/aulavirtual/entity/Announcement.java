@@ -21,7 +21,9 @@ import java.time.LocalDateTime;
 public class Announcement {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "announcements")
+    @TableGenerator(name = "announcements", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "announcements", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 200)
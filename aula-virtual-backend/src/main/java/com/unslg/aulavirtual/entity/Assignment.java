@@ -23,7 +23,9 @@ import java.util.Set;
 public class Assignment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "assignments")
+    @TableGenerator(name = "assignments", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "assignments", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 150)
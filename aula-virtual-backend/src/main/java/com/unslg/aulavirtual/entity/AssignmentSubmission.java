@@ -21,7 +21,9 @@ import java.time.LocalDateTime;
 public class AssignmentSubmission {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "assignment_submissions")
+    @TableGenerator(name = "assignment_submissions", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "assignment_submissions", allocationSize = 50)
     private Long id;
 
     @Column(columnDefinition = "TEXT")
@@ -0,0 +1,36 @@
+package com.unslg.aulavirtual.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "assignment_submission_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssignmentSubmissionStats {
+
+    @Id
+    @Column(name = "assignment_id")
+    private Long assignmentId;
+
+    @Column(nullable = false)
+    private Integer submittedCount = 0;
+
+    @Column(nullable = false)
+    private Integer gradedCount = 0;
+
+    @Column(nullable = false)
+    private Integer lateCount = 0;
+
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+
+    public AssignmentSubmissionStats(Long assignmentId) {
+        this.assignmentId = assignmentId;
+    }
+}
@@ -5,11 +5,15 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
 @Table(name = "calendar_events")
@@ -21,7 +25,9 @@ import java.time.LocalDateTime;
 public class CalendarEvent {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "calendar_events")
+    @TableGenerator(name = "calendar_events", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "calendar_events", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 150)
@@ -57,6 +63,20 @@ public class CalendarEvent {
     @JoinColumn(name = "created_by", nullable = false)
     private User createdBy;
 
+    // RRULE subset (see RecurrenceRule); null for a single occurrence
+    @Column(length = 255)
+    private String recurrenceRule;
+
+    // End of the last occurrence, derived from the rule; null if the series never ends
+    private LocalDateTime seriesEnd;
+
+    // Occurrence starts removed from the series
+    @ElementCollection(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
+    @CollectionTable(name = "calendar_event_exdates", joinColumns = @JoinColumn(name = "event_id"))
+    @Column(name = "occurrence_start", nullable = false)
+    private Set<LocalDateTime> exceptionDates = new HashSet<>();
+
     @CreatedDate
     private LocalDateTime createdAt;
 
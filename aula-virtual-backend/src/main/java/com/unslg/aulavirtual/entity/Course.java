@@ -23,7 +23,9 @@ import java.util.Set;
 public class Course {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "courses")
+    @TableGenerator(name = "courses", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "courses", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 150)
@@ -47,6 +49,12 @@ public class Course {
     private LocalDateTime startDate;
     private LocalDateTime endDate;
 
+    @Column
+    private Double examWeight;
+
+    @Column
+    private Double assignmentWeight;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private CourseStatus status = CourseStatus.ACTIVE;
@@ -55,7 +63,12 @@ public class Course {
     @JoinColumn(name = "instructor_id")
     private User instructor;
 
-    @ManyToMany(mappedBy = "enrolledCourses", fetch = FetchType.LAZY)
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(
+        name = "course_enrollments",
+        joinColumns = @JoinColumn(name = "course_id"),
+        inverseJoinColumns = @JoinColumn(name = "student_id")
+    )
     private Set<User> enrolledStudents = new HashSet<>();
 
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -21,7 +21,9 @@ import java.time.LocalDateTime;
 public class CourseUnit {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "course_units")
+    @TableGenerator(name = "course_units", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "course_units", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 150)
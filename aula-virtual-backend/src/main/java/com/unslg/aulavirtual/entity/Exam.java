@@ -23,7 +23,9 @@ import java.util.Set;
 public class Exam {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "exams")
+    @TableGenerator(name = "exams", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "exams", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 150)
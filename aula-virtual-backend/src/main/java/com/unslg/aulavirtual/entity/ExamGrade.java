@@ -21,7 +21,9 @@ import java.time.LocalDateTime;
 public class ExamGrade {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "exam_grades")
+    @TableGenerator(name = "exam_grades", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "exam_grades", allocationSize = 50)
     private Long id;
 
     @Column
@@ -37,6 +39,14 @@ public class ExamGrade {
     private LocalDateTime startTime;
     private LocalDateTime endTime;
 
+    @Column(columnDefinition = "MEDIUMTEXT")
+    private String answers;
+
+    @Column(nullable = false)
+    private Long answersVersion = 0L;
+
+    private LocalDateTime answersSavedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "exam_id", nullable = false)
     private Exam exam;
@@ -1,5 +1,6 @@
 package com.unslg.aulavirtual.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -23,7 +24,9 @@ import java.util.Set;
 public class Forum {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "forums")
+    @TableGenerator(name = "forums", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "forums", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 150)
@@ -48,6 +51,7 @@ public class Forum {
     @JoinColumn(name = "created_by", nullable = false)
     private User createdBy;
 
+    @JsonIgnore
     @OneToMany(mappedBy = "forum", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Set<ForumPost> posts = new HashSet<>();
 
@@ -57,8 +61,16 @@ public class Forum {
     @LastModifiedDate
     private LocalDateTime updatedAt;
 
+    @Column(nullable = false)
     private LocalDateTime lastActivity;
 
+    // Top-level posts and replies; only ever changed through ForumRepository.recordActivity
+    @Column(nullable = false)
+    private Integer postCount = 0;
+
+    @Column(nullable = false)
+    private Integer replyCount = 0;
+
     public enum ForumType {
         GENERAL, ACADEMIC, TECHNICAL, SOCIAL
     }
@@ -1,5 +1,6 @@
 package com.unslg.aulavirtual.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -23,7 +24,9 @@ import java.util.List;
 public class ForumPost {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "forum_posts")
+    @TableGenerator(name = "forum_posts", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "forum_posts", allocationSize = 50)
     private Long id;
 
     @Column(length = 150)
@@ -47,9 +50,23 @@ public class ForumPost {
     @JoinColumn(name = "parent_post_id")
     private ForumPost parentPost;
 
+    @JsonIgnore
     @OneToMany(mappedBy = "parentPost", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<ForumPost> replies = new ArrayList<>();
 
+    // Thread shape maintained on insert so a whole thread loads in one ordered query
+    @Column(name = "root_post_id")
+    private Long rootPostId;
+
+    @Column(nullable = false)
+    private Integer depth = 0;
+
+    @Column(nullable = false)
+    private String path = "";
+
+    @Column(nullable = false)
+    private Integer replyCount = 0;
+
     @CreatedDate
     private LocalDateTime createdAt;
 
@@ -0,0 +1,74 @@
+package com.unslg.aulavirtual.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "notification_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class NotificationJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "notification_jobs")
+    @TableGenerator(name = "notification_jobs", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "notification_jobs", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobType type;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Column(nullable = false)
+    private Long courseId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private Long lastStudentId = 0L;
+
+    @Column(nullable = false)
+    private Integer recipients = 0;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime finishedAt;
+
+    public enum JobType {
+        ASSIGNMENT, EXAM, ANNOUNCEMENT
+    }
+
+    public enum Status {
+        PENDING, DONE, FAILED
+    }
+
+    public NotificationJob(JobType type, Long entityId, Long courseId) {
+        this.type = type;
+        this.entityId = entityId;
+        this.courseId = courseId;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+}
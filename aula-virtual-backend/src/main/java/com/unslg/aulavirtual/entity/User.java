@@ -23,7 +23,9 @@ import java.util.Set;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "users")
+    @TableGenerator(name = "users", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "users", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false, length = 20)
@@ -57,6 +59,10 @@ public class User {
     @Column(nullable = false)
     private UserStatus status = UserStatus.ACTIVE;
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationMode notificationMode = NotificationMode.IMMEDIATE;
+
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(
         name = "user_roles",
@@ -77,6 +83,10 @@ public class User {
         ACTIVE, INACTIVE, SUSPENDED
     }
 
+    public enum NotificationMode {
+        IMMEDIATE, DAILY_DIGEST
+    }
+
     public User(String userCode, String username, String email, String password, 
                 String firstName, String lastName) {
         this.userCode = userCode;
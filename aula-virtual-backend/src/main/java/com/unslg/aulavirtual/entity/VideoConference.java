@@ -21,7 +21,9 @@ import java.time.LocalDateTime;
 public class VideoConference {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "video_conferences")
+    @TableGenerator(name = "video_conferences", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "video_conferences", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 150)
@@ -0,0 +1,13 @@
+package com.unslg.aulavirtual.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published when an announcement of a course (or a site-wide one, courseId null) is
+// created, edited, published or deleted
+@Getter
+@AllArgsConstructor
+public class AnnouncementChangedEvent {
+
+    private final Long courseId;
+}
@@ -0,0 +1,12 @@
+package com.unslg.aulavirtual.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published when a calendar event of a course (or a personal one, courseId null) changes
+@Getter
+@AllArgsConstructor
+public class CalendarEventChangedEvent {
+
+    private final Long courseId;
+}
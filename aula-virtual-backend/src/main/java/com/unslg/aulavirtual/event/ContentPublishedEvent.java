@@ -0,0 +1,20 @@
+package com.unslg.aulavirtual.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published when new content becomes visible; courseId is null for site-wide content
+@Getter
+@AllArgsConstructor
+public class ContentPublishedEvent {
+
+    private final ContentType type;
+    private final Long courseId;
+    private final Long entityId;
+    private final Long forumId;
+    private final String title;
+
+    public enum ContentType {
+        FORUM_POST, ANNOUNCEMENT
+    }
+}
@@ -0,0 +1,12 @@
+package com.unslg.aulavirtual.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published when a course gains or loses exams, assignments or enrolled students
+@Getter
+@AllArgsConstructor
+public class CourseStructureChangedEvent {
+
+    private final Long courseId;
+}
@@ -0,0 +1,15 @@
+package com.unslg.aulavirtual.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published when a post is created or a post and its replies are deleted
+@Getter
+@AllArgsConstructor
+public class ForumPostChangedEvent {
+
+    private final Long forumId;
+    private final Long postId;
+    private final Long rootPostId;
+    private final boolean created;
+}
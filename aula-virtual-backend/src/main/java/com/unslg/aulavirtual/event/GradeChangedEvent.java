@@ -0,0 +1,19 @@
+package com.unslg.aulavirtual.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class GradeChangedEvent {
+
+    private final Long courseId;
+    private final ItemType itemType;
+    private final Long itemId;
+    private final Long studentId;
+    private final Double grade;
+
+    public enum ItemType {
+        EXAM, ASSIGNMENT
+    }
+}
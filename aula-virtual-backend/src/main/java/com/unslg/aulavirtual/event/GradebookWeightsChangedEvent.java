@@ -0,0 +1,13 @@
+package com.unslg.aulavirtual.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class GradebookWeightsChangedEvent {
+
+    private final Long courseId;
+    private final double examWeight;
+    private final double assignmentWeight;
+}
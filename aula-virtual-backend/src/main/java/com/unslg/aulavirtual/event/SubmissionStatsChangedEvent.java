@@ -0,0 +1,14 @@
+package com.unslg.aulavirtual.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SubmissionStatsChangedEvent {
+
+    private final Long assignmentId;
+    private final int submitted;
+    private final int graded;
+    private final int late;
+}
@@ -0,0 +1,20 @@
+package com.unslg.aulavirtual.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// Published when an edit moves the time at which an entity changes state
+@Getter
+@AllArgsConstructor
+public class TransitionScheduleChangedEvent {
+
+    private final TransitionType type;
+    private final Long entityId;
+    private final LocalDateTime dueAt;
+
+    public enum TransitionType {
+        EXAM_OPEN, EXAM_CLOSE, ASSIGNMENT_CLOSE, CONFERENCE_START, CONFERENCE_END, ANNOUNCEMENT_PUBLISH
+    }
+}
@@ -0,0 +1,17 @@
+package com.unslg.aulavirtual.exception;
+
+import com.unslg.aulavirtual.dto.response.ScheduleConflictResponse;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class ConflictException extends RuntimeException {
+
+    private final List<ScheduleConflictResponse> conflicts;
+
+    public ConflictException(String message, List<ScheduleConflictResponse> conflicts) {
+        super(message);
+        this.conflicts = conflicts;
+    }
+}
@@ -1,12 +1,17 @@
 package com.unslg.aulavirtual.repository;
 
+import com.unslg.aulavirtual.dto.projection.AnnouncementFeedView;
+import com.unslg.aulavirtual.dto.projection.TransitionView;
 import com.unslg.aulavirtual.entity.Announcement;
 import com.unslg.aulavirtual.entity.Course;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -20,11 +25,37 @@ public interface AnnouncementRepository extends JpaRepository<Announcement, Long
     
     List<Announcement> findByPriority(Announcement.Priority priority);
     
-    @Query("SELECT a FROM Announcement a WHERE a.status = 'PUBLISHED' ORDER BY a.isPinned DESC, a.publishedAt DESC")
+    @Query("SELECT a FROM Announcement a JOIN FETCH a.author WHERE a.status = 'PUBLISHED' ORDER BY a.isPinned DESC, a.publishedAt DESC")
     List<Announcement> findPublishedOrderByPinnedAndDate();
     
     @Query("SELECT a FROM Announcement a WHERE a.title LIKE %:search% OR a.content LIKE %:search% OR a.summary LIKE %:search%")
     List<Announcement> findBySearchTerm(@Param("search") String search);
     
     List<Announcement> findByIsPinnedTrue();
+
+    String FEED_PROJECTION = "SELECT a.id AS id, a.title AS title, a.summary AS summary, a.priority AS priority, " +
+            "a.isPinned AS isPinned, a.publishedAt AS publishedAt, a.updatedAt AS updatedAt, a.course.id AS courseId, " +
+            "au.firstName AS authorFirstName, au.lastName AS authorLastName " +
+            "FROM Announcement a JOIN a.author au " +
+            "WHERE a.status = com.unslg.aulavirtual.entity.Announcement$AnnouncementStatus.PUBLISHED ";
+
+    String FEED_ORDER = "ORDER BY a.isPinned DESC, a.publishedAt DESC, a.id DESC";
+
+    @Query(FEED_PROJECTION + "AND a.course.id = :courseId " + FEED_ORDER)
+    List<AnnouncementFeedView> findFeedByCourseId(@Param("courseId") Long courseId);
+
+    @Query(FEED_PROJECTION + "AND a.course IS NULL " + FEED_ORDER)
+    List<AnnouncementFeedView> findSiteWideFeed();
+    
+    @Query("SELECT a.id AS id, a.scheduledAt AS dueAt FROM Announcement a " +
+           "WHERE a.status = com.unslg.aulavirtual.entity.Announcement$AnnouncementStatus.SCHEDULED AND a.scheduledAt <= :until")
+    List<TransitionView> findScheduledBefore(@Param("until") LocalDateTime until);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE Announcement a SET a.status = com.unslg.aulavirtual.entity.Announcement$AnnouncementStatus.PUBLISHED, " +
+           "a.publishedAt = a.scheduledAt " +
+           "WHERE a.id = :id AND a.status = com.unslg.aulavirtual.entity.Announcement$AnnouncementStatus.SCHEDULED " +
+           "AND a.scheduledAt <= :now")
+    int markPublished(@Param("id") Long id, @Param("now") LocalDateTime now);
 }
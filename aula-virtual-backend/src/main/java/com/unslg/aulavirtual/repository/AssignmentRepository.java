@@ -1,17 +1,36 @@
 package com.unslg.aulavirtual.repository;
 
+import com.unslg.aulavirtual.dto.projection.AgendaItemView;
+import com.unslg.aulavirtual.dto.projection.AssignmentCourseView;
+import com.unslg.aulavirtual.dto.projection.FeedItemView;
+import com.unslg.aulavirtual.dto.projection.FeedStampView;
+import com.unslg.aulavirtual.dto.projection.GradedItemView;
+import com.unslg.aulavirtual.dto.projection.TransitionView;
+import com.unslg.aulavirtual.dto.response.AssignmentResponse;
 import com.unslg.aulavirtual.entity.Assignment;
 import com.unslg.aulavirtual.entity.Course;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
+
+    String RESPONSE_PROJECTION = "SELECT new com.unslg.aulavirtual.dto.response.AssignmentResponse(" +
+            "a.id, a.title, a.description, a.instructions, a.dueDate, a.maxPoints, a.submissionType, " +
+            "a.maxFileSize, a.allowedExtensions, a.status, c.id, c.code, c.name, a.createdAt, a.updatedAt) " +
+            "FROM Assignment a JOIN a.course c ";
     
     List<Assignment> findByCourse(Course course);
     
@@ -28,4 +47,70 @@ public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
     
     @Query("SELECT a FROM Assignment a WHERE a.title LIKE %:search% OR a.description LIKE %:search%")
     List<Assignment> findBySearchTerm(@Param("search") String search);
+
+    @Query(RESPONSE_PROJECTION + "ORDER BY a.dueDate")
+    List<AssignmentResponse> findAllResponses();
+
+    @Query(RESPONSE_PROJECTION + "WHERE a.id = :id")
+    Optional<AssignmentResponse> findResponseById(@Param("id") Long id);
+
+    @Query(RESPONSE_PROJECTION + "WHERE c.id = :courseId ORDER BY a.dueDate")
+    List<AssignmentResponse> findResponsesByCourseId(@Param("courseId") Long courseId);
+
+    @Query(RESPONSE_PROJECTION + "JOIN c.enrolledStudents s WHERE s.id = :studentId ORDER BY a.dueDate")
+    List<AssignmentResponse> findResponsesByStudentId(@Param("studentId") Long studentId);
+
+    @Query(RESPONSE_PROJECTION + "WHERE a.title LIKE %:search% OR a.description LIKE %:search% ORDER BY a.dueDate")
+    List<AssignmentResponse> findResponsesBySearchTerm(@Param("search") String search);
+
+    @Query("SELECT COUNT(a) > 0 FROM Assignment a WHERE a.id = :assignmentId AND a.course.instructor.id = :instructorId")
+    boolean isCourseInstructor(@Param("assignmentId") Long assignmentId, @Param("instructorId") Long instructorId);
+
+    @Query("SELECT a.id AS id, a.course.id AS courseId FROM Assignment a WHERE a.course.id IN :courseIds")
+    List<AssignmentCourseView> findIdsByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+
+    String ITEM_PROJECTION = "SELECT a.id AS id, a.title AS title, a.course.id AS courseId, " +
+            "a.maxPoints AS maxPoints FROM Assignment a ";
+
+    @Query(ITEM_PROJECTION + "WHERE a.id = :id")
+    Optional<GradedItemView> findItemById(@Param("id") Long id);
+
+    @Query(ITEM_PROJECTION + "WHERE a.course.academicPeriod = :academicPeriod")
+    List<GradedItemView> findItemsByAcademicPeriod(@Param("academicPeriod") String academicPeriod);
+
+    @Query("SELECT a.id AS id, a.dueDate AS dueAt FROM Assignment a " +
+           "WHERE a.status = com.unslg.aulavirtual.entity.Assignment$AssignmentStatus.ACTIVE AND a.dueDate <= :until")
+    List<TransitionView> findActiveDueBefore(@Param("until") LocalDateTime until);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Assignment a SET a.status = com.unslg.aulavirtual.entity.Assignment$AssignmentStatus.CLOSED " +
+           "WHERE a.id = :id AND a.status = com.unslg.aulavirtual.entity.Assignment$AssignmentStatus.ACTIVE " +
+           "AND a.dueDate <= :dueBefore")
+    int markClosed(@Param("id") Long id, @Param("dueBefore") LocalDateTime dueBefore);
+
+    // Keyset over (dueDate, id) so an agenda page reads only the rows it returns
+    @Query("SELECT a.id AS id, a.title AS title, a.dueDate AS startsAt, a.dueDate AS endsAt, a.course.id AS courseId " +
+           "FROM Assignment a WHERE a.course.id IN :courseIds " +
+           "AND a.status <> com.unslg.aulavirtual.entity.Assignment$AssignmentStatus.INACTIVE " +
+           "AND (a.dueDate > :afterTime OR (a.dueDate = :afterTime AND a.id > :afterId)) AND a.dueDate <= :until " +
+           "ORDER BY a.dueDate, a.id")
+    List<AgendaItemView> findAgendaPage(@Param("courseIds") Collection<Long> courseIds,
+                                        @Param("afterTime") LocalDateTime afterTime,
+                                        @Param("afterId") Long afterId,
+                                        @Param("until") LocalDateTime until,
+                                        Pageable pageable);
+
+    String FEED_SCOPE = "WHERE a.course.id IN :courseIds " +
+            "AND a.status <> com.unslg.aulavirtual.entity.Assignment$AssignmentStatus.INACTIVE";
+
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Query("SELECT a.id AS id, a.title AS title, a.description AS description, a.dueDate AS startsAt, " +
+           "a.dueDate AS endsAt, a.updatedAt AS updatedAt FROM Assignment a " + FEED_SCOPE + " AND a.id > :afterId ORDER BY a.id")
+    List<FeedItemView> findFeedItemsAfter(@Param("courseIds") Collection<Long> courseIds, @Param("afterId") Long afterId,
+                                          Pageable pageable);
+
+    @Query("SELECT MAX(a.updatedAt) AS lastModified, COUNT(a) AS total FROM Assignment a " + FEED_SCOPE)
+    FeedStampView findFeedStamp(@Param("courseIds") Collection<Long> courseIds);
 }
@@ -0,0 +1,63 @@
+package com.unslg.aulavirtual.repository;
+
+import com.unslg.aulavirtual.dto.projection.GradeCellView;
+import com.unslg.aulavirtual.dto.projection.SubmissionFileView;
+import com.unslg.aulavirtual.entity.AssignmentSubmission;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface AssignmentSubmissionRepository extends JpaRepository<AssignmentSubmission, Long> {
+
+    List<AssignmentSubmission> findByAssignmentId(Long assignmentId);
+
+    List<AssignmentSubmission> findByStudentId(Long studentId);
+
+    Optional<AssignmentSubmission> findByAssignmentIdAndStudentId(Long assignmentId, Long studentId);
+
+    @Query("SELECT COUNT(s) FROM AssignmentSubmission s " +
+           "WHERE s.assignment.id = :assignmentId AND s.submissionDate > :dueDate")
+    long countSubmittedAfter(@Param("assignmentId") Long assignmentId, @Param("dueDate") LocalDateTime dueDate);
+
+    @Query("SELECT s.assignment.id AS itemId, s.student.id AS studentId, s.grade AS grade " +
+           "FROM AssignmentSubmission s WHERE s.assignment.course.id = :courseId AND s.grade IS NOT NULL")
+    List<GradeCellView> findGradeCellsByCourseId(@Param("courseId") Long courseId);
+
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT s.grade FROM AssignmentSubmission s WHERE s.assignment.id = :assignmentId AND s.grade IS NOT NULL")
+    Stream<Double> streamGradesByAssignmentId(@Param("assignmentId") Long assignmentId);
+
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT s.assignment.id AS itemId, s.student.id AS studentId, s.grade AS grade " +
+           "FROM AssignmentSubmission s WHERE s.assignment.course.academicPeriod = :academicPeriod AND s.grade IS NOT NULL")
+    Stream<GradeCellView> streamGradeCellsByAcademicPeriod(@Param("academicPeriod") String academicPeriod);
+
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Query("SELECT s.id AS id, u.userCode AS userCode, s.fileUrl AS fileUrl, s.fileName AS fileName " +
+           "FROM AssignmentSubmission s JOIN s.student u " +
+           "WHERE s.assignment.id = :assignmentId AND s.fileUrl IS NOT NULL " +
+           "AND (u.userCode > :afterUserCode OR (u.userCode = :afterUserCode AND s.id > :afterId)) " +
+           "ORDER BY u.userCode, s.id")
+    List<SubmissionFileView> findFilesPage(@Param("assignmentId") Long assignmentId,
+                                           @Param("afterUserCode") String afterUserCode,
+                                           @Param("afterId") Long afterId,
+                                           Pageable pageable);
+}
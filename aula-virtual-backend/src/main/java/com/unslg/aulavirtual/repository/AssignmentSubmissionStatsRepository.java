@@ -0,0 +1,41 @@
+package com.unslg.aulavirtual.repository;
+
+import com.unslg.aulavirtual.entity.AssignmentSubmissionStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface AssignmentSubmissionStatsRepository extends JpaRepository<AssignmentSubmissionStats, Long> {
+
+    @Modifying
+    @Query("UPDATE AssignmentSubmissionStats st SET st.submittedCount = st.submittedCount + :submitted, " +
+           "st.gradedCount = st.gradedCount + :graded, st.lateCount = st.lateCount + :late " +
+           "WHERE st.assignmentId = :assignmentId")
+    int applyDelta(@Param("assignmentId") Long assignmentId, @Param("submitted") int submitted,
+                   @Param("graded") int graded, @Param("late") int late);
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO assignment_submission_stats (assignment_id, submitted_count, graded_count, late_count) " +
+                   "SELECT a.id, 0, 0, 0 FROM assignments a " +
+                   "LEFT JOIN assignment_submission_stats st ON st.assignment_id = a.id " +
+                   "WHERE st.assignment_id IS NULL", nativeQuery = true)
+    int insertMissingRows();
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE assignment_submission_stats st JOIN (" +
+                   "SELECT a.id AS assignment_id, COUNT(s.id) AS submitted, " +
+                   "COUNT(s.grade) AS graded, " +
+                   "COALESCE(SUM(s.submission_date > a.due_date), 0) AS late " +
+                   "FROM assignments a LEFT JOIN assignment_submissions s ON s.assignment_id = a.id " +
+                   "GROUP BY a.id) t ON t.assignment_id = st.assignment_id " +
+                   "SET st.submitted_count = t.submitted, st.graded_count = t.graded, st.late_count = t.late " +
+                   "WHERE st.submitted_count <> t.submitted OR st.graded_count <> t.graded OR st.late_count <> t.late",
+           nativeQuery = true)
+    int repairDrift();
+}
@@ -1,13 +1,22 @@
 package com.unslg.aulavirtual.repository;
 
+import com.unslg.aulavirtual.dto.projection.CalendarEventView;
+import com.unslg.aulavirtual.dto.projection.CalendarFeedItemView;
+import com.unslg.aulavirtual.dto.projection.ExceptionDateView;
+import com.unslg.aulavirtual.dto.projection.FeedStampView;
 import com.unslg.aulavirtual.entity.CalendarEvent;
 import com.unslg.aulavirtual.entity.Course;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -19,10 +28,63 @@ public interface CalendarEventRepository extends JpaRepository<CalendarEvent, Lo
     
     List<CalendarEvent> findByEventType(CalendarEvent.EventType eventType);
     
-    @Query("SELECT e FROM CalendarEvent e WHERE e.startDatetime BETWEEN :startDate AND :endDate")
+    // Overlap, not containment: an event spanning the range boundaries still matches. A recurring
+    // event is a candidate until its series ends; its occurrences are expanded by the caller.
+    String OVERLAPS = "e.startDatetime <= :to AND (e.endDatetime >= :from OR (e.recurrenceRule IS NOT NULL " +
+            "AND (e.seriesEnd IS NULL OR e.seriesEnd >= :from)))";
+
+    @Query("SELECT e FROM CalendarEvent e WHERE e.startDatetime <= :endDate AND (e.endDatetime >= :startDate " +
+           "OR (e.recurrenceRule IS NOT NULL AND (e.seriesEnd IS NULL OR e.seriesEnd >= :startDate))) " +
+           "ORDER BY e.startDatetime, e.id")
     List<CalendarEvent> findByDateRange(@Param("startDate") LocalDateTime startDate, 
                                        @Param("endDate") LocalDateTime endDate);
     
-    @Query("SELECT e FROM CalendarEvent e WHERE e.createdBy.id = :userId OR e.course.id IN (SELECT c.id FROM Course c JOIN c.enrolledStudents s WHERE s.id = :userId)")
-    List<CalendarEvent> findByUserId(@Param("userId") Long userId);
+    @Query("SELECT e FROM CalendarEvent e WHERE e.createdBy.id = :userId OR e.course.id IN :courseIds " +
+           "ORDER BY e.startDatetime, e.id")
+    List<CalendarEvent> findByCreatorOrCourseIds(@Param("userId") Long userId, @Param("courseIds") Collection<Long> courseIds);
+
+    String VIEW_PROJECTION = "SELECT e.id AS id, e.title AS title, e.description AS description, " +
+            "e.eventType AS eventType, e.startDatetime AS startDatetime, e.endDatetime AS endDatetime, " +
+            "e.location AS location, e.isVirtual AS isVirtual, e.meetingUrl AS meetingUrl, " +
+            "e.course.id AS courseId, e.createdBy.id AS createdById, e.recurrenceRule AS recurrenceRule, " +
+            "e.seriesEnd AS seriesEnd FROM CalendarEvent e ";
+
+    @Query(VIEW_PROJECTION + "WHERE e.course.id = :courseId ORDER BY e.id")
+    List<CalendarEventView> findViewsByCourseId(@Param("courseId") Long courseId);
+
+    @Query(VIEW_PROJECTION + "WHERE e.course.id = :courseId AND " + OVERLAPS + " ORDER BY e.id")
+    List<CalendarEventView> findCourseOverlapping(@Param("courseId") Long courseId,
+                                                  @Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to);
+
+    // The user's own events outside the given courses, which are served from the course indexes
+    @Query(VIEW_PROJECTION + "WHERE e.createdBy.id = :userId " +
+           "AND (e.course IS NULL OR e.course.id NOT IN :excludedCourseIds) " +
+           "AND " + OVERLAPS + " ORDER BY e.startDatetime, e.id")
+    List<CalendarEventView> findOwnOverlapping(@Param("userId") Long userId,
+                                               @Param("excludedCourseIds") Collection<Long> excludedCourseIds,
+                                               @Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to);
+
+    @Query("SELECT e.id AS eventId, d AS occurrenceStart FROM CalendarEvent e JOIN e.exceptionDates d WHERE e.id IN :eventIds")
+    List<ExceptionDateView> findExceptionDates(@Param("eventIds") Collection<Long> eventIds);
+
+    String FEED_SCOPE = "WHERE (e.course.id IN :courseIds OR e.createdBy.id = :creatorId)";
+
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Query("SELECT e.id AS id, e.title AS title, e.description AS description, e.location AS location, " +
+           "e.startDatetime AS startsAt, e.endDatetime AS endsAt, e.updatedAt AS updatedAt, " +
+           "e.recurrenceRule AS recurrenceRule FROM CalendarEvent e " + FEED_SCOPE + " AND e.id > :afterId ORDER BY e.id")
+    List<CalendarFeedItemView> findFeedItemsAfter(@Param("courseIds") Collection<Long> courseIds,
+                                                  @Param("creatorId") Long creatorId,
+                                                  @Param("afterId") Long afterId,
+                                                  Pageable pageable);
+
+    @Query("SELECT MAX(e.updatedAt) AS lastModified, COUNT(e) AS total FROM CalendarEvent e " + FEED_SCOPE)
+    FeedStampView findFeedStamp(@Param("courseIds") Collection<Long> courseIds, @Param("creatorId") Long creatorId);
+
+    @Query("SELECT e.id AS eventId, d AS occurrenceStart FROM CalendarEvent e JOIN e.exceptionDates d " + FEED_SCOPE +
+           " ORDER BY e.id, d")
+    List<ExceptionDateView> findFeedExceptionDates(@Param("courseIds") Collection<Long> courseIds, @Param("creatorId") Long creatorId);
 }
@@ -0,0 +1,21 @@
+package com.unslg.aulavirtual.repository;
+
+import com.unslg.aulavirtual.entity.CalendarFeedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CalendarFeedTokenRepository extends JpaRepository<CalendarFeedToken, Long> {
+
+    Optional<CalendarFeedToken> findByToken(String token);
+
+    @Modifying
+    @Query("DELETE FROM CalendarFeedToken t WHERE t.user.id = :userId " +
+           "AND ((:courseId IS NULL AND t.course IS NULL) OR t.course.id = :courseId)")
+    int deleteByOwner(@Param("userId") Long userId, @Param("courseId") Long courseId);
+}
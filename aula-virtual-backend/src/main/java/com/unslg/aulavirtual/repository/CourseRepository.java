@@ -1,12 +1,17 @@
 package com.unslg.aulavirtual.repository;
 
+import com.unslg.aulavirtual.dto.projection.CourseEnrollmentCountView;
+import com.unslg.aulavirtual.dto.projection.StudentSummaryView;
 import com.unslg.aulavirtual.entity.Course;
 import com.unslg.aulavirtual.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +19,11 @@ import java.util.Optional;
 public interface CourseRepository extends JpaRepository<Course, Long> {
     
     Optional<Course> findByCode(String code);
+
+    // Row lock that serializes the bookings and calendar changes of one course
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Course c WHERE c.id = :id")
+    Optional<Course> findByIdForUpdate(@Param("id") Long id);
     
     Boolean existsByCode(String code);
     
@@ -24,6 +34,24 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     @Query("SELECT c FROM Course c JOIN c.enrolledStudents s WHERE s.id = :studentId")
     List<Course> findByEnrolledStudentsId(@Param("studentId") Long studentId);
     
+    @Query("SELECT s.id AS id, s.userCode AS userCode, s.firstName AS firstName, s.lastName AS lastName " +
+           "FROM Course c JOIN c.enrolledStudents s WHERE c.id = :courseId ORDER BY s.lastName, s.firstName")
+    List<StudentSummaryView> findEnrolledStudentSummaries(@Param("courseId") Long courseId);
+    
+    @Query("SELECT s.id FROM Course c JOIN c.enrolledStudents s WHERE c.id = :courseId")
+    List<Long> findEnrolledStudentIds(@Param("courseId") Long courseId);
+    
+    @Query("SELECT DISTINCT c.id FROM Course c LEFT JOIN c.enrolledStudents s " +
+           "WHERE c.instructor.id = :userId OR s.id = :userId")
+    List<Long> findAccessibleCourseIds(@Param("userId") Long userId);
+
+    @Query("SELECT COUNT(s) > 0 FROM Course c JOIN c.enrolledStudents s WHERE c.id = :courseId AND s.id = :studentId")
+    boolean isStudentEnrolled(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+    
+    @Query("SELECT c.id AS courseId, COUNT(s) AS enrolled " +
+           "FROM Course c LEFT JOIN c.enrolledStudents s WHERE c.id IN :courseIds GROUP BY c.id")
+    List<CourseEnrollmentCountView> countEnrolledByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+    
     @Query("SELECT c FROM Course c WHERE c.name LIKE %:search% OR c.code LIKE %:search% OR c.description LIKE %:search%")
     List<Course> findBySearchTerm(@Param("search") String search);
     
@@ -0,0 +1,9 @@
+package com.unslg.aulavirtual.repository;
+
+import com.unslg.aulavirtual.entity.EmailOutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+}
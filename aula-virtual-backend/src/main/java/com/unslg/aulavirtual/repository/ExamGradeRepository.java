@@ -0,0 +1,61 @@
+package com.unslg.aulavirtual.repository;
+
+import com.unslg.aulavirtual.dto.projection.ExamGradeCountView;
+import com.unslg.aulavirtual.dto.projection.ExamSessionView;
+import com.unslg.aulavirtual.dto.projection.GradeCellView;
+import com.unslg.aulavirtual.entity.ExamGrade;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface ExamGradeRepository extends JpaRepository<ExamGrade, Long> {
+
+    List<ExamGrade> findByExamId(Long examId);
+
+    Optional<ExamGrade> findByExamIdAndStudentId(Long examId, Long studentId);
+
+    @Query("SELECT g.exam.id AS examId, " +
+           "SUM(CASE WHEN g.status = 'IN_PROGRESS' THEN 1 ELSE 0 END) AS inProgress, " +
+           "SUM(CASE WHEN g.status = 'COMPLETED' THEN 1 ELSE 0 END) AS completed, " +
+           "SUM(CASE WHEN g.status = 'GRADED' THEN 1 ELSE 0 END) AS graded " +
+           "FROM ExamGrade g WHERE g.exam.id IN :examIds GROUP BY g.exam.id")
+    List<ExamGradeCountView> countByExamIds(@Param("examIds") Collection<Long> examIds);
+
+    @Query("SELECT g.exam.id AS itemId, g.student.id AS studentId, g.grade AS grade " +
+           "FROM ExamGrade g WHERE g.exam.course.id = :courseId AND g.grade IS NOT NULL")
+    List<GradeCellView> findGradeCellsByCourseId(@Param("courseId") Long courseId);
+
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT g.grade FROM ExamGrade g WHERE g.exam.id = :examId AND g.grade IS NOT NULL")
+    Stream<Double> streamGradesByExamId(@Param("examId") Long examId);
+
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT g.exam.id AS itemId, g.student.id AS studentId, g.grade AS grade " +
+           "FROM ExamGrade g WHERE g.exam.course.academicPeriod = :academicPeriod AND g.grade IS NOT NULL")
+    Stream<GradeCellView> streamGradeCellsByAcademicPeriod(@Param("academicPeriod") String academicPeriod);
+
+    String SESSION_PROJECTION = "SELECT g.id AS gradeId, e.id AS examId, g.student.id AS studentId, " +
+            "g.startTime AS startTime, e.durationMinutes AS durationMinutes, e.endTime AS examEndTime, " +
+            "g.status AS status, g.answers AS answers, g.answersVersion AS answersVersion FROM ExamGrade g JOIN g.exam e ";
+
+    @Query(SESSION_PROJECTION + "WHERE g.status = com.unslg.aulavirtual.entity.ExamGrade$ExamStatus.IN_PROGRESS")
+    List<ExamSessionView> findActiveSessions();
+
+    @Query(SESSION_PROJECTION + "WHERE e.id = :examId AND g.student.id = :studentId")
+    Optional<ExamSessionView> findSession(@Param("examId") Long examId, @Param("studentId") Long studentId);
+}
@@ -1,17 +1,36 @@
 package com.unslg.aulavirtual.repository;
 
+import com.unslg.aulavirtual.dto.projection.AgendaItemView;
+import com.unslg.aulavirtual.dto.projection.ExamItemView;
+import com.unslg.aulavirtual.dto.projection.FeedItemView;
+import com.unslg.aulavirtual.dto.projection.FeedStampView;
+import com.unslg.aulavirtual.dto.projection.ExamWindowView;
+import com.unslg.aulavirtual.dto.projection.TransitionView;
+import com.unslg.aulavirtual.dto.response.ExamResponse;
 import com.unslg.aulavirtual.entity.Exam;
 import com.unslg.aulavirtual.entity.Course;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ExamRepository extends JpaRepository<Exam, Long> {
+
+    String RESPONSE_PROJECTION = "SELECT new com.unslg.aulavirtual.dto.response.ExamResponse(" +
+            "e.id, e.title, e.description, e.examType, e.startTime, e.endTime, e.durationMinutes, " +
+            "e.maxPoints, e.passingGrade, e.instructions, e.status, c.id, c.code, c.name, e.createdAt, e.updatedAt) " +
+            "FROM Exam e JOIN e.course c ";
     
     List<Exam> findByCourse(Course course);
     
@@ -27,4 +46,74 @@ public interface ExamRepository extends JpaRepository<Exam, Long> {
     
     @Query("SELECT e FROM Exam e JOIN e.course c JOIN c.enrolledStudents s WHERE s.id = :studentId")
     List<Exam> findByStudentId(@Param("studentId") Long studentId);
+
+    @Query(RESPONSE_PROJECTION + "ORDER BY e.startTime")
+    List<ExamResponse> findAllResponses();
+
+    @Query(RESPONSE_PROJECTION + "WHERE e.id = :id")
+    Optional<ExamResponse> findResponseById(@Param("id") Long id);
+
+    @Query(RESPONSE_PROJECTION + "WHERE c.id = :courseId ORDER BY e.startTime")
+    List<ExamResponse> findResponsesByCourseId(@Param("courseId") Long courseId);
+
+    @Query(RESPONSE_PROJECTION + "JOIN c.enrolledStudents s WHERE s.id = :studentId ORDER BY e.startTime")
+    List<ExamResponse> findResponsesByStudentId(@Param("studentId") Long studentId);
+
+    // Exams opening before :until that have not ended yet
+    @Query("SELECT e.id AS id, e.course.id AS courseId, e.endTime AS endTime FROM Exam e WHERE e.startTime <= :until AND e.endTime >= :from")
+    List<ExamWindowView> findWindowsOverlapping(@Param("from") LocalDateTime from, @Param("until") LocalDateTime until);
+
+    String ITEM_PROJECTION = "SELECT e.id AS id, e.title AS title, e.course.id AS courseId, " +
+            "e.maxPoints AS maxPoints, e.passingGrade AS passingGrade FROM Exam e ";
+
+    @Query(ITEM_PROJECTION + "WHERE e.id = :id")
+    Optional<ExamItemView> findItemById(@Param("id") Long id);
+
+    @Query(ITEM_PROJECTION + "WHERE e.course.academicPeriod = :academicPeriod")
+    List<ExamItemView> findItemsByAcademicPeriod(@Param("academicPeriod") String academicPeriod);
+
+    @Query("SELECT e.id AS id, e.startTime AS dueAt FROM Exam e " +
+           "WHERE e.status = com.unslg.aulavirtual.entity.Exam$ExamStatus.DRAFT AND e.startTime <= :until")
+    List<TransitionView> findOpeningBefore(@Param("until") LocalDateTime until);
+
+    @Query("SELECT e.id AS id, e.endTime AS dueAt FROM Exam e " +
+           "WHERE e.status <> com.unslg.aulavirtual.entity.Exam$ExamStatus.CLOSED AND e.endTime <= :until")
+    List<TransitionView> findClosingBefore(@Param("until") LocalDateTime until);
+
+    // Conditional on the current times, so a stale timer for an edited exam is a no-op
+    @Transactional
+    @Modifying
+    @Query("UPDATE Exam e SET e.status = com.unslg.aulavirtual.entity.Exam$ExamStatus.ACTIVE " +
+           "WHERE e.id = :id AND e.status = com.unslg.aulavirtual.entity.Exam$ExamStatus.DRAFT " +
+           "AND e.startTime <= :now AND e.endTime > :now")
+    int markActive(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Exam e SET e.status = com.unslg.aulavirtual.entity.Exam$ExamStatus.CLOSED " +
+           "WHERE e.id = :id AND e.status <> com.unslg.aulavirtual.entity.Exam$ExamStatus.CLOSED AND e.endTime <= :now")
+    int markClosed(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Query("SELECT e.id AS id, e.title AS title, e.startTime AS startsAt, e.endTime AS endsAt, e.course.id AS courseId " +
+           "FROM Exam e WHERE e.course.id IN :courseIds " +
+           "AND (e.startTime > :afterTime OR (e.startTime = :afterTime AND e.id > :afterId)) AND e.startTime <= :until " +
+           "ORDER BY e.startTime, e.id")
+    List<AgendaItemView> findAgendaPage(@Param("courseIds") Collection<Long> courseIds,
+                                        @Param("afterTime") LocalDateTime afterTime,
+                                        @Param("afterId") Long afterId,
+                                        @Param("until") LocalDateTime until,
+                                        Pageable pageable);
+
+    // Exams only leave DRAFT when they open, so upcoming exams are DRAFT and must stay in the feed
+    String FEED_SCOPE = "WHERE e.course.id IN :courseIds ";
+
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Query("SELECT e.id AS id, e.title AS title, e.description AS description, e.startTime AS startsAt, " +
+           "e.endTime AS endsAt, e.updatedAt AS updatedAt FROM Exam e " + FEED_SCOPE + " AND e.id > :afterId ORDER BY e.id")
+    List<FeedItemView> findFeedItemsAfter(@Param("courseIds") Collection<Long> courseIds, @Param("afterId") Long afterId,
+                                          Pageable pageable);
+
+    @Query("SELECT MAX(e.updatedAt) AS lastModified, COUNT(e) AS total FROM Exam e " + FEED_SCOPE)
+    FeedStampView findFeedStamp(@Param("courseIds") Collection<Long> courseIds);
 }
@@ -0,0 +1,57 @@
+package com.unslg.aulavirtual.repository;
+
+import com.unslg.aulavirtual.dto.projection.ForumPostIdView;
+import com.unslg.aulavirtual.dto.projection.ForumPostView;
+import com.unslg.aulavirtual.entity.ForumPost;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ForumPostRepository extends JpaRepository<ForumPost, Long> {
+
+    String VIEW_PROJECTION = "SELECT p.id AS id, p.parentPost.id AS parentPostId, p.depth AS depth, " +
+            "p.title AS title, p.content AS content, p.isPinned AS isPinned, p.replyCount AS replyCount, " +
+            "a.id AS authorId, a.firstName AS authorFirstName, a.lastName AS authorLastName, " +
+            "p.createdAt AS createdAt, p.updatedAt AS updatedAt " +
+            "FROM ForumPost p JOIN p.author a ";
+
+    @Query("SELECT p.id FROM ForumPost p WHERE p.forum.id = :forumId AND p.parentPost IS NULL " +
+           "AND p.id < :beforeId ORDER BY p.id DESC")
+    List<Long> findRootIdsBefore(@Param("forumId") Long forumId, @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Query("SELECT p.id FROM ForumPost p WHERE p.parentPost.id = :parentId AND p.id > :afterId ORDER BY p.id")
+    List<Long> findReplyIdsAfter(@Param("parentId") Long parentId, @Param("afterId") Long afterId, Pageable pageable);
+
+    // Subtrees of consecutive siblings occupy one contiguous path range, so this is a single index range scan
+    @Query(VIEW_PROJECTION + "WHERE p.forum.id = :forumId AND p.path >= :fromPath AND p.path < :toPath " +
+           "AND p.depth <= :maxDepth ORDER BY p.path")
+    List<ForumPostView> findByPathRange(@Param("forumId") Long forumId,
+                                        @Param("fromPath") String fromPath,
+                                        @Param("toPath") String toPath,
+                                        @Param("maxDepth") int maxDepth);
+
+    @Query("SELECT p.id AS id, p.forum.id AS forumId, p.rootPostId AS rootPostId FROM ForumPost p WHERE p.forum.id = :forumId")
+    List<ForumPostIdView> findIdsByForumId(@Param("forumId") Long forumId);
+
+    @Query("SELECT p.id AS id, p.forum.id AS forumId, p.rootPostId AS rootPostId FROM ForumPost p WHERE p.forum.id IN :forumIds")
+    List<ForumPostIdView> findIdsByForumIds(@Param("forumIds") Collection<Long> forumIds);
+
+    @Query("SELECT COUNT(p) FROM ForumPost p WHERE p.forum.id = :forumId AND p.path LIKE CONCAT(:path, '%')")
+    long countSubtree(@Param("forumId") Long forumId, @Param("path") String path);
+
+    @Modifying
+    @Query("UPDATE ForumPost p SET p.replyCount = p.replyCount + :delta WHERE p.id = :id")
+    int adjustReplyCount(@Param("id") Long id, @Param("delta") int delta);
+
+    // Descendants go with the ON DELETE CASCADE on parent_post_id instead of a recursive JPA cascade
+    @Modifying
+    @Query("DELETE FROM ForumPost p WHERE p.id = :id")
+    int deleteSubtree(@Param("id") Long id);
+}
@@ -1,12 +1,17 @@
 package com.unslg.aulavirtual.repository;
 
+import com.unslg.aulavirtual.dto.projection.ForumActivityView;
 import com.unslg.aulavirtual.entity.Forum;
 import com.unslg.aulavirtual.entity.Course;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -22,7 +27,41 @@ public interface ForumRepository extends JpaRepository<Forum, Long> {
     
     @Query("SELECT f FROM Forum f WHERE f.title LIKE %:search% OR f.description LIKE %:search%")
     List<Forum> findBySearchTerm(@Param("search") String search);
-    
-    @Query("SELECT f FROM Forum f ORDER BY f.lastActivity DESC")
-    List<Forum> findAllOrderByLastActivity();
+
+    @Query("SELECT f.id FROM Forum f WHERE f.course IS NULL OR f.course.id IN :courseIds")
+    List<Long> findVisibleForumIds(@Param("courseIds") Collection<Long> courseIds);
+
+    String ACTIVITY_PROJECTION = "SELECT f.id AS id, f.title AS title, f.forumType AS forumType, f.status AS status, " +
+            "f.course.id AS courseId, f.postCount AS postCount, f.replyCount AS replyCount, " +
+            "f.lastActivity AS lastActivity FROM Forum f ";
+
+    String ACTIVITY_KEYSET = "(f.lastActivity < :lastActivity OR (f.lastActivity = :lastActivity AND f.id < :id)) " +
+            "ORDER BY f.lastActivity DESC, f.id DESC";
+
+    @Query(ACTIVITY_PROJECTION + "WHERE " + ACTIVITY_KEYSET)
+    List<ForumActivityView> findActivityPage(@Param("lastActivity") LocalDateTime lastActivity,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
+
+    @Query(ACTIVITY_PROJECTION + "WHERE f.course.id = :courseId AND " + ACTIVITY_KEYSET)
+    List<ForumActivityView> findActivityPageByCourseId(@Param("courseId") Long courseId,
+                                                       @Param("lastActivity") LocalDateTime lastActivity,
+                                                       @Param("id") Long id,
+                                                       Pageable pageable);
+
+    // Single atomic UPDATE so concurrent posts never lose an increment. Assigning updatedAt to
+    // itself keeps MySQL's ON UPDATE CURRENT_TIMESTAMP from treating activity as an edit.
+    @Modifying
+    @Query("UPDATE Forum f SET f.postCount = f.postCount + :posts, f.replyCount = f.replyCount + :replies, " +
+           "f.lastActivity = CASE WHEN f.lastActivity < :activityAt THEN :activityAt ELSE f.lastActivity END, " +
+           "f.updatedAt = f.updatedAt WHERE f.id = :id")
+    int recordActivity(@Param("id") Long id,
+                       @Param("posts") int posts,
+                       @Param("replies") int replies,
+                       @Param("activityAt") LocalDateTime activityAt);
+
+    @Modifying
+    @Query("UPDATE Forum f SET f.postCount = f.postCount + :posts, f.replyCount = f.replyCount + :replies, " +
+           "f.updatedAt = f.updatedAt WHERE f.id = :id")
+    int adjustCounts(@Param("id") Long id, @Param("posts") int posts, @Param("replies") int replies);
 }
@@ -0,0 +1,27 @@
+package com.unslg.aulavirtual.repository;
+
+import com.unslg.aulavirtual.entity.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // Takes or renews the lease; uses the database clock so nodes never compare their own clocks
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE scheduler_leases SET owner = :owner, expires_at = NOW() + INTERVAL :seconds SECOND " +
+                   "WHERE name = :name AND (owner = :owner OR expires_at IS NULL OR expires_at < NOW())",
+           nativeQuery = true)
+    int tryAcquire(@Param("name") String name, @Param("owner") String owner, @Param("seconds") long seconds);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE scheduler_leases SET owner = NULL, expires_at = NULL WHERE name = :name AND owner = :owner",
+           nativeQuery = true)
+    int release(@Param("name") String name, @Param("owner") String owner);
+}
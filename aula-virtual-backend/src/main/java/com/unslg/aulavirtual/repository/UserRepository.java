@@ -1,7 +1,9 @@
 package com.unslg.aulavirtual.repository;
 
 import com.unslg.aulavirtual.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -28,6 +30,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByRoleName(@Param("roleName") String roleName);
     
     List<User> findByStatus(User.UserStatus status);
+
+    // Row lock that serializes the bookings of one host
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdForUpdate(@Param("id") Long id);
     
     @Query("SELECT u FROM User u WHERE u.firstName LIKE %:search% OR u.lastName LIKE %:search% OR u.email LIKE %:search% OR u.userCode LIKE %:search%")
     List<User> findBySearchTerm(@Param("search") String search);
@@ -0,0 +1,74 @@
+package com.unslg.aulavirtual.repository;
+
+import com.unslg.aulavirtual.dto.projection.ConferenceAgendaView;
+import com.unslg.aulavirtual.dto.projection.ConferenceWindowView;
+import com.unslg.aulavirtual.entity.VideoConference;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface VideoConferenceRepository extends JpaRepository<VideoConference, Long> {
+
+    List<VideoConference> findByCourseId(Long courseId);
+
+    List<VideoConference> findByHostId(Long hostId);
+
+    // Sessions starting inside (earliestStart, end); the caller drops those that end before its
+    // start. With durations capped this is a bounded seek on the (host|course, scheduled_time) indexes.
+    String BOOKING_PROJECTION = "SELECT v.id AS id, v.title AS title, v.scheduledTime AS scheduledTime, " +
+            "v.duration AS duration, v.course.id AS courseId FROM VideoConference v ";
+
+    String BOOKING_WINDOW = "AND v.status <> com.unslg.aulavirtual.entity.VideoConference$ConferenceStatus.ENDED " +
+            "AND v.scheduledTime > :earliestStart AND v.scheduledTime < :end AND v.id <> :excludedId";
+
+    @Query(BOOKING_PROJECTION + "WHERE v.host.id = :hostId " + BOOKING_WINDOW)
+    List<ConferenceAgendaView> findHostBookings(@Param("hostId") Long hostId,
+                                                @Param("earliestStart") LocalDateTime earliestStart,
+                                                @Param("end") LocalDateTime end,
+                                                @Param("excludedId") Long excludedId);
+
+    @Query(BOOKING_PROJECTION + "WHERE v.course.id = :courseId " + BOOKING_WINDOW)
+    List<ConferenceAgendaView> findCourseBookings(@Param("courseId") Long courseId,
+                                                  @Param("earliestStart") LocalDateTime earliestStart,
+                                                  @Param("end") LocalDateTime end,
+                                                  @Param("excludedId") Long excludedId);
+
+    @Query("SELECT v.id AS id, v.scheduledTime AS scheduledTime, v.duration AS duration FROM VideoConference v " +
+           "WHERE v.status = :status AND v.scheduledTime <= :until")
+    List<ConferenceWindowView> findWindowsByStatus(@Param("status") VideoConference.ConferenceStatus status,
+                                                   @Param("until") LocalDateTime until);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE VideoConference v SET v.status = com.unslg.aulavirtual.entity.VideoConference$ConferenceStatus.LIVE " +
+           "WHERE v.id = :id AND v.status = com.unslg.aulavirtual.entity.VideoConference$ConferenceStatus.SCHEDULED " +
+           "AND v.scheduledTime <= :now")
+    int markLive(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE video_conferences SET status = 'ENDED' " +
+                   "WHERE id = :id AND status <> 'ENDED' AND scheduled_time + INTERVAL duration MINUTE <= :now",
+           nativeQuery = true)
+    int markEnded(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Query("SELECT v.id AS id, v.title AS title, v.scheduledTime AS scheduledTime, v.duration AS duration, " +
+           "v.course.id AS courseId FROM VideoConference v WHERE (v.course.id IN :courseIds OR v.host.id = :hostId) " +
+           "AND (v.scheduledTime > :afterTime OR (v.scheduledTime = :afterTime AND v.id > :afterId)) " +
+           "AND v.scheduledTime <= :until ORDER BY v.scheduledTime, v.id")
+    List<ConferenceAgendaView> findAgendaPage(@Param("courseIds") Collection<Long> courseIds,
+                                              @Param("hostId") Long hostId,
+                                              @Param("afterTime") LocalDateTime afterTime,
+                                              @Param("afterId") Long afterId,
+                                              @Param("until") LocalDateTime until,
+                                              Pageable pageable);
+}
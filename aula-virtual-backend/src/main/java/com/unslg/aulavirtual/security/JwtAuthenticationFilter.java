@@ -22,6 +22,9 @@ import java.io.IOException;
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // EventSource cannot send headers, so the live stream alone also accepts the token as a parameter
+    private static final String LIVE_STREAM_PATH = "/api/live/stream";
+
     private final JwtUtils jwtUtils;
     private final UserDetailsService userDetailsService;
 
@@ -55,6 +58,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return headerAuth.substring(7);
         }
 
+        String tokenParam = request.getParameter("access_token");
+        if (StringUtils.hasText(tokenParam) && LIVE_STREAM_PATH.equals(request.getServletPath())) {
+            return tokenParam;
+        }
+
         return null;
     }
 }
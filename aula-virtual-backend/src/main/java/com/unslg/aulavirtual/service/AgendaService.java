@@ -0,0 +1,196 @@
+package com.unslg.aulavirtual.service;
+
+import com.unslg.aulavirtual.dto.projection.AgendaItemView;
+import com.unslg.aulavirtual.dto.response.AgendaItemResponse;
+import com.unslg.aulavirtual.dto.response.CalendarEventResponse;
+import com.unslg.aulavirtual.dto.response.CursorPageResponse;
+import com.unslg.aulavirtual.exception.BadRequestException;
+import com.unslg.aulavirtual.repository.AssignmentRepository;
+import com.unslg.aulavirtual.repository.CourseRepository;
+import com.unslg.aulavirtual.repository.ExamRepository;
+import com.unslg.aulavirtual.repository.VideoConferenceRepository;
+import com.unslg.aulavirtual.util.CursorUtils;
+import com.unslg.aulavirtual.util.SortedMerge;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+// One timeline of everything a user has scheduled: calendar events, assignment deadlines, exams
+// and video conferences of their courses. The course ids are resolved once, the four sources are
+// read in parallel, each already sorted and cut to the page size at the cursor, and the page is
+// a k-way merge of them ordered by (start, type, id).
+@Service
+@RequiredArgsConstructor
+public class AgendaService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final Duration MAX_RANGE = Duration.ofDays(366);
+
+    private static final Comparator<AgendaEntry> AGENDA_ORDER = Comparator
+            .comparingLong(AgendaEntry::start)
+            .thenComparing(AgendaEntry::type)
+            .thenComparingLong(AgendaEntry::id);
+
+    private final CourseRepository courseRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final ExamRepository examRepository;
+    private final VideoConferenceRepository videoConferenceRepository;
+    private final CalendarIndexService calendarIndexService;
+    private final ThreadPoolTaskExecutor agendaExecutor;
+
+    @Value("${app.agenda.page-size:100}")
+    private int defaultPageSize;
+
+    // Declaration order is the tie-break between items that start at the same instant
+    public enum ItemType {
+        EVENT, ASSIGNMENT, EXAM, CONFERENCE
+    }
+
+    private record AgendaEntry(long start, ItemType type, long id, AgendaItemResponse item) {
+    }
+
+    public CursorPageResponse<AgendaItemResponse> getAgenda(Long userId, LocalDateTime from, LocalDateTime to,
+                                                            String cursor, Integer limit) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        if (Duration.between(from, to).compareTo(MAX_RANGE) > 0) {
+            throw new BadRequestException("Date range cannot exceed " + MAX_RANGE.toDays() + " days");
+        }
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        AgendaEntry after = null;
+        if (StringUtils.hasText(cursor)) {
+            long[] position = CursorUtils.decode(cursor, 3);
+            if (position[1] < 0 || position[1] >= ItemType.values().length) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            after = new AgendaEntry(position[0], ItemType.values()[(int) position[1]], position[2], null);
+        }
+
+        List<Long> courseIds = courseRepository.findAccessibleCourseIds(userId);
+        List<Long> queryCourseIds = courseIds.isEmpty() ? List.of(-1L) : courseIds;
+        int fetch = pageSize + 1;
+        AgendaEntry position = after;
+
+        CompletableFuture<List<AgendaEntry>> events = query(() -> {
+            long afterStart = position != null ? position.start() : Long.MIN_VALUE;
+            long afterId = afterIdFor(ItemType.EVENT, position);
+            List<AgendaEntry> entries = new ArrayList<>();
+            for (CalendarEventResponse event : calendarIndexService.findOverlapping(
+                    userId, courseIds, from, to, afterStart, afterId, fetch)) {
+                entries.add(entry(ItemType.EVENT, event.getId(), event.getTitle(),
+                        event.getStartDatetime(), event.getEndDatetime(), event.getCourseId()));
+            }
+            return entries;
+        });
+        CompletableFuture<List<AgendaEntry>> assignments = query(() -> toEntries(ItemType.ASSIGNMENT,
+                assignmentRepository.findAgendaPage(queryCourseIds, afterTime(from, position),
+                        afterIdFor(ItemType.ASSIGNMENT, from, position), to, PageRequest.of(0, fetch))));
+        CompletableFuture<List<AgendaEntry>> exams = query(() -> toEntries(ItemType.EXAM,
+                examRepository.findAgendaPage(queryCourseIds, afterTime(from, position),
+                        afterIdFor(ItemType.EXAM, from, position), to, PageRequest.of(0, fetch))));
+        CompletableFuture<List<AgendaEntry>> conferences = query(() -> {
+            List<AgendaEntry> entries = new ArrayList<>();
+            videoConferenceRepository.findAgendaPage(queryCourseIds, userId, afterTime(from, position),
+                            afterIdFor(ItemType.CONFERENCE, from, position), to, PageRequest.of(0, fetch))
+                    .forEach(view -> entries.add(entry(ItemType.CONFERENCE, view.getId(), view.getTitle(),
+                            view.getScheduledTime(), view.getScheduledTime().plusMinutes(view.getDuration()),
+                            view.getCourseId())));
+            return entries;
+        });
+
+        List<List<AgendaEntry>> sources = List.of(join(events), join(assignments), join(exams), join(conferences));
+        List<AgendaEntry> page = SortedMerge.merge(sources, AGENDA_ORDER, fetch);
+        boolean hasMore = page.size() > pageSize;
+        if (hasMore) {
+            page = page.subList(0, pageSize);
+        }
+
+        List<AgendaItemResponse> items = new ArrayList<>(page.size());
+        page.forEach(entry -> items.add(entry.item()));
+        String nextCursor = null;
+        if (hasMore) {
+            AgendaEntry last = page.get(page.size() - 1);
+            nextCursor = CursorUtils.encode(last.start(), last.type().ordinal(), last.id());
+        }
+        return CursorPageResponse.of(items, nextCursor);
+    }
+
+    private <T> CompletableFuture<T> query(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, agendaExecutor);
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // The SQL sources only hold items starting inside the window, so a cursor before it
+    // (left by an event that started earlier) resumes at the window start
+    private LocalDateTime afterTime(LocalDateTime from, AgendaEntry after) {
+        if (after == null || after.start() < toMillis(from)) {
+            return from;
+        }
+        return fromMillis(after.start());
+    }
+
+    private long afterIdFor(ItemType type, LocalDateTime from, AgendaEntry after) {
+        if (after == null || after.start() < toMillis(from)) {
+            return Long.MIN_VALUE;
+        }
+        return afterIdFor(type, after);
+    }
+
+    // Within the cursor's instant, types ordered before the cursor are already consumed and
+    // types after it are not, which turns the three-part cursor into (start, id) per source
+    private long afterIdFor(ItemType type, AgendaEntry after) {
+        if (after == null) {
+            return Long.MIN_VALUE;
+        }
+        int order = type.compareTo(after.type());
+        if (order < 0) {
+            return Long.MAX_VALUE;
+        }
+        return order == 0 ? after.id() : Long.MIN_VALUE;
+    }
+
+    private List<AgendaEntry> toEntries(ItemType type, List<AgendaItemView> views) {
+        List<AgendaEntry> entries = new ArrayList<>(views.size());
+        views.forEach(view -> entries.add(entry(type, view.getId(), view.getTitle(),
+                view.getStartsAt(), view.getEndsAt(), view.getCourseId())));
+        return entries;
+    }
+
+    private AgendaEntry entry(ItemType type, Long id, String title, LocalDateTime startsAt, LocalDateTime endsAt, Long courseId) {
+        AgendaItemResponse item = new AgendaItemResponse(type.name(), id, title, startsAt, endsAt, courseId);
+        return new AgendaEntry(toMillis(startsAt), type, id, item);
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private LocalDateTime fromMillis(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L),
+                (int) Math.floorMod(millis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,245 @@
+package com.unslg.aulavirtual.service;
+
+import com.unslg.aulavirtual.dto.projection.AnnouncementFeedView;
+import com.unslg.aulavirtual.dto.response.AnnouncementSummaryResponse;
+import com.unslg.aulavirtual.dto.response.CursorPageResponse;
+import com.unslg.aulavirtual.event.AnnouncementChangedEvent;
+import com.unslg.aulavirtual.event.CourseStructureChangedEvent;
+import com.unslg.aulavirtual.repository.AnnouncementRepository;
+import com.unslg.aulavirtual.repository.CourseRepository;
+import com.unslg.aulavirtual.util.CursorUtils;
+import com.unslg.aulavirtual.util.SortedMerge;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Personal announcement feed: site-wide announcements plus those of the user's courses. Each
+// source is cached as an immutable list in feed order with a stamp derived from its content,
+// and a page is a k-way merge of those lists from the cursor position. The ETag is a hash of
+// the sources' stamps, so a refresh of an unchanged feed is answered from memory with a 304.
+// Changes made on other nodes arrive through announcement_feed_versions, which every node polls.
+@Service
+@RequiredArgsConstructor
+public class AnnouncementFeedService {
+
+    // Course ids start at 1, so 0 is free to key the site-wide list
+    private static final long SITE_WIDE = 0L;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final String BUMP_SQL = "INSERT INTO announcement_feed_versions (source_id, version) VALUES (?, 1) " +
+            "ON DUPLICATE KEY UPDATE version = version + 1";
+    private static final String VERSION_SQL = "SELECT version FROM announcement_feed_versions WHERE source_id = ?";
+    private static final String VERSIONS_SQL = "SELECT source_id, version FROM announcement_feed_versions";
+
+    private static final Comparator<FeedEntry> FEED_ORDER = Comparator
+            .comparing(FeedEntry::pinned, Comparator.reverseOrder())
+            .thenComparing(FeedEntry::publishedAt, Comparator.reverseOrder())
+            .thenComparing(FeedEntry::id, Comparator.reverseOrder());
+
+    private final AnnouncementRepository announcementRepository;
+    private final CourseRepository courseRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, CompletableFuture<SourceFeed>> feeds = new ConcurrentHashMap<>();
+    private final Map<Long, UserCourses> userCourses = new ConcurrentHashMap<>();
+
+    @Value("${app.announcement.feed.page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${app.announcement.feed.user-ttl-ms:300000}")
+    private long userTtlMs;
+
+    private record FeedEntry(boolean pinned, long publishedAt, long id, AnnouncementSummaryResponse item) {
+    }
+
+    private record SourceFeed(List<FeedEntry> entries, long stamp, long version) {
+    }
+
+    private record UserCourses(long[] courseIds, long loadedAt) {
+    }
+
+    public String getFeedETag(Long userId, String cursor, Integer limit) {
+        long hash = 17;
+        for (long source : sourcesOf(userId)) {
+            hash = 31 * hash + source;
+            hash = 31 * hash + feed(source).stamp();
+        }
+        hash = 31 * hash + (StringUtils.hasText(cursor) ? cursor.hashCode() : 0);
+        hash = 31 * hash + pageSize(limit);
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+
+    public CursorPageResponse<AnnouncementSummaryResponse> getFeed(Long userId, String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        FeedEntry after = null;
+        if (StringUtils.hasText(cursor)) {
+            long[] position = CursorUtils.decode(cursor, 3);
+            after = new FeedEntry(position[0] == 1, position[1], position[2], null);
+        }
+
+        List<List<FeedEntry>> sources = new ArrayList<>();
+        for (long source : sourcesOf(userId)) {
+            List<FeedEntry> entries = feed(source).entries();
+            int start = after != null ? SortedMerge.indexAfter(entries, after, FEED_ORDER) : 0;
+            sources.add(entries.subList(start, entries.size()));
+        }
+
+        List<FeedEntry> page = SortedMerge.merge(sources, FEED_ORDER, pageSize + 1);
+        boolean hasMore = page.size() > pageSize;
+        if (hasMore) {
+            page = page.subList(0, pageSize);
+        }
+
+        List<AnnouncementSummaryResponse> items = new ArrayList<>(page.size());
+        page.forEach(entry -> items.add(entry.item()));
+        String nextCursor = null;
+        if (hasMore) {
+            FeedEntry last = page.get(page.size() - 1);
+            nextCursor = CursorUtils.encode(last.pinned() ? 1 : 0, last.publishedAt(), last.id());
+        }
+        return CursorPageResponse.of(items, nextCursor);
+    }
+
+    // Runs inside the transaction that changed the announcement, so the bump commits with it.
+    // fallbackExecution covers the scheduler, which publishes announcements outside a transaction
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void bumpVersion(AnnouncementChangedEvent event) {
+        jdbcTemplate.update(BUMP_SQL, sourceOf(event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAnnouncementChanged(AnnouncementChangedEvent event) {
+        feeds.remove(sourceOf(event));
+    }
+
+    // Drops feeds another node has changed since they were loaded here
+    @Scheduled(fixedDelayString = "${app.announcement.feed.version-poll-ms:5000}")
+    public void pollVersions() {
+        jdbcTemplate.query(VERSIONS_SQL, rs -> {
+            long source = rs.getLong("source_id");
+            long version = rs.getLong("version");
+            feeds.computeIfPresent(source, (id, pending) -> {
+                // A load still in flight read its version first and is caught by the next poll
+                SourceFeed feed = completed(pending);
+                return feed != null && feed.version() < version ? null : pending;
+            });
+        });
+    }
+
+    @TransactionalEventListener
+    public void onCourseStructureChanged(CourseStructureChangedEvent event) {
+        // Enrollment changes reach users of other courses only through their course lists
+        userCourses.clear();
+    }
+
+    @Scheduled(fixedDelayString = "${app.announcement.feed.user-ttl-ms:300000}")
+    public void evictExpiredUsers() {
+        long expiredBefore = System.currentTimeMillis() - userTtlMs;
+        userCourses.values().removeIf(courses -> courses.loadedAt() < expiredBefore);
+    }
+
+    private long sourceOf(AnnouncementChangedEvent event) {
+        return event.getCourseId() != null ? event.getCourseId() : SITE_WIDE;
+    }
+
+    private long[] sourcesOf(Long userId) {
+        UserCourses courses = userCourses.get(userId);
+        if (courses == null || System.currentTimeMillis() - courses.loadedAt() >= userTtlMs) {
+            List<Long> courseIds = courseRepository.findAccessibleCourseIds(userId);
+            long[] sources = new long[courseIds.size() + 1];
+            sources[0] = SITE_WIDE;
+            for (int i = 0; i < courseIds.size(); i++) {
+                sources[i + 1] = courseIds.get(i);
+            }
+            // Sorted so the ETag does not depend on query order
+            Arrays.sort(sources);
+            courses = new UserCourses(sources, System.currentTimeMillis());
+            userCourses.put(userId, courses);
+        }
+        return courses.courseIds();
+    }
+
+    // Concurrent misses for one source wait on the first caller's load, which runs its two queries
+    // outside the map lock so other sources in the same bin are not blocked behind it
+    private SourceFeed feed(long source) {
+        CompletableFuture<SourceFeed> pending = new CompletableFuture<>();
+        CompletableFuture<SourceFeed> existing = feeds.putIfAbsent(source, pending);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException ex) {
+                throw (RuntimeException) ex.getCause();
+            }
+        }
+        try {
+            SourceFeed feed = loadFeed(source);
+            pending.complete(feed);
+            return feed;
+        } catch (RuntimeException ex) {
+            feeds.remove(source, pending);
+            pending.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private static SourceFeed completed(CompletableFuture<SourceFeed> pending) {
+        return pending.isDone() && !pending.isCompletedExceptionally() ? pending.join() : null;
+    }
+
+    private SourceFeed loadFeed(Long source) {
+        // Read before the rows: a change committed in between leaves the feed one version behind,
+        // so the next poll reloads it rather than keeping it forever
+        long version = jdbcTemplate.query(VERSION_SQL, rs -> rs.next() ? rs.getLong(1) : 0L, source);
+        List<AnnouncementFeedView> rows = source == SITE_WIDE
+                ? announcementRepository.findSiteWideFeed()
+                : announcementRepository.findFeedByCourseId(source);
+
+        List<FeedEntry> entries = new ArrayList<>(rows.size());
+        long stamp = 1;
+        for (AnnouncementFeedView row : rows) {
+            long publishedAt = row.getPublishedAt() != null ? row.getPublishedAt().toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+            long updatedAt = row.getUpdatedAt() != null ? row.getUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+            boolean pinned = Boolean.TRUE.equals(row.getIsPinned());
+            entries.add(new FeedEntry(pinned, publishedAt, row.getId(), convertToResponse(row)));
+            // Content-derived, so every node computes the same stamp for the same rows
+            stamp = 31 * stamp + row.getId();
+            stamp = 31 * stamp + updatedAt;
+            stamp = 31 * stamp + (pinned ? 1 : 0);
+        }
+        // The query orders the same way; sorting here keeps the merge correct if the two drift
+        entries.sort(FEED_ORDER);
+        return new SourceFeed(List.copyOf(entries), stamp, version);
+    }
+
+    private int pageSize(Integer limit) {
+        return limit == null ? defaultPageSize : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private AnnouncementSummaryResponse convertToResponse(AnnouncementFeedView view) {
+        AnnouncementSummaryResponse response = new AnnouncementSummaryResponse();
+        response.setId(view.getId());
+        response.setTitle(view.getTitle());
+        response.setSummary(view.getSummary());
+        response.setPriority(view.getPriority().name());
+        response.setIsPinned(view.getIsPinned());
+        response.setPublishedAt(view.getPublishedAt());
+        response.setCourseId(view.getCourseId());
+        response.setAuthorName(view.getAuthorFirstName() + " " + view.getAuthorLastName());
+        return response;
+    }
+}
@@ -0,0 +1,164 @@
+package com.unslg.aulavirtual.service;
+
+import com.unslg.aulavirtual.dto.request.AnnouncementRequest;
+import com.unslg.aulavirtual.dto.response.AnnouncementResponse;
+import com.unslg.aulavirtual.entity.Announcement;
+import com.unslg.aulavirtual.entity.Course;
+import com.unslg.aulavirtual.entity.User;
+import com.unslg.aulavirtual.event.AnnouncementChangedEvent;
+import com.unslg.aulavirtual.event.ContentPublishedEvent;
+import com.unslg.aulavirtual.event.TransitionScheduleChangedEvent;
+import com.unslg.aulavirtual.exception.BadRequestException;
+import com.unslg.aulavirtual.exception.ResourceNotFoundException;
+import com.unslg.aulavirtual.repository.AnnouncementRepository;
+import com.unslg.aulavirtual.repository.CourseRepository;
+import com.unslg.aulavirtual.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class AnnouncementService {
+
+    private final AnnouncementRepository announcementRepository;
+    private final CourseRepository courseRepository;
+    private final UserRepository userRepository;
+    private final AnnouncementViewService announcementViewService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public List<AnnouncementResponse> getPublishedAnnouncements() {
+        return announcementRepository.findPublishedOrderByPinnedAndDate().stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public AnnouncementResponse getAnnouncementById(Long id, Long viewerId) {
+        AnnouncementResponse announcement = convertToResponse(findAnnouncement(id));
+        if (Announcement.AnnouncementStatus.PUBLISHED.name().equals(announcement.getStatus())) {
+            announcementViewService.recordView(id, viewerId);
+        }
+        return announcement;
+    }
+
+    public AnnouncementResponse createAnnouncement(AnnouncementRequest request, Long authorId) {
+        User author = userRepository.findById(authorId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + authorId));
+
+        Announcement announcement = new Announcement(request.getTitle(), request.getContent(), author);
+        applyRequest(announcement, request);
+        Announcement savedAnnouncement = announcementRepository.save(announcement);
+
+        eventPublisher.publishEvent(new AnnouncementChangedEvent(courseIdOf(savedAnnouncement)));
+        publishStatus(savedAnnouncement, null);
+        return convertToResponse(savedAnnouncement);
+    }
+
+    public AnnouncementResponse updateAnnouncement(Long id, AnnouncementRequest request) {
+        Announcement announcement = findAnnouncement(id);
+        Announcement.AnnouncementStatus previousStatus = announcement.getStatus();
+        Long previousCourseId = courseIdOf(announcement);
+
+        announcement.setTitle(request.getTitle());
+        announcement.setContent(request.getContent());
+        applyRequest(announcement, request);
+        Announcement savedAnnouncement = announcementRepository.save(announcement);
+
+        eventPublisher.publishEvent(new AnnouncementChangedEvent(courseIdOf(savedAnnouncement)));
+        if (!Objects.equals(previousCourseId, courseIdOf(savedAnnouncement))) {
+            eventPublisher.publishEvent(new AnnouncementChangedEvent(previousCourseId));
+        }
+        publishStatus(savedAnnouncement, previousStatus);
+        return convertToResponse(savedAnnouncement);
+    }
+
+    public void deleteAnnouncement(Long id) {
+        Announcement announcement = findAnnouncement(id);
+        announcementRepository.delete(announcement);
+        announcementViewService.evict(id);
+        eventPublisher.publishEvent(new AnnouncementChangedEvent(courseIdOf(announcement)));
+    }
+
+    private Long courseIdOf(Announcement announcement) {
+        return announcement.getCourse() != null ? announcement.getCourse().getId() : null;
+    }
+
+    private Announcement findAnnouncement(Long id) {
+        return announcementRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Announcement not found with id: " + id));
+    }
+
+    private void applyRequest(Announcement announcement, AnnouncementRequest request) {
+        announcement.setSummary(request.getSummary());
+        if (request.getPriority() != null) {
+            announcement.setPriority(Announcement.Priority.valueOf(request.getPriority().toUpperCase()));
+        }
+        if (request.getIsPinned() != null) {
+            announcement.setIsPinned(request.getIsPinned());
+        }
+
+        Course course = null;
+        if (request.getCourseId() != null) {
+            course = courseRepository.findById(request.getCourseId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + request.getCourseId()));
+        }
+        announcement.setCourse(course);
+
+        Announcement.AnnouncementStatus status = request.getStatus() != null
+                ? Announcement.AnnouncementStatus.valueOf(request.getStatus().toUpperCase())
+                : announcement.getStatus();
+        LocalDateTime now = LocalDateTime.now();
+        if (status == Announcement.AnnouncementStatus.SCHEDULED) {
+            if (request.getScheduledAt() == null || !request.getScheduledAt().isAfter(now)) {
+                throw new BadRequestException("A scheduled announcement needs a future scheduledAt");
+            }
+            announcement.setScheduledAt(request.getScheduledAt());
+        } else if (status == Announcement.AnnouncementStatus.PUBLISHED && announcement.getPublishedAt() == null) {
+            announcement.setPublishedAt(now);
+        }
+        announcement.setStatus(status);
+    }
+
+    private void publishStatus(Announcement announcement, Announcement.AnnouncementStatus previousStatus) {
+        if (announcement.getStatus() == Announcement.AnnouncementStatus.SCHEDULED) {
+            eventPublisher.publishEvent(new TransitionScheduleChangedEvent(
+                    TransitionScheduleChangedEvent.TransitionType.ANNOUNCEMENT_PUBLISH,
+                    announcement.getId(), announcement.getScheduledAt()));
+        } else if (announcement.getStatus() == Announcement.AnnouncementStatus.PUBLISHED
+                && previousStatus != Announcement.AnnouncementStatus.PUBLISHED) {
+            eventPublisher.publishEvent(new ContentPublishedEvent(ContentPublishedEvent.ContentType.ANNOUNCEMENT,
+                    courseIdOf(announcement), announcement.getId(), null, announcement.getTitle()));
+        }
+    }
+
+    private AnnouncementResponse convertToResponse(Announcement announcement) {
+        AnnouncementResponse response = new AnnouncementResponse();
+        response.setId(announcement.getId());
+        response.setTitle(announcement.getTitle());
+        response.setContent(announcement.getContent());
+        response.setSummary(announcement.getSummary());
+        response.setPriority(announcement.getPriority().name());
+        response.setStatus(announcement.getStatus().name());
+        response.setIsPinned(announcement.getIsPinned());
+        response.setPublishedAt(announcement.getPublishedAt());
+        response.setScheduledAt(announcement.getScheduledAt());
+        long views = (announcement.getViewsCount() != null ? announcement.getViewsCount() : 0)
+                + announcementViewService.getPendingViews(announcement.getId());
+        response.setViewsCount((int) views);
+        response.setCourseId(courseIdOf(announcement));
+        response.setAuthorId(announcement.getAuthor().getId());
+        response.setAuthorName(announcement.getAuthor().getFirstName() + " " + announcement.getAuthor().getLastName());
+        response.setCreatedAt(announcement.getCreatedAt());
+        response.setUpdatedAt(announcement.getUpdatedAt());
+        return response;
+    }
+}
@@ -0,0 +1,132 @@
+package com.unslg.aulavirtual.service;
+
+import com.unslg.aulavirtual.util.BloomFilter;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// Write-behind view counting. Views land in striped in-memory counters, so a popular pinned
+// announcement never serializes requests on its row, and a periodic flush applies the
+// accumulated deltas as one batch of relative UPDATEs. Counters are cumulative and never
+// reset, which keeps concurrent increments from being lost between a read and a reset.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnnouncementViewService {
+
+    // Relative update, so other nodes' flushes compose; updated_at is pinned so a view is not an edit
+    private static final String FLUSH_SQL = "UPDATE announcements SET views_count = COALESCE(views_count, 0) + ?, " +
+            "updated_at = updated_at WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, ViewCounter> counters = new ConcurrentHashMap<>();
+    private final AtomicReference<DedupeWindow> dedupeWindow = new AtomicReference<>();
+
+    @Value("${app.announcement.views.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    @Value("${app.announcement.views.dedupe-enabled:true}")
+    private boolean dedupeEnabled;
+
+    @Value("${app.announcement.views.dedupe-window-minutes:30}")
+    private long dedupeWindowMinutes;
+
+    @Value("${app.announcement.views.dedupe-expected-views:100000}")
+    private long dedupeExpectedViews;
+
+    @Value("${app.announcement.views.dedupe-false-positive-rate:0.01}")
+    private double dedupeFalsePositiveRate;
+
+    private record DedupeWindow(BloomFilter seen, long endsAt) {
+    }
+
+    private record PendingDelta(Long announcementId, ViewCounter counter, long delta) {
+    }
+
+    public void recordView(Long announcementId, Long userId) {
+        // A false positive only drops a first view, which is the cheap side to err on
+        if (dedupeEnabled && userId != null && !currentWindow().seen().put(viewKey(announcementId, userId))) {
+            return;
+        }
+        counters.computeIfAbsent(announcementId, id -> new ViewCounter()).views.increment();
+    }
+
+    // Views recorded on this node but not yet written; added to the stored count when reading
+    public long getPendingViews(Long announcementId) {
+        ViewCounter counter = counters.get(announcementId);
+        return counter != null ? counter.views.sum() - counter.flushed : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${app.announcement.views.flush-interval-ms:10000}")
+    public synchronized void flush() {
+        List<PendingDelta> batch = new ArrayList<>();
+        counters.forEach((announcementId, counter) -> {
+            long delta = counter.views.sum() - counter.flushed;
+            if (delta > 0) {
+                batch.add(new PendingDelta(announcementId, counter, delta));
+            }
+        });
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch, flushBatchSize, (ps, pending) -> {
+                ps.setLong(1, pending.delta());
+                ps.setLong(2, pending.announcementId());
+            });
+        } catch (DataAccessException ex) {
+            // flushed is left unchanged, so the same deltas go out with the next flush
+            log.error("Could not flush view counts for {} announcements", batch.size(), ex);
+            return;
+        }
+        batch.forEach(pending -> pending.counter().flushed += pending.delta());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public void evict(Long announcementId) {
+        counters.remove(announcementId);
+    }
+
+    // Tumbling window: the filter is replaced wholesale once it expires
+    private DedupeWindow currentWindow() {
+        long now = System.currentTimeMillis();
+        DedupeWindow window = dedupeWindow.get();
+        while (window == null || now >= window.endsAt()) {
+            DedupeWindow next = new DedupeWindow(new BloomFilter(dedupeExpectedViews, dedupeFalsePositiveRate),
+                    now + dedupeWindowMinutes * 60_000L);
+            if (dedupeWindow.compareAndSet(window, next)) {
+                return next;
+            }
+            window = dedupeWindow.get();
+        }
+        return window;
+    }
+
+    private static long viewKey(Long announcementId, Long userId) {
+        return announcementId * 0x9E3779B97F4A7C15L ^ userId;
+    }
+
+    private static final class ViewCounter {
+        private final LongAdder views = new LongAdder();
+        // Only touched by the synchronized flush
+        private volatile long flushed;
+    }
+}
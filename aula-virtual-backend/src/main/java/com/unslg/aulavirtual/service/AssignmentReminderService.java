@@ -0,0 +1,161 @@
+package com.unslg.aulavirtual.service;
+
+import com.unslg.aulavirtual.repository.SchedulerLeaseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Reminds students who have not submitted an assignment a day and an hour before it is due.
+// Missing submitters come from one anti-join per roster chunk that also skips students already
+// reminded; each chunk's assignment_reminders rows and outbox emails commit together, so a rerun
+// after a crash continues where it stopped. Reminders are time-bound and bypass the daily digest.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AssignmentReminderService {
+
+    private static final String LEASE_NAME = "assignment-reminders";
+
+    private static final String DUE_SQL = "SELECT a.id, a.title, a.due_date, a.course_id, c.name AS course_name " +
+            "FROM assignments a JOIN courses c ON c.id = a.course_id " +
+            "WHERE a.status = 'ACTIVE' AND a.due_date > ? AND a.due_date <= ?";
+
+    private static final String MISSING_SQL = "SELECT u.id, u.email, u.first_name FROM course_enrollments ce " +
+            "JOIN users u ON u.id = ce.student_id " +
+            "WHERE ce.course_id = ? AND ce.student_id > ? AND u.status = 'ACTIVE' " +
+            "AND NOT EXISTS (SELECT 1 FROM assignment_submissions s WHERE s.assignment_id = ? AND s.student_id = ce.student_id) " +
+            "AND NOT EXISTS (SELECT 1 FROM assignment_reminders r WHERE r.assignment_id = ? AND r.kind = ? AND r.student_id = ce.student_id) " +
+            "ORDER BY ce.student_id LIMIT ?";
+
+    private static final String RECORD_SQL = "INSERT INTO assignment_reminders (assignment_id, kind, student_id, sent_at) VALUES (?, ?, ?, ?)";
+
+    private static final String OUTBOX_SQL = "INSERT INTO email_outbox (recipient, subject, body, created_at, next_attempt_at) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerLeaseRepository leaseRepository;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${app.reminder.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.reminder.lease-seconds:600}")
+    private long leaseSeconds;
+
+    // The hour window is checked first and the day window starts where it ends, so an assignment
+    // created less than an hour before its deadline only gets the hour reminder
+    private enum Kind {
+        HOUR(Duration.ZERO, Duration.ofHours(1)),
+        DAY(Duration.ofHours(1), Duration.ofHours(24));
+
+        private final Duration from;
+        private final Duration to;
+
+        Kind(Duration from, Duration to) {
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    private record DueAssignment(long id, String title, LocalDateTime dueDate, long courseId, String courseName) {
+    }
+
+    private record Student(long id, String email, String firstName) {
+    }
+
+    @Scheduled(fixedDelayString = "${app.reminder.interval-ms:300000}")
+    public void sendReminders() {
+        if (leaseRepository.tryAcquire(LEASE_NAME, nodeId, leaseSeconds) != 1) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            for (Kind kind : Kind.values()) {
+                List<DueAssignment> due = jdbcTemplate.query(DUE_SQL, (rs, rowNum) -> new DueAssignment(
+                        rs.getLong("id"),
+                        rs.getString("title"),
+                        rs.getTimestamp("due_date").toLocalDateTime(),
+                        rs.getLong("course_id"),
+                        rs.getString("course_name")
+                ), Timestamp.valueOf(now.plus(kind.from)), Timestamp.valueOf(now.plus(kind.to)));
+
+                for (DueAssignment assignment : due) {
+                    try {
+                        int sent = remind(assignment, kind);
+                        if (sent > 0) {
+                            log.info("Queued {} {} reminders for assignment {}", sent, kind, assignment.id());
+                        }
+                    } catch (DataAccessException ex) {
+                        // Students already reminded are recorded; the next run picks up the rest
+                        log.error("Could not send {} reminders for assignment {}", kind, assignment.id(), ex);
+                    }
+                }
+            }
+        } finally {
+            leaseRepository.release(LEASE_NAME, nodeId);
+        }
+    }
+
+    private int remind(DueAssignment assignment, Kind kind) {
+        Map<String, String> values = new HashMap<>();
+        values.put("title", assignment.title());
+        values.put("course", assignment.courseName());
+        values.put("date", assignment.dueDate().format(NotificationTemplates.DATE_FORMAT));
+        String subject = NotificationTemplates.REMINDER_SUBJECT.render(values);
+
+        int total = 0;
+        long after = 0;
+        while (true) {
+            long position = after;
+            List<Student> written = transactionTemplate.execute(status -> {
+                List<Student> chunk = jdbcTemplate.query(MISSING_SQL, (rs, rowNum) -> new Student(
+                        rs.getLong("id"), rs.getString("email"), rs.getString("first_name")
+                ), assignment.courseId(), position, assignment.id(), assignment.id(), kind.name(), chunkSize);
+                if (chunk.isEmpty()) {
+                    return chunk;
+                }
+
+                Timestamp queuedAt = Timestamp.valueOf(LocalDateTime.now());
+                jdbcTemplate.batchUpdate(RECORD_SQL, chunk, chunk.size(), (ps, student) -> {
+                    ps.setLong(1, assignment.id());
+                    ps.setString(2, kind.name());
+                    ps.setLong(3, student.id());
+                    ps.setTimestamp(4, queuedAt);
+                });
+                jdbcTemplate.batchUpdate(OUTBOX_SQL, chunk, chunk.size(), (ps, student) -> {
+                    values.put("firstName", student.firstName());
+                    ps.setString(1, student.email());
+                    ps.setString(2, subject);
+                    ps.setString(3, NotificationTemplates.REMINDER_BODY.render(values));
+                    ps.setTimestamp(4, queuedAt);
+                    ps.setTimestamp(5, queuedAt);
+                });
+                return chunk;
+            });
+            if (written == null || written.isEmpty()) {
+                return total;
+            }
+            total += written.size();
+            if (written.size() < chunkSize) {
+                return total;
+            }
+            // Reminded students drop out of the anti-join anyway; the keyset keeps each chunk a forward scan
+            after = written.get(written.size() - 1).id();
+        }
+    }
+}
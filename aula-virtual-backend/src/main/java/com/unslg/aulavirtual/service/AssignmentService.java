@@ -1,16 +1,41 @@
 package com.unslg.aulavirtual.service;
 
 import com.unslg.aulavirtual.dto.request.AssignmentRequest;
+import com.unslg.aulavirtual.dto.request.GradeRequest;
+import com.unslg.aulavirtual.dto.request.ResponseIncludes;
+import com.unslg.aulavirtual.dto.response.AssignmentResponse;
+import com.unslg.aulavirtual.dto.response.CourseSummaryResponse;
+import com.unslg.aulavirtual.dto.response.SubmissionCountsResponse;
+import com.unslg.aulavirtual.dto.response.SubmissionResponse;
 import com.unslg.aulavirtual.entity.Assignment;
+import com.unslg.aulavirtual.entity.AssignmentSubmission;
+import com.unslg.aulavirtual.entity.AssignmentSubmissionStats;
 import com.unslg.aulavirtual.entity.Course;
+import com.unslg.aulavirtual.entity.NotificationJob;
+import com.unslg.aulavirtual.entity.User;
+import com.unslg.aulavirtual.event.CourseStructureChangedEvent;
+import com.unslg.aulavirtual.event.GradeChangedEvent;
+import com.unslg.aulavirtual.event.TransitionScheduleChangedEvent;
+import com.unslg.aulavirtual.exception.BadRequestException;
+import com.unslg.aulavirtual.exception.ConflictException;
 import com.unslg.aulavirtual.exception.ResourceNotFoundException;
 import com.unslg.aulavirtual.repository.AssignmentRepository;
+import com.unslg.aulavirtual.repository.AssignmentSubmissionRepository;
+import com.unslg.aulavirtual.repository.AssignmentSubmissionStatsRepository;
 import com.unslg.aulavirtual.repository.CourseRepository;
+import com.unslg.aulavirtual.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -19,25 +44,33 @@ public class AssignmentService {
 
     private final AssignmentRepository assignmentRepository;
     private final CourseRepository courseRepository;
+    private final AssignmentSubmissionRepository submissionRepository;
+    private final AssignmentSubmissionStatsRepository statsRepository;
+    private final UserRepository userRepository;
+    private final SubmissionStatsService submissionStatsService;
+    private final FileStorageService fileStorageService;
+    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public List<Assignment> getAllAssignments() {
-        return assignmentRepository.findAll();
+    public List<AssignmentResponse> getAllAssignments(ResponseIncludes include) {
+        return applyIncludes(assignmentRepository.findAllResponses(), include);
     }
 
-    public Assignment getAssignmentById(Long id) {
-        return assignmentRepository.findById(id)
+    public AssignmentResponse getAssignmentById(Long id, ResponseIncludes include) {
+        AssignmentResponse response = assignmentRepository.findResponseById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Assignment not found with id: " + id));
+        return applyIncludes(List.of(response), include).get(0);
     }
 
-    public List<Assignment> getAssignmentsByCourse(Long courseId) {
-        return assignmentRepository.findByCourseId(courseId);
+    public List<AssignmentResponse> getAssignmentsByCourse(Long courseId, ResponseIncludes include) {
+        return applyIncludes(assignmentRepository.findResponsesByCourseId(courseId), include);
     }
 
-    public List<Assignment> getAssignmentsByStudent(Long studentId) {
-        return assignmentRepository.findByStudentId(studentId);
+    public List<AssignmentResponse> getAssignmentsByStudent(Long studentId, ResponseIncludes include) {
+        return applyIncludes(assignmentRepository.findResponsesByStudentId(studentId), include);
     }
 
-    public Assignment createAssignment(AssignmentRequest request) {
+    public AssignmentResponse createAssignment(AssignmentRequest request) {
         Course course = courseRepository.findById(request.getCourseId())
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + request.getCourseId()));
 
@@ -55,13 +88,20 @@ public class AssignmentService {
             assignment.setSubmissionType(Assignment.SubmissionType.valueOf(request.getSubmissionType()));
         }
 
-        return assignmentRepository.save(assignment);
+        Assignment savedAssignment = assignmentRepository.save(assignment);
+        submissionStatsService.initialize(savedAssignment.getId());
+        eventPublisher.publishEvent(new CourseStructureChangedEvent(course.getId()));
+        publishTransitions(savedAssignment);
+        notificationService.notifyCourse(NotificationJob.JobType.ASSIGNMENT, savedAssignment.getId(), course.getId());
+        return convertToResponse(savedAssignment);
     }
 
-    public Assignment updateAssignment(Long id, AssignmentRequest request) {
+    public AssignmentResponse updateAssignment(Long id, AssignmentRequest request) {
         Assignment assignment = assignmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Assignment not found with id: " + id));
 
+        boolean dueDateChanged = !Objects.equals(assignment.getDueDate(), request.getDueDate());
+
         assignment.setTitle(request.getTitle());
         assignment.setDescription(request.getDescription());
         assignment.setInstructions(request.getInstructions());
@@ -74,16 +114,184 @@ public class AssignmentService {
             assignment.setSubmissionType(Assignment.SubmissionType.valueOf(request.getSubmissionType()));
         }
 
-        return assignmentRepository.save(assignment);
+        Assignment savedAssignment = assignmentRepository.save(assignment);
+        if (dueDateChanged) {
+            // Moving the deadline changes which existing submissions count as late
+            long late = savedAssignment.getDueDate() == null ? 0
+                    : submissionRepository.countSubmittedAfter(id, savedAssignment.getDueDate());
+            int previousLate = statsRepository.findById(id).map(AssignmentSubmissionStats::getLateCount).orElse(0);
+            submissionStatsService.recordDelta(id, 0, 0, (int) late - previousLate);
+            publishTransitions(savedAssignment);
+        }
+        eventPublisher.publishEvent(new CourseStructureChangedEvent(assignment.getCourse().getId()));
+        return convertToResponse(savedAssignment);
     }
 
     public void deleteAssignment(Long id) {
         Assignment assignment = assignmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Assignment not found with id: " + id));
         assignmentRepository.delete(assignment);
+        submissionStatsService.evict(id);
+        eventPublisher.publishEvent(new CourseStructureChangedEvent(assignment.getCourse().getId()));
+    }
+
+    public SubmissionResponse submitAssignment(Long assignmentId, Long studentId, String submissionText, MultipartFile file) {
+        Assignment assignment = assignmentRepository.findById(assignmentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Assignment not found with id: " + assignmentId));
+
+        if (assignment.getStatus() != Assignment.AssignmentStatus.ACTIVE) {
+            throw new BadRequestException("Assignment is not accepting submissions");
+        }
+
+        AssignmentSubmission submission = submissionRepository.findByAssignmentIdAndStudentId(assignmentId, studentId)
+                .orElse(null);
+        boolean isNew = submission == null;
+        boolean wasLate = !isNew && isLate(submission);
+
+        if (isNew) {
+            User student = userRepository.findById(studentId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
+            submission = new AssignmentSubmission(assignment, student);
+        } else if (submission.getGrade() != null) {
+            throw new BadRequestException("Submission has already been graded");
+        }
+
+        if (file != null && !file.isEmpty()) {
+            if (submission.getFileUrl() != null) {
+                fileStorageService.deleteFile(submission.getFileUrl());
+            }
+            submission.setFileUrl(fileStorageService.storeFile(file));
+            submission.setFileName(file.getOriginalFilename());
+        }
+        submission.setSubmissionText(submissionText);
+        submission.setSubmissionDate(LocalDateTime.now());
+
+        boolean late = isLate(submission);
+        submission.setStatus(late ? AssignmentSubmission.SubmissionStatus.LATE : AssignmentSubmission.SubmissionStatus.SUBMITTED);
+        AssignmentSubmission savedSubmission;
+        if (isNew) {
+            // Flushed here so a concurrent first submission trips uk_assignment_submissions_assignment_student
+            // before the counters are bumped
+            try {
+                savedSubmission = submissionRepository.saveAndFlush(submission);
+            } catch (DataIntegrityViolationException ex) {
+                if (submission.getFileUrl() != null) {
+                    fileStorageService.deleteFile(submission.getFileUrl());
+                }
+                throw new ConflictException("Another submission for this assignment is being saved, please retry", List.of());
+            }
+        } else {
+            savedSubmission = submissionRepository.save(submission);
+        }
+
+        submissionStatsService.recordDelta(assignmentId, isNew ? 1 : 0, 0, (late ? 1 : 0) - (wasLate ? 1 : 0));
+        return convertToResponse(savedSubmission);
+    }
+
+    public void deleteSubmission(Long submissionId) {
+        AssignmentSubmission submission = submissionRepository.findById(submissionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Submission not found with id: " + submissionId));
+
+        Assignment assignment = submission.getAssignment();
+        submissionRepository.delete(submission);
+        if (submission.getFileUrl() != null) {
+            fileStorageService.deleteFile(submission.getFileUrl());
+        }
+
+        submissionStatsService.recordDelta(assignment.getId(), -1,
+                submission.getGrade() != null ? -1 : 0, isLate(submission) ? -1 : 0);
+        if (submission.getGrade() != null) {
+            eventPublisher.publishEvent(new GradeChangedEvent(assignment.getCourse().getId(),
+                    GradeChangedEvent.ItemType.ASSIGNMENT, assignment.getId(), submission.getStudent().getId(), null));
+        }
+    }
+
+    public void gradeSubmission(Long submissionId, GradeRequest request) {
+        AssignmentSubmission submission = submissionRepository.findById(submissionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Submission not found with id: " + submissionId));
+
+        boolean wasGraded = submission.getGrade() != null;
+        submission.setGrade(request.getGrade());
+        submission.setFeedback(request.getFeedback());
+        submission.setStatus(AssignmentSubmission.SubmissionStatus.GRADED);
+        submission.setGradedAt(LocalDateTime.now());
+        submissionRepository.save(submission);
+
+        Assignment assignment = submission.getAssignment();
+        if (!wasGraded) {
+            submissionStatsService.recordDelta(assignment.getId(), 0, 1, 0);
+        }
+        eventPublisher.publishEvent(new GradeChangedEvent(assignment.getCourse().getId(),
+                GradeChangedEvent.ItemType.ASSIGNMENT, assignment.getId(),
+                submission.getStudent().getId(), request.getGrade()));
+    }
+
+    public List<AssignmentResponse> searchAssignments(String searchTerm, ResponseIncludes include) {
+        return applyIncludes(assignmentRepository.findResponsesBySearchTerm(searchTerm), include);
     }
 
-    public List<Assignment> searchAssignments(String searchTerm) {
-        return assignmentRepository.findBySearchTerm(searchTerm);
+    // The projection always carries the course summary from its join; counts cost one grouped query
+    private List<AssignmentResponse> applyIncludes(List<AssignmentResponse> responses, ResponseIncludes include) {
+        if (!include.isCourse()) {
+            responses.forEach(response -> response.setCourse(null));
+        }
+
+        if (include.isCounts() && !responses.isEmpty()) {
+            Map<Long, Long> assignmentCourses = new HashMap<>();
+            responses.forEach(response -> assignmentCourses.put(response.getId(), response.getCourseId()));
+            Map<Long, SubmissionCountsResponse> counts = submissionStatsService.getAssignmentCounts(assignmentCourses);
+            responses.forEach(response -> response.setSubmissionCounts(counts.get(response.getId())));
+        }
+
+        return responses;
+    }
+
+    private void publishTransitions(Assignment assignment) {
+        if (assignment.getDueDate() != null) {
+            eventPublisher.publishEvent(new TransitionScheduleChangedEvent(
+                    TransitionScheduleChangedEvent.TransitionType.ASSIGNMENT_CLOSE, assignment.getId(), assignment.getDueDate()));
+        }
+    }
+
+    private boolean isLate(AssignmentSubmission submission) {
+        LocalDateTime dueDate = submission.getAssignment().getDueDate();
+        return dueDate != null && submission.getSubmissionDate() != null && submission.getSubmissionDate().isAfter(dueDate);
+    }
+
+    private SubmissionResponse convertToResponse(AssignmentSubmission submission) {
+        SubmissionResponse response = new SubmissionResponse();
+        response.setId(submission.getId());
+        response.setAssignmentId(submission.getAssignment().getId());
+        response.setStudentId(submission.getStudent().getId());
+        response.setSubmissionText(submission.getSubmissionText());
+        response.setFileName(submission.getFileName());
+        response.setGrade(submission.getGrade());
+        response.setFeedback(submission.getFeedback());
+        response.setStatus(submission.getStatus().name());
+        response.setSubmissionDate(submission.getSubmissionDate());
+        response.setGradedAt(submission.getGradedAt());
+        return response;
+    }
+
+    private AssignmentResponse convertToResponse(Assignment assignment) {
+        AssignmentResponse response = new AssignmentResponse();
+        response.setId(assignment.getId());
+        response.setTitle(assignment.getTitle());
+        response.setDescription(assignment.getDescription());
+        response.setInstructions(assignment.getInstructions());
+        response.setDueDate(assignment.getDueDate());
+        response.setMaxPoints(assignment.getMaxPoints());
+        response.setSubmissionType(assignment.getSubmissionType().name());
+        response.setMaxFileSize(assignment.getMaxFileSize());
+        response.setAllowedExtensions(assignment.getAllowedExtensions());
+        response.setStatus(assignment.getStatus().name());
+        response.setCreatedAt(assignment.getCreatedAt());
+        response.setUpdatedAt(assignment.getUpdatedAt());
+
+        Course course = assignment.getCourse();
+        response.setCourseId(course.getId());
+        response.setCourse(new CourseSummaryResponse(course.getId(), course.getCode(), course.getName()));
+
+        return response;
     }
 }
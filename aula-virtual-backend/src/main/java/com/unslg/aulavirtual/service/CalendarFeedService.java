@@ -0,0 +1,193 @@
+package com.unslg.aulavirtual.service;
+
+import com.unslg.aulavirtual.dto.projection.CalendarFeedItemView;
+import com.unslg.aulavirtual.dto.projection.ExceptionDateView;
+import com.unslg.aulavirtual.dto.projection.FeedItemView;
+import com.unslg.aulavirtual.dto.projection.FeedStampView;
+import com.unslg.aulavirtual.dto.response.CalendarFeedTokenResponse;
+import com.unslg.aulavirtual.entity.CalendarFeedToken;
+import com.unslg.aulavirtual.entity.Course;
+import com.unslg.aulavirtual.exception.ResourceNotFoundException;
+import com.unslg.aulavirtual.repository.AssignmentRepository;
+import com.unslg.aulavirtual.repository.CalendarEventRepository;
+import com.unslg.aulavirtual.repository.CalendarFeedTokenRepository;
+import com.unslg.aulavirtual.repository.CourseRepository;
+import com.unslg.aulavirtual.repository.ExamRepository;
+import com.unslg.aulavirtual.repository.UserRepository;
+import com.unslg.aulavirtual.util.ICalendarWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongFunction;
+
+// Token-authenticated iCalendar feeds for external calendar apps, either personal (every course
+// of the user plus their own events) or for a single course. A poll first computes the feed's
+// validators from one aggregate query per source, so an unchanged feed costs three index
+// lookups and a 304. Otherwise the VEVENTs are written page by page as the rows are read.
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class CalendarFeedService {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final int PAGE_SIZE = 500;
+    private static final String UID_SUFFIX = "@aulavirtual.unslg.edu.pe";
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final CalendarFeedTokenRepository feedTokenRepository;
+    private final CalendarEventRepository calendarEventRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final ExamRepository examRepository;
+    private final CourseRepository courseRepository;
+    private final UserRepository userRepository;
+
+    // creatorId scopes the user's own events; -1 for course feeds
+    public record Feed(String name, List<Long> courseIds, Long creatorId, String eTag, long lastModified) {
+    }
+
+    public CalendarFeedTokenResponse createToken(Long userId, Long courseId) {
+        Course course = null;
+        if (courseId != null) {
+            if (!courseRepository.findAccessibleCourseIds(userId).contains(courseId)) {
+                throw new AccessDeniedException("User " + userId + " has no access to course " + courseId);
+            }
+            course = courseRepository.getReferenceById(courseId);
+        }
+
+        // One live token per feed, so issuing a new one revokes the previously shared URL
+        feedTokenRepository.deleteByOwner(userId, courseId);
+        CalendarFeedToken feedToken = new CalendarFeedToken();
+        feedToken.setToken(newToken());
+        feedToken.setUser(userRepository.getReferenceById(userId));
+        feedToken.setCourse(course);
+        feedTokenRepository.save(feedToken);
+
+        return new CalendarFeedTokenResponse(feedToken.getToken(), courseId,
+                "/api/public/calendar/" + feedToken.getToken() + ".ics");
+    }
+
+    @Transactional(readOnly = true)
+    public Feed resolveFeed(String token) {
+        CalendarFeedToken feedToken = feedTokenRepository.findByToken(token)
+                .orElseThrow(() -> new ResourceNotFoundException("Calendar feed not found"));
+        Long userId = feedToken.getUser().getId();
+        List<Long> accessibleCourseIds = courseRepository.findAccessibleCourseIds(userId);
+
+        String name;
+        List<Long> courseIds;
+        Long creatorId;
+        if (feedToken.getCourse() == null) {
+            name = "Aula Virtual";
+            courseIds = accessibleCourseIds;
+            creatorId = userId;
+        } else {
+            Long courseId = feedToken.getCourse().getId();
+            // Leaving the course ends its feed without having to revoke the token
+            if (!accessibleCourseIds.contains(courseId)) {
+                throw new ResourceNotFoundException("Calendar feed not found");
+            }
+            name = feedToken.getCourse().getName();
+            courseIds = List.of(courseId);
+            creatorId = -1L;
+        }
+        if (courseIds.isEmpty()) {
+            courseIds = List.of(-1L);
+        }
+
+        FeedStampView[] stamps = {
+                calendarEventRepository.findFeedStamp(courseIds, creatorId),
+                assignmentRepository.findFeedStamp(courseIds),
+                examRepository.findFeedStamp(courseIds)
+        };
+        long lastModified = 0;
+        long hash = 31L * feedToken.getId() + name.hashCode();
+        for (Long courseId : courseIds) {
+            hash = 31 * hash + courseId;
+        }
+        for (FeedStampView stamp : stamps) {
+            long modified = toMillis(stamp.getLastModified());
+            lastModified = Math.max(lastModified, modified);
+            // The count catches deletions, which leave the maximum updatedAt unchanged
+            hash = 31 * hash + modified;
+            hash = 31 * hash + (stamp.getTotal() != null ? stamp.getTotal() : 0);
+        }
+        return new Feed(name, courseIds, creatorId, "\"" + Long.toHexString(hash) + "\"", lastModified);
+    }
+
+    // Every page is read in its own short transaction, so a slow client never pins a pooled connection
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void writeFeed(Feed feed, OutputStream outputStream) throws IOException {
+        ICalendarWriter writer = new ICalendarWriter(outputStream);
+        Instant feedStamp = Instant.ofEpochMilli(feed.lastModified());
+        writer.beginCalendar(feed.name());
+
+        // Exception dates are few, so they are read up front instead of per recurring row
+        Map<Long, List<LocalDateTime>> exceptionDates = new HashMap<>();
+        for (ExceptionDateView exceptionDate : calendarEventRepository.findFeedExceptionDates(feed.courseIds(), feed.creatorId())) {
+            exceptionDates.computeIfAbsent(exceptionDate.getEventId(), id -> new ArrayList<>()).add(exceptionDate.getOccurrenceStart());
+        }
+
+        List<CalendarFeedItemView> events;
+        long afterId = 0;
+        do {
+            events = calendarEventRepository.findFeedItemsAfter(feed.courseIds(), feed.creatorId(), afterId, PageRequest.of(0, PAGE_SIZE));
+            for (CalendarFeedItemView row : events) {
+                writer.event("event-" + row.getId() + UID_SUFFIX, stampOf(row, feedStamp), row.getStartsAt(), row.getEndsAt(),
+                        row.getTitle(), row.getDescription(), row.getLocation(), row.getRecurrenceRule(),
+                        exceptionDates.get(row.getId()));
+                afterId = row.getId();
+            }
+        } while (events.size() == PAGE_SIZE);
+
+        writeItems(writer, after -> assignmentRepository.findFeedItemsAfter(feed.courseIds(), after, PageRequest.of(0, PAGE_SIZE)),
+                "assignment-", "Due: ", feedStamp);
+        writeItems(writer, after -> examRepository.findFeedItemsAfter(feed.courseIds(), after, PageRequest.of(0, PAGE_SIZE)),
+                "exam-", "Exam: ", feedStamp);
+
+        writer.endCalendar();
+    }
+
+    private void writeItems(ICalendarWriter writer, LongFunction<List<FeedItemView>> pages, String uidPrefix,
+                            String summaryPrefix, Instant feedStamp) throws IOException {
+        List<FeedItemView> rows;
+        long afterId = 0;
+        do {
+            rows = pages.apply(afterId);
+            for (FeedItemView row : rows) {
+                writer.event(uidPrefix + row.getId() + UID_SUFFIX, stampOf(row, feedStamp), row.getStartsAt(), row.getEndsAt(),
+                        summaryPrefix + row.getTitle(), row.getDescription(), null);
+                afterId = row.getId();
+            }
+        } while (rows.size() == PAGE_SIZE);
+    }
+
+    // DTSTAMP comes from the row rather than the clock so the same validators always describe the same bytes
+    private Instant stampOf(FeedItemView row, Instant feedStamp) {
+        return row.getUpdatedAt() != null ? row.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant() : feedStamp;
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0L;
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
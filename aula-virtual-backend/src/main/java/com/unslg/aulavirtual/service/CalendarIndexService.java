@@ -0,0 +1,373 @@
+package com.unslg.aulavirtual.service;
+
+import com.unslg.aulavirtual.dto.projection.CalendarEventView;
+import com.unslg.aulavirtual.dto.projection.ExceptionDateView;
+import com.unslg.aulavirtual.dto.response.CalendarEventResponse;
+import com.unslg.aulavirtual.dto.response.CursorPageResponse;
+import com.unslg.aulavirtual.event.CalendarEventChangedEvent;
+import com.unslg.aulavirtual.exception.BadRequestException;
+import com.unslg.aulavirtual.repository.CalendarEventRepository;
+import com.unslg.aulavirtual.repository.CourseRepository;
+import com.unslg.aulavirtual.util.CursorUtils;
+import com.unslg.aulavirtual.util.IntervalIndex;
+import com.unslg.aulavirtual.util.LruCache;
+import com.unslg.aulavirtual.util.RecurrenceRule;
+import com.unslg.aulavirtual.util.SortedMerge;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Calendar view of a user: the events of every course they teach or take plus their own events
+// outside those courses. Each course calendar is held as an interval index, so a range query
+// only visits the events that overlap it; the user's own events come from the creator index.
+// The sources are already ordered by (start, id), which makes a page a k-way merge from the
+// cursor position.
+//
+// Recurring events are kept once per course as series and expanded only for the requested
+// window. Occurrences are materialized per calendar month and cached by (rule, start, month),
+// so series that share a rule and start time share the work; exception dates are filtered
+// afterwards because they differ per event.
+//
+// Changes made on other nodes arrive through calendar_course_versions, which every node polls.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CalendarIndexService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final Duration MAX_RANGE = Duration.ofDays(366);
+
+    private static final String BUMP_SQL = "INSERT INTO calendar_course_versions (course_id, version) VALUES (?, 1) " +
+            "ON DUPLICATE KEY UPDATE version = version + 1";
+    private static final String VERSION_SQL = "SELECT version FROM calendar_course_versions WHERE course_id = ?";
+    private static final String VERSIONS_SQL = "SELECT course_id, version FROM calendar_course_versions";
+
+    private static final Comparator<CalendarEntry> CALENDAR_ORDER = Comparator
+            .comparingLong(CalendarEntry::start)
+            .thenComparingLong(CalendarEntry::id);
+
+    private final CalendarEventRepository calendarEventRepository;
+    private final CourseRepository courseRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    // Bumped on every eviction so a load that raced with a change does not cache stale rows
+    private final AtomicLong generation = new AtomicLong();
+
+    private LruCache<Long, CourseCalendar> courseCalendars;
+    private LruCache<OccurrenceKey, List<LocalDateTime>> occurrenceMonths;
+
+    @Value("${app.calendar.cached-courses:2000}")
+    private int cachedCourses;
+
+    @Value("${app.calendar.cached-occurrence-months:20000}")
+    private int cachedOccurrenceMonths;
+
+    @Value("${app.calendar.page-size:500}")
+    private int defaultPageSize;
+
+    private record CalendarEntry(long start, long end, long id, CalendarEventResponse item) {
+    }
+
+    private record Series(CalendarEventResponse template, RecurrenceRule rule, Duration duration, long endMillis,
+                          Set<LocalDateTime> exceptionDates) {
+    }
+
+    private record CourseCalendar(IntervalIndex<CalendarEntry> singles, List<Series> series, long version) {
+    }
+
+    private record OccurrenceKey(String rule, LocalDateTime start, YearMonth month) {
+    }
+
+    @PostConstruct
+    void init() {
+        courseCalendars = new LruCache<>(cachedCourses);
+        occurrenceMonths = new LruCache<>(cachedOccurrenceMonths);
+    }
+
+    public CursorPageResponse<CalendarEventResponse> getUserEvents(Long userId, LocalDateTime from, LocalDateTime to,
+                                                                   String cursor, Integer limit) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        if (Duration.between(from, to).compareTo(MAX_RANGE) > 0) {
+            throw new BadRequestException("Date range cannot exceed " + MAX_RANGE.toDays() + " days");
+        }
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long afterStart = Long.MIN_VALUE;
+        long afterId = Long.MIN_VALUE;
+        if (StringUtils.hasText(cursor)) {
+            long[] position = CursorUtils.decode(cursor, 2);
+            afterStart = position[0];
+            afterId = position[1];
+        }
+
+        List<Long> courseIds = courseRepository.findAccessibleCourseIds(userId);
+        List<CalendarEventResponse> items = findOverlapping(userId, courseIds, from, to, afterStart, afterId, pageSize + 1);
+        boolean hasMore = items.size() > pageSize;
+        if (hasMore) {
+            items = items.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            CalendarEventResponse last = items.get(items.size() - 1);
+            nextCursor = CursorUtils.encode(toMillis(last.getStartDatetime()), last.getId());
+        }
+        return CursorPageResponse.of(items, nextCursor);
+    }
+
+    // Events visible to the user that overlap [from, to], ordered by (start millis, id) and
+    // starting strictly after (afterStart, afterId)
+    public List<CalendarEventResponse> findOverlapping(Long userId, List<Long> courseIds, LocalDateTime from, LocalDateTime to,
+                                                       long afterStart, long afterId, int limit) {
+        long fromMillis = toMillis(from);
+        long toMillis = toMillis(to);
+        CalendarEntry after = new CalendarEntry(afterStart, afterStart, afterId, null);
+
+        List<List<CalendarEntry>> sources = new ArrayList<>(courseIds.size() + 2);
+        List<CalendarEntry> occurrences = new ArrayList<>();
+        for (Long courseId : courseIds) {
+            CourseCalendar calendar = courseCalendar(courseId);
+            sources.add(calendar.singles().overlapping(fromMillis, toMillis));
+            for (Series series : calendar.series()) {
+                expand(series, from, to, fromMillis, toMillis, occurrences);
+            }
+        }
+
+        // Course events are served by the calendars above, so only the rest are read here
+        List<Long> excluded = courseIds.isEmpty() ? List.of(-1L) : courseIds;
+        List<CalendarEventView> ownRows = calendarEventRepository.findOwnOverlapping(userId, excluded, from, to);
+        List<CalendarEntry> own = new ArrayList<>();
+        for (Series series : splitSeries(ownRows, own)) {
+            expand(series, from, to, fromMillis, toMillis, occurrences);
+        }
+        sources.add(own);
+        occurrences.sort(CALENDAR_ORDER);
+        sources.add(occurrences);
+
+        for (int i = 0; i < sources.size(); i++) {
+            List<CalendarEntry> source = sources.get(i);
+            sources.set(i, source.subList(SortedMerge.indexAfter(source, after, CALENDAR_ORDER), source.size()));
+        }
+
+        List<CalendarEntry> merged = SortedMerge.merge(sources, CALENDAR_ORDER, limit);
+        List<CalendarEventResponse> items = new ArrayList<>(merged.size());
+        merged.forEach(entry -> items.add(entry.item()));
+        return items;
+    }
+
+    // Events of one course, recurring occurrences included, that overlap [from, to], ordered by start
+    public List<CalendarEventResponse> findCourseEvents(Long courseId, LocalDateTime from, LocalDateTime to) {
+        CourseCalendar calendar = courseCalendar(courseId);
+        return courseEvents(calendar.singles().overlapping(toMillis(from), toMillis(to)), calendar.series(), from, to);
+    }
+
+    // Same as findCourseEvents, but read from the database in the caller's transaction instead of
+    // the cache, which may lag a change made on another node by up to one poll interval
+    public List<CalendarEventResponse> readCourseEvents(Long courseId, LocalDateTime from, LocalDateTime to) {
+        List<CalendarEntry> singles = new ArrayList<>();
+        List<Series> series = splitSeries(calendarEventRepository.findCourseOverlapping(courseId, from, to), singles);
+        singles.sort(CALENDAR_ORDER);
+        return courseEvents(singles, series, from, to);
+    }
+
+    // Runs inside the transaction that changed the event, so the bump commits with it.
+    // fallbackExecution covers callers that change events outside a transaction
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void bumpVersion(CalendarEventChangedEvent event) {
+        if (event.getCourseId() != null) {
+            jdbcTemplate.update(BUMP_SQL, event.getCourseId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCalendarEventChanged(CalendarEventChangedEvent event) {
+        generation.incrementAndGet();
+        if (event.getCourseId() != null) {
+            courseCalendars.remove(event.getCourseId());
+        }
+    }
+
+    // Drops course calendars another node has changed since they were loaded here
+    @Scheduled(fixedDelayString = "${app.calendar.version-poll-ms:5000}")
+    public void pollVersions() {
+        Map<Long, Long> versions = new HashMap<>();
+        jdbcTemplate.query(VERSIONS_SQL, rs -> {
+            versions.put(rs.getLong("course_id"), rs.getLong("version"));
+        });
+        courseCalendars.removeIf((courseId, calendar) -> calendar.version() < versions.getOrDefault(courseId, 0L));
+    }
+
+    private List<CalendarEventResponse> courseEvents(List<CalendarEntry> singles, List<Series> series,
+                                                     LocalDateTime from, LocalDateTime to) {
+        long fromMillis = toMillis(from);
+        long toMillis = toMillis(to);
+        List<CalendarEntry> occurrences = new ArrayList<>();
+        for (Series recurring : series) {
+            expand(recurring, from, to, fromMillis, toMillis, occurrences);
+        }
+        occurrences.sort(CALENDAR_ORDER);
+
+        List<CalendarEntry> merged = SortedMerge.merge(List.of(singles, occurrences), CALENDAR_ORDER, Integer.MAX_VALUE);
+        List<CalendarEventResponse> items = new ArrayList<>(merged.size());
+        merged.forEach(entry -> items.add(entry.item()));
+        return items;
+    }
+
+    private CourseCalendar courseCalendar(Long courseId) {
+        CourseCalendar calendar = courseCalendars.get(courseId);
+        if (calendar != null) {
+            return calendar;
+        }
+        long loadedAt = generation.get();
+        // Read before the rows: a change committed in between leaves the calendar one version
+        // behind, so the next poll reloads it rather than keeping it forever
+        long version = jdbcTemplate.query(VERSION_SQL, rs -> rs.next() ? rs.getLong(1) : 0L, courseId);
+        List<CalendarEventView> rows = calendarEventRepository.findViewsByCourseId(courseId);
+        List<CalendarEntry> singles = new ArrayList<>(rows.size());
+        List<Series> series = splitSeries(rows, singles);
+        // Rows come ordered by id and the index sort is stable, so equal starts stay in id order
+        calendar = new CourseCalendar(new IntervalIndex<>(singles, CalendarEntry::start, CalendarEntry::end), List.copyOf(series), version);
+        if (generation.get() == loadedAt) {
+            courseCalendars.put(courseId, calendar);
+        }
+        return calendar;
+    }
+
+    // Adds the single events to singles and returns the recurring ones with their exception dates
+    private List<Series> splitSeries(List<CalendarEventView> rows, List<CalendarEntry> singles) {
+        List<CalendarEventView> recurring = new ArrayList<>();
+        for (CalendarEventView row : rows) {
+            if (row.getRecurrenceRule() != null) {
+                recurring.add(row);
+            } else {
+                singles.add(toEntry(row));
+            }
+        }
+        if (recurring.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Set<LocalDateTime>> exceptionDates = new HashMap<>();
+        List<Long> recurringIds = recurring.stream().map(CalendarEventView::getId).toList();
+        for (ExceptionDateView exceptionDate : calendarEventRepository.findExceptionDates(recurringIds)) {
+            exceptionDates.computeIfAbsent(exceptionDate.getEventId(), id -> new HashSet<>())
+                    .add(exceptionDate.getOccurrenceStart());
+        }
+
+        List<Series> series = new ArrayList<>(recurring.size());
+        for (CalendarEventView row : recurring) {
+            RecurrenceRule rule;
+            try {
+                rule = RecurrenceRule.parse(row.getRecurrenceRule());
+            } catch (IllegalArgumentException e) {
+                // Rules are validated on save, so this is a hand-edited row; show its first occurrence
+                log.warn("Ignoring invalid recurrence rule of calendar event {}: {}", row.getId(), e.getMessage());
+                singles.add(toEntry(row));
+                continue;
+            }
+            long endMillis = row.getSeriesEnd() != null ? toMillis(row.getSeriesEnd()) : Long.MAX_VALUE;
+            series.add(new Series(convertToResponse(row), rule, Duration.between(row.getStartDatetime(), row.getEndDatetime()),
+                    endMillis, exceptionDates.getOrDefault(row.getId(), Set.of())));
+        }
+        return series;
+    }
+
+    // Occurrences of the series that overlap [from, to]
+    private void expand(Series series, LocalDateTime from, LocalDateTime to, long fromMillis, long toMillis,
+                        List<CalendarEntry> occurrences) {
+        CalendarEventResponse template = series.template();
+        if (toMillis(template.getStartDatetime()) > toMillis || series.endMillis() < fromMillis) {
+            return;
+        }
+        Duration duration = series.duration().isNegative() ? Duration.ZERO : series.duration();
+        // An occurrence overlaps the window when it starts at most one duration before it
+        LocalDateTime earliestStart = from.minus(duration);
+        for (YearMonth month = YearMonth.from(earliestStart); !month.atDay(1).atStartOfDay().isAfter(to); month = month.plusMonths(1)) {
+            for (LocalDateTime start : occurrencesIn(series, month)) {
+                if (start.isBefore(earliestStart) || start.isAfter(to) || series.exceptionDates().contains(start)) {
+                    continue;
+                }
+                LocalDateTime end = start.plus(duration);
+                occurrences.add(new CalendarEntry(toMillis(start), toMillis(end), template.getId(), occurrence(template, start, end)));
+            }
+        }
+    }
+
+    private List<LocalDateTime> occurrencesIn(Series series, YearMonth month) {
+        LocalDateTime seriesStart = series.template().getStartDatetime();
+        OccurrenceKey key = new OccurrenceKey(series.template().getRecurrenceRule(), seriesStart, month);
+        List<LocalDateTime> starts = occurrenceMonths.get(key);
+        if (starts == null) {
+            starts = List.copyOf(series.rule().between(seriesStart, month.atDay(1).atStartOfDay(), month.atEndOfMonth().atTime(LocalTime.MAX)));
+            occurrenceMonths.put(key, starts);
+        }
+        return starts;
+    }
+
+    private CalendarEventResponse occurrence(CalendarEventResponse template, LocalDateTime start, LocalDateTime end) {
+        CalendarEventResponse response = new CalendarEventResponse();
+        response.setId(template.getId());
+        response.setTitle(template.getTitle());
+        response.setDescription(template.getDescription());
+        response.setEventType(template.getEventType());
+        response.setStartDatetime(start);
+        response.setEndDatetime(end);
+        response.setLocation(template.getLocation());
+        response.setIsVirtual(template.getIsVirtual());
+        response.setMeetingUrl(template.getMeetingUrl());
+        response.setCourseId(template.getCourseId());
+        response.setCreatedById(template.getCreatedById());
+        response.setRecurrenceRule(template.getRecurrenceRule());
+        return response;
+    }
+
+    private CalendarEntry toEntry(CalendarEventView view) {
+        long start = toMillis(view.getStartDatetime());
+        // A reversed event is treated as occupying its start instant
+        long end = Math.max(start, toMillis(view.getEndDatetime()));
+        return new CalendarEntry(start, end, view.getId(), convertToResponse(view));
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private CalendarEventResponse convertToResponse(CalendarEventView view) {
+        CalendarEventResponse response = new CalendarEventResponse();
+        response.setId(view.getId());
+        response.setTitle(view.getTitle());
+        response.setDescription(view.getDescription());
+        response.setEventType(view.getEventType().name());
+        response.setStartDatetime(view.getStartDatetime());
+        response.setEndDatetime(view.getEndDatetime());
+        response.setLocation(view.getLocation());
+        response.setIsVirtual(view.getIsVirtual());
+        response.setMeetingUrl(view.getMeetingUrl());
+        response.setCourseId(view.getCourseId());
+        response.setCreatedById(view.getCreatedById());
+        response.setRecurrenceRule(view.getRecurrenceRule());
+        return response;
+    }
+}
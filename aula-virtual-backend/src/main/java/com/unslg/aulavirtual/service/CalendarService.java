@@ -1,12 +1,19 @@
 package com.unslg.aulavirtual.service;
 
 import com.unslg.aulavirtual.entity.CalendarEvent;
+import com.unslg.aulavirtual.event.CalendarEventChangedEvent;
+import com.unslg.aulavirtual.exception.BadRequestException;
 import com.unslg.aulavirtual.exception.ResourceNotFoundException;
 import com.unslg.aulavirtual.repository.CalendarEventRepository;
+import com.unslg.aulavirtual.repository.CourseRepository;
+import com.unslg.aulavirtual.util.RecurrenceRule;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -16,6 +23,8 @@ import java.util.List;
 public class CalendarService {
 
     private final CalendarEventRepository calendarEventRepository;
+    private final CourseRepository courseRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<CalendarEvent> getAllEvents() {
         return calendarEventRepository.findAll();
@@ -35,16 +44,22 @@ public class CalendarService {
     }
 
     public List<CalendarEvent> getEventsByUser(Long userId) {
-        return calendarEventRepository.findByUserId(userId);
+        List<Long> courseIds = courseRepository.findAccessibleCourseIds(userId);
+        return calendarEventRepository.findByCreatorOrCourseIds(userId, courseIds.isEmpty() ? List.of(-1L) : courseIds);
     }
 
     public CalendarEvent createEvent(CalendarEvent event) {
-        return calendarEventRepository.save(event);
+        lockCourse(event);
+        applyRecurrence(event);
+        CalendarEvent savedEvent = calendarEventRepository.save(event);
+        eventPublisher.publishEvent(new CalendarEventChangedEvent(courseIdOf(savedEvent)));
+        return savedEvent;
     }
 
     public CalendarEvent updateEvent(Long id, CalendarEvent eventDetails) {
         CalendarEvent event = calendarEventRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
+        lockCourse(event);
 
         event.setTitle(eventDetails.getTitle());
         event.setDescription(eventDetails.getDescription());
@@ -54,13 +69,61 @@ public class CalendarService {
         event.setLocation(eventDetails.getLocation());
         event.setIsVirtual(eventDetails.getIsVirtual());
         event.setMeetingUrl(eventDetails.getMeetingUrl());
+        event.setRecurrenceRule(eventDetails.getRecurrenceRule());
+        if (eventDetails.getExceptionDates() != null && !eventDetails.getExceptionDates().equals(event.getExceptionDates())) {
+            event.getExceptionDates().clear();
+            event.getExceptionDates().addAll(eventDetails.getExceptionDates());
+            // A change of the exception dates alone must still move updatedAt, which feeds the calendar ETags
+            event.setUpdatedAt(LocalDateTime.now());
+        }
+        applyRecurrence(event);
 
-        return calendarEventRepository.save(event);
+        CalendarEvent savedEvent = calendarEventRepository.save(event);
+        eventPublisher.publishEvent(new CalendarEventChangedEvent(courseIdOf(savedEvent)));
+        return savedEvent;
     }
 
     public void deleteEvent(Long id) {
         CalendarEvent event = calendarEventRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
+        lockCourse(event);
         calendarEventRepository.delete(event);
+        eventPublisher.publishEvent(new CalendarEventChangedEvent(courseIdOf(event)));
+    }
+
+    // Normalizes the rule and derives the end of the series, which bounds range queries
+    private void applyRecurrence(CalendarEvent event) {
+        if (!StringUtils.hasText(event.getRecurrenceRule())) {
+            event.setRecurrenceRule(null);
+            event.setSeriesEnd(null);
+            if (event.getExceptionDates() != null) {
+                event.getExceptionDates().clear();
+            }
+            return;
+        }
+        try {
+            RecurrenceRule rule = RecurrenceRule.parse(event.getRecurrenceRule());
+            rule.checkStart(event.getStartDatetime());
+            LocalDateTime lastStart = rule.lastStart(event.getStartDatetime());
+            event.setRecurrenceRule(rule.toString());
+            event.setSeriesEnd(lastStart != null
+                    ? lastStart.plus(Duration.between(event.getStartDatetime(), event.getEndDatetime()))
+                    : null);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid recurrence rule: " + e.getMessage(), e);
+        }
+    }
+
+    // Takes the lock conference bookings hold while they check the course calendar for overlaps,
+    // so a booking never decides on a calendar that is being changed
+    private void lockCourse(CalendarEvent event) {
+        Long courseId = courseIdOf(event);
+        if (courseId != null) {
+            courseRepository.findByIdForUpdate(courseId);
+        }
+    }
+
+    private Long courseIdOf(CalendarEvent event) {
+        return event.getCourse() != null ? event.getCourse().getId() : null;
     }
 }
@@ -0,0 +1,234 @@
+package com.unslg.aulavirtual.service;
+
+import com.unslg.aulavirtual.dto.response.GradebookResponse;
+import com.unslg.aulavirtual.event.GradeChangedEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory student x item grade matrix for one course. Cells are stored row-major in a single
+// double[] (NaN = not graded) and every row keeps its own aggregates, so a grade change only
+// touches one row.
+public class CourseGradebook {
+
+    private final Long courseId;
+    private final double scale;
+
+    private final long[] studentIds;
+    private final String[] userCodes;
+    private final String[] fullNames;
+    private final Map<Long, Integer> rowByStudent;
+
+    private final long[] itemIds;
+    private final boolean[] examItem;
+    private final String[] itemTitles;
+    private final double[] itemMaxPoints;
+    private final Map<Long, Integer> columnByExam;
+    private final Map<Long, Integer> columnByAssignment;
+
+    private final double[] cells;
+    private final double[] examAverages;
+    private final double[] assignmentAverages;
+    private final double[] finalGrades;
+
+    private double examWeight;
+    private double assignmentWeight;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile GradebookResponse view;
+
+    CourseGradebook(Long courseId, double scale, double examWeight, double assignmentWeight,
+                    long[] studentIds, String[] userCodes, String[] fullNames,
+                    long[] itemIds, boolean[] examItem, String[] itemTitles, double[] itemMaxPoints) {
+        this.courseId = courseId;
+        this.scale = scale;
+        this.examWeight = examWeight;
+        this.assignmentWeight = assignmentWeight;
+        this.studentIds = studentIds;
+        this.userCodes = userCodes;
+        this.fullNames = fullNames;
+        this.itemIds = itemIds;
+        this.examItem = examItem;
+        this.itemTitles = itemTitles;
+        this.itemMaxPoints = itemMaxPoints;
+
+        this.rowByStudent = new HashMap<>(studentIds.length * 2);
+        for (int row = 0; row < studentIds.length; row++) {
+            rowByStudent.put(studentIds[row], row);
+        }
+        this.columnByExam = new HashMap<>();
+        this.columnByAssignment = new HashMap<>();
+        for (int column = 0; column < itemIds.length; column++) {
+            (examItem[column] ? columnByExam : columnByAssignment).put(itemIds[column], column);
+        }
+
+        this.cells = new double[studentIds.length * itemIds.length];
+        Arrays.fill(cells, Double.NaN);
+        this.examAverages = new double[studentIds.length];
+        this.assignmentAverages = new double[studentIds.length];
+        this.finalGrades = new double[studentIds.length];
+    }
+
+    // Used only while the gradebook is being built, before it is published
+    void load(GradeChangedEvent.ItemType itemType, Long itemId, Long studentId, Double grade) {
+        int cell = cellIndex(itemType, itemId, studentId);
+        if (cell >= 0) {
+            cells[cell] = grade != null ? grade : Double.NaN;
+        }
+    }
+
+    void recomputeAll() {
+        lock.writeLock().lock();
+        try {
+            for (int row = 0; row < studentIds.length; row++) {
+                recomputeRow(row);
+            }
+            view = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Returns false when the student or item is unknown, i.e. the matrix shape is stale
+    boolean applyGrade(GradeChangedEvent.ItemType itemType, Long itemId, Long studentId, Double grade) {
+        lock.writeLock().lock();
+        try {
+            int cell = cellIndex(itemType, itemId, studentId);
+            if (cell < 0) {
+                return false;
+            }
+            cells[cell] = grade != null ? grade : Double.NaN;
+            recomputeRow(cell / itemIds.length);
+            view = null;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void updateWeights(double examWeight, double assignmentWeight) {
+        lock.writeLock().lock();
+        try {
+            this.examWeight = examWeight;
+            this.assignmentWeight = assignmentWeight;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        recomputeAll();
+    }
+
+    GradebookResponse toResponse() {
+        GradebookResponse current = view;
+        if (current != null) {
+            return current;
+        }
+
+        lock.readLock().lock();
+        try {
+            GradebookResponse response = new GradebookResponse();
+            response.setCourseId(courseId);
+            response.setExamWeight(examWeight);
+            response.setAssignmentWeight(assignmentWeight);
+            response.setScale(scale);
+            response.setBuiltAt(LocalDateTime.now());
+
+            List<GradebookResponse.ItemResponse> items = new ArrayList<>(itemIds.length);
+            for (int column = 0; column < itemIds.length; column++) {
+                GradebookResponse.ItemResponse item = new GradebookResponse.ItemResponse();
+                item.setId(itemIds[column]);
+                item.setType(examItem[column] ? GradeChangedEvent.ItemType.EXAM.name() : GradeChangedEvent.ItemType.ASSIGNMENT.name());
+                item.setTitle(itemTitles[column]);
+                item.setMaxPoints(itemMaxPoints[column]);
+                items.add(item);
+            }
+            response.setItems(items);
+
+            List<GradebookResponse.StudentRowResponse> students = new ArrayList<>(studentIds.length);
+            for (int row = 0; row < studentIds.length; row++) {
+                GradebookResponse.StudentRowResponse student = new GradebookResponse.StudentRowResponse();
+                student.setStudentId(studentIds[row]);
+                student.setUserCode(userCodes[row]);
+                student.setFullName(fullNames[row]);
+
+                List<Double> grades = new ArrayList<>(itemIds.length);
+                int offset = row * itemIds.length;
+                for (int column = 0; column < itemIds.length; column++) {
+                    grades.add(valueOrNull(cells[offset + column]));
+                }
+                student.setGrades(grades);
+                student.setExamAverage(valueOrNull(examAverages[row]));
+                student.setAssignmentAverage(valueOrNull(assignmentAverages[row]));
+                student.setFinalGrade(valueOrNull(finalGrades[row]));
+                students.add(student);
+            }
+            response.setStudents(students);
+
+            view = response;
+            return response;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int cellIndex(GradeChangedEvent.ItemType itemType, Long itemId, Long studentId) {
+        Integer row = rowByStudent.get(studentId);
+        Integer column = (itemType == GradeChangedEvent.ItemType.EXAM ? columnByExam : columnByAssignment).get(itemId);
+        if (row == null || column == null) {
+            return -1;
+        }
+        return row * itemIds.length + column;
+    }
+
+    // Averages are taken over graded items only and expressed on the gradebook scale; the final
+    // grade re-normalizes the weights when one of the categories has no grades yet.
+    private void recomputeRow(int row) {
+        double examSum = 0;
+        int examCount = 0;
+        double assignmentSum = 0;
+        int assignmentCount = 0;
+
+        int offset = row * itemIds.length;
+        for (int column = 0; column < itemIds.length; column++) {
+            double grade = cells[offset + column];
+            if (Double.isNaN(grade)) {
+                continue;
+            }
+            double normalized = grade / itemMaxPoints[column];
+            if (examItem[column]) {
+                examSum += normalized;
+                examCount++;
+            } else {
+                assignmentSum += normalized;
+                assignmentCount++;
+            }
+        }
+
+        double examAverage = examCount > 0 ? examSum / examCount : Double.NaN;
+        double assignmentAverage = assignmentCount > 0 ? assignmentSum / assignmentCount : Double.NaN;
+
+        double weighted = 0;
+        double weights = 0;
+        if (!Double.isNaN(examAverage)) {
+            weighted += examWeight * examAverage;
+            weights += examWeight;
+        }
+        if (!Double.isNaN(assignmentAverage)) {
+            weighted += assignmentWeight * assignmentAverage;
+            weights += assignmentWeight;
+        }
+
+        examAverages[row] = examAverage * scale;
+        assignmentAverages[row] = assignmentAverage * scale;
+        finalGrades[row] = weights > 0 ? weighted / weights * scale : Double.NaN;
+    }
+
+    private static Double valueOrNull(double value) {
+        return Double.isNaN(value) ? null : Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -1,18 +1,23 @@
 package com.unslg.aulavirtual.service;
 
 import com.unslg.aulavirtual.dto.request.CourseRequest;
+import com.unslg.aulavirtual.dto.request.ResponseIncludes;
 import com.unslg.aulavirtual.dto.response.CourseResponse;
+import com.unslg.aulavirtual.dto.response.SubmissionCountsResponse;
 import com.unslg.aulavirtual.entity.Course;
 import com.unslg.aulavirtual.entity.User;
+import com.unslg.aulavirtual.event.CourseStructureChangedEvent;
 import com.unslg.aulavirtual.exception.BadRequestException;
 import com.unslg.aulavirtual.exception.ResourceNotFoundException;
 import com.unslg.aulavirtual.repository.CourseRepository;
 import com.unslg.aulavirtual.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,31 +27,33 @@ public class CourseService {
 
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
+    private final SubmissionStatsService submissionStatsService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public List<CourseResponse> getAllCourses() {
-        return courseRepository.findAll().stream()
+    public List<CourseResponse> getAllCourses(ResponseIncludes include) {
+        return applyIncludes(courseRepository.findAll().stream()
                 .map(this::convertToResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), include);
     }
 
-    public CourseResponse getCourseById(Long id) {
+    public CourseResponse getCourseById(Long id, ResponseIncludes include) {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
-        return convertToResponse(course);
+        return applyIncludes(List.of(convertToResponse(course)), include).get(0);
     }
 
-    public List<CourseResponse> getCoursesByInstructor(Long instructorId) {
+    public List<CourseResponse> getCoursesByInstructor(Long instructorId, ResponseIncludes include) {
         User instructor = userRepository.findById(instructorId)
                 .orElseThrow(() -> new ResourceNotFoundException("Instructor not found with id: " + instructorId));
-        return courseRepository.findByInstructor(instructor).stream()
+        return applyIncludes(courseRepository.findByInstructor(instructor).stream()
                 .map(this::convertToResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), include);
     }
 
-    public List<CourseResponse> getCoursesByStudent(Long studentId) {
-        return courseRepository.findByEnrolledStudentsId(studentId).stream()
+    public List<CourseResponse> getCoursesByStudent(Long studentId, ResponseIncludes include) {
+        return applyIncludes(courseRepository.findByEnrolledStudentsId(studentId).stream()
                 .map(this::convertToResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), include);
     }
 
     public CourseResponse createCourse(CourseRequest request) {
@@ -121,6 +128,7 @@ public class CourseService {
 
         course.getEnrolledStudents().add(student);
         Course savedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseStructureChangedEvent(courseId));
         return convertToResponse(savedCourse);
     }
 
@@ -133,13 +141,24 @@ public class CourseService {
 
         course.getEnrolledStudents().remove(student);
         Course savedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseStructureChangedEvent(courseId));
         return convertToResponse(savedCourse);
     }
 
-    public List<CourseResponse> searchCourses(String searchTerm) {
-        return courseRepository.findBySearchTerm(searchTerm).stream()
+    public List<CourseResponse> searchCourses(String searchTerm, ResponseIncludes include) {
+        return applyIncludes(courseRepository.findBySearchTerm(searchTerm).stream()
                 .map(this::convertToResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), include);
+    }
+
+    // Counts are summed over every assignment of the course
+    private List<CourseResponse> applyIncludes(List<CourseResponse> responses, ResponseIncludes include) {
+        if (include.isCounts() && !responses.isEmpty()) {
+            List<Long> courseIds = responses.stream().map(CourseResponse::getId).collect(Collectors.toList());
+            Map<Long, SubmissionCountsResponse> counts = submissionStatsService.getCourseCounts(courseIds);
+            responses.forEach(response -> response.setSubmissionCounts(counts.get(response.getId())));
+        }
+        return responses;
     }
 
     private CourseResponse convertToResponse(Course course) {
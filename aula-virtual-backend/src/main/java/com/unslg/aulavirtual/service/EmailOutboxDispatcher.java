@@ -0,0 +1,235 @@
+package com.unslg.aulavirtual.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Drains email_outbox in batches. Rows are claimed with SKIP LOCKED and leased by pushing
+// next_attempt_at forward, so several nodes can poll without sending the same row twice while a
+// batch is in flight. Each batch goes over a single SMTP connection. Delivery is at-least-once: a
+// crash after sending but before marking rows SENT resends them once the lease expires.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private static final String CLAIM_SQL = "SELECT id, recipient, subject, body, attempts, created_at FROM email_outbox " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= ? ORDER BY next_attempt_at LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String LEASE_SQL = "UPDATE email_outbox SET next_attempt_at = ? WHERE id = ?";
+
+    private static final String SENT_SQL = "UPDATE email_outbox SET status = 'SENT', attempts = attempts + 1, sent_at = ?, " +
+            "last_error = NULL WHERE id = ?";
+
+    private static final String RETRY_SQL = "UPDATE email_outbox SET status = ?, attempts = ?, next_attempt_at = ?, " +
+            "last_error = ? WHERE id = ?";
+
+    private static final String DEPTH_SQL = "SELECT COUNT(*) FROM email_outbox WHERE status = 'PENDING'";
+
+    private static final String PURGE_SQL = "DELETE FROM email_outbox WHERE status = 'SENT' AND sent_at < ? LIMIT 1000";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JavaMailSender mailSender;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong depth = new AtomicLong();
+
+    private Timer deliveryLatency;
+    private Timer batchDuration;
+    private Counter sent;
+    private Counter retried;
+    private Counter failed;
+
+    @Value("${app.mail.from:noreply@aulavirtual.com}")
+    private String from;
+
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.base-backoff-ms:30000}")
+    private long baseBackoffMs;
+
+    @Value("${app.mail.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    @Value("${app.mail.outbox.lease-ms:300000}")
+    private long leaseMs;
+
+    @Value("${app.mail.outbox.retention-days:7}")
+    private long retentionDays;
+
+    private record OutboxRow(long id, String recipient, String subject, String body, int attempts, LocalDateTime createdAt) {
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("mail.outbox.depth", depth, AtomicLong::get)
+                .description("Emails waiting to be sent")
+                .register(meterRegistry);
+        deliveryLatency = Timer.builder("mail.outbox.delivery.latency")
+                .description("Time from queueing an email to handing it to the SMTP server")
+                .register(meterRegistry);
+        batchDuration = Timer.builder("mail.outbox.batch")
+                .description("Time spent sending one batch")
+                .register(meterRegistry);
+        sent = meterRegistry.counter("mail.outbox.messages", "result", "sent");
+        retried = meterRegistry.counter("mail.outbox.messages", "result", "retried");
+        failed = meterRegistry.counter("mail.outbox.messages", "result", "failed");
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        try {
+            List<OutboxRow> batch;
+            do {
+                List<OutboxRow> claimed = claim();
+                if (!claimed.isEmpty()) {
+                    batchDuration.record(() -> send(claimed));
+                }
+                batch = claimed;
+            } while (batch.size() == batchSize);
+            depth.set(jdbcTemplate.queryForObject(DEPTH_SQL, Long.class));
+        } catch (DataAccessException ex) {
+            log.error("Could not read the email outbox; retrying on next poll", ex);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.purge-interval-ms:3600000}")
+    public void purgeSent() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays));
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PURGE_SQL, cutoff);
+        } while (deleted == 1000);
+    }
+
+    private List<OutboxRow> claim() {
+        List<OutboxRow> rows = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxRow> claimed = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new OutboxRow(
+                    rs.getLong("id"),
+                    rs.getString("recipient"),
+                    rs.getString("subject"),
+                    rs.getString("body"),
+                    rs.getInt("attempts"),
+                    rs.getTimestamp("created_at").toLocalDateTime()
+            ), Timestamp.valueOf(now), batchSize);
+            if (!claimed.isEmpty()) {
+                Timestamp leaseUntil = Timestamp.valueOf(now.plusNanos(leaseMs * 1_000_000));
+                jdbcTemplate.batchUpdate(LEASE_SQL, claimed, claimed.size(), (ps, row) -> {
+                    ps.setTimestamp(1, leaseUntil);
+                    ps.setLong(2, row.id());
+                });
+            }
+            return claimed;
+        });
+        return rows == null ? List.of() : rows;
+    }
+
+    private void send(List<OutboxRow> batch) {
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < messages.length; i++) {
+            OutboxRow row = batch.get(i);
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(from);
+            message.setTo(row.recipient());
+            message.setSubject(row.subject());
+            message.setText(row.body());
+            messages[i] = message;
+        }
+
+        // Failed messages are reported keyed by the original message; anything other than a
+        // per-message failure (connection, authentication) means none of the batch went out
+        Map<Object, Exception> failures = null;
+        MailException batchFailure = null;
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException ex) {
+            failures = ex.getFailedMessages();
+            batchFailure = failures.isEmpty() ? ex : null;
+        } catch (MailException ex) {
+            batchFailure = ex;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxRow> delivered = new ArrayList<>();
+        List<Object[]> retries = new ArrayList<>();
+        for (int i = 0; i < messages.length; i++) {
+            OutboxRow row = batch.get(i);
+            Exception error = batchFailure != null ? batchFailure : failures == null ? null : failures.get(messages[i]);
+            if (error == null) {
+                delivered.add(row);
+                deliveryLatency.record(Duration.between(row.createdAt(), now));
+                continue;
+            }
+
+            int attempts = row.attempts() + 1;
+            boolean exhausted = attempts >= maxAttempts;
+            (exhausted ? failed : retried).increment();
+            retries.add(new Object[]{
+                    exhausted ? "FAILED" : "PENDING",
+                    attempts,
+                    Timestamp.valueOf(now.plusNanos(backoffMs(attempts) * 1_000_000)),
+                    truncate(error.getMessage()),
+                    row.id()
+            });
+            if (exhausted) {
+                log.error("Giving up on email {} to {} after {} attempts", row.id(), row.recipient(), attempts, error);
+            } else {
+                log.warn("Email {} to {} failed (attempt {}): {}", row.id(), row.recipient(), attempts, error.getMessage());
+            }
+        }
+
+        if (!delivered.isEmpty()) {
+            Timestamp sentAt = Timestamp.valueOf(now);
+            jdbcTemplate.batchUpdate(SENT_SQL, delivered, delivered.size(), (ps, row) -> {
+                ps.setTimestamp(1, sentAt);
+                ps.setLong(2, row.id());
+            });
+            sent.increment(delivered.size());
+        }
+        if (!retries.isEmpty()) {
+            jdbcTemplate.batchUpdate(RETRY_SQL, retries);
+        }
+    }
+
+    // Exponential backoff with jitter, so a recovering SMTP server is not hit by every retry at once
+    private long backoffMs(int attempts) {
+        long delay = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempts - 1, 20));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    private String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() <= 500 ? error : error.substring(0, 500);
+    }
+}
@@ -1,31 +1,25 @@
 package com.unslg.aulavirtual.service;
 
+import com.unslg.aulavirtual.entity.EmailOutboxMessage;
+import com.unslg.aulavirtual.repository.EmailOutboxRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+// Emails are queued in the outbox as part of the caller's transaction, so one exists exactly when
+// the change that caused it commits. EmailOutboxDispatcher delivers them in the background.
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final EmailOutboxRepository outboxRepository;
 
+    @Transactional
     public void sendSimpleMessage(String to, String subject, String text) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(text);
-            message.setFrom("noreply@aulavirtual.com");
-
-            mailSender.send(message);
-            log.info("Email sent successfully to: {}", to);
-        } catch (Exception e) {
-            log.error("Error sending email to: {}", to, e);
-        }
+        outboxRepository.save(new EmailOutboxMessage(to, subject, text));
+        log.debug("Email to {} queued", to);
     }
 
     public void sendWelcomeEmail(String email, String firstName) {
@@ -1,16 +1,36 @@
 package com.unslg.aulavirtual.service;
 
 import com.unslg.aulavirtual.dto.request.ExamRequest;
+import com.unslg.aulavirtual.dto.request.GradeRequest;
+import com.unslg.aulavirtual.dto.request.ResponseIncludes;
+import com.unslg.aulavirtual.dto.projection.ExamGradeCountView;
+import com.unslg.aulavirtual.dto.response.CourseSummaryResponse;
+import com.unslg.aulavirtual.dto.response.ExamResponse;
 import com.unslg.aulavirtual.entity.Course;
 import com.unslg.aulavirtual.entity.Exam;
+import com.unslg.aulavirtual.entity.ExamGrade;
+import com.unslg.aulavirtual.entity.NotificationJob;
+import com.unslg.aulavirtual.entity.User;
+import com.unslg.aulavirtual.event.CourseStructureChangedEvent;
+import com.unslg.aulavirtual.event.GradeChangedEvent;
+import com.unslg.aulavirtual.event.TransitionScheduleChangedEvent;
 import com.unslg.aulavirtual.exception.ResourceNotFoundException;
+import com.unslg.aulavirtual.exception.UnauthorizedException;
 import com.unslg.aulavirtual.repository.CourseRepository;
+import com.unslg.aulavirtual.repository.ExamGradeRepository;
 import com.unslg.aulavirtual.repository.ExamRepository;
+import com.unslg.aulavirtual.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -19,25 +39,47 @@ public class ExamService {
 
     private final ExamRepository examRepository;
     private final CourseRepository courseRepository;
-
-    public List<Exam> getAllExams() {
-        return examRepository.findAll();
+    private final ExamGradeRepository examGradeRepository;
+    private final UserRepository userRepository;
+    private final ExamSnapshotService examSnapshotService;
+    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public List<ExamResponse> getAllExams(ResponseIncludes include) {
+        return applyIncludes(examRepository.findAllResponses(), include);
     }
 
-    public Exam getExamById(Long id) {
-        return examRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Exam not found with id: " + id));
+    // studentId is null for staff; students may only read exams of courses they are enrolled in
+    public ExamResponse getExamById(Long id, Long studentId, ResponseIncludes include) {
+        Optional<ExamSnapshot> snapshot = examSnapshotService.find(id);
+        ExamResponse response;
+        boolean eligible;
+
+        if (snapshot.isPresent()) {
+            // Around the start time every enrolled student loads the exam at once, so serve it from memory
+            response = snapshot.get().toResponse();
+            eligible = studentId == null || snapshot.get().isEligible(studentId);
+        } else {
+            response = examRepository.findResponseById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Exam not found with id: " + id));
+            eligible = studentId == null || courseRepository.isStudentEnrolled(response.getCourseId(), studentId);
+        }
+
+        if (!eligible) {
+            throw new UnauthorizedException("You are not enrolled in the course of this exam");
+        }
+        return applyIncludes(List.of(response), include).get(0);
     }
 
-    public List<Exam> getExamsByCourse(Long courseId) {
-        return examRepository.findByCourseId(courseId);
+    public List<ExamResponse> getExamsByCourse(Long courseId, ResponseIncludes include) {
+        return applyIncludes(examRepository.findResponsesByCourseId(courseId), include);
     }
 
-    public List<Exam> getExamsByStudent(Long studentId) {
-        return examRepository.findByStudentId(studentId);
+    public List<ExamResponse> getExamsByStudent(Long studentId, ResponseIncludes include) {
+        return applyIncludes(examRepository.findResponsesByStudentId(studentId), include);
     }
 
-    public Exam createExam(ExamRequest request) {
+    public ExamResponse createExam(ExamRequest request) {
         Course course = courseRepository.findById(request.getCourseId())
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + request.getCourseId()));
 
@@ -56,10 +98,14 @@ public class ExamService {
             exam.setExamType(Exam.ExamType.valueOf(request.getExamType()));
         }
 
-        return examRepository.save(exam);
+        Exam savedExam = examRepository.save(exam);
+        eventPublisher.publishEvent(new CourseStructureChangedEvent(course.getId()));
+        publishTransitions(savedExam);
+        notificationService.notifyCourse(NotificationJob.JobType.EXAM, savedExam.getId(), course.getId());
+        return convertToResponse(savedExam);
     }
 
-    public Exam updateExam(Long id, ExamRequest request) {
+    public ExamResponse updateExam(Long id, ExamRequest request) {
         Exam exam = examRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Exam not found with id: " + id));
 
@@ -76,12 +122,93 @@ public class ExamService {
             exam.setExamType(Exam.ExamType.valueOf(request.getExamType()));
         }
 
-        return examRepository.save(exam);
+        Exam savedExam = examRepository.save(exam);
+        eventPublisher.publishEvent(new CourseStructureChangedEvent(exam.getCourse().getId()));
+        publishTransitions(savedExam);
+        return convertToResponse(savedExam);
     }
 
     public void deleteExam(Long id) {
         Exam exam = examRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Exam not found with id: " + id));
         examRepository.delete(exam);
+        eventPublisher.publishEvent(new CourseStructureChangedEvent(exam.getCourse().getId()));
+    }
+
+    public void gradeExam(Long examId, Long studentId, GradeRequest request) {
+        Exam exam = examRepository.findById(examId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam not found with id: " + examId));
+
+        ExamGrade examGrade = examGradeRepository.findByExamIdAndStudentId(examId, studentId)
+                .orElseGet(() -> {
+                    User student = userRepository.findById(studentId)
+                            .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
+                    return new ExamGrade(exam, student);
+                });
+
+        examGrade.setGrade(request.getGrade());
+        examGrade.setFeedback(request.getFeedback());
+        examGrade.setStatus(ExamGrade.ExamStatus.GRADED);
+        examGrade.setGradedAt(LocalDateTime.now());
+        examGradeRepository.save(examGrade);
+
+        eventPublisher.publishEvent(new GradeChangedEvent(exam.getCourse().getId(),
+                GradeChangedEvent.ItemType.EXAM, examId, studentId, request.getGrade()));
+    }
+
+    private void publishTransitions(Exam exam) {
+        eventPublisher.publishEvent(new TransitionScheduleChangedEvent(
+                TransitionScheduleChangedEvent.TransitionType.EXAM_OPEN, exam.getId(), exam.getStartTime()));
+        eventPublisher.publishEvent(new TransitionScheduleChangedEvent(
+                TransitionScheduleChangedEvent.TransitionType.EXAM_CLOSE, exam.getId(), exam.getEndTime()));
+    }
+
+    // The projection always carries the course summary from its join; counts cost one grouped query
+    private List<ExamResponse> applyIncludes(List<ExamResponse> responses, ResponseIncludes include) {
+        if (!include.isCourse()) {
+            responses.forEach(response -> response.setCourse(null));
+        }
+
+        if (include.isCounts() && !responses.isEmpty()) {
+            List<Long> ids = responses.stream().map(ExamResponse::getId).collect(Collectors.toList());
+            Map<Long, ExamGradeCountView> counts = examGradeRepository.countByExamIds(ids).stream()
+                    .collect(Collectors.toMap(ExamGradeCountView::getExamId, Function.identity()));
+
+            responses.forEach(response -> {
+                ExamResponse.GradeCountsResponse gradeCounts = new ExamResponse.GradeCountsResponse();
+                ExamGradeCountView count = counts.get(response.getId());
+                if (count != null) {
+                    gradeCounts.setInProgress(count.getInProgress());
+                    gradeCounts.setCompleted(count.getCompleted());
+                    gradeCounts.setGraded(count.getGraded());
+                }
+                response.setGradeCounts(gradeCounts);
+            });
+        }
+
+        return responses;
+    }
+
+    private ExamResponse convertToResponse(Exam exam) {
+        ExamResponse response = new ExamResponse();
+        response.setId(exam.getId());
+        response.setTitle(exam.getTitle());
+        response.setDescription(exam.getDescription());
+        response.setExamType(exam.getExamType().name());
+        response.setStartTime(exam.getStartTime());
+        response.setEndTime(exam.getEndTime());
+        response.setDurationMinutes(exam.getDurationMinutes());
+        response.setMaxPoints(exam.getMaxPoints());
+        response.setPassingGrade(exam.getPassingGrade());
+        response.setInstructions(exam.getInstructions());
+        response.setStatus(exam.getStatus().name());
+        response.setCreatedAt(exam.getCreatedAt());
+        response.setUpdatedAt(exam.getUpdatedAt());
+
+        Course course = exam.getCourse();
+        response.setCourseId(course.getId());
+        response.setCourse(new CourseSummaryResponse(course.getId(), course.getCode(), course.getName()));
+
+        return response;
     }
 }
@@ -0,0 +1,130 @@
+package com.unslg.aulavirtual.service;
+
+import com.unslg.aulavirtual.dto.response.ExamSessionResponse;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// One student's attempt at an exam. Mutations are synchronized per session; sessions never
+// contend with each other.
+public class ExamSession {
+
+    private final Long gradeId;
+    private final Long examId;
+    private final Long studentId;
+    private final LocalDateTime startedAt;
+    private final LocalDateTime deadline;
+
+    private String answers;
+    private long version;
+    private long flushedVersion;
+    private boolean closed;
+
+    ExamSession(Long gradeId, Long examId, Long studentId, LocalDateTime startedAt, LocalDateTime deadline,
+                String answers, long version) {
+        this.gradeId = gradeId;
+        this.examId = examId;
+        this.studentId = studentId;
+        this.startedAt = startedAt;
+        this.deadline = deadline;
+        this.answers = answers;
+        this.version = version;
+        this.flushedVersion = version;
+    }
+
+    Long getGradeId() {
+        return gradeId;
+    }
+
+    Long getExamId() {
+        return examId;
+    }
+
+    Long getStudentId() {
+        return studentId;
+    }
+
+    LocalDateTime getDeadline() {
+        return deadline;
+    }
+
+    // Returns the new version, or -1 when the session was already closed
+    synchronized long save(String newAnswers) {
+        if (closed) {
+            return -1;
+        }
+        answers = newAnswers;
+        return ++version;
+    }
+
+    // Journal replay: only moves forward
+    synchronized boolean restore(String journalAnswers, long journalVersion) {
+        if (closed || journalVersion <= version) {
+            return false;
+        }
+        answers = journalAnswers;
+        version = journalVersion;
+        return true;
+    }
+
+    synchronized Pending pending() {
+        return version > flushedVersion ? new Pending(this, answers, version) : null;
+    }
+
+    synchronized void markFlushed(long flushed) {
+        flushedVersion = Math.max(flushedVersion, flushed);
+    }
+
+    synchronized boolean hasUnflushedAnswers() {
+        return version > flushedVersion;
+    }
+
+    // Another node stored a newer version. Answers saved here since the last flush are still the
+    // student's latest and are renumbered above it; a copy without local saves takes the stored ones.
+    synchronized void rebase(String storedAnswers, long storedVersion) {
+        if (version > flushedVersion) {
+            version = Math.max(version, storedVersion + 1);
+        } else if (storedVersion > version) {
+            answers = storedAnswers;
+            version = storedVersion;
+        }
+        flushedVersion = Math.max(flushedVersion, storedVersion);
+    }
+
+    synchronized Pending close() {
+        closed = true;
+        return new Pending(this, answers, version);
+    }
+
+    synchronized void reopen() {
+        closed = false;
+    }
+
+    synchronized ExamSessionResponse toResponse(String status, LocalDateTime now, boolean includeAnswers) {
+        ExamSessionResponse response = new ExamSessionResponse();
+        response.setExamId(examId);
+        response.setStudentId(studentId);
+        response.setStatus(status);
+        response.setStartedAt(startedAt);
+        response.setDeadline(deadline);
+        response.setRemainingSeconds(Math.max(0, Duration.between(now, deadline).getSeconds()));
+        response.setVersion(version);
+        if (includeAnswers) {
+            response.setAnswers(answers);
+        }
+        return response;
+    }
+
+    // Answers captured at a given version, waiting to be written to exam_grades
+    static final class Pending {
+        final ExamSession session;
+        final String answers;
+        final long version;
+
+        Pending(ExamSession session, String answers, long version) {
+            this.session = session;
+            this.answers = answers;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.unslg.aulavirtual.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Append-only log of autosaves on this node, split into segments. A segment can be deleted
+// once every entry in it has reached the database, which the session engine signals by
+// rotating before a flush and deleting the sealed segments after it.
+class ExamSessionJournal {
+
+    private static final String SUFFIX = ".journal";
+
+    private final Path directory;
+    private final List<Path> sealed = new ArrayList<>();
+    private long sequence;
+    private FileChannel channel;
+    private long written;
+
+    interface EntryConsumer {
+        void accept(Long examId, Long studentId, long version, String answers);
+    }
+
+    ExamSessionJournal(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        // Segments left by a previous run are replayed and then treated as sealed
+        try (Stream<Path> files = Files.list(directory)) {
+            sealed.addAll(files.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList()));
+        }
+        sequence = System.currentTimeMillis();
+        openSegment();
+    }
+
+    synchronized void append(Long examId, Long studentId, long version, String answers) throws IOException {
+        String line = examId + " " + studentId + " " + version + " " +
+                Base64.getEncoder().encodeToString(answers.getBytes(StandardCharsets.UTF_8)) + "\n";
+        ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+        // No fsync per entry: the write survives a process crash, and the flush forces the segment
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer);
+        }
+    }
+
+    // Seals the current segment and returns every sealed segment not yet deleted
+    synchronized List<Path> rotate() throws IOException {
+        if (written == 0) {
+            return new ArrayList<>(sealed);
+        }
+        channel.force(false);
+        channel.close();
+        sealed.add(currentSegment());
+        sequence++;
+        openSegment();
+        return new ArrayList<>(sealed);
+    }
+
+    synchronized void delete(List<Path> segments) throws IOException {
+        for (Path segment : segments) {
+            Files.deleteIfExists(segment);
+            sealed.remove(segment);
+        }
+    }
+
+    synchronized int replay(EntryConsumer consumer) throws IOException {
+        int entries = 0;
+        for (Path segment : sealed) {
+            try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] parts = line.split(" ");
+                    if (parts.length != 4) {
+                        // Torn last line from a crash mid-write
+                        continue;
+                    }
+                    try {
+                        String answers = new String(Base64.getDecoder().decode(parts[3]), StandardCharsets.UTF_8);
+                        consumer.accept(Long.valueOf(parts[0]), Long.valueOf(parts[1]), Long.parseLong(parts[2]), answers);
+                        entries++;
+                    } catch (IllegalArgumentException ex) {
+                        continue;
+                    }
+                }
+            }
+        }
+        return entries;
+    }
+
+    synchronized void close() throws IOException {
+        channel.force(false);
+        channel.close();
+    }
+
+    private void openSegment() throws IOException {
+        while (Files.exists(currentSegment())) {
+            sequence++;
+        }
+        written = 0;
+        channel = FileChannel.open(currentSegment(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private Path currentSegment() {
+        return directory.resolve(String.format("%020d%s", sequence, SUFFIX));
+    }
+}
@@ -0,0 +1,369 @@
+package com.unslg.aulavirtual.service;
+
+import com.unslg.aulavirtual.dto.projection.ExamSessionView;
+import com.unslg.aulavirtual.dto.request.ResponseIncludes;
+import com.unslg.aulavirtual.dto.response.ExamResponse;
+import com.unslg.aulavirtual.dto.response.ExamSessionResponse;
+import com.unslg.aulavirtual.entity.ExamGrade;
+import com.unslg.aulavirtual.exception.BadRequestException;
+import com.unslg.aulavirtual.repository.ExamGradeRepository;
+import com.unslg.aulavirtual.repository.ExamRepository;
+import com.unslg.aulavirtual.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExamSessionService {
+
+    private static final String FLUSH_SQL = "UPDATE exam_grades SET answers = ?, answers_version = ?, answers_saved_at = ? " +
+            "WHERE id = ? AND status = 'IN_PROGRESS' AND answers_version < ?";
+
+    private static final String FINISH_SQL = "UPDATE exam_grades SET answers = ?, answers_version = ?, answers_saved_at = ?, " +
+            "status = 'COMPLETED', end_time = ? WHERE id = ? AND status = 'IN_PROGRESS' AND answers_version <= ?";
+
+    private static final String CLOSE_SQL = "UPDATE exam_grades SET status = 'COMPLETED', end_time = ? " +
+            "WHERE id = ? AND status = 'IN_PROGRESS' AND answers_version = ?";
+
+    private static final String STORED_SQL = "SELECT status, answers, answers_version FROM exam_grades WHERE id = ?";
+
+    private final ExamService examService;
+    private final ExamRepository examRepository;
+    private final ExamGradeRepository examGradeRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<SessionKey, ExamSession> sessions = new ConcurrentHashMap<>();
+    private final Set<SessionKey> dirty = ConcurrentHashMap.newKeySet();
+    private ExamSessionJournal journal;
+
+    @Value("${app.exam.session.journal-dir:data/exam-journal}")
+    private String journalDir;
+
+    @Value("${app.exam.session.grace-seconds:30}")
+    private long graceSeconds;
+
+    @Value("${app.exam.session.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    private record SessionKey(Long examId, Long studentId) {
+    }
+
+    private record Stored(String status, String answers, long version) {
+
+        boolean inProgress() {
+            return ExamGrade.ExamStatus.IN_PROGRESS.name().equals(status);
+        }
+    }
+
+    // Rebuilds the registry from exam_grades, then replays autosaves that were journaled
+    // but not flushed before the node stopped
+    @PostConstruct
+    public void recover() throws IOException {
+        journal = new ExamSessionJournal(Paths.get(journalDir));
+
+        for (ExamSessionView view : examGradeRepository.findActiveSessions()) {
+            sessions.put(new SessionKey(view.getExamId(), view.getStudentId()), createSession(view));
+        }
+
+        int replayed = journal.replay((examId, studentId, version, answers) -> {
+            SessionKey key = new SessionKey(examId, studentId);
+            ExamSession session = sessions.get(key);
+            if (session != null && session.restore(answers, version)) {
+                dirty.add(key);
+            }
+        });
+
+        if (!sessions.isEmpty() || replayed > 0) {
+            log.info("Recovered {} exam sessions, replayed {} journal entries", sessions.size(), replayed);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        flush();
+        journal.close();
+    }
+
+    public ExamSessionResponse startSession(Long examId, Long studentId) {
+        LocalDateTime now = LocalDateTime.now();
+        SessionKey key = new SessionKey(examId, studentId);
+        ExamSession existing = findSession(key);
+        if (existing != null) {
+            return existing.toResponse(ExamGrade.ExamStatus.IN_PROGRESS.name(), now, true);
+        }
+
+        // Also checks that the student is enrolled; served from the pre-warmed snapshot near the start time
+        ExamResponse exam = examService.getExamById(examId, studentId, ResponseIncludes.NONE);
+        if (now.isBefore(exam.getStartTime())) {
+            throw new BadRequestException("Exam has not started yet");
+        }
+        if (now.isAfter(exam.getEndTime())) {
+            throw new BadRequestException("Exam has already ended");
+        }
+
+        LocalDateTime deadline = min(now.plusMinutes(exam.getDurationMinutes()), exam.getEndTime());
+        ExamSession session;
+        try {
+            session = transactionTemplate.execute(status -> {
+                ExamGrade examGrade = examGradeRepository.findByExamIdAndStudentId(examId, studentId)
+                        .orElseGet(() -> new ExamGrade(examRepository.getReferenceById(examId), userRepository.getReferenceById(studentId)));
+                if (examGrade.getStatus() != ExamGrade.ExamStatus.NOT_STARTED) {
+                    throw new BadRequestException("Exam has already been taken");
+                }
+
+                examGrade.setStatus(ExamGrade.ExamStatus.IN_PROGRESS);
+                examGrade.setStartTime(now);
+                ExamGrade savedGrade = examGradeRepository.saveAndFlush(examGrade);
+
+                ExamSession started = new ExamSession(savedGrade.getId(), examId, studentId, now, deadline, null, 0);
+                // Only visible to autosave and the flusher once the grade row is committed
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        sessions.putIfAbsent(key, started);
+                    }
+                });
+                return started;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another request inserted the grade first (uk_exam_grades_exam_student); continue with its session
+            existing = findSession(key);
+            if (existing == null) {
+                throw new BadRequestException("Exam has already been taken");
+            }
+            return existing.toResponse(ExamGrade.ExamStatus.IN_PROGRESS.name(), now, true);
+        }
+
+        ExamSession registered = sessions.get(key);
+        return (registered != null ? registered : session).toResponse(ExamGrade.ExamStatus.IN_PROGRESS.name(), now, true);
+    }
+
+    public ExamSessionResponse getSession(Long examId, Long studentId) {
+        SessionKey key = new SessionKey(examId, studentId);
+        ExamSession session = requireSession(key);
+        // The student may have been autosaving through another node since this copy was loaded
+        if (!session.hasUnflushedAnswers()) {
+            Stored stored = readStored(session.getGradeId());
+            if (stored == null || !stored.inProgress()) {
+                sessions.remove(key, session);
+                throw new BadRequestException("No exam in progress for this student");
+            }
+            session.rebase(stored.answers(), stored.version());
+        }
+        return session.toResponse(ExamGrade.ExamStatus.IN_PROGRESS.name(), LocalDateTime.now(), true);
+    }
+
+    // Hot path: memory and an append to the local journal, no database round trip
+    public ExamSessionResponse saveAnswers(Long examId, Long studentId, String answers) {
+        LocalDateTime now = LocalDateTime.now();
+        SessionKey key = new SessionKey(examId, studentId);
+        ExamSession session = requireSession(key);
+
+        if (isExpired(session, now)) {
+            finish(key, session, session.getDeadline());
+            throw new BadRequestException("Exam time is over");
+        }
+
+        long version = session.save(answers);
+        if (version < 0) {
+            throw new BadRequestException("Exam session is closed");
+        }
+        dirty.add(key);
+
+        try {
+            journal.append(examId, studentId, version, answers);
+        } catch (IOException ex) {
+            // Still held in memory and flushed with the next batch; only crash safety is reduced
+            log.error("Could not journal autosave for exam {} student {}", examId, studentId, ex);
+        }
+        return session.toResponse(ExamGrade.ExamStatus.IN_PROGRESS.name(), now, false);
+    }
+
+    public ExamSessionResponse submit(Long examId, Long studentId, String answers) {
+        LocalDateTime now = LocalDateTime.now();
+        SessionKey key = new SessionKey(examId, studentId);
+        ExamSession session = requireSession(key);
+
+        // Answers sent after the grace period are ignored; the last autosave stands
+        if (answers != null && !isExpired(session, now)) {
+            session.save(answers);
+        }
+        finish(key, session, min(now, session.getDeadline()));
+        return session.toResponse(ExamGrade.ExamStatus.COMPLETED.name(), now, false);
+    }
+
+    @Scheduled(fixedDelayString = "${app.exam.session.flush-interval-ms:5000}")
+    public void flush() {
+        List<Path> sealed;
+        try {
+            sealed = journal.rotate();
+        } catch (IOException ex) {
+            log.error("Could not rotate exam session journal", ex);
+            sealed = List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<SessionKey, ExamSession> entry : sessions.entrySet()) {
+            if (isExpired(entry.getValue(), now)) {
+                try {
+                    finish(entry.getKey(), entry.getValue(), entry.getValue().getDeadline());
+                } catch (DataAccessException ex) {
+                    log.error("Could not close expired exam session {}", entry.getKey(), ex);
+                }
+            }
+        }
+
+        List<ExamSession.Pending> batch = new ArrayList<>();
+        for (Iterator<SessionKey> iterator = dirty.iterator(); iterator.hasNext(); ) {
+            SessionKey key = iterator.next();
+            iterator.remove();
+            ExamSession session = sessions.get(key);
+            ExamSession.Pending pending = session != null ? session.pending() : null;
+            if (pending != null) {
+                batch.add(pending);
+            }
+        }
+        if (batch.isEmpty() && sealed.isEmpty()) {
+            return;
+        }
+
+        try {
+            Timestamp savedAt = Timestamp.valueOf(now);
+            int[][] counts = jdbcTemplate.batchUpdate(FLUSH_SQL, batch, flushBatchSize, (ps, pending) -> {
+                ps.setString(1, pending.answers);
+                ps.setLong(2, pending.version);
+                ps.setTimestamp(3, savedAt);
+                ps.setLong(4, pending.session.getGradeId());
+                ps.setLong(5, pending.version);
+            });
+            List<ExamSession.Pending> stale = new ArrayList<>();
+            int index = 0;
+            for (int[] chunk : counts) {
+                for (int count : chunk) {
+                    ExamSession.Pending pending = batch.get(index++);
+                    if (count == 0) {
+                        stale.add(pending);
+                    } else {
+                        pending.session.markFlushed(pending.version);
+                    }
+                }
+            }
+            stale.forEach(this::rebase);
+            journal.delete(sealed);
+        } catch (DataAccessException | IOException ex) {
+            log.error("Could not flush {} exam autosaves, retrying on the next run", batch.size(), ex);
+            batch.forEach(pending -> dirty.add(new SessionKey(pending.session.getExamId(), pending.session.getStudentId())));
+        }
+    }
+
+    // The guard on answers_version keeps an old copy of the session, e.g. one loaded at startup
+    // while the student was autosaving through another node, from replacing newer answers
+    private void finish(SessionKey key, ExamSession session, LocalDateTime endTime) {
+        ExamSession.Pending last = session.close();
+        try {
+            Timestamp savedAt = Timestamp.valueOf(LocalDateTime.now());
+            Timestamp endedAt = Timestamp.valueOf(endTime);
+            long version = last.version;
+            while (jdbcTemplate.update(FINISH_SQL, last.answers, version, savedAt, endedAt, session.getGradeId(), version) == 0) {
+                Stored stored = readStored(session.getGradeId());
+                if (stored == null || !stored.inProgress()) {
+                    break;
+                }
+                if (!session.hasUnflushedAnswers()) {
+                    // Nothing was saved here since the last flush: keep the stored answers
+                    if (jdbcTemplate.update(CLOSE_SQL, endedAt, session.getGradeId(), stored.version()) > 0) {
+                        break;
+                    }
+                } else {
+                    version = stored.version() + 1;
+                }
+            }
+        } catch (DataAccessException ex) {
+            session.reopen();
+            throw ex;
+        }
+        sessions.remove(key, session);
+        dirty.remove(key);
+    }
+
+    // A flush matched no row: another node stored a newer version, or the attempt was finished there
+    private void rebase(ExamSession.Pending pending) {
+        ExamSession session = pending.session;
+        SessionKey key = new SessionKey(session.getExamId(), session.getStudentId());
+        Stored stored = readStored(session.getGradeId());
+        if (stored == null || !stored.inProgress()) {
+            sessions.remove(key, session);
+            return;
+        }
+        session.rebase(stored.answers(), stored.version());
+        if (session.hasUnflushedAnswers()) {
+            dirty.add(key);
+        }
+    }
+
+    private Stored readStored(Long gradeId) {
+        return jdbcTemplate.query(STORED_SQL, rs -> rs.next()
+                ? new Stored(rs.getString("status"), rs.getString("answers"), rs.getLong("answers_version"))
+                : null, gradeId);
+    }
+
+    private ExamSession requireSession(SessionKey key) {
+        ExamSession session = findSession(key);
+        if (session == null) {
+            throw new BadRequestException("No exam in progress for this student");
+        }
+        return session;
+    }
+
+    // Sessions started on another node, or before a restart, are picked up from exam_grades
+    private ExamSession findSession(SessionKey key) {
+        ExamSession session = sessions.get(key);
+        if (session != null) {
+            return session;
+        }
+        return examGradeRepository.findSession(key.examId(), key.studentId())
+                .filter(view -> view.getStatus() == ExamGrade.ExamStatus.IN_PROGRESS)
+                .map(view -> sessions.computeIfAbsent(key, k -> createSession(view)))
+                .orElse(null);
+    }
+
+    private ExamSession createSession(ExamSessionView view) {
+        LocalDateTime deadline = min(view.getStartTime().plusMinutes(view.getDurationMinutes()), view.getExamEndTime());
+        return new ExamSession(view.getGradeId(), view.getExamId(), view.getStudentId(), view.getStartTime(), deadline,
+                view.getAnswers(), view.getAnswersVersion());
+    }
+
+    private boolean isExpired(ExamSession session, LocalDateTime now) {
+        return now.isAfter(session.getDeadline().plusSeconds(graceSeconds));
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
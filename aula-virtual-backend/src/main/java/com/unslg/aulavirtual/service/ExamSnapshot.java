@@ -0,0 +1,48 @@
+package com.unslg.aulavirtual.service;
+
+import com.unslg.aulavirtual.dto.response.CourseSummaryResponse;
+import com.unslg.aulavirtual.dto.response.ExamResponse;
+
+import java.util.Set;
+
+// Immutable copy of an exam and its roster, shared by every reader while the exam is open
+public final class ExamSnapshot {
+
+    private final ExamResponse exam;
+    private final Set<Long> roster;
+
+    ExamSnapshot(ExamResponse exam, Set<Long> roster) {
+        this.exam = exam;
+        this.roster = Set.copyOf(roster);
+    }
+
+    Long getCourseId() {
+        return exam.getCourseId();
+    }
+
+    boolean isEligible(Long studentId) {
+        return roster.contains(studentId);
+    }
+
+    // Callers decorate the response, so each read gets its own copy
+    ExamResponse toResponse() {
+        ExamResponse response = new ExamResponse();
+        response.setId(exam.getId());
+        response.setTitle(exam.getTitle());
+        response.setDescription(exam.getDescription());
+        response.setExamType(exam.getExamType());
+        response.setStartTime(exam.getStartTime());
+        response.setEndTime(exam.getEndTime());
+        response.setDurationMinutes(exam.getDurationMinutes());
+        response.setMaxPoints(exam.getMaxPoints());
+        response.setPassingGrade(exam.getPassingGrade());
+        response.setInstructions(exam.getInstructions());
+        response.setStatus(exam.getStatus());
+        response.setCourseId(exam.getCourseId());
+        CourseSummaryResponse course = exam.getCourse();
+        response.setCourse(new CourseSummaryResponse(course.getId(), course.getCode(), course.getName()));
+        response.setCreatedAt(exam.getCreatedAt());
+        response.setUpdatedAt(exam.getUpdatedAt());
+        return response;
+    }
+}
@@ -0,0 +1,127 @@
+package com.unslg.aulavirtual.service;
+
+import com.unslg.aulavirtual.dto.projection.ExamWindowView;
+import com.unslg.aulavirtual.dto.response.ExamResponse;
+import com.unslg.aulavirtual.event.CourseStructureChangedEvent;
+import com.unslg.aulavirtual.repository.CourseRepository;
+import com.unslg.aulavirtual.repository.ExamRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExamSnapshotService {
+
+    private final ExamRepository examRepository;
+    private final CourseRepository courseRepository;
+
+    // Exams inside their warm window, with the course used for invalidation and the moment the
+    // window closes (exam end time)
+    private final Map<Long, Window> windows = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<ExamSnapshot>> snapshots = new ConcurrentHashMap<>();
+
+    @Value("${app.exam.prewarm-lead-minutes:10}")
+    private long leadMinutes;
+
+    private record Window(Long courseId, LocalDateTime closesAt) {
+    }
+
+    @Scheduled(fixedDelayString = "${app.exam.prewarm-interval-ms:60000}")
+    public void prewarm() {
+        LocalDateTime now = LocalDateTime.now();
+        windows.entrySet().removeIf(window -> {
+            boolean expired = window.getValue().closesAt().isBefore(now);
+            if (expired) {
+                snapshots.remove(window.getKey());
+            }
+            return expired;
+        });
+
+        for (ExamWindowView exam : examRepository.findWindowsOverlapping(now, now.plusMinutes(leadMinutes))) {
+            if (windows.put(exam.getId(), new Window(exam.getCourseId(), exam.getEndTime())) == null) {
+                log.info("Pre-warming exam {}", exam.getId());
+            }
+            try {
+                load(exam.getId());
+            } catch (RuntimeException ex) {
+                log.warn("Could not pre-warm exam {}", exam.getId(), ex);
+            }
+        }
+    }
+
+    // Empty outside the warm window; callers then go to the database as usual
+    public Optional<ExamSnapshot> find(Long examId) {
+        Window window = windows.get(examId);
+        if (window == null) {
+            return Optional.empty();
+        }
+        if (window.closesAt().isBefore(LocalDateTime.now())) {
+            windows.remove(examId);
+            snapshots.remove(examId);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(load(examId));
+    }
+
+    public void evict(Long examId) {
+        snapshots.remove(examId);
+    }
+
+    @TransactionalEventListener
+    public void onCourseStructureChanged(CourseStructureChangedEvent event) {
+        // Covers exam edits and roster changes; the next read reloads the snapshot. Goes by the
+        // window's course so a load still in flight is dropped too: its future leaves the map and
+        // whatever it read before the commit is never served
+        windows.forEach((examId, window) -> {
+            if (window.courseId().equals(event.getCourseId())) {
+                snapshots.remove(examId);
+            }
+        });
+    }
+
+    // Single flight: the first caller loads, concurrent callers for the same exam wait on its future
+    private ExamSnapshot load(Long examId) {
+        CompletableFuture<ExamSnapshot> pending = new CompletableFuture<>();
+        CompletableFuture<ExamSnapshot> existing = snapshots.putIfAbsent(examId, pending);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException ex) {
+                throw (RuntimeException) ex.getCause();
+            }
+        }
+
+        try {
+            ExamSnapshot snapshot = examRepository.findResponseById(examId)
+                    .map(this::createSnapshot)
+                    .orElse(null);
+            pending.complete(snapshot);
+            if (snapshot == null) {
+                snapshots.remove(examId, pending);
+                windows.remove(examId);
+            }
+            return snapshot;
+        } catch (RuntimeException ex) {
+            snapshots.remove(examId, pending);
+            pending.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private ExamSnapshot createSnapshot(ExamResponse exam) {
+        return new ExamSnapshot(exam, new HashSet<>(courseRepository.findEnrolledStudentIds(exam.getCourseId())));
+    }
+}
@@ -54,6 +54,14 @@ public class FileStorageService {
         return Paths.get(uploadDir).resolve(fileName);
     }
 
+    public Path getStoredFilePath(String fileUrl) {
+        String fileName = StringUtils.getFilename(fileUrl);
+        if (!StringUtils.hasText(fileName) || fileName.contains("..")) {
+            return null;
+        }
+        return getFilePath(fileName);
+    }
+
     public void deleteFile(String fileName) {
         try {
             Path filePath = getFilePath(fileName);
@@ -0,0 +1,388 @@
+package com.unslg.aulavirtual.service;
+
+import com.unslg.aulavirtual.dto.projection.ForumPostIdView;
+import com.unslg.aulavirtual.dto.response.ForumUnreadResponse;
+import com.unslg.aulavirtual.dto.response.UnreadSummaryResponse;
+import com.unslg.aulavirtual.event.CourseStructureChangedEvent;
+import com.unslg.aulavirtual.event.ForumPostChangedEvent;
+import com.unslg.aulavirtual.exception.ResourceNotFoundException;
+import com.unslg.aulavirtual.repository.CourseRepository;
+import com.unslg.aulavirtual.repository.ForumPostRepository;
+import com.unslg.aulavirtual.repository.ForumRepository;
+import com.unslg.aulavirtual.util.CompressedBitmap;
+import com.unslg.aulavirtual.util.LruCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// Read tracking without a row per (user, post): each user keeps one compressed bitmap of read
+// post ids per forum, and each forum keeps bitmaps of its existing post ids, overall and per
+// thread. Unread counts are set differences of the two, computed in memory. Changed bitmaps are
+// written back as BLOBs in batches; a crash loses at most one flush interval of read marks.
+// Forum indexes live in a bounded LRU and are loaded outside any lock, one loader per forum.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ForumReadStateService {
+
+    private static final String LOAD_SQL = "SELECT forum_id, read_bitmap FROM forum_read_state WHERE user_id = ?";
+
+    private static final String UPSERT_SQL = "INSERT INTO forum_read_state (user_id, forum_id, read_bitmap, updated_at) " +
+            "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE read_bitmap = VALUES(read_bitmap), updated_at = VALUES(updated_at)";
+
+    // Forums a user can see change with enrollments and new forums; re-resolve them periodically
+    private static final long FORUM_LIST_TTL_MS = 5 * 60 * 1000L;
+
+    private final ForumRepository forumRepository;
+    private final ForumPostRepository forumPostRepository;
+    private final CourseRepository courseRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, UserReadState> users = new ConcurrentHashMap<>();
+    private final Set<ReadKey> dirty = ConcurrentHashMap.newKeySet();
+
+    private LruCache<Long, CompletableFuture<ForumPosts>> forums;
+
+    @Value("${app.forum.read-state.cached-forums:2000}")
+    private int cachedForums;
+
+    @Value("${app.forum.read-state.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    @Value("${app.forum.read-state.idle-minutes:30}")
+    private long idleMinutes;
+
+    private record ReadKey(Long userId, Long forumId) {
+    }
+
+    private record PendingWrite(ReadKey key, byte[] bitmap) {
+    }
+
+    @PostConstruct
+    void init() {
+        forums = new LruCache<>(cachedForums);
+    }
+
+    public ForumUnreadResponse markRead(Long userId, Long forumId, Collection<Long> postIds) {
+        ForumPosts posts = forumPosts(forumId);
+        return updateReadState(userId, forumId, read -> {
+            synchronized (posts) {
+                for (Long postId : postIds) {
+                    // Ids from other forums or deleted posts would only bloat the bitmap
+                    int bit = toBit(postId);
+                    if (posts.all.contains(bit)) {
+                        read.add(bit);
+                    }
+                }
+            }
+        });
+    }
+
+    public ForumUnreadResponse markAllRead(Long userId, Long forumId) {
+        ForumPosts posts = forumPosts(forumId);
+        return updateReadState(userId, forumId, read -> {
+            synchronized (posts) {
+                read.or(posts.all);
+            }
+        });
+    }
+
+    public UnreadSummaryResponse getUnreadSummary(Long userId) {
+        UserReadState user = userState(userId);
+        long[] forumIds = visibleForumIds(userId, user);
+        Map<Long, ForumPosts> forumPosts = forumPosts(forumIds);
+
+        List<ForumUnreadResponse> perForum = new ArrayList<>(forumIds.length);
+        long total = 0;
+        for (long forumId : forumIds) {
+            ForumPosts posts = forumPosts.get(forumId);
+            long unread;
+            synchronized (user) {
+                CompressedBitmap read = user.forums.get(forumId);
+                synchronized (posts) {
+                    unread = unread(posts.all, read);
+                }
+            }
+            ForumUnreadResponse forum = new ForumUnreadResponse();
+            forum.setForumId(forumId);
+            forum.setUnread(unread);
+            perForum.add(forum);
+            total += unread;
+        }
+
+        UnreadSummaryResponse response = new UnreadSummaryResponse();
+        response.setTotal(total);
+        response.setForums(perForum);
+        return response;
+    }
+
+    public ForumUnreadResponse getForumUnread(Long userId, Long forumId) {
+        ForumPosts posts = forumPosts(forumId);
+        UserReadState user = userState(userId);
+        synchronized (user) {
+            return toForumResponse(forumId, posts, user.forums.get(forumId));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onForumPostChanged(ForumPostChangedEvent event) {
+        CompletableFuture<ForumPosts> cached = forums.get(event.getForumId());
+        if (cached == null) {
+            return;
+        }
+        if (event.isCreated() && cached.isDone() && !cached.isCompletedExceptionally()) {
+            ForumPosts posts = cached.join();
+            synchronized (posts) {
+                posts.add(event.getPostId(), event.getRootPostId());
+            }
+        } else {
+            // A load still in flight may have missed the new post, and a deleted subtree's ids are
+            // not known here; reload the forum's index on next use
+            forums.remove(event.getForumId(), cached);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onCourseStructureChanged(CourseStructureChangedEvent event) {
+        users.values().forEach(user -> user.forumIdsLoadedAt = 0);
+    }
+
+    @Scheduled(fixedDelayString = "${app.forum.read-state.flush-interval-ms:5000}")
+    public void flush() {
+        List<PendingWrite> batch = new ArrayList<>();
+        for (Iterator<ReadKey> iterator = dirty.iterator(); iterator.hasNext(); ) {
+            ReadKey key = iterator.next();
+            iterator.remove();
+            UserReadState user = users.get(key.userId());
+            if (user == null) {
+                continue;
+            }
+            synchronized (user) {
+                CompressedBitmap read = user.forums.get(key.forumId());
+                if (read != null) {
+                    batch.add(new PendingWrite(key, read.toBytes()));
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            try {
+                jdbcTemplate.batchUpdate(UPSERT_SQL, batch, flushBatchSize, (ps, pending) -> {
+                    ps.setLong(1, pending.key().userId());
+                    ps.setLong(2, pending.key().forumId());
+                    ps.setBytes(3, pending.bitmap());
+                    ps.setTimestamp(4, now);
+                });
+            } catch (DataAccessException ex) {
+                log.error("Could not persist {} forum read states; retrying on next flush", batch.size(), ex);
+                batch.forEach(pending -> dirty.add(pending.key()));
+            }
+        }
+
+        evictIdleUsers();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private ForumUnreadResponse updateReadState(Long userId, Long forumId, Consumer<CompressedBitmap> update) {
+        ForumPosts posts = forumPosts(forumId);
+        while (true) {
+            UserReadState user = userState(userId);
+            synchronized (user) {
+                // Lost a race with idle eviction; load a fresh copy and apply the change there
+                if (user.evicted) {
+                    continue;
+                }
+                update.accept(user.forums.computeIfAbsent(forumId, id -> new CompressedBitmap()));
+                dirty.add(new ReadKey(userId, forumId));
+                return toForumResponse(forumId, posts, user.forums.get(forumId));
+            }
+        }
+    }
+
+    private ForumUnreadResponse toForumResponse(Long forumId, ForumPosts posts, CompressedBitmap read) {
+        ForumUnreadResponse response = new ForumUnreadResponse();
+        response.setForumId(forumId);
+        Map<Long, Long> threads = new LinkedHashMap<>();
+        synchronized (posts) {
+            response.setUnread(unread(posts.all, read));
+            posts.threads.forEach((rootPostId, thread) -> {
+                long unread = unread(thread, read);
+                if (unread > 0) {
+                    threads.put(rootPostId, unread);
+                }
+            });
+        }
+        response.setThreads(threads);
+        return response;
+    }
+
+    private long[] visibleForumIds(Long userId, UserReadState user) {
+        long[] forumIds = user.forumIds;
+        if (forumIds != null && System.currentTimeMillis() - user.forumIdsLoadedAt < FORUM_LIST_TTL_MS) {
+            return forumIds;
+        }
+        List<Long> courseIds = courseRepository.findAccessibleCourseIds(userId);
+        // IN () is not valid SQL; -1 matches no course and keeps the site-wide forums
+        List<Long> visible = forumRepository.findVisibleForumIds(courseIds.isEmpty() ? List.of(-1L) : courseIds);
+        forumIds = visible.stream().mapToLong(Long::longValue).toArray();
+        user.forumIds = forumIds;
+        user.forumIdsLoadedAt = System.currentTimeMillis();
+        return forumIds;
+    }
+
+    private ForumPosts forumPosts(Long forumId) {
+        CompletableFuture<ForumPosts> pending = new CompletableFuture<>();
+        CompletableFuture<ForumPosts> existing = forums.putIfAbsent(forumId, pending);
+        if (existing != null) {
+            return join(existing);
+        }
+        try {
+            ForumPosts posts = loadForumPosts(forumId);
+            pending.complete(posts);
+            return posts;
+        } catch (RuntimeException ex) {
+            forums.remove(forumId, pending);
+            pending.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    // Forums missing from the cache are claimed first and then loaded with a single query, so a cold
+    // summary costs one round trip instead of one per forum. Claimed loads complete before waiting
+    // on other callers' loads, so two summaries can never wait on each other.
+    private Map<Long, ForumPosts> forumPosts(long[] forumIds) {
+        Map<Long, ForumPosts> result = new HashMap<>();
+        Map<Long, CompletableFuture<ForumPosts>> claimed = new HashMap<>();
+        Map<Long, CompletableFuture<ForumPosts>> loading = new HashMap<>();
+        for (long forumId : forumIds) {
+            CompletableFuture<ForumPosts> pending = new CompletableFuture<>();
+            CompletableFuture<ForumPosts> existing = forums.putIfAbsent(forumId, pending);
+            if (existing == null) {
+                claimed.put(forumId, pending);
+                result.put(forumId, new ForumPosts());
+            } else {
+                loading.put(forumId, existing);
+            }
+        }
+
+        if (!claimed.isEmpty()) {
+            try {
+                for (ForumPostIdView row : forumPostRepository.findIdsByForumIds(claimed.keySet())) {
+                    result.get(row.getForumId()).add(row.getId(), row.getRootPostId());
+                }
+            } catch (RuntimeException ex) {
+                claimed.forEach((forumId, pending) -> {
+                    forums.remove(forumId, pending);
+                    pending.completeExceptionally(ex);
+                });
+                throw ex;
+            }
+            claimed.forEach((forumId, pending) -> pending.complete(result.get(forumId)));
+        }
+
+        loading.forEach((forumId, future) -> result.put(forumId, join(future)));
+        return result;
+    }
+
+    private static ForumPosts join(CompletableFuture<ForumPosts> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            throw (RuntimeException) ex.getCause();
+        }
+    }
+
+    private ForumPosts loadForumPosts(Long forumId) {
+        if (!forumRepository.existsById(forumId)) {
+            throw new ResourceNotFoundException("Forum not found with id: " + forumId);
+        }
+        ForumPosts posts = new ForumPosts();
+        for (ForumPostIdView row : forumPostRepository.findIdsByForumId(forumId)) {
+            posts.add(row.getId(), row.getRootPostId());
+        }
+        return posts;
+    }
+
+    private UserReadState userState(Long userId) {
+        UserReadState user = users.computeIfAbsent(userId, this::loadUser);
+        user.lastAccess = System.currentTimeMillis();
+        return user;
+    }
+
+    private UserReadState loadUser(Long userId) {
+        UserReadState user = new UserReadState();
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            user.forums.put(rs.getLong("forum_id"), CompressedBitmap.fromBytes(rs.getBytes("read_bitmap")));
+        }, userId);
+        return user;
+    }
+
+    private void evictIdleUsers() {
+        long idleBefore = System.currentTimeMillis() - idleMinutes * 60_000L;
+        Set<Long> dirtyUsers = new HashSet<>();
+        dirty.forEach(key -> dirtyUsers.add(key.userId()));
+        users.forEach((userId, user) -> {
+            synchronized (user) {
+                // lastAccess is refreshed before any change, so a user touched since the dirty snapshot is not idle
+                if (user.lastAccess < idleBefore && !dirtyUsers.contains(userId)) {
+                    user.evicted = true;
+                    users.remove(userId, user);
+                }
+            }
+        });
+    }
+
+    private static long unread(CompressedBitmap posts, CompressedBitmap read) {
+        return read == null ? posts.cardinality() : posts.cardinality() - posts.andCardinality(read);
+    }
+
+    private static int toBit(Long postId) {
+        return Math.toIntExact(postId);
+    }
+
+    private static final class ForumPosts {
+        private final CompressedBitmap all = new CompressedBitmap();
+        private final Map<Long, CompressedBitmap> threads = new HashMap<>();
+
+        private void add(Long postId, Long rootPostId) {
+            all.add(toBit(postId));
+            threads.computeIfAbsent(rootPostId != null ? rootPostId : postId, id -> new CompressedBitmap()).add(toBit(postId));
+        }
+    }
+
+    private static final class UserReadState {
+        private final Map<Long, CompressedBitmap> forums = new HashMap<>();
+        private volatile long[] forumIds;
+        private volatile long forumIdsLoadedAt;
+        private volatile long lastAccess;
+        private boolean evicted;
+    }
+}
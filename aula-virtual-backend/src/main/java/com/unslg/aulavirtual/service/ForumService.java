@@ -1,20 +1,68 @@
 package com.unslg.aulavirtual.service;
 
+import com.unslg.aulavirtual.dto.projection.ForumActivityView;
+import com.unslg.aulavirtual.dto.projection.ForumPostView;
+import com.unslg.aulavirtual.dto.request.ForumPostRequest;
+import com.unslg.aulavirtual.dto.response.CursorPageResponse;
+import com.unslg.aulavirtual.dto.response.ForumActivityResponse;
+import com.unslg.aulavirtual.dto.response.ForumPostResponse;
 import com.unslg.aulavirtual.entity.Forum;
+import com.unslg.aulavirtual.entity.ForumPost;
+import com.unslg.aulavirtual.entity.User;
+import com.unslg.aulavirtual.event.ContentPublishedEvent;
+import com.unslg.aulavirtual.event.ForumPostChangedEvent;
+import com.unslg.aulavirtual.exception.BadRequestException;
 import com.unslg.aulavirtual.exception.ResourceNotFoundException;
+import com.unslg.aulavirtual.repository.ForumPostRepository;
 import com.unslg.aulavirtual.repository.ForumRepository;
+import com.unslg.aulavirtual.repository.UserRepository;
+import com.unslg.aulavirtual.util.CursorUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class ForumService {
 
+    // Fixed-width base-36 path segment per ancestor; 8 characters cover ids up to 36^8
+    private static final int PATH_SEGMENT_WIDTH = 8;
+    // Sorts after every base-36 digit, so prefix + PATH_END bounds a whole subtree
+    private static final String PATH_END = "~";
+    private static final int MAX_PAGE_SIZE = 100;
+    // Keyset start for the activity feeds: later than any real activity
+    private static final LocalDateTime FEED_START = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final ForumRepository forumRepository;
+    private final ForumPostRepository forumPostRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.forum.max-depth:8}")
+    private int maxDepth;
+
+    @Value("${app.forum.thread-depth:3}")
+    private int defaultThreadDepth;
+
+    @Value("${app.forum.page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${app.forum.replies-per-post:10}")
+    private int repliesPerPost;
 
     public List<Forum> getAllForums() {
         return forumRepository.findAll();
@@ -30,6 +78,9 @@ public class ForumService {
     }
 
     public Forum createForum(Forum forum) {
+        forum.setPostCount(0);
+        forum.setReplyCount(0);
+        forum.setLastActivity(LocalDateTime.now());
         return forumRepository.save(forum);
     }
 
@@ -54,4 +105,245 @@ public class ForumService {
     public List<Forum> searchForums(String searchTerm) {
         return forumRepository.findBySearchTerm(searchTerm);
     }
+
+    // Forums by most recent activity; courseId null means across all courses
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ForumActivityResponse> getActivityFeed(Long courseId, String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        LocalDateTime lastActivity = FEED_START;
+        long lastId = Long.MAX_VALUE;
+        if (StringUtils.hasText(cursor)) {
+            long[] position = CursorUtils.decode(cursor, 2);
+            lastActivity = LocalDateTime.ofEpochSecond(Math.floorDiv(position[0], 1000L),
+                    (int) Math.floorMod(position[0], 1000L) * 1_000_000, ZoneOffset.UTC);
+            lastId = position[1];
+        }
+
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<ForumActivityView> rows = courseId == null
+                ? forumRepository.findActivityPage(lastActivity, lastId, page)
+                : forumRepository.findActivityPageByCourseId(courseId, lastActivity, lastId, page);
+
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+        List<ForumActivityResponse> forums = new ArrayList<>(rows.size());
+        rows.forEach(row -> forums.add(convertToResponse(row)));
+
+        String nextCursor = null;
+        if (hasMore) {
+            ForumActivityView last = rows.get(rows.size() - 1);
+            nextCursor = CursorUtils.encode(last.getLastActivity().toInstant(ZoneOffset.UTC).toEpochMilli(), last.getId());
+        }
+        return CursorPageResponse.of(forums, nextCursor);
+    }
+
+    public ForumPostResponse createPost(Long forumId, Long authorId, ForumPostRequest request) {
+        Forum forum = forumRepository.findById(forumId)
+                .orElseThrow(() -> new ResourceNotFoundException("Forum not found with id: " + forumId));
+        if (forum.getStatus() != Forum.ForumStatus.ACTIVE) {
+            throw new BadRequestException("Forum is not accepting posts");
+        }
+        User author = userRepository.findById(authorId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + authorId));
+
+        ForumPost parent = null;
+        if (request.getParentPostId() != null) {
+            parent = forumPostRepository.findById(request.getParentPostId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Forum post not found with id: " + request.getParentPostId()));
+            if (!parent.getForum().getId().equals(forumId)) {
+                throw new BadRequestException("Parent post belongs to a different forum");
+            }
+            if (parent.getDepth() >= maxDepth) {
+                throw new BadRequestException("Maximum reply depth reached");
+            }
+        } else if (!StringUtils.hasText(request.getTitle())) {
+            throw new BadRequestException("Title is required for a new thread");
+        }
+
+        ForumPost post = parent == null
+                ? new ForumPost(request.getTitle(), request.getContent(), forum, author)
+                : new ForumPost(request.getContent(), forum, author, parent);
+        // Persisting assigns the id from the pooled generator, so the path can be derived from it
+        // before the row is inserted at flush; no reader ever sees the post without its path
+        post = forumPostRepository.save(post);
+        post.setPath((parent != null ? parent.getPath() : "") + pathSegment(post.getId()));
+        post.setDepth(parent != null ? parent.getDepth() + 1 : 0);
+        post.setRootPostId(parent != null ? parent.getRootPostId() : post.getId());
+
+        if (parent != null) {
+            forumPostRepository.adjustReplyCount(parent.getId(), 1);
+            if (!parent.getAuthor().getId().equals(authorId)) {
+                notificationService.notifyForumReply(parent.getAuthor(), post.getRootPostId(), forum.getTitle(),
+                        forum.getCourse() != null ? forum.getCourse().getName() : null);
+            }
+        }
+        forumRepository.recordActivity(forumId, parent == null ? 1 : 0, parent == null ? 0 : 1, LocalDateTime.now());
+        eventPublisher.publishEvent(new ForumPostChangedEvent(forumId, post.getId(), post.getRootPostId(), true));
+        eventPublisher.publishEvent(new ContentPublishedEvent(ContentPublishedEvent.ContentType.FORUM_POST,
+                forum.getCourse() != null ? forum.getCourse().getId() : null, post.getId(), forumId,
+                post.getTitle() != null ? post.getTitle() : forum.getTitle()));
+        return convertToResponse(post);
+    }
+
+    public void deletePost(Long postId) {
+        ForumPost post = forumPostRepository.findById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Forum post not found with id: " + postId));
+        Long forumId = post.getForum().getId();
+        int removed = (int) forumPostRepository.countSubtree(forumId, post.getPath());
+        if (post.getParentPost() != null) {
+            forumPostRepository.adjustReplyCount(post.getParentPost().getId(), -1);
+            forumRepository.adjustCounts(forumId, 0, -removed);
+        } else {
+            forumRepository.adjustCounts(forumId, -1, -(removed - 1));
+        }
+        forumPostRepository.deleteSubtree(postId);
+        eventPublisher.publishEvent(new ForumPostChangedEvent(forumId, postId, post.getRootPostId(), false));
+    }
+
+    // Top-level posts newest first, each with its replies down to the requested depth
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ForumPostResponse> getThreads(Long forumId, String cursor, Integer limit, Integer depth) {
+        if (!forumRepository.existsById(forumId)) {
+            throw new ResourceNotFoundException("Forum not found with id: " + forumId);
+        }
+        int pageSize = pageSize(limit);
+        int depthLimit = depthLimit(depth);
+
+        List<Long> rootIds = forumPostRepository.findRootIdsBefore(forumId,
+                CursorUtils.decodeId(cursor, Long.MAX_VALUE), PageRequest.of(0, pageSize + 1));
+        if (rootIds.isEmpty()) {
+            return CursorPageResponse.of(Collections.emptyList(), null);
+        }
+        boolean hasMore = rootIds.size() > pageSize;
+        if (hasMore) {
+            rootIds = rootIds.subList(0, pageSize);
+        }
+
+        Long newest = rootIds.get(0);
+        Long oldest = rootIds.get(rootIds.size() - 1);
+        List<ForumPostView> rows = forumPostRepository.findByPathRange(forumId,
+                pathSegment(oldest), pathSegment(newest) + PATH_END, depthLimit);
+
+        List<ForumPostResponse> threads = assembleTree(rows, 0);
+        Collections.reverse(threads);
+        return CursorPageResponse.of(threads, hasMore ? CursorUtils.encode(oldest) : null);
+    }
+
+    // Direct replies of a post oldest first, continuing from a repliesCursor or a previous page
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ForumPostResponse> getReplies(Long postId, String cursor, Integer limit, Integer depth) {
+        ForumPost parent = forumPostRepository.findById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Forum post not found with id: " + postId));
+        int pageSize = pageSize(limit);
+        int depthLimit = depthLimit(depth);
+
+        List<Long> replyIds = forumPostRepository.findReplyIdsAfter(postId,
+                CursorUtils.decodeId(cursor, 0L), PageRequest.of(0, pageSize + 1));
+        if (replyIds.isEmpty()) {
+            return CursorPageResponse.of(Collections.emptyList(), null);
+        }
+        boolean hasMore = replyIds.size() > pageSize;
+        if (hasMore) {
+            replyIds = replyIds.subList(0, pageSize);
+        }
+
+        Long first = replyIds.get(0);
+        Long last = replyIds.get(replyIds.size() - 1);
+        int replyDepth = parent.getDepth() + 1;
+        List<ForumPostView> rows = forumPostRepository.findByPathRange(parent.getForum().getId(),
+                parent.getPath() + pathSegment(first), parent.getPath() + pathSegment(last) + PATH_END,
+                replyDepth + depthLimit);
+
+        return CursorPageResponse.of(assembleTree(rows, replyDepth), hasMore ? CursorUtils.encode(last) : null);
+    }
+
+    // Rows arrive in path order, so every parent precedes its children and one pass links the tree
+    private List<ForumPostResponse> assembleTree(List<ForumPostView> rows, int topDepth) {
+        Map<Long, ForumPostResponse> nodes = new HashMap<>(rows.size() * 2);
+        List<ForumPostResponse> top = new ArrayList<>();
+
+        for (ForumPostView row : rows) {
+            ForumPostResponse node = convertToResponse(row);
+            if (row.getDepth() == topDepth) {
+                top.add(node);
+            } else {
+                ForumPostResponse parent = nodes.get(row.getParentPostId());
+                // A missing parent means an ancestor was cut by the per-post limit; skip the whole branch
+                if (parent == null || parent.getReplies().size() >= repliesPerPost) {
+                    continue;
+                }
+                parent.getReplies().add(node);
+            }
+            nodes.put(row.getId(), node);
+        }
+
+        for (ForumPostResponse node : nodes.values()) {
+            List<ForumPostResponse> replies = node.getReplies();
+            if (replies.size() < node.getReplyCount()) {
+                long after = replies.isEmpty() ? 0L : replies.get(replies.size() - 1).getId();
+                node.setRepliesCursor(CursorUtils.encode(after));
+            }
+        }
+        return top;
+    }
+
+    private int pageSize(Integer limit) {
+        return limit == null ? defaultPageSize : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private int depthLimit(Integer depth) {
+        return depth == null ? defaultThreadDepth : Math.max(0, Math.min(depth, maxDepth));
+    }
+
+    private static String pathSegment(Long id) {
+        String segment = Long.toString(id, 36).toUpperCase();
+        return "0".repeat(PATH_SEGMENT_WIDTH - segment.length()) + segment;
+    }
+
+    private ForumActivityResponse convertToResponse(ForumActivityView view) {
+        ForumActivityResponse response = new ForumActivityResponse();
+        response.setId(view.getId());
+        response.setTitle(view.getTitle());
+        response.setForumType(view.getForumType().name());
+        response.setStatus(view.getStatus().name());
+        response.setCourseId(view.getCourseId());
+        response.setPostCount(view.getPostCount());
+        response.setReplyCount(view.getReplyCount());
+        response.setLastActivity(view.getLastActivity());
+        return response;
+    }
+
+    private ForumPostResponse convertToResponse(ForumPostView view) {
+        ForumPostResponse response = new ForumPostResponse();
+        response.setId(view.getId());
+        response.setParentPostId(view.getParentPostId());
+        response.setDepth(view.getDepth());
+        response.setTitle(view.getTitle());
+        response.setContent(view.getContent());
+        response.setIsPinned(view.getIsPinned());
+        response.setAuthorId(view.getAuthorId());
+        response.setAuthorName(view.getAuthorFirstName() + " " + view.getAuthorLastName());
+        response.setReplyCount(view.getReplyCount());
+        response.setCreatedAt(view.getCreatedAt());
+        response.setUpdatedAt(view.getUpdatedAt());
+        return response;
+    }
+
+    private ForumPostResponse convertToResponse(ForumPost post) {
+        ForumPostResponse response = new ForumPostResponse();
+        response.setId(post.getId());
+        response.setParentPostId(post.getParentPost() != null ? post.getParentPost().getId() : null);
+        response.setDepth(post.getDepth());
+        response.setTitle(post.getTitle());
+        response.setContent(post.getContent());
+        response.setIsPinned(post.getIsPinned());
+        response.setAuthorId(post.getAuthor().getId());
+        response.setAuthorName(post.getAuthor().getFirstName() + " " + post.getAuthor().getLastName());
+        response.setReplyCount(post.getReplyCount());
+        response.setCreatedAt(post.getCreatedAt());
+        response.setUpdatedAt(post.getUpdatedAt());
+        return response;
+    }
 }
@@ -0,0 +1,81 @@
+package com.unslg.aulavirtual.service;
+
+import com.unslg.aulavirtual.dto.response.GradeStatisticsResponse;
+import com.unslg.aulavirtual.util.BoundedQuantileSketch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Single-pass accumulator: primitive moments plus a fixed-size sketch for quantiles and histogram
+public class GradeStatistics {
+
+    private final Double passingGrade;
+    private final BoundedQuantileSketch sketch;
+    private long count;
+    private long passed;
+    private double mean;
+    private double m2;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    // passingGrade is null for aggregates, where each grade is judged against its own item
+    GradeStatistics(double maxPoints, Double passingGrade, int bins) {
+        this.passingGrade = passingGrade;
+        this.sketch = new BoundedQuantileSketch(0, maxPoints, bins);
+    }
+
+    void add(double grade) {
+        add(grade, passingGrade != null && grade >= passingGrade);
+    }
+
+    // Welford's update keeps the variance numerically stable in one pass
+    void add(double grade, boolean pass) {
+        count++;
+        double delta = grade - mean;
+        mean += delta / count;
+        m2 += delta * (grade - mean);
+        min = Math.min(min, grade);
+        max = Math.max(max, grade);
+        if (pass) {
+            passed++;
+        }
+        sketch.add(grade);
+    }
+
+    GradeStatisticsResponse toResponse(int histogramBuckets) {
+        GradeStatisticsResponse response = new GradeStatisticsResponse();
+        response.setMaxPoints(sketch.getMax());
+        response.setPassingGrade(passingGrade);
+        response.setCount(count);
+        if (count == 0) {
+            return response;
+        }
+
+        response.setMean(round(mean));
+        response.setStandardDeviation(round(Math.sqrt(m2 / count)));
+        response.setMin(min);
+        response.setMax(max);
+        response.setMedian(round(sketch.quantile(0.5)));
+        response.setP25(round(sketch.quantile(0.25)));
+        response.setP75(round(sketch.quantile(0.75)));
+        response.setP90(round(sketch.quantile(0.9)));
+        response.setPassRate(round((double) passed / count));
+
+        long[] counts = sketch.histogram(histogramBuckets);
+        double width = (sketch.getMax() - sketch.getMin()) / histogramBuckets;
+        List<GradeStatisticsResponse.HistogramBucketResponse> histogram = new ArrayList<>(histogramBuckets);
+        for (int i = 0; i < histogramBuckets; i++) {
+            GradeStatisticsResponse.HistogramBucketResponse bucket = new GradeStatisticsResponse.HistogramBucketResponse();
+            bucket.setFrom(round(sketch.getMin() + i * width));
+            bucket.setTo(round(sketch.getMin() + (i + 1) * width));
+            bucket.setCount(counts[i]);
+            histogram.add(bucket);
+        }
+        response.setHistogram(histogram);
+        return response;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,196 @@
+package com.unslg.aulavirtual.service;
+
+import com.unslg.aulavirtual.dto.projection.GradeCellView;
+import com.unslg.aulavirtual.dto.projection.StudentSummaryView;
+import com.unslg.aulavirtual.dto.request.GradebookWeightsRequest;
+import com.unslg.aulavirtual.dto.response.GradebookResponse;
+import com.unslg.aulavirtual.entity.Assignment;
+import com.unslg.aulavirtual.entity.Course;
+import com.unslg.aulavirtual.entity.Exam;
+import com.unslg.aulavirtual.event.CourseStructureChangedEvent;
+import com.unslg.aulavirtual.event.GradeChangedEvent;
+import com.unslg.aulavirtual.event.GradebookWeightsChangedEvent;
+import com.unslg.aulavirtual.exception.ResourceNotFoundException;
+import com.unslg.aulavirtual.repository.AssignmentRepository;
+import com.unslg.aulavirtual.repository.AssignmentSubmissionRepository;
+import com.unslg.aulavirtual.repository.CourseRepository;
+import com.unslg.aulavirtual.repository.ExamGradeRepository;
+import com.unslg.aulavirtual.repository.ExamRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GradebookService {
+
+    private final CourseRepository courseRepository;
+    private final ExamRepository examRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final ExamGradeRepository examGradeRepository;
+    private final AssignmentSubmissionRepository submissionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, CompletableFuture<CourseGradebook>> gradebooks = new ConcurrentHashMap<>();
+
+    @Value("${app.gradebook.scale:20}")
+    private double scale;
+
+    @Value("${app.gradebook.exam-weight:0.6}")
+    private double defaultExamWeight;
+
+    @Value("${app.gradebook.assignment-weight:0.4}")
+    private double defaultAssignmentWeight;
+
+    public GradebookResponse getGradebook(Long courseId) {
+        return load(courseId).toResponse();
+    }
+
+    // The cached gradebook only picks up the new weights once they are committed, and the
+    // response is built after that
+    public GradebookResponse updateWeights(Long courseId, GradebookWeightsRequest request) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Course course = courseRepository.findById(courseId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
+            course.setExamWeight(request.getExamWeight());
+            course.setAssignmentWeight(request.getAssignmentWeight());
+            courseRepository.save(course);
+            eventPublisher.publishEvent(new GradebookWeightsChangedEvent(courseId,
+                    request.getExamWeight(), request.getAssignmentWeight()));
+        });
+        return getGradebook(courseId);
+    }
+
+    public void evict(Long courseId) {
+        gradebooks.remove(courseId);
+    }
+
+    @TransactionalEventListener
+    public void onGradeChanged(GradeChangedEvent event) {
+        // A rebuild still in flight may have read the grade before this commit, so it is dropped
+        // and the next read rebuilds
+        gradebooks.computeIfPresent(event.getCourseId(), (courseId, pending) -> {
+            CourseGradebook gradebook = completed(pending);
+            return gradebook != null
+                    && gradebook.applyGrade(event.getItemType(), event.getItemId(), event.getStudentId(), event.getGrade())
+                    ? pending
+                    : null;
+        });
+    }
+
+    @TransactionalEventListener
+    public void onWeightsChanged(GradebookWeightsChangedEvent event) {
+        gradebooks.computeIfPresent(event.getCourseId(), (courseId, pending) -> {
+            CourseGradebook gradebook = completed(pending);
+            if (gradebook == null) {
+                return null;
+            }
+            gradebook.updateWeights(event.getExamWeight(), event.getAssignmentWeight());
+            return pending;
+        });
+    }
+
+    @TransactionalEventListener
+    public void onCourseStructureChanged(CourseStructureChangedEvent event) {
+        evict(event.getCourseId());
+    }
+
+    // Single flight: the first caller rebuilds outside the map lock, concurrent callers for the same
+    // course wait on its future
+    private CourseGradebook load(Long courseId) {
+        CompletableFuture<CourseGradebook> pending = new CompletableFuture<>();
+        CompletableFuture<CourseGradebook> existing = gradebooks.putIfAbsent(courseId, pending);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException ex) {
+                throw (RuntimeException) ex.getCause();
+            }
+        }
+
+        try {
+            CourseGradebook gradebook = rebuild(courseId);
+            pending.complete(gradebook);
+            return gradebook;
+        } catch (RuntimeException ex) {
+            gradebooks.remove(courseId, pending);
+            pending.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private CourseGradebook completed(CompletableFuture<CourseGradebook> pending) {
+        return pending.isDone() && !pending.isCompletedExceptionally() ? pending.join() : null;
+    }
+
+    private CourseGradebook rebuild(Long courseId) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
+
+        List<StudentSummaryView> roster = courseRepository.findEnrolledStudentSummaries(courseId);
+        List<Exam> exams = examRepository.findByCourseId(courseId);
+        List<Assignment> assignments = assignmentRepository.findByCourseId(courseId);
+
+        long[] studentIds = new long[roster.size()];
+        String[] userCodes = new String[roster.size()];
+        String[] fullNames = new String[roster.size()];
+        for (int i = 0; i < roster.size(); i++) {
+            StudentSummaryView student = roster.get(i);
+            studentIds[i] = student.getId();
+            userCodes[i] = student.getUserCode();
+            fullNames[i] = student.getLastName() + ", " + student.getFirstName();
+        }
+
+        int items = exams.size() + assignments.size();
+        long[] itemIds = new long[items];
+        boolean[] examItem = new boolean[items];
+        String[] itemTitles = new String[items];
+        double[] itemMaxPoints = new double[items];
+        int column = 0;
+        for (Exam exam : exams) {
+            itemIds[column] = exam.getId();
+            examItem[column] = true;
+            itemTitles[column] = exam.getTitle();
+            itemMaxPoints[column] = maxPointsOrScale(exam.getMaxPoints());
+            column++;
+        }
+        for (Assignment assignment : assignments) {
+            itemIds[column] = assignment.getId();
+            itemTitles[column] = assignment.getTitle();
+            itemMaxPoints[column] = maxPointsOrScale(assignment.getMaxPoints());
+            column++;
+        }
+
+        CourseGradebook gradebook = new CourseGradebook(courseId, scale,
+                course.getExamWeight() != null ? course.getExamWeight() : defaultExamWeight,
+                course.getAssignmentWeight() != null ? course.getAssignmentWeight() : defaultAssignmentWeight,
+                studentIds, userCodes, fullNames, itemIds, examItem, itemTitles, itemMaxPoints);
+
+        for (GradeCellView cell : examGradeRepository.findGradeCellsByCourseId(courseId)) {
+            gradebook.load(GradeChangedEvent.ItemType.EXAM, cell.getItemId(), cell.getStudentId(), cell.getGrade());
+        }
+        for (GradeCellView cell : submissionRepository.findGradeCellsByCourseId(courseId)) {
+            gradebook.load(GradeChangedEvent.ItemType.ASSIGNMENT, cell.getItemId(), cell.getStudentId(), cell.getGrade());
+        }
+        gradebook.recomputeAll();
+
+        log.debug("Gradebook for course {} rebuilt with {} students and {} items", courseId, studentIds.length, items);
+        return gradebook;
+    }
+
+    private double maxPointsOrScale(Integer maxPoints) {
+        return maxPoints != null && maxPoints > 0 ? maxPoints : scale;
+    }
+}
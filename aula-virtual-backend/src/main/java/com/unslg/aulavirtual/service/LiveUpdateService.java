@@ -0,0 +1,232 @@
+package com.unslg.aulavirtual.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unslg.aulavirtual.dto.response.LiveUpdateResponse;
+import com.unslg.aulavirtual.event.ContentPublishedEvent;
+import com.unslg.aulavirtual.repository.CourseRepository;
+import com.unslg.aulavirtual.security.UserPrincipal;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-process fan-out of new forum posts and announcements to SSE subscribers. Idle connections
+// hold no thread: each subscriber is just an emitter plus a small bounded queue, and a shared
+// pool drains only the queues that have something in them. A subscriber whose queue fills up
+// is disconnected instead of letting a slow client grow memory; EventSource reconnects on its own.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LiveUpdateService {
+
+    private final CourseRepository courseRepository;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, Set<Subscriber>> subscribersByCourse = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Set<Subscriber> allCourseSubscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong eventSequence = new AtomicLong();
+    private ExecutorService senders;
+
+    @Value("${app.live.buffer-size:32}")
+    private int bufferSize;
+
+    @Value("${app.live.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.live.sender-threads:4}")
+    private int senderThreads;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "live-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    public SseEmitter subscribe(UserPrincipal user, Set<Long> requestedCourseIds) {
+        boolean admin = user.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        Set<Long> courseIds;
+        if (admin) {
+            courseIds = requestedCourseIds != null ? requestedCourseIds : Set.of();
+        } else {
+            courseIds = new HashSet<>(courseRepository.findAccessibleCourseIds(user.getId()));
+            if (requestedCourseIds != null && !requestedCourseIds.isEmpty()) {
+                courseIds.retainAll(requestedCourseIds);
+            }
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        // An admin without an explicit course list follows every course
+        Subscriber subscriber = new Subscriber(emitter, Set.copyOf(courseIds),
+                admin && courseIds.isEmpty(), new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        subscribers.add(subscriber);
+        if (subscriber.allCourses) {
+            allCourseSubscribers.add(subscriber);
+        }
+        // Added inside compute so it cannot land in a set that remove() is dropping from the map at
+        // the same time; a subscriber closed before its turn is not added at all
+        for (Long courseId : subscriber.courseIds) {
+            subscribersByCourse.compute(courseId, (id, courseSubscribers) -> {
+                if (subscriber.closed) {
+                    return courseSubscribers;
+                }
+                Set<Subscriber> result = courseSubscribers != null ? courseSubscribers : ConcurrentHashMap.newKeySet();
+                result.add(subscriber);
+                return result;
+            });
+        }
+        // Commits the response headers right away so proxies and the browser see an open stream
+        deliver(subscriber, SseEmitter.event().comment("connected").reconnectTime(5000).build());
+        return emitter;
+    }
+
+    // fallbackExecution covers publications from outside a transaction, e.g. scheduled announcements
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentPublished(ContentPublishedEvent event) {
+        LiveUpdateResponse payload = new LiveUpdateResponse();
+        payload.setType(event.getType().name());
+        payload.setCourseId(event.getCourseId());
+        payload.setEntityId(event.getEntityId());
+        payload.setForumId(event.getForumId());
+        payload.setTitle(event.getTitle());
+        payload.setPublishedAt(LocalDateTime.now());
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            log.error("Could not serialize live update for {} {}", event.getType(), event.getEntityId(), ex);
+            return;
+        }
+        // Built and serialized once; every subscriber queues the same immutable frame
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = SseEmitter.event()
+                .id(Long.toString(eventSequence.incrementAndGet()))
+                .name(event.getType().name())
+                .data(json, MediaType.APPLICATION_JSON)
+                .build();
+
+        if (event.getCourseId() == null) {
+            subscribers.forEach(subscriber -> deliver(subscriber, frame));
+            return;
+        }
+        subscribersByCourse.getOrDefault(event.getCourseId(), Set.of()).forEach(subscriber -> deliver(subscriber, frame));
+        allCourseSubscribers.forEach(subscriber -> deliver(subscriber, frame));
+    }
+
+    // Keeps idle connections alive through proxies and surfaces dead clients as write errors
+    @Scheduled(fixedDelayString = "${app.live.heartbeat-interval-ms:25000}")
+    public void sendHeartbeats() {
+        Set<ResponseBodyEmitter.DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+        subscribers.forEach(subscriber -> deliver(subscriber, heartbeat));
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void deliver(Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (!subscriber.queue.offer(frame)) {
+            log.debug("Disconnecting slow live update subscriber");
+            remove(subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            Set<ResponseBodyEmitter.DataWithMediaType> frame = subscriber.queue.poll();
+            if (frame == null) {
+                subscriber.draining.set(false);
+                // A frame offered between poll and reset would otherwise wait for the next one
+                if (subscriber.queue.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                subscriber.emitter.send(frame);
+            } catch (IOException | IllegalStateException ex) {
+                remove(subscriber);
+                subscriber.emitter.completeWithError(ex);
+                return;
+            }
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscriber.closed) {
+            return;
+        }
+        subscriber.closed = true;
+        subscriber.queue.clear();
+        subscribers.remove(subscriber);
+        allCourseSubscribers.remove(subscriber);
+        for (Long courseId : subscriber.courseIds) {
+            subscribersByCourse.computeIfPresent(courseId, (id, courseSubscribers) -> {
+                courseSubscribers.remove(subscriber);
+                return courseSubscribers.isEmpty() ? null : courseSubscribers;
+            });
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<Long> courseIds;
+        private final boolean allCourses;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, Set<Long> courseIds, boolean allCourses,
+                           BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue) {
+            this.emitter = emitter;
+            this.courseIds = courseIds;
+            this.allCourses = allCourses;
+            this.queue = queue;
+        }
+    }
+}
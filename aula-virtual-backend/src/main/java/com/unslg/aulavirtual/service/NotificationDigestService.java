@@ -0,0 +1,171 @@
+package com.unslg.aulavirtual.service;
+
+import com.unslg.aulavirtual.repository.SchedulerLeaseRepository;
+import com.unslg.aulavirtual.util.MessageTemplate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+// Sends one email per day to every user with buffered notifications. Users are taken in chunks
+// and chunks are rendered in parallel; each chunk queues its digests in the outbox and clears the
+// items it read in one transaction. Only items created before the run started are included, so
+// anything arriving meanwhile waits for the next digest instead of being lost. A digest lists
+// the newest max-items entries and counts the rest.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationDigestService {
+
+    private static final String LEASE_NAME = "notification-digest";
+
+    private static final String USERS_SQL = "SELECT DISTINCT user_id FROM notification_digest_items " +
+            "WHERE user_id > ? AND created_at <= ? ORDER BY user_id LIMIT ?";
+
+    private static final String ITEMS_SQL = "SELECT i.user_id, u.email, u.first_name, i.type, i.title, i.course_name, " +
+            "i.scheduled_at, i.total FROM (" +
+            "SELECT user_id, type, title, course_name, scheduled_at, created_at, " +
+            "ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY created_at DESC) AS rn, " +
+            "COUNT(*) OVER (PARTITION BY user_id) AS total " +
+            "FROM notification_digest_items WHERE user_id IN (:userIds) AND created_at <= :snapshot) i " +
+            "JOIN users u ON u.id = i.user_id " +
+            "WHERE i.rn <= :maxItems AND u.status = 'ACTIVE' ORDER BY i.user_id, i.created_at";
+
+    private static final String CLEAR_SQL = "DELETE FROM notification_digest_items WHERE user_id IN (:userIds) AND created_at <= :snapshot";
+
+    private static final String OUTBOX_SQL = "INSERT INTO email_outbox (recipient, subject, body, created_at, next_attempt_at) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    private static final Map<String, MessageTemplate> ITEM_TEMPLATES = Map.of(
+            "ASSIGNMENT", NotificationTemplates.DIGEST_ASSIGNMENT,
+            "EXAM", NotificationTemplates.DIGEST_EXAM,
+            "ANNOUNCEMENT", NotificationTemplates.DIGEST_ANNOUNCEMENT,
+            "FORUM_REPLY", NotificationTemplates.DIGEST_FORUM_REPLY
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerLeaseRepository leaseRepository;
+    private final ThreadPoolTaskExecutor digestExecutor;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${app.notification.digest.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${app.notification.digest.max-items:20}")
+    private int maxItems;
+
+    // Not released after the run: held for most of the day so a node whose cron fires a little
+    // later cannot send a second round once the first one has finished
+    @Value("${app.notification.digest.lease-seconds:72000}")
+    private long leaseSeconds;
+
+    private static class Digest {
+        private final String email;
+        private final StringBuilder body;
+        private int total;
+
+        private Digest(String email, String header) {
+            this.email = email;
+            this.body = new StringBuilder(header);
+        }
+    }
+
+    @Scheduled(cron = "${app.notification.digest.cron:0 0 7 * * *}")
+    public void sendDigests() {
+        // One node sends the digests; the others skip this run
+        if (leaseRepository.tryAcquire(LEASE_NAME, nodeId, leaseSeconds) != 1) {
+            return;
+        }
+        Timestamp snapshot = Timestamp.valueOf(LocalDateTime.now());
+        List<CompletableFuture<Integer>> chunks = new ArrayList<>();
+        long after = 0;
+        while (true) {
+            List<Long> userIds = jdbcTemplate.queryForList(USERS_SQL, Long.class, after, snapshot, chunkSize);
+            if (userIds.isEmpty()) {
+                break;
+            }
+            chunks.add(CompletableFuture.supplyAsync(() -> sendChunk(userIds, snapshot), digestExecutor));
+            after = userIds.get(userIds.size() - 1);
+            if (userIds.size() < chunkSize) {
+                break;
+            }
+        }
+
+        int sent = 0;
+        int failedChunks = 0;
+        for (CompletableFuture<Integer> chunk : chunks) {
+            try {
+                sent += chunk.join();
+            } catch (RuntimeException ex) {
+                // The chunk's items are still buffered and go out with tomorrow's digest
+                failedChunks++;
+                log.error("Could not send a chunk of daily digests", ex);
+            }
+        }
+        log.info("Queued {} daily digests ({} failed chunks)", sent, failedChunks);
+    }
+
+    private int sendChunk(List<Long> userIds, Timestamp snapshot) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userIds", userIds)
+                .addValue("snapshot", snapshot)
+                .addValue("maxItems", maxItems);
+
+        Integer queued = transactionTemplate.execute(status -> {
+            Map<Long, Digest> digests = new HashMap<>();
+            Map<String, String> values = new HashMap<>();
+            namedJdbcTemplate.query(ITEMS_SQL, params, rs -> {
+                Digest digest = digests.get(rs.getLong("user_id"));
+                if (digest == null) {
+                    digest = new Digest(rs.getString("email"),
+                            NotificationTemplates.DIGEST_HEADER.render(Map.of("firstName", rs.getString("first_name"))));
+                    digest.total = rs.getInt("total");
+                    digests.put(rs.getLong("user_id"), digest);
+                }
+                Timestamp scheduledAt = rs.getTimestamp("scheduled_at");
+                values.put("title", rs.getString("title"));
+                values.put("course", rs.getString("course_name"));
+                values.put("date", scheduledAt != null ? scheduledAt.toLocalDateTime().format(NotificationTemplates.DATE_FORMAT) : null);
+                digest.body.append(ITEM_TEMPLATES.get(rs.getString("type")).render(values));
+            });
+
+            List<Digest> ready = new ArrayList<>(digests.values());
+            Timestamp queuedAt = Timestamp.valueOf(LocalDateTime.now());
+            if (!ready.isEmpty()) {
+                jdbcTemplate.batchUpdate(OUTBOX_SQL, ready, ready.size(), (ps, digest) -> {
+                    if (digest.total > maxItems) {
+                        digest.body.append(NotificationTemplates.DIGEST_MORE.render(
+                                Map.of("count", String.valueOf(digest.total - maxItems))));
+                    }
+                    digest.body.append(NotificationTemplates.DIGEST_FOOTER);
+                    ps.setString(1, digest.email);
+                    ps.setString(2, NotificationTemplates.DIGEST_SUBJECT);
+                    ps.setString(3, digest.body.toString());
+                    ps.setTimestamp(4, queuedAt);
+                    ps.setTimestamp(5, queuedAt);
+                });
+            }
+            namedJdbcTemplate.update(CLEAR_SQL, params);
+            return ready.size();
+        });
+        return queued != null ? queued : 0;
+    }
+}
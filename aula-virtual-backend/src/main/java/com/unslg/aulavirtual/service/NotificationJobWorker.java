@@ -0,0 +1,229 @@
+package com.unslg.aulavirtual.service;
+
+import com.unslg.aulavirtual.entity.NotificationJob;
+import com.unslg.aulavirtual.entity.User;
+import com.unslg.aulavirtual.util.MessageTemplate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Expands notification jobs into outbox emails. The roster is read from course_enrollments in
+// student_id order, one chunk per transaction; each chunk's emails and the job's new position are
+// committed together, so a job interrupted halfway resumes without skipping or repeating anyone.
+// SMTP delivery itself is left to EmailOutboxDispatcher.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationJobWorker {
+
+    private static final String CLAIM_SQL = "SELECT id, type, entity_id, course_id, last_student_id, attempts FROM notification_jobs " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= ? ORDER BY next_attempt_at LIMIT 1 FOR UPDATE SKIP LOCKED";
+
+    private static final String LEASE_SQL = "UPDATE notification_jobs SET next_attempt_at = ? WHERE id = ?";
+
+    private static final String ROSTER_SQL = "SELECT u.id, u.email, u.first_name, u.notification_mode FROM course_enrollments ce " +
+            "JOIN users u ON u.id = ce.student_id " +
+            "WHERE ce.course_id = ? AND ce.student_id > ? AND u.status = 'ACTIVE' ORDER BY ce.student_id LIMIT ?";
+
+    private static final String OUTBOX_SQL = "INSERT INTO email_outbox (recipient, subject, body, created_at, next_attempt_at) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    // Repeats of the same item collapse on the primary key and take the latest content; the new
+    // created_at keeps a repeat buffered past a digest run that already read the older row
+    private static final String DIGEST_SQL = "INSERT INTO notification_digest_items " +
+            "(user_id, type, entity_id, title, course_name, scheduled_at, created_at) VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE title = VALUES(title), course_name = VALUES(course_name), " +
+            "scheduled_at = VALUES(scheduled_at), created_at = VALUES(created_at)";
+
+    private static final String PROGRESS_SQL = "UPDATE notification_jobs SET last_student_id = ?, recipients = recipients + ?, " +
+            "next_attempt_at = ? WHERE id = ?";
+
+    private static final String DONE_SQL = "UPDATE notification_jobs SET status = 'DONE', finished_at = ? WHERE id = ?";
+
+    private static final String RETRY_SQL = "UPDATE notification_jobs SET status = ?, attempts = ?, next_attempt_at = ?, " +
+            "last_error = ? WHERE id = ?";
+
+    private static final Map<NotificationJob.JobType, String> CONTENT_SQL = Map.of(
+            NotificationJob.JobType.ASSIGNMENT, "SELECT a.title, c.name AS course_name, a.due_date AS scheduled_at, NULL AS summary " +
+                    "FROM assignments a JOIN courses c ON c.id = a.course_id WHERE a.id = ?",
+            NotificationJob.JobType.EXAM, "SELECT e.title, c.name AS course_name, e.start_time AS scheduled_at, NULL AS summary " +
+                    "FROM exams e JOIN courses c ON c.id = e.course_id WHERE e.id = ?",
+            NotificationJob.JobType.ANNOUNCEMENT, "SELECT an.title, c.name AS course_name, NULL AS scheduled_at, an.summary " +
+                    "FROM announcements an JOIN courses c ON c.id = an.course_id WHERE an.id = ?"
+    );
+
+    private static final Map<NotificationJob.JobType, Templates> TEMPLATES = new EnumMap<>(Map.of(
+            NotificationJob.JobType.ASSIGNMENT, new Templates(NotificationTemplates.ASSIGNMENT_SUBJECT, NotificationTemplates.ASSIGNMENT_BODY),
+            NotificationJob.JobType.EXAM, new Templates(NotificationTemplates.EXAM_SUBJECT, NotificationTemplates.EXAM_BODY),
+            NotificationJob.JobType.ANNOUNCEMENT, new Templates(NotificationTemplates.ANNOUNCEMENT_SUBJECT, NotificationTemplates.ANNOUNCEMENT_BODY)
+    ));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.notification.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.notification.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.notification.retry-delay-ms:60000}")
+    private long retryDelayMs;
+
+    @Value("${app.notification.lease-ms:300000}")
+    private long leaseMs;
+
+    private record Templates(MessageTemplate subject, MessageTemplate body) {
+    }
+
+    private record Job(long id, NotificationJob.JobType type, long entityId, long courseId, long lastStudentId, int attempts) {
+    }
+
+    private record Recipient(long id, String email, String firstName, boolean digest) {
+    }
+
+    private record Content(Map<String, String> values, Timestamp scheduledAt) {
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.poll-interval-ms:2000}")
+    public void run() {
+        Job job;
+        while ((job = claim()) != null) {
+            try {
+                process(job);
+            } catch (DataAccessException ex) {
+                retryLater(job, ex);
+            }
+        }
+    }
+
+    private Job claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Job> jobs = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new Job(
+                    rs.getLong("id"),
+                    NotificationJob.JobType.valueOf(rs.getString("type")),
+                    rs.getLong("entity_id"),
+                    rs.getLong("course_id"),
+                    rs.getLong("last_student_id"),
+                    rs.getInt("attempts")
+            ), Timestamp.valueOf(now));
+            if (jobs.isEmpty()) {
+                return null;
+            }
+            jdbcTemplate.update(LEASE_SQL, leaseUntil(now), jobs.get(0).id());
+            return jobs.get(0);
+        });
+    }
+
+    private void process(Job job) {
+        // Values shared by every recipient are resolved once per job
+        Content content = jdbcTemplate.query(CONTENT_SQL.get(job.type()), rs -> {
+            if (!rs.next()) {
+                return null;
+            }
+            Map<String, String> values = new HashMap<>();
+            values.put("title", rs.getString("title"));
+            values.put("course", rs.getString("course_name"));
+            values.put("summary", rs.getString("summary"));
+            Timestamp scheduledAt = rs.getTimestamp("scheduled_at");
+            values.put("date", scheduledAt != null ? scheduledAt.toLocalDateTime().format(NotificationTemplates.DATE_FORMAT) : null);
+            return new Content(values, scheduledAt);
+        }, job.entityId());
+
+        if (content != null) {
+            Templates templates = TEMPLATES.get(job.type());
+            String subject = templates.subject().render(content.values());
+            long position = job.lastStudentId();
+            int sent;
+            do {
+                long after = position;
+                List<Recipient> chunk = jdbcTemplate.query(ROSTER_SQL, (rs, rowNum) -> new Recipient(
+                        rs.getLong("id"), rs.getString("email"), rs.getString("first_name"),
+                        User.NotificationMode.DAILY_DIGEST.name().equals(rs.getString("notification_mode"))
+                ), job.courseId(), after, chunkSize);
+                if (!chunk.isEmpty()) {
+                    writeChunk(job, chunk, subject, templates.body(), content);
+                    position = chunk.get(chunk.size() - 1).id();
+                }
+                sent = chunk.size();
+            } while (sent == chunkSize);
+        } else {
+            log.info("Skipping notification job {}: {} {} no longer exists", job.id(), job.type(), job.entityId());
+        }
+
+        jdbcTemplate.update(DONE_SQL, Timestamp.valueOf(LocalDateTime.now()), job.id());
+    }
+
+    // Students on the daily digest get a buffered item instead of an email
+    private void writeChunk(Job job, List<Recipient> chunk, String subject, MessageTemplate body, Content content) {
+        List<Recipient> immediate = new ArrayList<>(chunk.size());
+        List<Recipient> digest = new ArrayList<>();
+        for (Recipient recipient : chunk) {
+            (recipient.digest() ? digest : immediate).add(recipient);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            Timestamp queuedAt = Timestamp.valueOf(now);
+            Map<String, String> values = content.values();
+            if (!immediate.isEmpty()) {
+                jdbcTemplate.batchUpdate(OUTBOX_SQL, immediate, immediate.size(), (ps, recipient) -> {
+                    values.put("firstName", recipient.firstName());
+                    ps.setString(1, recipient.email());
+                    ps.setString(2, subject);
+                    ps.setString(3, body.render(values));
+                    ps.setTimestamp(4, queuedAt);
+                    ps.setTimestamp(5, queuedAt);
+                });
+            }
+            if (!digest.isEmpty()) {
+                jdbcTemplate.batchUpdate(DIGEST_SQL, digest, digest.size(), (ps, recipient) -> {
+                    ps.setLong(1, recipient.id());
+                    ps.setString(2, job.type().name());
+                    ps.setLong(3, job.entityId());
+                    ps.setString(4, values.get("title"));
+                    ps.setString(5, values.get("course"));
+                    ps.setTimestamp(6, content.scheduledAt());
+                    ps.setTimestamp(7, queuedAt);
+                });
+            }
+            jdbcTemplate.update(PROGRESS_SQL, chunk.get(chunk.size() - 1).id(), chunk.size(), leaseUntil(now), job.id());
+        });
+    }
+
+    private void retryLater(Job job, DataAccessException ex) {
+        int attempts = job.attempts() + 1;
+        boolean exhausted = attempts >= maxAttempts;
+        if (exhausted) {
+            log.error("Giving up on notification job {} after {} attempts", job.id(), attempts, ex);
+        } else {
+            log.warn("Notification job {} failed (attempt {}); retrying", job.id(), attempts, ex);
+        }
+        String error = ex.getMessage() != null && ex.getMessage().length() > 500 ? ex.getMessage().substring(0, 500) : ex.getMessage();
+        try {
+            jdbcTemplate.update(RETRY_SQL, exhausted ? "FAILED" : "PENDING", attempts,
+                    Timestamp.valueOf(LocalDateTime.now().plusNanos(retryDelayMs * attempts * 1_000_000)), error, job.id());
+        } catch (DataAccessException updateEx) {
+            // The lease expires on its own and the job is picked up again
+            log.error("Could not record failure of notification job {}", job.id(), updateEx);
+        }
+    }
+
+    private Timestamp leaseUntil(LocalDateTime now) {
+        return Timestamp.valueOf(now.plusNanos(leaseMs * 1_000_000));
+    }
+}
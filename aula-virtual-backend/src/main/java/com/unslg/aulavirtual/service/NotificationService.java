@@ -0,0 +1,66 @@
+package com.unslg.aulavirtual.service;
+
+import com.unslg.aulavirtual.entity.NotificationJob;
+import com.unslg.aulavirtual.entity.User;
+import com.unslg.aulavirtual.event.ContentPublishedEvent;
+import com.unslg.aulavirtual.repository.NotificationJobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// Course-wide notifications are recorded as a single job row in the transaction that creates the
+// content; NotificationJobWorker expands it to one email per enrolled student in the background.
+// Notifications for a single user go straight to the outbox, or to the digest buffer for users
+// who chose the daily digest.
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class NotificationService {
+
+    // A repeat refreshes the item, so an edited title is what goes out and a reply that arrives
+    // while the digest is being sent is kept for the next one
+    private static final String DIGEST_SQL = "INSERT INTO notification_digest_items " +
+            "(user_id, type, entity_id, title, course_name, scheduled_at, created_at) VALUES (?, ?, ?, ?, ?, NULL, ?) " +
+            "ON DUPLICATE KEY UPDATE title = VALUES(title), course_name = VALUES(course_name), " +
+            "scheduled_at = VALUES(scheduled_at), created_at = VALUES(created_at)";
+
+    private final NotificationJobRepository notificationJobRepository;
+    private final EmailService emailService;
+    private final JdbcTemplate jdbcTemplate;
+
+    public void notifyCourse(NotificationJob.JobType type, Long entityId, Long courseId) {
+        notificationJobRepository.save(new NotificationJob(type, entityId, courseId));
+    }
+
+    // Replies in the same thread collapse into one digest item
+    public void notifyForumReply(User recipient, Long threadId, String forumTitle, String courseName) {
+        String course = courseName != null ? courseName : "Aula Virtual";
+        if (recipient.getNotificationMode() == User.NotificationMode.DAILY_DIGEST) {
+            jdbcTemplate.update(DIGEST_SQL, recipient.getId(), "FORUM_REPLY", threadId, forumTitle, course,
+                    Timestamp.valueOf(LocalDateTime.now()));
+            return;
+        }
+        Map<String, String> values = Map.of(
+                "firstName", recipient.getFirstName(),
+                "title", forumTitle,
+                "course", course);
+        emailService.sendSimpleMessage(recipient.getEmail(),
+                NotificationTemplates.FORUM_REPLY_SUBJECT.render(values),
+                NotificationTemplates.FORUM_REPLY_BODY.render(values));
+    }
+
+    // Announcements notify when they become visible, which for scheduled ones is long after creation.
+    // Site-wide announcements have no roster to notify.
+    @EventListener
+    public void onContentPublished(ContentPublishedEvent event) {
+        if (event.getType() == ContentPublishedEvent.ContentType.ANNOUNCEMENT && event.getCourseId() != null) {
+            notifyCourse(NotificationJob.JobType.ANNOUNCEMENT, event.getEntityId(), event.getCourseId());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.unslg.aulavirtual.service;
+
+import com.unslg.aulavirtual.util.MessageTemplate;
+
+import java.time.format.DateTimeFormatter;
+
+// Email texts shared by immediate notifications and the daily digest, compiled once
+final class NotificationTemplates {
+
+    static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private static final String SIGNATURE = "\n\nSaludos cordiales,\nEquipo Aula Virtual";
+
+    static final MessageTemplate ASSIGNMENT_SUBJECT = MessageTemplate.compile("Nueva tarea asignada - {course}");
+    static final MessageTemplate ASSIGNMENT_BODY = MessageTemplate.compile(
+            "Hola {firstName},\n\nSe ha asignado una nueva tarea: {title} en el curso {course}.\nFecha de entrega: {date}" + SIGNATURE);
+
+    static final MessageTemplate EXAM_SUBJECT = MessageTemplate.compile("Nuevo examen programado - {course}");
+    static final MessageTemplate EXAM_BODY = MessageTemplate.compile(
+            "Hola {firstName},\n\nSe ha programado el examen {title} en el curso {course}.\nInicio: {date}" + SIGNATURE);
+
+    static final MessageTemplate ANNOUNCEMENT_SUBJECT = MessageTemplate.compile("Nuevo anuncio - {course}");
+    static final MessageTemplate ANNOUNCEMENT_BODY = MessageTemplate.compile(
+            "Hola {firstName},\n\nHay un nuevo anuncio en el curso {course}: {title}\n\n{summary}" + SIGNATURE);
+
+    static final MessageTemplate FORUM_REPLY_SUBJECT = MessageTemplate.compile("Nueva respuesta en el foro - {course}");
+    static final MessageTemplate FORUM_REPLY_BODY = MessageTemplate.compile(
+            "Hola {firstName},\n\nHan respondido a tu mensaje en el foro {title} del curso {course}." + SIGNATURE);
+
+    static final MessageTemplate REMINDER_SUBJECT = MessageTemplate.compile("Recordatorio: {title} vence pronto - {course}");
+    static final MessageTemplate REMINDER_BODY = MessageTemplate.compile(
+            "Hola {firstName},\n\nLa tarea {title} del curso {course} vence el {date} y aún no has enviado tu entrega." + SIGNATURE);
+
+    static final String DIGEST_SUBJECT = "Resumen diario - Aula Virtual";
+    static final MessageTemplate DIGEST_HEADER = MessageTemplate.compile("Hola {firstName},\n\nEstas son tus novedades del día:\n");
+    static final MessageTemplate DIGEST_ASSIGNMENT = MessageTemplate.compile("\n- Tarea: {title} ({course}), entrega {date}");
+    static final MessageTemplate DIGEST_EXAM = MessageTemplate.compile("\n- Examen: {title} ({course}), inicio {date}");
+    static final MessageTemplate DIGEST_ANNOUNCEMENT = MessageTemplate.compile("\n- Anuncio: {title} ({course})");
+    static final MessageTemplate DIGEST_FORUM_REPLY = MessageTemplate.compile("\n- Nuevas respuestas en el foro {title} ({course})");
+    static final MessageTemplate DIGEST_MORE = MessageTemplate.compile("\n\n... y {count} novedades más en el Aula Virtual.");
+    static final String DIGEST_FOOTER = SIGNATURE;
+
+    private NotificationTemplates() {
+    }
+}
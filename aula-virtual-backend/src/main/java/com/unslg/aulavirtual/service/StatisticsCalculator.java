@@ -0,0 +1,159 @@
+package com.unslg.aulavirtual.service;
+
+import com.unslg.aulavirtual.dto.projection.ExamItemView;
+import com.unslg.aulavirtual.dto.projection.GradeCellView;
+import com.unslg.aulavirtual.dto.projection.GradedItemView;
+import com.unslg.aulavirtual.dto.response.GradeStatisticsResponse;
+import com.unslg.aulavirtual.dto.response.PeriodStatisticsResponse;
+import com.unslg.aulavirtual.exception.ResourceNotFoundException;
+import com.unslg.aulavirtual.repository.AssignmentRepository;
+import com.unslg.aulavirtual.repository.AssignmentSubmissionRepository;
+import com.unslg.aulavirtual.repository.ExamGradeRepository;
+import com.unslg.aulavirtual.repository.ExamRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// Kept apart from StatisticsService so the read-only transaction that backs the streams is
+// started through the proxy. Every computation is a single pass with memory bounded by the
+// number of items, never by the number of grades.
+@Component
+@RequiredArgsConstructor
+public class StatisticsCalculator {
+
+    private final ExamRepository examRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final ExamGradeRepository examGradeRepository;
+    private final AssignmentSubmissionRepository submissionRepository;
+
+    @Value("${app.gradebook.scale:20}")
+    private double scale;
+
+    @Value("${app.statistics.sketch-bins:400}")
+    private int sketchBins;
+
+    @Value("${app.statistics.histogram-buckets:10}")
+    private int histogramBuckets;
+
+    @Value("${app.statistics.passing-ratio:0.5}")
+    private double passingRatio;
+
+    @Transactional(readOnly = true)
+    public GradeStatisticsResponse computeExam(Long examId) {
+        ExamItemView exam = examRepository.findItemById(examId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam not found with id: " + examId));
+        GradeStatistics statistics = newItemStatistics(exam, exam.getPassingGrade());
+        try (Stream<Double> grades = examGradeRepository.streamGradesByExamId(examId)) {
+            grades.forEach(statistics::add);
+        }
+        return toItemResponse("EXAM", exam, statistics);
+    }
+
+    @Transactional(readOnly = true)
+    public GradeStatisticsResponse computeAssignment(Long assignmentId) {
+        GradedItemView assignment = assignmentRepository.findItemById(assignmentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Assignment not found with id: " + assignmentId));
+        GradeStatistics statistics = newItemStatistics(assignment, null);
+        try (Stream<Double> grades = submissionRepository.streamGradesByAssignmentId(assignmentId)) {
+            grades.forEach(statistics::add);
+        }
+        return toItemResponse("ASSIGNMENT", assignment, statistics);
+    }
+
+    @Transactional(readOnly = true)
+    public PeriodStatisticsResponse computePeriod(String academicPeriod) {
+        List<ExamItemView> exams = examRepository.findItemsByAcademicPeriod(academicPeriod);
+        List<GradedItemView> assignments = assignmentRepository.findItemsByAcademicPeriod(academicPeriod);
+
+        Set<Long> courseIds = new HashSet<>();
+        exams.forEach(exam -> courseIds.add(exam.getCourseId()));
+        assignments.forEach(assignment -> courseIds.add(assignment.getCourseId()));
+
+        // Per-item accumulators are fed from the same pass that builds the rescaled aggregate
+        Map<Long, ItemAccumulator> examItems = new LinkedHashMap<>();
+        exams.forEach(exam -> examItems.put(exam.getId(),
+                new ItemAccumulator(exam, newItemStatistics(exam, exam.getPassingGrade()))));
+        Map<Long, ItemAccumulator> assignmentItems = new LinkedHashMap<>();
+        assignments.forEach(assignment -> assignmentItems.put(assignment.getId(),
+                new ItemAccumulator(assignment, newItemStatistics(assignment, null))));
+
+        GradeStatistics examTotals = new GradeStatistics(scale, null, sketchBins);
+        try (Stream<GradeCellView> cells = examGradeRepository.streamGradeCellsByAcademicPeriod(academicPeriod)) {
+            cells.forEach(cell -> accumulate(examItems.get(cell.getItemId()), cell.getGrade(), examTotals));
+        }
+
+        GradeStatistics assignmentTotals = new GradeStatistics(scale, null, sketchBins);
+        try (Stream<GradeCellView> cells = submissionRepository.streamGradeCellsByAcademicPeriod(academicPeriod)) {
+            cells.forEach(cell -> accumulate(assignmentItems.get(cell.getItemId()), cell.getGrade(), assignmentTotals));
+        }
+
+        List<GradeStatisticsResponse> items = new ArrayList<>(examItems.size() + assignmentItems.size());
+        examItems.values().forEach(item -> items.add(toItemResponse("EXAM", item.view, item.statistics)));
+        assignmentItems.values().forEach(item -> items.add(toItemResponse("ASSIGNMENT", item.view, item.statistics)));
+
+        PeriodStatisticsResponse response = new PeriodStatisticsResponse();
+        response.setAcademicPeriod(academicPeriod);
+        response.setCourses(courseIds.size());
+        response.setExams(examTotals.toResponse(histogramBuckets));
+        response.setAssignments(assignmentTotals.toResponse(histogramBuckets));
+        response.setItems(items);
+        return response;
+    }
+
+    private void accumulate(ItemAccumulator item, Double grade, GradeStatistics totals) {
+        if (item == null || grade == null) {
+            return;
+        }
+        double clamped = Math.min(Math.max(grade, 0), item.maxPoints);
+        boolean passed = clamped >= item.passingGrade;
+        item.statistics.add(clamped, passed);
+        totals.add(clamped / item.maxPoints * scale, passed);
+    }
+
+    private GradeStatistics newItemStatistics(GradedItemView item, Double passingGrade) {
+        double maxPoints = maxPointsOf(item);
+        return new GradeStatistics(maxPoints, passingGradeOf(maxPoints, passingGrade), sketchBins);
+    }
+
+    private GradeStatisticsResponse toItemResponse(String itemType, GradedItemView item, GradeStatistics statistics) {
+        GradeStatisticsResponse response = statistics.toResponse(histogramBuckets);
+        response.setItemType(itemType);
+        response.setItemId(item.getId());
+        response.setTitle(item.getTitle());
+        response.setCourseId(item.getCourseId());
+        return response;
+    }
+
+    private double maxPointsOf(GradedItemView item) {
+        // Same fallback as the gradebook: items without maxPoints are graded on the course scale
+        return item.getMaxPoints() != null && item.getMaxPoints() > 0 ? item.getMaxPoints() : scale;
+    }
+
+    private double passingGradeOf(double maxPoints, Double passingGrade) {
+        return passingGrade != null ? passingGrade : maxPoints * passingRatio;
+    }
+
+    private final class ItemAccumulator {
+        private final GradedItemView view;
+        private final GradeStatistics statistics;
+        private final double maxPoints;
+        private final double passingGrade;
+
+        private ItemAccumulator(GradedItemView view, GradeStatistics statistics) {
+            this.view = view;
+            this.statistics = statistics;
+            this.maxPoints = maxPointsOf(view);
+            this.passingGrade = passingGradeOf(maxPoints,
+                    view instanceof ExamItemView exam ? exam.getPassingGrade() : null);
+        }
+    }
+}
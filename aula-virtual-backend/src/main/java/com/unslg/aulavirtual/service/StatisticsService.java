@@ -0,0 +1,89 @@
+package com.unslg.aulavirtual.service;
+
+import com.unslg.aulavirtual.dto.response.GradeStatisticsResponse;
+import com.unslg.aulavirtual.dto.response.PeriodStatisticsResponse;
+import com.unslg.aulavirtual.event.CourseStructureChangedEvent;
+import com.unslg.aulavirtual.event.GradeChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Service
+@RequiredArgsConstructor
+public class StatisticsService {
+
+    private final StatisticsCalculator statisticsCalculator;
+
+    private final Map<ItemKey, CompletableFuture<GradeStatisticsResponse>> items = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<PeriodStatisticsResponse>> periods = new ConcurrentHashMap<>();
+
+    public GradeStatisticsResponse getExamStatistics(Long examId) {
+        return load(items, new ItemKey(GradeChangedEvent.ItemType.EXAM, examId),
+                () -> statisticsCalculator.computeExam(examId));
+    }
+
+    public GradeStatisticsResponse getAssignmentStatistics(Long assignmentId) {
+        return load(items, new ItemKey(GradeChangedEvent.ItemType.ASSIGNMENT, assignmentId),
+                () -> statisticsCalculator.computeAssignment(assignmentId));
+    }
+
+    public PeriodStatisticsResponse getPeriodStatistics(String academicPeriod) {
+        return load(periods, academicPeriod, () -> statisticsCalculator.computePeriod(academicPeriod));
+    }
+
+    // Removing the future drops a pass still in flight as well: its callers get its result, but it
+    // is not cached, so a grade change is never hidden behind a stale result
+    @TransactionalEventListener
+    public void onGradeChanged(GradeChangedEvent event) {
+        items.remove(new ItemKey(event.getItemType(), event.getItemId()));
+        // Period aggregates are few and cheap to drop; resolving the course's period here is not
+        periods.clear();
+    }
+
+    @TransactionalEventListener
+    public void onCourseStructureChanged(CourseStructureChangedEvent event) {
+        items.values().removeIf(pending -> {
+            GradeStatisticsResponse statistics = completed(pending);
+            return statistics == null || Objects.equals(statistics.getCourseId(), event.getCourseId());
+        });
+        periods.clear();
+    }
+
+    // Single flight: the first caller runs the streaming pass outside the map lock, concurrent
+    // callers for the same key wait on its future
+    private <K, V> V load(Map<K, CompletableFuture<V>> cache, K key, Supplier<V> compute) {
+        CompletableFuture<V> pending = new CompletableFuture<>();
+        CompletableFuture<V> existing = cache.putIfAbsent(key, pending);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException ex) {
+                throw (RuntimeException) ex.getCause();
+            }
+        }
+
+        try {
+            V value = compute.get();
+            pending.complete(value);
+            return value;
+        } catch (RuntimeException ex) {
+            cache.remove(key, pending);
+            pending.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private static <V> V completed(CompletableFuture<V> pending) {
+        return pending.isDone() && !pending.isCompletedExceptionally() ? pending.join() : null;
+    }
+
+    private record ItemKey(GradeChangedEvent.ItemType type, Long id) {
+    }
+}
@@ -0,0 +1,143 @@
+package com.unslg.aulavirtual.service;
+
+import com.unslg.aulavirtual.dto.projection.SubmissionFileView;
+import com.unslg.aulavirtual.exception.ResourceNotFoundException;
+import com.unslg.aulavirtual.repository.AssignmentRepository;
+import com.unslg.aulavirtual.repository.AssignmentSubmissionRepository;
+import com.unslg.aulavirtual.security.UserPrincipal;
+import com.unslg.aulavirtual.util.FileUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SubmissionArchiveService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int PAGE_SIZE = 200;
+
+    private final AssignmentRepository assignmentRepository;
+    private final AssignmentSubmissionRepository submissionRepository;
+    private final FileStorageService fileStorageService;
+
+    // Instructors may only export assignments of the courses they teach
+    public void checkCanExport(Long assignmentId, UserPrincipal user) {
+        if (!assignmentRepository.existsById(assignmentId)) {
+            throw new ResourceNotFoundException("Assignment not found with id: " + assignmentId);
+        }
+        boolean admin = user.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        if (!admin && !assignmentRepository.isCourseInstructor(assignmentId, user.getId())) {
+            throw new AccessDeniedException("User " + user.getId() + " does not teach the course of assignment " + assignmentId);
+        }
+    }
+
+    // Rows are read in keyset pages, each in its own short read-only transaction, so no pooled
+    // connection is held while the client downloads. Every file is copied through one fixed buffer,
+    // so memory does not grow with the number of submissions. Writes block on the servlet output
+    // stream, which throttles the export to the speed of the client.
+    public void writeSubmissionsZip(Long assignmentId, OutputStream outputStream) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+
+        String previousUserCode = null;
+        int sequence = 0;
+        String afterUserCode = "";
+        long afterId = 0;
+        List<SubmissionFileView> page;
+        do {
+            page = submissionRepository.findFilesPage(assignmentId, afterUserCode, afterId, PageRequest.of(0, PAGE_SIZE));
+            for (SubmissionFileView row : page) {
+                afterUserCode = row.getUserCode();
+                afterId = row.getId();
+
+                Path file = fileStorageService.getStoredFilePath(row.getFileUrl());
+                if (file == null || !Files.isRegularFile(file)) {
+                    log.warn("Skipping missing submission file {} for student {}", row.getFileUrl(), row.getUserCode());
+                    continue;
+                }
+
+                // Rows arrive ordered by userCode, so repeated submissions only need a running counter
+                sequence = row.getUserCode().equals(previousUserCode) ? sequence + 1 : 1;
+                previousUserCode = row.getUserCode();
+
+                String originalName = StringUtils.hasText(row.getFileName()) ? row.getFileName() : row.getFileUrl();
+                String entryName = buildEntryName(row.getUserCode(), sequence, FileUtils.getFileExtension(originalName));
+
+                if (FileUtils.isCompressedFormat(originalName)) {
+                    writeStoredEntry(zip, entryName, file, buffer);
+                } else {
+                    writeDeflatedEntry(zip, entryName, file, buffer);
+                }
+                zip.flush();
+            }
+        } while (page.size() == PAGE_SIZE);
+
+        zip.finish();
+        zip.flush();
+    }
+
+    private String buildEntryName(String userCode, int sequence, String extension) {
+        StringBuilder name = new StringBuilder(userCode);
+        if (sequence > 1) {
+            name.append('_').append(sequence);
+        }
+        if (StringUtils.hasText(extension)) {
+            name.append('.').append(extension);
+        }
+        return name.toString();
+    }
+
+    private void writeStoredEntry(ZipOutputStream zip, String entryName, Path file, byte[] buffer) throws IOException {
+        // STORED entries must declare size and CRC up front, so checksum the file in a first pass
+        CRC32 crc = new CRC32();
+        long size = 0;
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+                size += read;
+            }
+        }
+
+        ZipEntry entry = new ZipEntry(entryName);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(size);
+        entry.setCompressedSize(size);
+        entry.setCrc(crc.getValue());
+        copyEntry(zip, entry, file, buffer);
+    }
+
+    private void writeDeflatedEntry(ZipOutputStream zip, String entryName, Path file, byte[] buffer) throws IOException {
+        ZipEntry entry = new ZipEntry(entryName);
+        entry.setMethod(ZipEntry.DEFLATED);
+        copyEntry(zip, entry, file, buffer);
+    }
+
+    private void copyEntry(ZipOutputStream zip, ZipEntry entry, Path file, byte[] buffer) throws IOException {
+        entry.setLastModifiedTime(Files.getLastModifiedTime(file));
+        zip.putNextEntry(entry);
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                zip.write(buffer, 0, read);
+            }
+        }
+        zip.closeEntry();
+    }
+}
@@ -0,0 +1,199 @@
+package com.unslg.aulavirtual.service;
+
+import com.unslg.aulavirtual.dto.projection.AssignmentCourseView;
+import com.unslg.aulavirtual.dto.projection.CourseEnrollmentCountView;
+import com.unslg.aulavirtual.dto.response.SubmissionCountsResponse;
+import com.unslg.aulavirtual.entity.AssignmentSubmissionStats;
+import com.unslg.aulavirtual.event.SubmissionStatsChangedEvent;
+import com.unslg.aulavirtual.repository.AssignmentRepository;
+import com.unslg.aulavirtual.repository.AssignmentSubmissionStatsRepository;
+import com.unslg.aulavirtual.repository.CourseRepository;
+import com.unslg.aulavirtual.repository.SchedulerLeaseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SubmissionStatsService {
+
+    private static final String LEASE_NAME = "submission-stats";
+
+    private final AssignmentSubmissionStatsRepository statsRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final CourseRepository courseRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SchedulerLeaseRepository leaseRepository;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // Kept just under the reconcile interval and not released, so only one node repairs the
+    // table per interval
+    @Value("${app.submission-stats.lease-seconds:3300}")
+    private long leaseSeconds;
+
+    // The table is updated inside the caller's transaction; the cache only receives the same
+    // delta once that transaction has committed
+    private final Map<Long, Counters> cache = new ConcurrentHashMap<>();
+
+    public void initialize(Long assignmentId) {
+        statsRepository.save(new AssignmentSubmissionStats(assignmentId));
+    }
+
+    // Must run inside the transaction that changed the submission
+    public void recordDelta(Long assignmentId, int submitted, int graded, int late) {
+        if (submitted == 0 && graded == 0 && late == 0) {
+            return;
+        }
+        if (statsRepository.applyDelta(assignmentId, submitted, graded, late) == 0) {
+            // Row is missing (e.g. assignment created before the table existed); the next
+            // reconciliation creates it with the right totals
+            log.warn("No submission stats row for assignment {}", assignmentId);
+            return;
+        }
+        eventPublisher.publishEvent(new SubmissionStatsChangedEvent(assignmentId, submitted, graded, late));
+    }
+
+    @TransactionalEventListener
+    public void onStatsChanged(SubmissionStatsChangedEvent event) {
+        cache.computeIfPresent(event.getAssignmentId(), (id, counters) -> {
+            counters.submitted.add(event.getSubmitted());
+            counters.graded.add(event.getGraded());
+            counters.late.add(event.getLate());
+            return counters;
+        });
+    }
+
+    public void evict(Long assignmentId) {
+        cache.remove(assignmentId);
+    }
+
+    // assignmentCourses maps each assignment id to its course id, which is needed for "missing"
+    public Map<Long, SubmissionCountsResponse> getAssignmentCounts(Map<Long, Long> assignmentCourses) {
+        Map<Long, Counters> counters = getCounters(assignmentCourses.keySet());
+        Map<Long, Long> enrolled = getEnrolledCounts(assignmentCourses.values());
+
+        Map<Long, SubmissionCountsResponse> result = new HashMap<>();
+        assignmentCourses.forEach((assignmentId, courseId) -> {
+            SubmissionCountsResponse counts = new SubmissionCountsResponse();
+            addTo(counts, counters.get(assignmentId));
+            counts.setMissing(Math.max(0, enrolled.getOrDefault(courseId, 0L) - counts.getSubmitted()));
+            result.put(assignmentId, counts);
+        });
+        return result;
+    }
+
+    public Map<Long, SubmissionCountsResponse> getCourseCounts(Collection<Long> courseIds) {
+        Map<Long, SubmissionCountsResponse> result = new HashMap<>();
+        if (courseIds.isEmpty()) {
+            return result;
+        }
+
+        List<AssignmentCourseView> assignments = assignmentRepository.findIdsByCourseIds(courseIds);
+        Map<Long, Counters> counters = getCounters(assignments.stream()
+                .map(AssignmentCourseView::getId)
+                .collect(Collectors.toList()));
+        Map<Long, Long> enrolled = getEnrolledCounts(courseIds);
+
+        Map<Long, Integer> assignmentsPerCourse = new HashMap<>();
+        for (Long courseId : courseIds) {
+            result.put(courseId, new SubmissionCountsResponse());
+        }
+        for (AssignmentCourseView assignment : assignments) {
+            addTo(result.get(assignment.getCourseId()), counters.get(assignment.getId()));
+            assignmentsPerCourse.merge(assignment.getCourseId(), 1, Integer::sum);
+        }
+        result.forEach((courseId, counts) -> {
+            long expected = enrolled.getOrDefault(courseId, 0L) * assignmentsPerCourse.getOrDefault(courseId, 0);
+            counts.setMissing(Math.max(0, expected - counts.getSubmitted()));
+        });
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${app.submission-stats.reconcile-interval-ms:3600000}",
+               initialDelayString = "${app.submission-stats.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        if (leaseRepository.tryAcquire(LEASE_NAME, nodeId, leaseSeconds) == 1) {
+            repair();
+        }
+        // Every node drops its cache, not just the one that repaired the table: a delta racing
+        // with a cache load can leave an entry off by one, and reloading clears that too
+        cache.clear();
+    }
+
+    private void repair() {
+        int created = statsRepository.insertMissingRows();
+        int repaired = statsRepository.repairDrift();
+
+        if (created > 0 || repaired > 0) {
+            log.warn("Submission stats reconciled: {} rows created, {} rows repaired", created, repaired);
+        }
+    }
+
+    private Map<Long, Counters> getCounters(Collection<Long> assignmentIds) {
+        Map<Long, Counters> result = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long assignmentId : assignmentIds) {
+            Counters counters = cache.get(assignmentId);
+            if (counters != null) {
+                result.put(assignmentId, counters);
+            } else {
+                misses.add(assignmentId);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            for (AssignmentSubmissionStats stats : statsRepository.findAllById(misses)) {
+                Counters loaded = cache.computeIfAbsent(stats.getAssignmentId(), id -> new Counters(stats));
+                result.put(stats.getAssignmentId(), loaded);
+            }
+        }
+        return result;
+    }
+
+    private Map<Long, Long> getEnrolledCounts(Collection<Long> courseIds) {
+        if (courseIds.isEmpty()) {
+            return Map.of();
+        }
+        return courseRepository.countEnrolledByCourseIds(courseIds).stream()
+                .collect(Collectors.toMap(CourseEnrollmentCountView::getCourseId, CourseEnrollmentCountView::getEnrolled));
+    }
+
+    private void addTo(SubmissionCountsResponse counts, Counters counters) {
+        if (counters == null) {
+            return;
+        }
+        counts.setSubmitted(counts.getSubmitted() + counters.submitted.sum());
+        counts.setGraded(counts.getGraded() + counters.graded.sum());
+        counts.setLate(counts.getLate() + counters.late.sum());
+    }
+
+    // LongAdder stripes increments across cells, so hot assignments near a deadline don't
+    // serialize every submission on one CAS
+    private static class Counters {
+        private final LongAdder submitted = new LongAdder();
+        private final LongAdder graded = new LongAdder();
+        private final LongAdder late = new LongAdder();
+
+        Counters(AssignmentSubmissionStats stats) {
+            submitted.add(stats.getSubmittedCount());
+            graded.add(stats.getGradedCount());
+            late.add(stats.getLateCount());
+        }
+    }
+}
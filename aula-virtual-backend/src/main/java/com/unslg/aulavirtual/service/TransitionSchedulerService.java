@@ -0,0 +1,218 @@
+package com.unslg.aulavirtual.service;
+
+import com.unslg.aulavirtual.dto.projection.ConferenceWindowView;
+import com.unslg.aulavirtual.dto.projection.TransitionView;
+import com.unslg.aulavirtual.entity.VideoConference;
+import com.unslg.aulavirtual.event.AnnouncementChangedEvent;
+import com.unslg.aulavirtual.event.ContentPublishedEvent;
+import com.unslg.aulavirtual.event.TransitionScheduleChangedEvent;
+import com.unslg.aulavirtual.event.TransitionScheduleChangedEvent.TransitionType;
+import com.unslg.aulavirtual.repository.AnnouncementRepository;
+import com.unslg.aulavirtual.repository.AssignmentRepository;
+import com.unslg.aulavirtual.repository.ExamRepository;
+import com.unslg.aulavirtual.repository.SchedulerLeaseRepository;
+import com.unslg.aulavirtual.repository.VideoConferenceRepository;
+import com.unslg.aulavirtual.util.HierarchicalTimingWheel;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Fires time-driven status changes (exam open/close, assignment close, conference start/end,
+// scheduled announcements). Only the node holding the DB lease runs timers; it loads the next
+// window of transitions from indexed time columns into a timing wheel and applies each one with
+// a single conditional UPDATE, which also makes a duplicate or stale firing harmless.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransitionSchedulerService {
+
+    private static final String LEASE_NAME = "transition-scheduler";
+
+    private final ExamRepository examRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final VideoConferenceRepository videoConferenceRepository;
+    private final AnnouncementRepository announcementRepository;
+    private final SchedulerLeaseRepository leaseRepository;
+    private final ExamSnapshotService examSnapshotService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final HierarchicalTimingWheel<Transition> wheel =
+            new HierarchicalTimingWheel<>(1000, 64, 4, System.currentTimeMillis());
+    private final Set<Transition> scheduled = ConcurrentHashMap.newKeySet();
+    // Transitions already due when scheduled; fired by tick() so the UPDATE never runs inside an
+    // after-commit callback, where it would join the finished transaction and be lost
+    private final Queue<Transition> overdue = new ConcurrentLinkedQueue<>();
+    private final String nodeId = resolveNodeId();
+
+    private volatile boolean leader;
+    private volatile LocalDateTime loadedUntil;
+
+    @Value("${app.scheduler.window-minutes:60}")
+    private long windowMinutes;
+
+    @Value("${app.scheduler.lease-seconds:90}")
+    private long leaseSeconds;
+
+    @Value("${app.scheduler.assignment-late-hours:24}")
+    private long assignmentLateHours;
+
+    private record Transition(TransitionType type, Long entityId, LocalDateTime dueAt) {
+    }
+
+    // Renews the lease and loads everything due before now + window. Rows whose time already
+    // passed (e.g. while no node was running) come back too and fire immediately.
+    @Scheduled(fixedDelayString = "${app.scheduler.refresh-interval-ms:30000}")
+    public void refresh() {
+        boolean acquired = leaseRepository.tryAcquire(LEASE_NAME, nodeId, leaseSeconds) == 1;
+        if (acquired != leader) {
+            log.info(acquired ? "Node {} took the transition scheduler lease" : "Node {} lost the transition scheduler lease", nodeId);
+        }
+        leader = acquired;
+        if (!acquired) {
+            synchronized (wheel) {
+                wheel.clear();
+                scheduled.clear();
+            }
+            overdue.clear();
+            loadedUntil = null;
+            return;
+        }
+
+        LocalDateTime until = LocalDateTime.now().plusMinutes(windowMinutes);
+        load(TransitionType.EXAM_OPEN, examRepository.findOpeningBefore(until), 0);
+        load(TransitionType.EXAM_CLOSE, examRepository.findClosingBefore(until), 0);
+        load(TransitionType.ASSIGNMENT_CLOSE, assignmentRepository.findActiveDueBefore(until.minusHours(assignmentLateHours)),
+                assignmentLateHours);
+        load(TransitionType.ANNOUNCEMENT_PUBLISH, announcementRepository.findScheduledBefore(until), 0);
+
+        for (ConferenceWindowView conference : videoConferenceRepository.findWindowsByStatus(VideoConference.ConferenceStatus.SCHEDULED, until)) {
+            schedule(new Transition(TransitionType.CONFERENCE_START, conference.getId(), conference.getScheduledTime()));
+        }
+        for (VideoConference.ConferenceStatus status : List.of(VideoConference.ConferenceStatus.SCHEDULED, VideoConference.ConferenceStatus.LIVE)) {
+            for (ConferenceWindowView conference : videoConferenceRepository.findWindowsByStatus(status, until)) {
+                LocalDateTime endsAt = conference.getScheduledTime().plusMinutes(conference.getDuration());
+                if (!endsAt.isAfter(until)) {
+                    schedule(new Transition(TransitionType.CONFERENCE_END, conference.getId(), endsAt));
+                }
+            }
+        }
+        loadedUntil = until;
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public void tick() {
+        if (!leader) {
+            return;
+        }
+        List<Transition> due;
+        synchronized (wheel) {
+            due = wheel.advance(System.currentTimeMillis());
+        }
+        due.forEach(this::fire);
+        for (Transition transition; (transition = overdue.poll()) != null; ) {
+            fire(transition);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onScheduleChanged(TransitionScheduleChangedEvent event) {
+        LocalDateTime dueAt = event.getType() == TransitionType.ASSIGNMENT_CLOSE
+                ? event.getDueAt().plusHours(assignmentLateHours)
+                : event.getDueAt();
+        LocalDateTime until = loadedUntil;
+        // Later times are picked up by the window load once they come into range
+        if (leader && until != null && !dueAt.isAfter(until)) {
+            schedule(new Transition(event.getType(), event.getEntityId(), dueAt));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (leader) {
+            leaseRepository.release(LEASE_NAME, nodeId);
+        }
+    }
+
+    private void load(TransitionType type, List<TransitionView> rows, long delayHours) {
+        for (TransitionView row : rows) {
+            schedule(new Transition(type, row.getId(), row.getDueAt().plusHours(delayHours)));
+        }
+    }
+
+    private void schedule(Transition transition) {
+        if (!scheduled.add(transition)) {
+            return;
+        }
+        boolean pending;
+        synchronized (wheel) {
+            pending = wheel.schedule(toEpochMillis(transition.dueAt()), transition);
+        }
+        if (!pending) {
+            overdue.add(transition);
+        }
+    }
+
+    private void fire(Transition transition) {
+        scheduled.remove(transition);
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            int updated = switch (transition.type()) {
+                case EXAM_OPEN -> examRepository.markActive(transition.entityId(), now);
+                case EXAM_CLOSE -> examRepository.markClosed(transition.entityId(), now);
+                case ASSIGNMENT_CLOSE -> assignmentRepository.markClosed(transition.entityId(), now.minusHours(assignmentLateHours));
+                case CONFERENCE_START -> videoConferenceRepository.markLive(transition.entityId(), now);
+                case CONFERENCE_END -> videoConferenceRepository.markEnded(transition.entityId(), now);
+                case ANNOUNCEMENT_PUBLISH -> announcementRepository.markPublished(transition.entityId(), now);
+            };
+            if (updated > 0) {
+                log.info("Applied {} to {}", transition.type(), transition.entityId());
+                // Pre-warmed exam snapshots cache the status, which the bulk UPDATE bypasses
+                if (transition.type() == TransitionType.EXAM_OPEN || transition.type() == TransitionType.EXAM_CLOSE) {
+                    examSnapshotService.evict(transition.entityId());
+                }
+                if (transition.type() == TransitionType.ANNOUNCEMENT_PUBLISH) {
+                    announcementRepository.findById(transition.entityId()).ifPresent(announcement -> {
+                        Long courseId = announcement.getCourse() != null ? announcement.getCourse().getId() : null;
+                        eventPublisher.publishEvent(new AnnouncementChangedEvent(courseId));
+                        eventPublisher.publishEvent(new ContentPublishedEvent(ContentPublishedEvent.ContentType.ANNOUNCEMENT,
+                                courseId, announcement.getId(), null, announcement.getTitle()));
+                    });
+                }
+            }
+        } catch (DataAccessException ex) {
+            // The row still matches the window query, so the next refresh schedules it again
+            log.error("Could not apply {} to {}", transition.type(), transition.entityId(), ex);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static String resolveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -132,6 +132,14 @@ public class UserService {
         return convertToResponse(savedUser);
     }
 
+    public UserResponse changeNotificationMode(Long id, User.NotificationMode mode) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        user.setNotificationMode(mode);
+        User savedUser = userRepository.save(user);
+        return convertToResponse(savedUser);
+    }
+
     public List<UserResponse> searchUsers(String searchTerm) {
         return userRepository.findBySearchTerm(searchTerm).stream()
                 .map(this::convertToResponse)
@@ -150,6 +158,7 @@ public class UserService {
         response.setPhone(user.getPhone());
         response.setProfilePicture(user.getProfilePicture());
         response.setStatus(user.getStatus().name());
+        response.setNotificationMode(user.getNotificationMode().name());
         response.setCreatedAt(user.getCreatedAt());
         response.setLastLogin(user.getLastLogin());
 
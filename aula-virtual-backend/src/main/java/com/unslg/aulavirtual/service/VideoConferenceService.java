@@ -0,0 +1,202 @@
+package com.unslg.aulavirtual.service;
+
+import com.unslg.aulavirtual.dto.projection.ConferenceAgendaView;
+import com.unslg.aulavirtual.dto.request.VideoConferenceRequest;
+import com.unslg.aulavirtual.dto.response.CalendarEventResponse;
+import com.unslg.aulavirtual.dto.response.ScheduleConflictResponse;
+import com.unslg.aulavirtual.dto.response.VideoConferenceResponse;
+import com.unslg.aulavirtual.entity.Course;
+import com.unslg.aulavirtual.entity.User;
+import com.unslg.aulavirtual.entity.VideoConference;
+import com.unslg.aulavirtual.event.TransitionScheduleChangedEvent;
+import com.unslg.aulavirtual.event.TransitionScheduleChangedEvent.TransitionType;
+import com.unslg.aulavirtual.exception.BadRequestException;
+import com.unslg.aulavirtual.exception.ConflictException;
+import com.unslg.aulavirtual.exception.ResourceNotFoundException;
+import com.unslg.aulavirtual.repository.CourseRepository;
+import com.unslg.aulavirtual.repository.UserRepository;
+import com.unslg.aulavirtual.repository.VideoConferenceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+// Books video conferences without double-booking a host or a course. Bookings of one host (and
+// of one course) are serialized by a row lock taken before the overlap check, so two concurrent
+// requests cannot both see a free slot. Overlap is checked on half-open intervals, so sessions
+// may be back to back: against the host's and the course's other sessions through the
+// (host|course, scheduled_time) indexes, and against the course calendar, recurring classes
+// included. The calendar is read from the database under the course lock rather than from the
+// cached index, which may not yet reflect a change made on another node.
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class VideoConferenceService {
+
+    // Matches the request validation; bounds how far back an overlapping session can start
+    private static final int MAX_DURATION_MINUTES = 1440;
+
+    private final VideoConferenceRepository videoConferenceRepository;
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final CalendarIndexService calendarIndexService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public List<VideoConferenceResponse> getAllConferences() {
+        return videoConferenceRepository.findAll().stream().map(this::convertToResponse).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public VideoConferenceResponse getConferenceById(Long id) {
+        return convertToResponse(findConference(id));
+    }
+
+    public VideoConferenceResponse createConference(VideoConferenceRequest request, Long currentUserId) {
+        VideoConference conference = new VideoConference();
+        apply(conference, request, currentUserId);
+        VideoConference savedConference = videoConferenceRepository.save(conference);
+        publishTransitions(savedConference);
+        return convertToResponse(savedConference);
+    }
+
+    public VideoConferenceResponse updateConference(Long id, VideoConferenceRequest request, Long currentUserId) {
+        VideoConference conference = findConference(id);
+        if (conference.getStatus() == VideoConference.ConferenceStatus.ENDED) {
+            throw new BadRequestException("An ended conference cannot be rescheduled");
+        }
+        LocalDateTime previousStart = conference.getScheduledTime();
+        Integer previousDuration = conference.getDuration();
+
+        apply(conference, request, currentUserId);
+        VideoConference savedConference = videoConferenceRepository.save(conference);
+        if (!previousStart.equals(savedConference.getScheduledTime()) || !previousDuration.equals(savedConference.getDuration())) {
+            publishTransitions(savedConference);
+        }
+        return convertToResponse(savedConference);
+    }
+
+    public void deleteConference(Long id) {
+        videoConferenceRepository.delete(findConference(id));
+    }
+
+    private void apply(VideoConference conference, VideoConferenceRequest request, Long currentUserId) {
+        Long hostId = request.getHostId() != null ? request.getHostId() : currentUserId;
+        // Host before course, always in this order, so concurrent bookings cannot deadlock
+        User host = userRepository.findByIdForUpdate(hostId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + hostId));
+        Course course = null;
+        if (request.getCourseId() != null) {
+            course = courseRepository.findByIdForUpdate(request.getCourseId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + request.getCourseId()));
+        }
+
+        List<ScheduleConflictResponse> conflicts = findConflicts(conference.getId(), hostId,
+                course != null ? course.getId() : null, request.getScheduledTime(), request.getDuration());
+        if (!conflicts.isEmpty()) {
+            throw new ConflictException("The conference overlaps " + conflicts.size() + " scheduled item(s)", conflicts);
+        }
+
+        conference.setTitle(request.getTitle());
+        conference.setDescription(request.getDescription());
+        conference.setScheduledTime(request.getScheduledTime());
+        conference.setDuration(request.getDuration());
+        conference.setMeetingUrl(request.getMeetingUrl());
+        conference.setMeetingId(request.getMeetingId());
+        conference.setMeetingPassword(request.getMeetingPassword());
+        conference.setHost(host);
+        conference.setCourse(course);
+        if (request.getPlatform() != null) {
+            try {
+                conference.setPlatform(VideoConference.Platform.valueOf(request.getPlatform()));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid platform: " + request.getPlatform(), e);
+            }
+        }
+        if (request.getRecordingEnabled() != null) {
+            conference.setRecordingEnabled(request.getRecordingEnabled());
+        }
+        if (request.getWaitingRoom() != null) {
+            conference.setWaitingRoom(request.getWaitingRoom());
+        }
+        if (request.getMaxParticipants() != null) {
+            conference.setMaxParticipants(request.getMaxParticipants());
+        }
+    }
+
+    private List<ScheduleConflictResponse> findConflicts(Long conferenceId, Long hostId, Long courseId,
+                                                         LocalDateTime start, int durationMinutes) {
+        LocalDateTime end = start.plusMinutes(durationMinutes);
+        LocalDateTime earliestStart = start.minusMinutes(MAX_DURATION_MINUTES);
+        // -1 never matches, so a new conference excludes nothing
+        Long excludedId = conferenceId != null ? conferenceId : -1L;
+
+        List<ScheduleConflictResponse> conflicts = new ArrayList<>();
+        List<Long> seen = new ArrayList<>();
+        for (ConferenceAgendaView booking : videoConferenceRepository.findHostBookings(hostId, earliestStart, end, excludedId)) {
+            addConferenceConflict("HOST", booking, start, conflicts, seen);
+        }
+        if (courseId != null) {
+            for (ConferenceAgendaView booking : videoConferenceRepository.findCourseBookings(courseId, earliestStart, end, excludedId)) {
+                addConferenceConflict("COURSE", booking, start, conflicts, seen);
+            }
+            for (CalendarEventResponse event : calendarIndexService.readCourseEvents(courseId, start, end)) {
+                // The calendar query matches closed intervals; touching endpoints are not a conflict
+                if (event.getStartDatetime().isBefore(end) && event.getEndDatetime().isAfter(start)) {
+                    conflicts.add(new ScheduleConflictResponse("COURSE", "CALENDAR_EVENT", event.getId(), event.getTitle(),
+                            event.getStartDatetime(), event.getEndDatetime()));
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    private void addConferenceConflict(String scope, ConferenceAgendaView booking, LocalDateTime start,
+                                       List<ScheduleConflictResponse> conflicts, List<Long> seen) {
+        LocalDateTime bookingEnd = booking.getScheduledTime().plusMinutes(booking.getDuration());
+        // A session hosted for the same course is reported once, as a host conflict
+        if (bookingEnd.isAfter(start) && !seen.contains(booking.getId())) {
+            seen.add(booking.getId());
+            conflicts.add(new ScheduleConflictResponse(scope, "CONFERENCE", booking.getId(), booking.getTitle(),
+                    booking.getScheduledTime(), bookingEnd));
+        }
+    }
+
+    private void publishTransitions(VideoConference conference) {
+        eventPublisher.publishEvent(new TransitionScheduleChangedEvent(
+                TransitionType.CONFERENCE_START, conference.getId(), conference.getScheduledTime()));
+        eventPublisher.publishEvent(new TransitionScheduleChangedEvent(
+                TransitionType.CONFERENCE_END, conference.getId(), conference.getScheduledTime().plusMinutes(conference.getDuration())));
+    }
+
+    private VideoConference findConference(Long id) {
+        return videoConferenceRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Conference not found with id: " + id));
+    }
+
+    private VideoConferenceResponse convertToResponse(VideoConference conference) {
+        VideoConferenceResponse response = new VideoConferenceResponse();
+        response.setId(conference.getId());
+        response.setTitle(conference.getTitle());
+        response.setDescription(conference.getDescription());
+        response.setScheduledTime(conference.getScheduledTime());
+        response.setDuration(conference.getDuration());
+        response.setPlatform(conference.getPlatform().name());
+        response.setMeetingUrl(conference.getMeetingUrl());
+        response.setMeetingId(conference.getMeetingId());
+        response.setRecordingEnabled(conference.getRecordingEnabled());
+        response.setWaitingRoom(conference.getWaitingRoom());
+        response.setMaxParticipants(conference.getMaxParticipants());
+        response.setStatus(conference.getStatus().name());
+        response.setCourseId(conference.getCourse() != null ? conference.getCourse().getId() : null);
+        response.setHostId(Objects.requireNonNull(conference.getHost()).getId());
+        response.setCreatedAt(conference.getCreatedAt());
+        response.setUpdatedAt(conference.getUpdatedAt());
+        return response;
+    }
+}
@@ -0,0 +1,88 @@
+package com.unslg.aulavirtual.util;
+
+// Fixed-memory quantile sketch for values in a known range (grades between 0 and max points).
+// Values are counted in equal-width bins, so any quantile is accurate to one bin width
+// ((max - min) / bins) no matter how many values are added, and sketches over the same range
+// can be merged.
+public class BoundedQuantileSketch {
+
+    private final double min;
+    private final double max;
+    private final long[] bins;
+    private long count;
+
+    public BoundedQuantileSketch(double min, double max, int bins) {
+        if (!(max > min) || bins <= 0) {
+            throw new IllegalArgumentException("Sketch needs max > min and at least one bin");
+        }
+        this.min = min;
+        this.max = max;
+        this.bins = new long[bins];
+    }
+
+    // Out-of-range values are clamped into the first or last bin
+    public void add(double value) {
+        bins[binOf(value)]++;
+        count++;
+    }
+
+    public void merge(BoundedQuantileSketch other) {
+        if (other.min != min || other.max != max || other.bins.length != bins.length) {
+            throw new IllegalArgumentException("Only sketches with the same range and bins can be merged");
+        }
+        for (int i = 0; i < bins.length; i++) {
+            bins[i] += other.bins[i];
+        }
+        count += other.count;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    // Interpolates linearly inside the bin holding the q-th value
+    public double quantile(double q) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        double rank = Math.max(0, Math.min(1, q)) * (count - 1);
+        long seen = 0;
+        for (int i = 0; i < bins.length; i++) {
+            if (bins[i] == 0) {
+                continue;
+            }
+            if (seen + bins[i] > rank) {
+                double fraction = (rank - seen + 0.5) / bins[i];
+                return min + (i + fraction) * binWidth();
+            }
+            seen += bins[i];
+        }
+        return max;
+    }
+
+    // Counts per bucket for `buckets` equal-width buckets over [min, max]
+    public long[] histogram(int buckets) {
+        long[] result = new long[buckets];
+        for (int i = 0; i < bins.length; i++) {
+            result[(int) ((long) i * buckets / bins.length)] += bins[i];
+        }
+        return result;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    private int binOf(double value) {
+        int bin = (int) ((value - min) / binWidth());
+        return Math.max(0, Math.min(bins.length - 1, bin));
+    }
+
+    private double binWidth() {
+        return (max - min) / bins.length;
+    }
+}
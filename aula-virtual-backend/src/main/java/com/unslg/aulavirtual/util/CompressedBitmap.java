@@ -0,0 +1,312 @@
+package com.unslg.aulavirtual.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Roaring-style set of non-negative ints on primitive arrays. Values are split by their high
+// 16 bits into chunks; a chunk with at most 4096 values is a sorted char[], a denser one is a
+// 1024-word bitset. Sparse and dense id ranges both stay compact, and intersections run
+// chunk by chunk. Not thread-safe; callers synchronize.
+public class CompressedBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITSET_WORDS = 1024;
+
+    private char[] keys = new char[4];
+    // char[] for array chunks, long[] for bitset chunks
+    private Object[] chunks = new Object[4];
+    private int[] cardinalities = new int[4];
+    private int size;
+
+    public boolean add(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value: " + value);
+        }
+        char key = (char) (value >>> 16);
+        char low = (char) value;
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index < 0) {
+            index = -index - 1;
+            insertChunk(index, key, new char[4], 0);
+        }
+
+        Object chunk = chunks[index];
+        if (chunk instanceof long[] bits) {
+            long mask = 1L << low;
+            if ((bits[low >>> 6] & mask) != 0) {
+                return false;
+            }
+            bits[low >>> 6] |= mask;
+            cardinalities[index]++;
+            return true;
+        }
+
+        char[] values = (char[]) chunk;
+        int cardinality = cardinalities[index];
+        int position = Arrays.binarySearch(values, 0, cardinality, low);
+        if (position >= 0) {
+            return false;
+        }
+        position = -position - 1;
+        if (cardinality == ARRAY_MAX) {
+            long[] bits = toBits(values, cardinality);
+            bits[low >>> 6] |= 1L << low;
+            chunks[index] = bits;
+        } else {
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, cardinality * 2));
+                chunks[index] = values;
+            }
+            System.arraycopy(values, position, values, position + 1, cardinality - position);
+            values[position] = low;
+        }
+        cardinalities[index]++;
+        return true;
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        char low = (char) value;
+        Object chunk = chunks[index];
+        if (chunk instanceof long[] bits) {
+            return (bits[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) chunk, 0, cardinalities[index], low) >= 0;
+    }
+
+    public long cardinality() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += cardinalities[i];
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // |this AND other| without materializing the intersection
+    public long andCardinality(CompressedBitmap other) {
+        long total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                total += chunkAndCardinality(chunks[i], cardinalities[i], other.chunks[j], other.cardinalities[j]);
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    // In-place union
+    public void or(CompressedBitmap other) {
+        for (int j = 0; j < other.size; j++) {
+            int index = Arrays.binarySearch(keys, 0, size, other.keys[j]);
+            if (index < 0) {
+                index = -index - 1;
+                insertChunk(index, other.keys[j], copyChunk(other.chunks[j]), other.cardinalities[j]);
+                continue;
+            }
+            long[] bits;
+            if (chunks[index] instanceof long[] own) {
+                bits = own;
+            } else if (other.chunks[j] instanceof long[] theirs) {
+                bits = theirs.clone();
+                addAll(bits, (char[]) chunks[index], cardinalities[index]);
+            } else {
+                char[] merged = mergeArrays((char[]) chunks[index], cardinalities[index],
+                        (char[]) other.chunks[j], other.cardinalities[j]);
+                if (merged.length <= ARRAY_MAX) {
+                    chunks[index] = merged;
+                    cardinalities[index] = merged.length;
+                    continue;
+                }
+                bits = toBits(merged, merged.length);
+            }
+            if (other.chunks[j] instanceof long[] theirs && bits != theirs) {
+                for (int w = 0; w < BITSET_WORDS; w++) {
+                    bits[w] |= theirs[w];
+                }
+            } else if (other.chunks[j] instanceof char[] theirs) {
+                addAll(bits, theirs, other.cardinalities[j]);
+            }
+            chunks[index] = bits;
+            cardinalities[index] = bitCount(bits);
+        }
+    }
+
+    // Layout: chunk count, then per chunk its key, cardinality and either the sorted values
+    // or the 1024 bitset words; the cardinality alone tells which form follows
+    public byte[] toBytes() {
+        int length = Integer.BYTES;
+        for (int i = 0; i < size; i++) {
+            length += Character.BYTES + Integer.BYTES;
+            length += chunks[i] instanceof long[] ? BITSET_WORDS * Long.BYTES : cardinalities[i] * Character.BYTES;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.putInt(size);
+        for (int i = 0; i < size; i++) {
+            buffer.putChar(keys[i]);
+            buffer.putInt(cardinalities[i]);
+            if (chunks[i] instanceof long[] bits) {
+                buffer.asLongBuffer().put(bits);
+                buffer.position(buffer.position() + BITSET_WORDS * Long.BYTES);
+            } else {
+                buffer.asCharBuffer().put((char[]) chunks[i], 0, cardinalities[i]);
+                buffer.position(buffer.position() + cardinalities[i] * Character.BYTES);
+            }
+        }
+        return buffer.array();
+    }
+
+    public static CompressedBitmap fromBytes(byte[] bytes) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        if (bytes == null || bytes.length == 0) {
+            return bitmap;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int count = buffer.getInt();
+        bitmap.keys = new char[Math.max(4, count)];
+        bitmap.chunks = new Object[bitmap.keys.length];
+        bitmap.cardinalities = new int[bitmap.keys.length];
+        for (int i = 0; i < count; i++) {
+            bitmap.keys[i] = buffer.getChar();
+            int cardinality = buffer.getInt();
+            bitmap.cardinalities[i] = cardinality;
+            if (cardinality > ARRAY_MAX) {
+                long[] bits = new long[BITSET_WORDS];
+                buffer.asLongBuffer().get(bits);
+                buffer.position(buffer.position() + BITSET_WORDS * Long.BYTES);
+                bitmap.chunks[i] = bits;
+            } else {
+                char[] values = new char[cardinality];
+                buffer.asCharBuffer().get(values);
+                buffer.position(buffer.position() + cardinality * Character.BYTES);
+                bitmap.chunks[i] = values;
+            }
+        }
+        bitmap.size = count;
+        return bitmap;
+    }
+
+    private void insertChunk(int index, char key, Object chunk, int cardinality) {
+        if (size == keys.length) {
+            int capacity = size * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            chunks = Arrays.copyOf(chunks, capacity);
+            cardinalities = Arrays.copyOf(cardinalities, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(chunks, index, chunks, index + 1, size - index);
+        System.arraycopy(cardinalities, index, cardinalities, index + 1, size - index);
+        keys[index] = key;
+        chunks[index] = chunk;
+        cardinalities[index] = cardinality;
+        size++;
+    }
+
+    private static long chunkAndCardinality(Object left, int leftCardinality, Object right, int rightCardinality) {
+        if (left instanceof long[] leftBits && right instanceof long[] rightBits) {
+            long total = 0;
+            for (int w = 0; w < BITSET_WORDS; w++) {
+                total += Long.bitCount(leftBits[w] & rightBits[w]);
+            }
+            return total;
+        }
+        if (left instanceof long[] leftBits) {
+            return countIn(leftBits, (char[]) right, rightCardinality);
+        }
+        if (right instanceof long[] rightBits) {
+            return countIn(rightBits, (char[]) left, leftCardinality);
+        }
+        char[] a = (char[]) left;
+        char[] b = (char[]) right;
+        long total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < leftCardinality && j < rightCardinality) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                total++;
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    private static long countIn(long[] bits, char[] values, int cardinality) {
+        long total = 0;
+        for (int i = 0; i < cardinality; i++) {
+            char value = values[i];
+            if ((bits[value >>> 6] & (1L << value)) != 0) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    private static char[] mergeArrays(char[] a, int aLength, char[] b, int bLength) {
+        char[] merged = new char[aLength + bLength];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < aLength && j < bLength) {
+            if (a[i] < b[j]) {
+                merged[k++] = a[i++];
+            } else if (a[i] > b[j]) {
+                merged[k++] = b[j++];
+            } else {
+                merged[k++] = a[i++];
+                j++;
+            }
+        }
+        while (i < aLength) {
+            merged[k++] = a[i++];
+        }
+        while (j < bLength) {
+            merged[k++] = b[j++];
+        }
+        return k == merged.length ? merged : Arrays.copyOf(merged, k);
+    }
+
+    private static long[] toBits(char[] values, int cardinality) {
+        long[] bits = new long[BITSET_WORDS];
+        addAll(bits, values, cardinality);
+        return bits;
+    }
+
+    private static void addAll(long[] bits, char[] values, int cardinality) {
+        for (int i = 0; i < cardinality; i++) {
+            bits[values[i] >>> 6] |= 1L << values[i];
+        }
+    }
+
+    private static Object copyChunk(Object chunk) {
+        return chunk instanceof long[] bits ? bits.clone() : ((char[]) chunk).clone();
+    }
+
+    private static int bitCount(long[] bits) {
+        int total = 0;
+        for (long word : bits) {
+            total += Long.bitCount(word);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,41 @@
+package com.unslg.aulavirtual.util;
+
+import com.unslg.aulavirtual.exception.BadRequestException;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.StringJoiner;
+
+// Opaque keyset cursors: the sort key values of the last row served, base64url-encoded
+public class CursorUtils {
+
+    public static String encode(long... values) {
+        StringJoiner joiner = new StringJoiner(":");
+        for (long value : values) {
+            joiner.add(Long.toString(value));
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(joiner.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static long[] decode(String cursor, int size) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII).split(":");
+            if (parts.length != size) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            long[] values = new long[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = Long.parseLong(parts[i]);
+            }
+            return values;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+    }
+
+    public static long decodeId(String cursor, long defaultValue) {
+        return StringUtils.hasText(cursor) ? decode(cursor, 1)[0] : defaultValue;
+    }
+}
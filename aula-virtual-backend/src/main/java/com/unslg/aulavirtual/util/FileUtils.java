@@ -2,8 +2,17 @@ package com.unslg.aulavirtual.util;
 
 import org.springframework.util.StringUtils;
 
+import java.util.Set;
+
 public class FileUtils {
 
+    // Formats that are already compressed; deflating them again only burns CPU
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of(
+            "zip", "rar", "7z", "gz", "tgz", "bz2", "xz",
+            "jpg", "jpeg", "png", "gif", "webp",
+            "mp3", "mp4", "m4a", "mov", "avi", "mkv", "webm",
+            "pdf", "docx", "xlsx", "pptx", "odt", "ods", "odp", "epub");
+
     public static String getFileExtension(String filename) {
         if (!StringUtils.hasText(filename)) {
             return "";
@@ -27,6 +36,10 @@ public class FileUtils {
         }
     }
 
+    public static boolean isCompressedFormat(String filename) {
+        return COMPRESSED_EXTENSIONS.contains(getFileExtension(filename));
+    }
+
     public static boolean isValidFileSize(long fileSize, long maxSize) {
         return fileSize <= maxSize;
     }
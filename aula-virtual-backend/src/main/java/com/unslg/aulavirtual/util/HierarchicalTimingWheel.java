@@ -0,0 +1,121 @@
+package com.unslg.aulavirtual.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Hashed hierarchical timing wheel (Varghese & Lauck). Level 0 has one slot per tick; each
+// higher level has slots wheelSize times wider and cascades its slot into the lower levels
+// when the clock enters it. Scheduling and firing are O(1) per task; advancing is O(ticks).
+// Not thread-safe on its own: callers synchronize.
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long[] slotTicks;
+    private final List<List<Entry<T>>> slots;
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, int levels, long startMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.slotTicks = new long[levels];
+        this.slots = new ArrayList<>(levels * wheelSize);
+        long ticks = 1;
+        for (int level = 0; level < levels; level++) {
+            slotTicks[level] = ticks;
+            ticks *= wheelSize;
+        }
+        for (int i = 0; i < levels * wheelSize; i++) {
+            slots.add(new ArrayList<>());
+        }
+        this.currentTick = startMs / tickMs;
+    }
+
+    // Tasks fire on the first advance at or after deadlineMs. Returns false when the deadline is
+    // already due; the caller should run the task itself.
+    public boolean schedule(long deadlineMs, T task) {
+        long deadlineTick = (deadlineMs + tickMs - 1) / tickMs;
+        if (deadlineTick <= currentTick) {
+            return false;
+        }
+        place(new Entry<>(deadlineTick, task));
+        size++;
+        return true;
+    }
+
+    // Moves the clock to nowMs and returns every task whose deadline has been reached
+    public List<T> advance(long nowMs) {
+        List<T> expired = new ArrayList<>();
+        long targetTick = nowMs / tickMs;
+        while (currentTick < targetTick) {
+            currentTick++;
+            int top = 0;
+            while (top + 1 < slotTicks.length && currentTick % slotTicks[top + 1] == 0) {
+                top++;
+            }
+            // Highest level first, so entries cascading down land in slots not yet drained this tick
+            for (int level = top; level >= 1; level--) {
+                List<Entry<T>> bucket = slot(level, currentTick);
+                List<Entry<T>> cascading = new ArrayList<>(bucket);
+                bucket.clear();
+                for (Entry<T> entry : cascading) {
+                    if (entry.tick <= currentTick) {
+                        expired.add(entry.task);
+                        size--;
+                    } else {
+                        place(entry);
+                    }
+                }
+            }
+
+            List<Entry<T>> bucket = slot(0, currentTick);
+            for (Entry<T> entry : bucket) {
+                expired.add(entry.task);
+            }
+            size -= bucket.size();
+            bucket.clear();
+        }
+        return expired;
+    }
+
+    // Deadlines up to this far past the last advance are always accepted, whatever the clock
+    // alignment; one tick is kept back because deadlines are rounded up to a whole tick
+    public long getHorizonMs() {
+        return (slotTicks[slotTicks.length - 1] * (wheelSize - 1) - 1) * tickMs;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        slots.forEach(List::clear);
+        size = 0;
+    }
+
+    // Lowest level whose slot for the deadline is still ahead of the clock at that level
+    private void place(Entry<T> entry) {
+        for (int level = 0; level < slotTicks.length; level++) {
+            if (entry.tick / slotTicks[level] - currentTick / slotTicks[level] < wheelSize) {
+                slot(level, entry.tick).add(entry);
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Deadline is beyond the timing wheel horizon");
+    }
+
+    private List<Entry<T>> slot(int level, long tick) {
+        return slots.get(level * wheelSize + (int) ((tick / slotTicks[level]) % wheelSize));
+    }
+
+    private static final class Entry<T> {
+        private final long tick;
+        private final T task;
+
+        private Entry(long tick, T task) {
+            this.tick = tick;
+            this.task = task;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.unslg.aulavirtual.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+
+// Minimal RFC 5545 writer: CRLF line endings, TEXT escaping and folding of content lines longer
+// than 75 octets. Events are written one at a time so a feed never has to be held in memory.
+public class ICalendarWriter {
+
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final DateTimeFormatter LOCAL_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private final Writer out;
+
+    public ICalendarWriter(OutputStream outputStream) {
+        this.out = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 16 * 1024);
+    }
+
+    public void beginCalendar(String name) throws IOException {
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//UNSLG//Aula Virtual//ES");
+        line("CALSCALE:GREGORIAN");
+        line("METHOD:PUBLISH");
+        text("X-WR-CALNAME", name);
+    }
+
+    // Start and end are floating local times; an end equal to the start is omitted, which makes
+    // the event a point in time such as a deadline
+    public void event(String uid, Instant stamp, LocalDateTime start, LocalDateTime end,
+                      String summary, String description, String location) throws IOException {
+        event(uid, stamp, start, end, summary, description, location, null, null);
+    }
+
+    // A recurring event is written once with its rule; calendar apps expand it themselves
+    public void event(String uid, Instant stamp, LocalDateTime start, LocalDateTime end, String summary, String description,
+                      String location, String recurrenceRule, Collection<LocalDateTime> exceptionDates) throws IOException {
+        line("BEGIN:VEVENT");
+        line("UID:" + uid);
+        line("DTSTAMP:" + UTC_TIME.format(stamp.atOffset(ZoneOffset.UTC)));
+        line("DTSTART:" + LOCAL_TIME.format(start));
+        if (end != null && end.isAfter(start)) {
+            line("DTEND:" + LOCAL_TIME.format(end));
+        }
+        text("SUMMARY", summary);
+        text("DESCRIPTION", description);
+        text("LOCATION", location);
+        if (recurrenceRule != null) {
+            line("RRULE:" + recurrenceRule);
+            if (exceptionDates != null) {
+                for (LocalDateTime exceptionDate : exceptionDates) {
+                    line("EXDATE:" + LOCAL_TIME.format(exceptionDate));
+                }
+            }
+        }
+        line("END:VEVENT");
+    }
+
+    public void endCalendar() throws IOException {
+        line("END:VCALENDAR");
+        out.flush();
+    }
+
+    private void text(String name, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        StringBuilder escaped = new StringBuilder(name.length() + value.length() + 8).append(name).append(':');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> escaped.append('\\').append(c);
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> {
+                }
+                default -> escaped.append(c);
+            }
+        }
+        line(escaped.toString());
+    }
+
+    private void line(String content) throws IOException {
+        int octets = 0;
+        int i = 0;
+        while (i < content.length()) {
+            int codePoint = content.codePointAt(i);
+            int width = utf8Length(codePoint);
+            // Continuation lines start with a space, which counts towards their 75 octets
+            if (octets + width > MAX_LINE_OCTETS) {
+                out.write("\r\n ");
+                octets = 1;
+            }
+            out.write(content, i, Character.charCount(codePoint));
+            octets += width;
+            i += Character.charCount(codePoint);
+        }
+        out.write("\r\n");
+    }
+
+    private int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        }
+        if (codePoint < 0x800) {
+            return 2;
+        }
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+}
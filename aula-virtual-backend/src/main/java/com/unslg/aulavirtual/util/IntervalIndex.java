@@ -0,0 +1,81 @@
+package com.unslg.aulavirtual.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+// Immutable interval tree over closed intervals [start, end]. Intervals are kept sorted by
+// start in primitive arrays that form an implicit balanced tree (the middle of every index
+// range is its root), and each root stores the largest end in its range. An overlap query
+// prunes subtrees that end too early or start too late, so it costs O(log n + k) and returns
+// the matches already ordered by start.
+public class IntervalIndex<T> {
+
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+    private final Object[] values;
+
+    public IntervalIndex(List<T> items, ToLongFunction<T> start, ToLongFunction<T> end) {
+        Integer[] order = new Integer[items.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> start.applyAsLong(items.get(i))));
+
+        int size = items.size();
+        starts = new long[size];
+        ends = new long[size];
+        maxEnds = new long[size];
+        values = new Object[size];
+        for (int i = 0; i < size; i++) {
+            T item = items.get(order[i]);
+            starts[i] = start.applyAsLong(item);
+            ends[i] = end.applyAsLong(item);
+            values[i] = item;
+        }
+        buildMaxEnds(0, size);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    // All intervals with start <= to and end >= from, ordered by start
+    public List<T> overlapping(long from, long to) {
+        List<T> matches = new ArrayList<>();
+        collect(0, values.length, from, to, matches);
+        return matches;
+    }
+
+    private long buildMaxEnds(int low, int high) {
+        if (low >= high) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (low + high) >>> 1;
+        long max = Math.max(ends[mid], Math.max(buildMaxEnds(low, mid), buildMaxEnds(mid + 1, high)));
+        maxEnds[mid] = max;
+        return max;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void collect(int low, int high, long from, long to, List<T> matches) {
+        if (low >= high) {
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        if (maxEnds[mid] < from) {
+            return;
+        }
+        collect(low, mid, from, to, matches);
+        if (starts[mid] > to) {
+            return;
+        }
+        if (ends[mid] >= from) {
+            matches.add((T) values[mid]);
+        }
+        collect(mid + 1, high, from, to, matches);
+    }
+}
@@ -0,0 +1,54 @@
+package com.unslg.aulavirtual.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+// Small synchronized LRU map; values should be immutable since they are shared between callers
+public class LruCache<K, V> {
+
+    private final LinkedHashMap<K, V> entries;
+
+    public LruCache(int capacity) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    // Returns the current value, or null if the given one was stored
+    public synchronized V putIfAbsent(K key, V value) {
+        return entries.putIfAbsent(key, value);
+    }
+
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void remove(K key, V value) {
+        entries.remove(key, value);
+    }
+
+    // Iterates without counting as an access, so the LRU order is left as it was
+    public synchronized void removeIf(BiPredicate<? super K, ? super V> filter) {
+        entries.entrySet().removeIf(entry -> filter.test(entry.getKey(), entry.getValue()));
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
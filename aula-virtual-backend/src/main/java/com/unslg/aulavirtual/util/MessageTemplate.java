@@ -0,0 +1,55 @@
+package com.unslg.aulavirtual.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// A text with {name} placeholders, split into literal and placeholder parts once so rendering
+// the same template for thousands of recipients is only a concatenation.
+public final class MessageTemplate {
+
+    private final String[] literals;
+    private final String[] names;
+    private final int literalLength;
+
+    private MessageTemplate(String[] literals, String[] names) {
+        this.literals = literals;
+        this.names = names;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static MessageTemplate compile(String text) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = text.indexOf('{', position);
+            int close = open < 0 ? -1 : text.indexOf('}', open);
+            if (close < 0) {
+                literals.add(text.substring(position));
+                break;
+            }
+            literals.add(text.substring(position, open));
+            names.add(text.substring(open + 1, close));
+            position = close + 1;
+        }
+        return new MessageTemplate(literals.toArray(new String[0]), names.toArray(new String[0]));
+    }
+
+    // Missing values render as empty text
+    public String render(Map<String, String> values) {
+        StringBuilder out = new StringBuilder(literalLength + names.length * 16);
+        for (int i = 0; i < names.length; i++) {
+            out.append(literals[i]);
+            String value = values.get(names[i]);
+            if (value != null) {
+                out.append(value);
+            }
+        }
+        return out.append(literals[names.length]).toString();
+    }
+}
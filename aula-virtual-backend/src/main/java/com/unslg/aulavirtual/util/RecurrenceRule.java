@@ -0,0 +1,268 @@
+package com.unslg.aulavirtual.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+
+// Subset of the RFC 5545 RRULE: FREQ=DAILY|WEEKLY|MONTHLY with INTERVAL, COUNT and/or UNTIL,
+// and BYDAY for weekly rules (weeks start on Monday). Occurrences are local wall-clock times, so
+// a weekly class keeps its hour across DST changes. Expansion jumps to the period containing the
+// window instead of walking from the series start, except monthly rules with COUNT, which have
+// to count the skipped short months.
+public final class RecurrenceRule {
+
+    public enum Frequency {
+        DAILY, WEEKLY, MONTHLY
+    }
+
+    private static final int MAX_INTERVAL = 366;
+    private static final int MAX_COUNT = 1000;
+    private static final DateTimeFormatter UNTIL_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UNTIL_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final Frequency frequency;
+    private final int interval;
+    private final Integer count;
+    private final LocalDateTime until;
+    // Ordered Monday first, the order occurrences have within a week
+    private final DayOfWeek[] byDay;
+
+    private RecurrenceRule(Frequency frequency, int interval, Integer count, LocalDateTime until, DayOfWeek[] byDay) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.count = count;
+        this.until = until;
+        this.byDay = byDay;
+    }
+
+    public static RecurrenceRule parse(String rule) {
+        Frequency frequency = null;
+        int interval = 1;
+        Integer count = null;
+        LocalDateTime until = null;
+        EnumSet<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+
+        String text = rule.trim();
+        if (text.regionMatches(true, 0, "RRULE:", 0, 6)) {
+            text = text.substring(6);
+        }
+        for (String part : text.split(";")) {
+            int separator = part.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Malformed part '" + part + "'");
+            }
+            String name = part.substring(0, separator).trim().toUpperCase(Locale.ROOT);
+            String value = part.substring(separator + 1).trim().toUpperCase(Locale.ROOT);
+            switch (name) {
+                case "FREQ" -> frequency = parseFrequency(value);
+                case "INTERVAL" -> interval = parseNumber(name, value, MAX_INTERVAL);
+                case "COUNT" -> count = parseNumber(name, value, MAX_COUNT);
+                case "UNTIL" -> until = parseUntil(value);
+                case "BYDAY" -> {
+                    for (String day : value.split(",")) {
+                        days.add(parseDay(day.trim()));
+                    }
+                }
+                case "WKST" -> {
+                    if (!"MO".equals(value)) {
+                        throw new IllegalArgumentException("Only WKST=MO is supported");
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unsupported part " + name);
+            }
+        }
+        if (frequency == null) {
+            throw new IllegalArgumentException("FREQ is required");
+        }
+        if (!days.isEmpty() && frequency != Frequency.WEEKLY) {
+            throw new IllegalArgumentException("BYDAY is only supported with FREQ=WEEKLY");
+        }
+        return new RecurrenceRule(frequency, interval, count, until, days.toArray(new DayOfWeek[0]));
+    }
+
+    // Like RFC 5545, the series start is its first occurrence, so it has to match the rule
+    public void checkStart(LocalDateTime start) {
+        if (byDay.length > 0 && !Arrays.asList(byDay).contains(start.getDayOfWeek())) {
+            throw new IllegalArgumentException("The start must fall on one of the BYDAY days");
+        }
+        if (until != null && until.isBefore(start)) {
+            throw new IllegalArgumentException("UNTIL is before the start");
+        }
+    }
+
+    // Latest possible occurrence start, or null when the series never ends. Exact for COUNT,
+    // an upper bound for UNTIL.
+    public LocalDateTime lastStart(LocalDateTime start) {
+        LocalDateTime last = until;
+        if (count != null) {
+            List<LocalDateTime> occurrences = between(start, start, until != null ? until : LocalDateTime.MAX);
+            last = occurrences.isEmpty() ? start : occurrences.get(occurrences.size() - 1);
+        }
+        return last;
+    }
+
+    // Occurrence starts of the series beginning at start that fall within [from, to], in order
+    public List<LocalDateTime> between(LocalDateTime start, LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        if (to.isBefore(start)) {
+            return occurrences;
+        }
+        LocalDateTime last = until != null && until.isBefore(to) ? until : to;
+        switch (frequency) {
+            case DAILY -> expandDaily(start, from, last, occurrences);
+            case WEEKLY -> expandWeekly(start, from, last, occurrences);
+            case MONTHLY -> expandMonthly(start, from, last, occurrences);
+        }
+        return occurrences;
+    }
+
+    private void expandDaily(LocalDateTime start, LocalDateTime from, LocalDateTime last, List<LocalDateTime> occurrences) {
+        long period = from.isAfter(start) ? ChronoUnit.DAYS.between(start, from) / interval : 0;
+        for (; count == null || period < count; period++) {
+            LocalDateTime occurrence = start.plusDays(period * interval);
+            if (occurrence.isAfter(last)) {
+                return;
+            }
+            if (!occurrence.isBefore(from)) {
+                occurrences.add(occurrence);
+            }
+        }
+    }
+
+    private void expandWeekly(LocalDateTime start, LocalDateTime from, LocalDateTime last, List<LocalDateTime> occurrences) {
+        DayOfWeek[] days = byDay.length > 0 ? byDay : new DayOfWeek[]{start.getDayOfWeek()};
+        LocalDate firstWeek = start.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalTime time = start.toLocalTime();
+
+        int firstWeekCount = 0;
+        for (DayOfWeek day : days) {
+            if (day.compareTo(start.getDayOfWeek()) >= 0) {
+                firstWeekCount++;
+            }
+        }
+        long period = 0;
+        if (from.isAfter(start)) {
+            LocalDate fromWeek = from.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            period = ChronoUnit.WEEKS.between(firstWeek, fromWeek) / interval;
+        }
+        // Index of the first occurrence of the period, for COUNT
+        long index = period == 0 ? 0 : firstWeekCount + (period - 1) * days.length;
+
+        for (; ; period++) {
+            LocalDate week = firstWeek.plusWeeks(period * interval);
+            for (DayOfWeek day : days) {
+                LocalDateTime occurrence = LocalDateTime.of(week.plusDays(day.ordinal()), time);
+                if (occurrence.isBefore(start)) {
+                    continue;
+                }
+                if ((count != null && index >= count) || occurrence.isAfter(last)) {
+                    return;
+                }
+                index++;
+                if (!occurrence.isBefore(from)) {
+                    occurrences.add(occurrence);
+                }
+            }
+        }
+    }
+
+    private void expandMonthly(LocalDateTime start, LocalDateTime from, LocalDateTime last, List<LocalDateTime> occurrences) {
+        YearMonth firstMonth = YearMonth.from(start);
+        int dayOfMonth = start.getDayOfMonth();
+        long period = count == null && from.isAfter(start) ? ChronoUnit.MONTHS.between(firstMonth, YearMonth.from(from)) / interval : 0;
+        long index = 0;
+
+        for (; ; period++) {
+            YearMonth month = firstMonth.plusMonths(period * interval);
+            if (month.atDay(1).atStartOfDay().isAfter(last)) {
+                return;
+            }
+            // Months without the day have no occurrence, as in RFC 5545
+            if (!month.isValidDay(dayOfMonth)) {
+                continue;
+            }
+            LocalDateTime occurrence = LocalDateTime.of(month.atDay(dayOfMonth), start.toLocalTime());
+            if ((count != null && index >= count) || occurrence.isAfter(last)) {
+                return;
+            }
+            index++;
+            if (!occurrence.isBefore(from)) {
+                occurrences.add(occurrence);
+            }
+        }
+    }
+
+    private static Frequency parseFrequency(String value) {
+        try {
+            return Frequency.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported FREQ " + value);
+        }
+    }
+
+    private static int parseNumber(String name, String value, int max) {
+        try {
+            int number = Integer.parseInt(value);
+            if (number < 1 || number > max) {
+                throw new IllegalArgumentException(name + " must be between 1 and " + max);
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + " " + value);
+        }
+    }
+
+    // Times are floating, so a trailing Z is accepted and read as local time
+    private static LocalDateTime parseUntil(String value) {
+        String text = value.endsWith("Z") ? value.substring(0, value.length() - 1) : value;
+        try {
+            if (text.length() == 8) {
+                return LocalDate.parse(text, UNTIL_DATE_FORMAT).atTime(LocalTime.MAX);
+            }
+            return LocalDateTime.parse(text, UNTIL_FORMAT);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid UNTIL " + value);
+        }
+    }
+
+    private static DayOfWeek parseDay(String value) {
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (day.name().startsWith(value) && value.length() == 2) {
+                return day;
+            }
+        }
+        throw new IllegalArgumentException("Invalid BYDAY " + value);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(frequency.name());
+        if (interval != 1) {
+            rule.append(";INTERVAL=").append(interval);
+        }
+        if (count != null) {
+            rule.append(";COUNT=").append(count);
+        }
+        if (until != null) {
+            rule.append(";UNTIL=").append(UNTIL_FORMAT.format(until));
+        }
+        if (byDay.length > 0) {
+            rule.append(";BYDAY=");
+            for (int i = 0; i < byDay.length; i++) {
+                rule.append(i > 0 ? "," : "").append(byDay[i].name(), 0, 2);
+            }
+        }
+        return rule.toString();
+    }
+}
@@ -0,0 +1,51 @@
+package com.unslg.aulavirtual.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// k-way merge of lists that are each already sorted by the same comparator. Only the head of
+// every source sits in the heap, so taking n items costs O(n log k) and nothing past the limit
+// is touched.
+public class SortedMerge {
+
+    public static <T> List<T> merge(List<? extends List<? extends T>> sources, Comparator<? super T> comparator, int limit) {
+        PriorityQueue<Head<T>> heap = new PriorityQueue<>(Math.max(1, sources.size()),
+                (left, right) -> comparator.compare(left.value(), right.value()));
+        for (List<? extends T> source : sources) {
+            if (!source.isEmpty()) {
+                heap.add(new Head<>(source.get(0), source, 0));
+            }
+        }
+
+        List<T> merged = new ArrayList<>(Math.min(limit, 64));
+        while (merged.size() < limit && !heap.isEmpty()) {
+            Head<T> head = heap.poll();
+            merged.add(head.value());
+            int next = head.position() + 1;
+            if (next < head.source().size()) {
+                heap.add(new Head<>(head.source().get(next), head.source(), next));
+            }
+        }
+        return merged;
+    }
+
+    // Index of the first element ordered strictly after key, for resuming a keyset page
+    public static <T> int indexAfter(List<? extends T> sorted, T key, Comparator<? super T> comparator) {
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(sorted.get(mid), key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record Head<T>(T value, List<? extends T> source, int position) {
+    }
+}
@@ -0,0 +1,3 @@
+-- Course calendars are loaded per course; personal events are range-scanned per creator
+CREATE INDEX idx_calendar_events_course_start ON calendar_events(course_id, start_datetime);
+CREATE INDEX idx_calendar_events_creator_start ON calendar_events(created_by, start_datetime);
@@ -0,0 +1,5 @@
+-- Agenda pages seek by course and start time on every source
+CREATE INDEX idx_assignments_course_due ON assignments(course_id, due_date);
+CREATE INDEX idx_exams_course_start ON exams(course_id, start_time);
+CREATE INDEX idx_video_conferences_course_time ON video_conferences(course_id, scheduled_time);
+CREATE INDEX idx_video_conferences_host_time ON video_conferences(host_id, scheduled_time);
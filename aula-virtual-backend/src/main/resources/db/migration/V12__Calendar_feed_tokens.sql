@@ -0,0 +1,12 @@
+-- Secret tokens for the iCalendar feeds polled by external calendar apps; course_id NULL is the personal feed
+CREATE TABLE calendar_feed_tokens (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    token VARCHAR(64) NOT NULL UNIQUE,
+    user_id BIGINT NOT NULL,
+    course_id BIGINT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (course_id) REFERENCES courses(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_calendar_feed_tokens_owner ON calendar_feed_tokens(user_id, course_id);
@@ -0,0 +1,11 @@
+-- A recurring event is stored once with its rule; series_end bounds range queries (NULL: never ends)
+ALTER TABLE calendar_events
+    ADD COLUMN recurrence_rule VARCHAR(255),
+    ADD COLUMN series_end TIMESTAMP NULL;
+
+CREATE TABLE calendar_event_exdates (
+    event_id BIGINT NOT NULL,
+    occurrence_start TIMESTAMP NOT NULL,
+    PRIMARY KEY (event_id, occurrence_start),
+    FOREIGN KEY (event_id) REFERENCES calendar_events(id) ON DELETE CASCADE
+);
@@ -0,0 +1,18 @@
+-- One row per course-wide notification; the worker walks the roster in chunks and records how far it got
+CREATE TABLE notification_jobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    type ENUM('ASSIGNMENT', 'EXAM', 'ANNOUNCEMENT') NOT NULL,
+    entity_id BIGINT NOT NULL,
+    course_id BIGINT NOT NULL,
+    status ENUM('PENDING', 'DONE', 'FAILED') NOT NULL DEFAULT 'PENDING',
+    last_student_id BIGINT NOT NULL DEFAULT 0,
+    recipients INT NOT NULL DEFAULT 0,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    last_error VARCHAR(500),
+    created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    finished_at TIMESTAMP(3) NULL,
+    FOREIGN KEY (course_id) REFERENCES courses(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_notification_jobs_due ON notification_jobs(status, next_attempt_at);
@@ -0,0 +1,17 @@
+ALTER TABLE users ADD COLUMN notification_mode ENUM('IMMEDIATE', 'DAILY_DIGEST') NOT NULL DEFAULT 'IMMEDIATE';
+
+-- Notifications waiting for a user's daily digest. The primary key both clusters a user's items
+-- together and collapses repeats (several replies in one thread, a re-published announcement).
+CREATE TABLE notification_digest_items (
+    user_id BIGINT NOT NULL,
+    type ENUM('ASSIGNMENT', 'EXAM', 'ANNOUNCEMENT', 'FORUM_REPLY') NOT NULL,
+    entity_id BIGINT NOT NULL,
+    title VARCHAR(200) NOT NULL,
+    course_name VARCHAR(150),
+    scheduled_at TIMESTAMP NULL,
+    created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    PRIMARY KEY (user_id, type, entity_id),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+INSERT INTO scheduler_leases (name) VALUES ('notification-digest');
@@ -0,0 +1,12 @@
+-- One row per reminder sent, so a rerun of the reminder job skips students already reminded
+CREATE TABLE assignment_reminders (
+    assignment_id BIGINT NOT NULL,
+    kind ENUM('DAY', 'HOUR') NOT NULL,
+    student_id BIGINT NOT NULL,
+    sent_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    PRIMARY KEY (assignment_id, kind, student_id),
+    FOREIGN KEY (assignment_id) REFERENCES assignments(id) ON DELETE CASCADE,
+    FOREIGN KEY (student_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+INSERT INTO scheduler_leases (name) VALUES ('assignment-reminders');
@@ -0,0 +1,21 @@
+-- Indexes for the remaining hot predicates. Reverse lookups from a student to their courses and
+-- submissions get composites that cover the join, so they never touch the base rows. Exam grades
+-- by exam and student are already served by uk_exam_grades_exam_student (V4).
+CREATE INDEX idx_course_enrollments_student ON course_enrollments(student_id, course_id);
+CREATE INDEX idx_submissions_student_assignment ON assignment_submissions(student_id, assignment_id);
+CREATE INDEX idx_forum_posts_parent ON forum_posts(parent_post_id, id);
+
+-- Site-wide announcement list ordered by pin and publication date
+CREATE INDEX idx_announcements_status_feed ON announcements(status, is_pinned, published_at);
+
+-- Single-column indexes that are a prefix of a composite above or in earlier migrations, and
+-- copies of UNIQUE constraints. They cost a write on every insert and never win a plan.
+DROP INDEX idx_users_username ON users;
+DROP INDEX idx_users_email ON users;
+DROP INDEX idx_users_user_code ON users;
+DROP INDEX idx_courses_code ON courses;
+DROP INDEX idx_assignments_course ON assignments;
+DROP INDEX idx_exams_course ON exams;
+DROP INDEX idx_forums_course ON forums;
+DROP INDEX idx_forum_posts_forum ON forum_posts;
+DROP INDEX idx_announcements_status ON announcements;
@@ -0,0 +1,24 @@
+-- Pooled identifiers for entities saved through JPA. Hibernate reserves blocks of ids from this
+-- table (next_val holds the highest id already reserved), so inserts no longer need the
+-- generated key back and can be sent as JDBC batches. The AUTO_INCREMENT columns stay for rows
+-- written with plain SQL, which must therefore not insert into these tables without an id.
+CREATE TABLE id_generators (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT
+);
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'users', COALESCE(MAX(id), 0) FROM users
+UNION ALL SELECT 'courses', COALESCE(MAX(id), 0) FROM courses
+UNION ALL SELECT 'course_units', COALESCE(MAX(id), 0) FROM course_units
+UNION ALL SELECT 'assignments', COALESCE(MAX(id), 0) FROM assignments
+UNION ALL SELECT 'assignment_submissions', COALESCE(MAX(id), 0) FROM assignment_submissions
+UNION ALL SELECT 'exams', COALESCE(MAX(id), 0) FROM exams
+UNION ALL SELECT 'exam_grades', COALESCE(MAX(id), 0) FROM exam_grades
+UNION ALL SELECT 'forums', COALESCE(MAX(id), 0) FROM forums
+UNION ALL SELECT 'forum_posts', COALESCE(MAX(id), 0) FROM forum_posts
+UNION ALL SELECT 'calendar_events', COALESCE(MAX(id), 0) FROM calendar_events
+UNION ALL SELECT 'calendar_feed_tokens', COALESCE(MAX(id), 0) FROM calendar_feed_tokens
+UNION ALL SELECT 'announcements', COALESCE(MAX(id), 0) FROM announcements
+UNION ALL SELECT 'video_conferences', COALESCE(MAX(id), 0) FROM video_conferences
+UNION ALL SELECT 'notification_jobs', COALESCE(MAX(id), 0) FROM notification_jobs;
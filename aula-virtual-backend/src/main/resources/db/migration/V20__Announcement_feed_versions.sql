@@ -0,0 +1,6 @@
+-- Version per announcement feed source (course id, 0 for site-wide), bumped in the transaction
+-- that changes one of its announcements. Nodes poll it to drop cached feeds changed elsewhere.
+CREATE TABLE announcement_feed_versions (
+    source_id BIGINT PRIMARY KEY,
+    version BIGINT NOT NULL
+);
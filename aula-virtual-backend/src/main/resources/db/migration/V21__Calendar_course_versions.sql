@@ -0,0 +1,6 @@
+-- Version per course calendar, bumped in the transaction that changes one of the course's events.
+-- Nodes poll it to drop cached course calendars changed elsewhere.
+CREATE TABLE calendar_course_versions (
+    course_id BIGINT PRIMARY KEY,
+    version BIGINT NOT NULL
+);
@@ -0,0 +1,4 @@
+-- Per-course weights used by the gradebook; NULL falls back to the app.gradebook defaults
+ALTER TABLE courses
+    ADD COLUMN exam_weight DOUBLE NULL,
+    ADD COLUMN assignment_weight DOUBLE NULL;
@@ -0,0 +1,58 @@
+-- Two concurrent first submissions could each insert a row. Before the unique key is added, the
+-- extra rows are moved to assignment_submission_duplicates for review: per student the graded row
+-- is kept, or the earliest one when none or several are graded. Uploaded files are not touched.
+CREATE TABLE assignment_submission_duplicates (
+    id BIGINT PRIMARY KEY,
+    submission_text TEXT,
+    file_url VARCHAR(500),
+    file_name VARCHAR(200),
+    grade DOUBLE,
+    feedback TEXT,
+    status ENUM('SUBMITTED', 'GRADED', 'LATE') NOT NULL,
+    assignment_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    submission_date TIMESTAMP NULL,
+    updated_at TIMESTAMP NULL,
+    graded_at TIMESTAMP NULL,
+    kept_submission_id BIGINT NOT NULL,
+    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO assignment_submission_duplicates (id, submission_text, file_url, file_name, grade, feedback, status,
+                                              assignment_id, student_id, submission_date, updated_at, graded_at,
+                                              kept_submission_id)
+SELECT s.id, s.submission_text, s.file_url, s.file_name, s.grade, s.feedback, s.status,
+       s.assignment_id, s.student_id, s.submission_date, s.updated_at, s.graded_at, k.id
+FROM assignment_submissions s
+JOIN assignment_submissions k
+  ON k.assignment_id = s.assignment_id AND k.student_id = s.student_id AND k.id <> s.id
+ AND ((k.grade IS NOT NULL AND s.grade IS NULL) OR ((k.grade IS NULL) = (s.grade IS NULL) AND k.id < s.id))
+WHERE NOT EXISTS (
+    SELECT 1 FROM assignment_submissions b
+    WHERE b.assignment_id = k.assignment_id AND b.student_id = k.student_id AND b.id <> k.id
+      AND ((b.grade IS NOT NULL AND k.grade IS NULL) OR ((b.grade IS NULL) = (k.grade IS NULL) AND b.id < k.id)));
+
+DELETE s FROM assignment_submissions s
+JOIN assignment_submission_duplicates d ON d.id = s.id;
+
+ALTER TABLE assignment_submissions
+    ADD CONSTRAINT uk_assignment_submissions_assignment_student UNIQUE (assignment_id, student_id);
+
+-- Per-assignment submission counters, kept in step with assignment_submissions by AssignmentService
+CREATE TABLE assignment_submission_stats (
+    assignment_id BIGINT PRIMARY KEY,
+    submitted_count INT NOT NULL DEFAULT 0,
+    graded_count INT NOT NULL DEFAULT 0,
+    late_count INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (assignment_id) REFERENCES assignments(id) ON DELETE CASCADE
+);
+
+INSERT INTO assignment_submission_stats (assignment_id, submitted_count, graded_count, late_count)
+SELECT a.id,
+       COUNT(s.id),
+       COUNT(s.grade),
+       COALESCE(SUM(s.submission_date > a.due_date), 0)
+FROM assignments a
+LEFT JOIN assignment_submissions s ON s.assignment_id = a.id
+GROUP BY a.id;
@@ -0,0 +1,8 @@
+-- Answers autosaved by the exam session engine; answers_version guards against out-of-order batch writes
+ALTER TABLE exam_grades
+    ADD COLUMN answers MEDIUMTEXT NULL,
+    ADD COLUMN answers_version BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN answers_saved_at TIMESTAMP NULL,
+    ADD CONSTRAINT uk_exam_grades_exam_student UNIQUE (exam_id, student_id);
+
+CREATE INDEX idx_exam_grades_status ON exam_grades(status);
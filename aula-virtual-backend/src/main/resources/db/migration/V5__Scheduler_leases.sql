@@ -0,0 +1,15 @@
+-- Lease row per background job; the holder is the only node that runs the job
+CREATE TABLE scheduler_leases (
+    name VARCHAR(100) PRIMARY KEY,
+    owner VARCHAR(100),
+    expires_at TIMESTAMP NULL
+);
+
+INSERT INTO scheduler_leases (name) VALUES ('transition-scheduler'), ('submission-stats');
+
+-- Sliding-window lookups of upcoming time-driven transitions
+CREATE INDEX idx_exams_status_start ON exams(status, start_time);
+CREATE INDEX idx_exams_status_end ON exams(status, end_time);
+CREATE INDEX idx_assignments_status_due ON assignments(status, due_date);
+CREATE INDEX idx_video_conferences_status_time ON video_conferences(status, scheduled_time);
+CREATE INDEX idx_announcements_status_scheduled ON announcements(status, scheduled_at);
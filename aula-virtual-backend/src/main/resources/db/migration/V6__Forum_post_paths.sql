@@ -0,0 +1,34 @@
+-- Materialized path: one fixed-width base-36 segment per ancestor, so ordering by path
+-- yields a depth-first walk of each thread and a subtree is a contiguous index range
+ALTER TABLE forum_posts
+    ADD COLUMN root_post_id BIGINT,
+    ADD COLUMN depth INT NOT NULL DEFAULT 0,
+    ADD COLUMN path VARCHAR(255) CHARACTER SET ascii COLLATE ascii_bin NOT NULL DEFAULT '',
+    ADD COLUMN reply_count INT NOT NULL DEFAULT 0;
+
+UPDATE forum_posts p
+JOIN (
+    WITH RECURSIVE tree (id, root_id, depth, path) AS (
+        SELECT id, id, 0, CAST(LPAD(CONV(id, 10, 36), 8, '0') AS CHAR(255))
+        FROM forum_posts
+        WHERE parent_post_id IS NULL
+        UNION ALL
+        SELECT c.id, t.root_id, t.depth + 1, CONCAT(t.path, LPAD(CONV(c.id, 10, 36), 8, '0'))
+        FROM forum_posts c
+        JOIN tree t ON c.parent_post_id = t.id
+    )
+    SELECT id, root_id, depth, path FROM tree
+) t ON t.id = p.id
+SET p.root_post_id = t.root_id, p.depth = t.depth, p.path = t.path;
+
+UPDATE forum_posts p
+JOIN (
+    SELECT parent_post_id, COUNT(*) AS replies
+    FROM forum_posts
+    WHERE parent_post_id IS NOT NULL
+    GROUP BY parent_post_id
+) r ON r.parent_post_id = p.id
+SET p.reply_count = r.replies;
+
+CREATE INDEX idx_forum_posts_forum_path ON forum_posts(forum_id, path);
+CREATE INDEX idx_forum_posts_forum_parent ON forum_posts(forum_id, parent_post_id, id);
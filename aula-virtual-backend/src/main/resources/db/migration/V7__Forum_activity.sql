@@ -0,0 +1,24 @@
+-- Counters and last activity are maintained by post creation and deletion
+ALTER TABLE forums
+    ADD COLUMN post_count INT NOT NULL DEFAULT 0,
+    ADD COLUMN reply_count INT NOT NULL DEFAULT 0;
+
+UPDATE forums f
+LEFT JOIN (
+    SELECT forum_id,
+           SUM(CASE WHEN parent_post_id IS NULL THEN 1 ELSE 0 END) AS posts,
+           SUM(CASE WHEN parent_post_id IS NULL THEN 0 ELSE 1 END) AS replies,
+           MAX(created_at) AS last_post_at
+    FROM forum_posts
+    GROUP BY forum_id
+) p ON p.forum_id = f.id
+SET f.post_count = COALESCE(p.posts, 0),
+    f.reply_count = COALESCE(p.replies, 0),
+    f.last_activity = COALESCE(p.last_post_at, f.created_at, CURRENT_TIMESTAMP),
+    f.updated_at = f.updated_at;
+
+ALTER TABLE forums MODIFY last_activity TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+-- Keyset pagination of the activity feeds, per course and global
+CREATE INDEX idx_forums_course_activity ON forums(course_id, last_activity, id);
+CREATE INDEX idx_forums_activity ON forums(last_activity, id);
@@ -0,0 +1,10 @@
+-- One compressed bitmap of read post ids per user and forum (see CompressedBitmap)
+CREATE TABLE forum_read_state (
+    user_id BIGINT NOT NULL,
+    forum_id BIGINT NOT NULL,
+    read_bitmap MEDIUMBLOB NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, forum_id),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (forum_id) REFERENCES forums(id) ON DELETE CASCADE
+);
@@ -0,0 +1,2 @@
+-- Per-course feed lists: published announcements of one course (or site-wide) in feed order
+CREATE INDEX idx_announcements_course_feed ON announcements(course_id, status, is_pinned, published_at);
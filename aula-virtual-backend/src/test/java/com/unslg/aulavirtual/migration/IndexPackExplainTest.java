@@ -0,0 +1,321 @@
+package com.unslg.aulavirtual.migration;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Replays the schema part of the Flyway migrations on H2 and checks that the hot lookups the
+// index pack (V18) targets are planned on an index rather than a full table scan.
+class IndexPackExplainTest {
+
+    private static final Path MIGRATIONS = Paths.get("src/main/resources/db/migration");
+    private static final Pattern VERSION = Pattern.compile("^V(\\d+)__.*\\.sql$");
+    private static final Pattern ALTER_TABLE = Pattern.compile("(?is)^(ALTER\\s+TABLE\\s+\\S+)\\s+(.*)$");
+    private static final Pattern DROP_INDEX = Pattern.compile("(?is)^DROP\\s+INDEX\\s+(\\w+)\\s+ON\\s+(\\w+)$");
+
+    private static final List<String> droppedIndexes = new ArrayList<>();
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrate() throws IOException {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:index-pack;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        List<Path> scripts;
+        try (Stream<Path> files = Files.list(MIGRATIONS)) {
+            scripts = files.filter(path -> VERSION.matcher(path.getFileName().toString()).matches())
+                    .sorted(Comparator.comparingInt(IndexPackExplainTest::versionOf))
+                    .toList();
+        }
+        for (Path script : scripts) {
+            for (String statement : statementsOf(script)) {
+                apply(statement);
+            }
+        }
+        dropImplicitForeignKeyIndexes();
+    }
+
+    @Test
+    void reverseLookupsFromAStudentUseAnIndex() {
+        assertIndexed("SELECT course_id FROM course_enrollments WHERE student_id = 1", "course_enrollments");
+        assertIndexed("SELECT assignment_id, grade FROM assignment_submissions WHERE student_id = 1", "assignment_submissions");
+        assertIndexed("SELECT status FROM exam_grades WHERE exam_id = 1 AND student_id = 1", "exam_grades");
+    }
+
+    @Test
+    void repliesToAPostUseAnIndex() {
+        assertIndexed("SELECT id FROM forum_posts WHERE parent_post_id = 1 ORDER BY id", "forum_posts");
+    }
+
+    @Test
+    void announcementFeedsUseAnIndex() {
+        assertIndexed("SELECT id FROM announcements WHERE status = 'PUBLISHED' AND course_id IS NULL " +
+                "ORDER BY is_pinned DESC, published_at DESC, id DESC", "announcements");
+        assertIndexed("SELECT id FROM announcements WHERE status = 'PUBLISHED' AND course_id = 1 " +
+                "ORDER BY is_pinned DESC, published_at DESC, id DESC", "announcements");
+    }
+
+    @Test
+    void droppedIndexesAreGone() {
+        assertThat(droppedIndexes).isNotEmpty();
+        List<String> remaining = jdbcTemplate.queryForList("SELECT index_name FROM information_schema.indexes " +
+                "WHERE table_schema = 'public'", String.class);
+        assertThat(remaining).doesNotContainAnyElementsOf(droppedIndexes);
+    }
+
+    // Repository lookups the dropped single-column indexes used to serve; a UNIQUE constraint or a
+    // composite with the same leading column must still serve each of them
+    @Test
+    void usersByLoginKeysUseAnIndex() {
+        // UserRepository.findByUsername / existsByUsername, findByEmail / existsByEmail, findByUserCode / existsByUserCode
+        assertIndexed("SELECT id FROM users WHERE username = 'admin'", "users");
+        assertIndexed("SELECT id FROM users WHERE email = 'admin@unslg.edu.pe'", "users");
+        assertIndexed("SELECT id FROM users WHERE user_code = 'ADM001'", "users");
+    }
+
+    @Test
+    void coursesByCodeUseAnIndex() {
+        // CourseRepository.findByCode / existsByCode
+        assertIndexed("SELECT id FROM courses WHERE code = 'INF-101'", "courses");
+    }
+
+    @Test
+    void assignmentsByCourseUseAnIndex() {
+        // AssignmentRepository.findByCourse / findByCourseId, findResponsesByCourseId, findIdsByCourseIds
+        assertIndexed("SELECT * FROM assignments WHERE course_id = 1", "assignments");
+        assertIndexed("SELECT a.id FROM assignments a JOIN courses c ON c.id = a.course_id WHERE c.id = 1 " +
+                "ORDER BY a.due_date", "assignments");
+        assertIndexed("SELECT id, course_id FROM assignments WHERE course_id IN (1, 2, 3)", "assignments");
+        // AssignmentRepository.findAgendaPage and the calendar feed scope
+        assertIndexed("SELECT id FROM assignments WHERE course_id IN (1, 2) AND status <> 'INACTIVE' " +
+                "AND (due_date > '2024-01-01' OR (due_date = '2024-01-01' AND id > 5)) AND due_date <= '2024-02-01' " +
+                "ORDER BY due_date, id", "assignments");
+        assertIndexed("SELECT MAX(updated_at), COUNT(*) FROM assignments WHERE course_id IN (1, 2) " +
+                "AND status <> 'INACTIVE'", "assignments");
+    }
+
+    @Test
+    void examsByCourseUseAnIndex() {
+        // ExamRepository.findByCourse / findByCourseId, findResponsesByCourseId, findAgendaPage, findFeedItemsAfter
+        assertIndexed("SELECT * FROM exams WHERE course_id = 1", "exams");
+        assertIndexed("SELECT e.id FROM exams e JOIN courses c ON c.id = e.course_id WHERE c.id = 1 " +
+                "ORDER BY e.start_time", "exams");
+        assertIndexed("SELECT id FROM exams WHERE course_id IN (1, 2) " +
+                "AND (start_time > '2024-01-01' OR (start_time = '2024-01-01' AND id > 5)) " +
+                "AND start_time <= '2024-02-01' ORDER BY start_time, id", "exams");
+        assertIndexed("SELECT id, title, updated_at FROM exams WHERE course_id IN (1, 2)", "exams");
+    }
+
+    @Test
+    void forumsByCourseUseAnIndex() {
+        // ForumRepository.findByCourse / findByCourseId and the course activity feed
+        assertIndexed("SELECT * FROM forums WHERE course_id = 1", "forums");
+        assertIndexed("SELECT id FROM forums WHERE course_id = 1 AND (last_activity < '2024-01-01' " +
+                "OR (last_activity = '2024-01-01' AND id < 5)) ORDER BY last_activity DESC, id DESC", "forums");
+    }
+
+    @Test
+    void forumPostsByForumUseAnIndex() {
+        // ForumPostRepository: root page, path range, root ids and subtree count by forum
+        assertIndexed("SELECT id FROM forum_posts WHERE forum_id = 1 AND parent_post_id IS NULL AND id < 100 " +
+                "ORDER BY id DESC", "forum_posts");
+        assertIndexed("SELECT id FROM forum_posts WHERE forum_id = 1 AND path >= '0001' AND path < '0002' " +
+                "AND depth <= 3 ORDER BY path", "forum_posts");
+        assertIndexed("SELECT id, root_post_id FROM forum_posts WHERE forum_id = 1", "forum_posts");
+        assertIndexed("SELECT COUNT(*) FROM forum_posts WHERE forum_id = 1 AND path LIKE '0001%'", "forum_posts");
+    }
+
+    @Test
+    void announcementsByStatusUseAnIndex() {
+        // AnnouncementRepository.findByStatus, findPublished, findScheduledBefore
+        assertIndexed("SELECT * FROM announcements WHERE status = 'PUBLISHED'", "announcements");
+        assertIndexed("SELECT id FROM announcements WHERE status = 'PUBLISHED' " +
+                "ORDER BY is_pinned DESC, published_at DESC", "announcements");
+        assertIndexed("SELECT id, scheduled_at FROM announcements WHERE status = 'SCHEDULED' " +
+                "AND scheduled_at <= '2024-01-01'", "announcements");
+    }
+
+    @Test
+    void noIndexRepeatsTheColumnsOfAnother() {
+        Map<String, String> seen = new HashMap<>();
+        List<String> duplicates = new ArrayList<>();
+        jdbcTemplate.query("SELECT table_name, index_name, " +
+                "LISTAGG(column_name, ',') WITHIN GROUP (ORDER BY ordinal_position) AS columns " +
+                "FROM information_schema.index_columns WHERE table_schema = 'public' " +
+                "GROUP BY table_name, index_name", rs -> {
+            String key = rs.getString("table_name") + "(" + rs.getString("columns") + ")";
+            String previous = seen.putIfAbsent(key, rs.getString("index_name"));
+            if (previous != null) {
+                duplicates.add(key + ": " + previous + ", " + rs.getString("index_name"));
+            }
+        });
+        assertThat(duplicates).isEmpty();
+    }
+
+    private static void assertIndexed(String sql, String table) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        assertThat(plan).as(sql).doesNotContain("public." + table + ".tableScan");
+    }
+
+    // Data backfills are skipped (the tables are empty), and multi-clause ALTER TABLE statements
+    // are split because H2 takes one clause at a time
+    private static void apply(String statement) {
+        if (statement.matches("(?is)^(INSERT|UPDATE|DELETE)\\b.*")) {
+            return;
+        }
+        for (String single : splitAlterTable(statement)) {
+            Matcher drop = DROP_INDEX.matcher(single);
+            if (drop.matches()) {
+                dropIndex(drop.group(2).toLowerCase(), drop.group(1).toLowerCase());
+            } else {
+                jdbcTemplate.execute(single.replaceAll("(?i)CHARACTER SET \\w+ COLLATE \\w+ ", ""));
+            }
+        }
+    }
+
+    // MySQL refuses to drop the last index that starts with a foreign key's columns, and otherwise
+    // moves the key to another such index. H2 keeps an index of its own per key and refuses to drop
+    // an index a key is bound to, so the MySQL rule is checked here and the bound key is dropped;
+    // the plans under test do not depend on it.
+    private static void dropIndex(String table, String index) {
+        Map<String, List<String>> indexes = indexColumnsOf(table);
+        Set<String> implicit = implicitForeignKeyIndexes();
+        for (Map<String, Object> key : foreignKeysOf(table)) {
+            String name = (String) key.get("constraint_name");
+            List<String> columns = columnsOf(name);
+            if (!leadsWith(indexes.getOrDefault(index, List.of()), columns)) {
+                continue;
+            }
+            assertThat(indexes.entrySet()).as("another index on " + table + " serves " + columns + " once " + index + " is dropped")
+                    .anyMatch(other -> !other.getKey().equals(index) && !implicit.contains(other.getKey())
+                            && leadsWith(other.getValue(), columns));
+            if (index.equals(key.get("index_name"))) {
+                dropConstraint(table, name);
+            }
+        }
+        jdbcTemplate.execute("DROP INDEX " + index + " ON " + table);
+        droppedIndexes.add(index);
+    }
+
+    // MySQL also drops the implicit index of a foreign key as soon as the migrations create another
+    // one that starts with the key's columns, so such keys are dropped with their H2 index and the
+    // plans only see the indexes MySQL would have
+    private static void dropImplicitForeignKeyIndexes() {
+        Set<String> implicit = implicitForeignKeyIndexes();
+        jdbcTemplate.query("SELECT table_name, constraint_name, index_name FROM information_schema.table_constraints " +
+                "WHERE table_schema = 'public' AND constraint_type = 'FOREIGN KEY'", rs -> {
+            String table = rs.getString("table_name");
+            String key = rs.getString("constraint_name");
+            List<String> columns = columnsOf(key);
+            if (implicit.contains(rs.getString("index_name")) && indexColumnsOf(table).entrySet().stream()
+                    .anyMatch(other -> !implicit.contains(other.getKey()) && leadsWith(other.getValue(), columns))) {
+                dropConstraint(table, key);
+            }
+        });
+    }
+
+    // Indexes H2 generated for foreign keys; the migrations only use lower case names
+    private static Set<String> implicitForeignKeyIndexes() {
+        Set<String> implicit = new HashSet<>();
+        for (Map<String, Object> key : foreignKeysOf(null)) {
+            String index = (String) key.get("index_name");
+            if (!index.equals(index.toLowerCase())) {
+                implicit.add(index);
+            }
+        }
+        return implicit;
+    }
+
+    private static List<Map<String, Object>> foreignKeysOf(String table) {
+        return jdbcTemplate.queryForList("SELECT constraint_name, index_name FROM information_schema.table_constraints " +
+                "WHERE table_schema = 'public' AND constraint_type = 'FOREIGN KEY' AND (? IS NULL OR table_name = ?)", table, table);
+    }
+
+    private static Map<String, List<String>> indexColumnsOf(String table) {
+        Map<String, List<String>> indexes = new HashMap<>();
+        jdbcTemplate.query("SELECT index_name, column_name FROM information_schema.index_columns " +
+                "WHERE table_schema = 'public' AND table_name = ? ORDER BY index_name, ordinal_position", rs -> {
+            indexes.computeIfAbsent(rs.getString("index_name"), name -> new ArrayList<>()).add(rs.getString("column_name"));
+        }, table);
+        return indexes;
+    }
+
+    private static boolean leadsWith(List<String> indexColumns, List<String> columns) {
+        return indexColumns.size() >= columns.size()
+                && Set.copyOf(indexColumns.subList(0, columns.size())).equals(Set.copyOf(columns));
+    }
+
+    private static List<String> columnsOf(String constraint) {
+        return jdbcTemplate.queryForList("SELECT column_name FROM information_schema.key_column_usage " +
+                "WHERE constraint_name = ? ORDER BY ordinal_position", String.class, constraint);
+    }
+
+    // Generated constraint names are upper case, so they are quoted
+    private static void dropConstraint(String table, String constraint) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " DROP CONSTRAINT \"" + constraint + "\"");
+    }
+
+    private static List<String> statementsOf(Path script) throws IOException {
+        String sql = Files.readString(script, StandardCharsets.UTF_8).replaceAll("(?m)--.*$", "");
+        List<String> statements = new ArrayList<>();
+        for (String statement : sql.split(";")) {
+            if (!statement.isBlank()) {
+                statements.add(statement.trim());
+            }
+        }
+        return statements;
+    }
+
+    private static List<String> splitAlterTable(String statement) {
+        Matcher matcher = ALTER_TABLE.matcher(statement);
+        if (!matcher.matches()) {
+            return List.of(statement);
+        }
+        List<String> clauses = new ArrayList<>();
+        StringBuilder clause = new StringBuilder();
+        int depth = 0;
+        boolean quoted = false;
+        for (char c : matcher.group(2).toCharArray()) {
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted && c == '(') {
+                depth++;
+            } else if (!quoted && c == ')') {
+                depth--;
+            } else if (!quoted && depth == 0 && c == ',') {
+                clauses.add(matcher.group(1) + " " + clause.toString().trim());
+                clause.setLength(0);
+                continue;
+            }
+            clause.append(c);
+        }
+        clauses.add(matcher.group(1) + " " + clause.toString().trim());
+        return clauses;
+    }
+
+    private static int versionOf(Path script) {
+        Matcher matcher = VERSION.matcher(script.getFileName().toString());
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+}
@@ -0,0 +1,224 @@
+package com.unslg.aulavirtual.repository;
+
+import com.unslg.aulavirtual.entity.Assignment;
+import com.unslg.aulavirtual.entity.AssignmentSubmission;
+import com.unslg.aulavirtual.entity.Course;
+import com.unslg.aulavirtual.entity.User;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Inserts 10k submissions with IDENTITY keys and 10k with the pooled-lo table generator, plus 10k
+// enrollments, and logs rows/s and JDBC round trips of each run. Round trips are counted by a
+// DataSource proxy: every execute* call, including each executeBatch, is one trip to the database.
+// Excluded from the default build; run with mvn test -Pbenchmark
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.use_sql_comments=false"
+})
+@Slf4j
+class BatchInsertBenchmarkTest {
+
+    private static final int ROWS = 10_000;
+    private static final AtomicLong ROUND_TRIPS = new AtomicLong();
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private AssignmentSubmissionRepository submissionRepository;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    private User instructor;
+    private Course course;
+    private Assignment assignment;
+    private List<User> students;
+
+    // Same columns as assignment_submissions, keyed the way the table was before V19
+    @Entity
+    @Table(name = "benchmark_identity_submissions")
+    static class IdentitySubmission {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        @ManyToOne(fetch = FetchType.LAZY)
+        @JoinColumn(name = "assignment_id", nullable = false)
+        private Assignment assignment;
+
+        @ManyToOne(fetch = FetchType.LAZY)
+        @JoinColumn(name = "student_id", nullable = false)
+        private User student;
+
+        private String submissionText;
+
+        private LocalDateTime submissionDate;
+    }
+
+    @TestConfiguration
+    static class RoundTripCounting {
+
+        @Bean
+        static BeanPostProcessor countingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? counting(DataSource.class, dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        instructor = userRepository.save(user("I0"));
+        course = courseRepository.save(new Course("Benchmark", "BENCH-1", null, instructor));
+        assignment = assignmentRepository.save(new Assignment("Benchmark", null, LocalDateTime.now().plusDays(7), course));
+
+        students = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            students.add(user("S" + i));
+        }
+        userRepository.saveAll(students);
+        flushAndClear();
+    }
+
+    @Test
+    void pooledIdsBatchSubmissionInserts() {
+        long identity = measure("benchmark_identity_submissions (IDENTITY)", () -> {
+            for (User student : students) {
+                IdentitySubmission submission = new IdentitySubmission();
+                submission.assignment = assignmentRepository.getReferenceById(assignment.getId());
+                submission.student = userRepository.getReferenceById(student.getId());
+                submission.submissionText = "answer";
+                submission.submissionDate = LocalDateTime.now();
+                entityManager.persist(submission);
+            }
+        });
+        long pooled = measure("assignment_submissions (pooled-lo)", () -> submissionRepository.saveAll(submissions()));
+
+        Number identityRows = (Number) entityManager.createNativeQuery("SELECT COUNT(*) FROM benchmark_identity_submissions").getSingleResult();
+        assertThat(identityRows.longValue()).isEqualTo(ROWS);
+        assertThat(submissionRepository.count()).isEqualTo(ROWS);
+        // IDENTITY needs the generated key of every row, so Hibernate sends each insert on its own
+        assertThat(identity).isGreaterThanOrEqualTo(ROWS);
+        // pooled-lo sends one batch per batch_size rows plus a select and an update of id_generators per id block
+        assertThat(pooled).isLessThan(identity / 10);
+    }
+
+    @Test
+    void enrollmentInsertsAreBatched() {
+        Course target = courseRepository.findById(course.getId()).orElseThrow();
+        // Loaded before the timed part: a proxy from getReferenceById would be initialized by the
+        // set's hashCode, and loading a user also loads its roles
+        List<User> enrolled = userRepository.findAllById(students.stream().map(User::getId).toList());
+        Hibernate.initialize(target.getEnrolledStudents());
+
+        long roundTrips = measure("course_enrollments", () -> target.getEnrolledStudents().addAll(enrolled));
+
+        Number count = (Number) entityManager.createNativeQuery("SELECT COUNT(*) FROM course_enrollments").getSingleResult();
+        assertThat(count.longValue()).isEqualTo(ROWS);
+        assertThat(roundTrips).isEqualTo(ROWS / batchSize);
+    }
+
+    private List<AssignmentSubmission> submissions() {
+        Assignment reference = assignmentRepository.getReferenceById(assignment.getId());
+        List<AssignmentSubmission> submissions = new ArrayList<>(ROWS);
+        for (User student : students) {
+            AssignmentSubmission submission = new AssignmentSubmission(reference, userRepository.getReferenceById(student.getId()));
+            submission.setSubmissionText("answer");
+            submission.setSubmissionDate(LocalDateTime.now());
+            submissions.add(submission);
+        }
+        return submissions;
+    }
+
+    private long measure(String table, Runnable inserts) {
+        ROUND_TRIPS.set(0);
+        long start = System.nanoTime();
+        inserts.run();
+        entityManager.flush();
+        long elapsedNanos = System.nanoTime() - start;
+        long roundTrips = ROUND_TRIPS.get();
+        log.info("{} rows into {}: {} ms, {} rows/s, {} round trips", ROWS, table, elapsedNanos / 1_000_000,
+                ROWS * 1_000_000_000L / Math.max(elapsedNanos, 1), roundTrips);
+        entityManager.clear();
+        return roundTrips;
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static User user(String code) {
+        return new User(code, "user-" + code, code.toLowerCase() + "@bench.test", "secret", "Bench", code);
+    }
+
+    // Wraps the DataSource and every Connection and Statement it hands out
+    private static <T> T counting(Class<T> type, Object target) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                ROUND_TRIPS.incrementAndGet();
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+            Class<?> returnType = method.getReturnType();
+            if (result != null && (returnType == Connection.class || returnType == Statement.class
+                    || returnType == PreparedStatement.class || returnType == CallableStatement.class)) {
+                return counting(returnType, result);
+            }
+            return result;
+        }));
+    }
+}
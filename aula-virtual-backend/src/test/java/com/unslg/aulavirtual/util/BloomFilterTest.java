@@ -0,0 +1,82 @@
+package com.unslg.aulavirtual.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void hasNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (long key = 0; key < 10_000; key++) {
+            filter.put(key * 7919);
+        }
+
+        for (long key = 0; key < 10_000; key++) {
+            assertThat(filter.mightContain(key * 7919)).isTrue();
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheConfiguredOne() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        for (long key = 0; key < 100_000; key++) {
+            filter.put(key);
+        }
+
+        int falsePositives = 0;
+        for (long key = 1_000_000; key < 1_100_000; key++) {
+            if (filter.mightContain(key)) {
+                falsePositives++;
+            }
+        }
+        // Sequential ids are the common case, so the mixing has to spread them
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    void putReportsNewKeys() {
+        BloomFilter filter = new BloomFilter(1_000, 0.001);
+
+        assertThat(filter.put(42)).isTrue();
+        assertThat(filter.put(42)).isFalse();
+        assertThat(filter.mightContain(43)).isFalse();
+    }
+
+    // Bits are set with compare-and-set, so no thread's put is lost to another's
+    @Test
+    void concurrentPutsAreAllKept() throws Exception {
+        int threads = 8;
+        int keysPerThread = 20_000;
+        BloomFilter filter = new BloomFilter((long) threads * keysPerThread, 0.01);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long first = (long) t * keysPerThread;
+                results.add(executor.submit(() -> {
+                    for (long key = first; key < first + keysPerThread; key++) {
+                        filter.put(key);
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (long key = 0; key < (long) threads * keysPerThread; key++) {
+            assertThat(filter.mightContain(key)).isTrue();
+        }
+    }
+}
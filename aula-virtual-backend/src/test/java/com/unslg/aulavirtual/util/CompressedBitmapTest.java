@@ -0,0 +1,102 @@
+package com.unslg.aulavirtual.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Every operation is checked against a TreeSet holding the same values; the value ranges are
+// chosen so chunks cross the 4096-value switch from sorted arrays to bitsets
+class CompressedBitmapTest {
+
+    @Test
+    void addReportsNewValuesAcrossTheArrayToBitsetSwitch() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int value = 0; value < 10_000; value += 2) {
+            assertThat(bitmap.add(value)).isTrue();
+        }
+        for (int value = 0; value < 10_000; value += 2) {
+            assertThat(bitmap.add(value)).isFalse();
+        }
+
+        assertThat(bitmap.cardinality()).isEqualTo(5_000);
+        assertThat(bitmap.contains(4_998)).isTrue();
+        assertThat(bitmap.contains(4_999)).isFalse();
+        assertThat(bitmap.contains(-1)).isFalse();
+        assertThatThrownBy(() -> bitmap.add(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void randomOperationsMatchATreeSet() {
+        Random random = new Random(3);
+        for (int round = 0; round < 100; round++) {
+            TreeSet<Integer> leftValues = new TreeSet<>();
+            TreeSet<Integer> rightValues = new TreeSet<>();
+            CompressedBitmap left = fill(random, leftValues);
+            CompressedBitmap right = fill(random, rightValues);
+
+            assertMatches(left, leftValues);
+            assertMatches(right, rightValues);
+
+            TreeSet<Integer> intersection = new TreeSet<>(leftValues);
+            intersection.retainAll(rightValues);
+            assertThat(left.andCardinality(right)).isEqualTo(intersection.size());
+            assertThat(right.andCardinality(left)).isEqualTo(intersection.size());
+
+            left.or(right);
+            leftValues.addAll(rightValues);
+            assertMatches(left, leftValues);
+            // The union must not share chunks with its argument
+            right.add(Integer.MAX_VALUE);
+            assertThat(left.contains(Integer.MAX_VALUE)).isEqualTo(leftValues.contains(Integer.MAX_VALUE));
+        }
+    }
+
+    @Test
+    void bytesRoundTrip() {
+        Random random = new Random(5);
+        for (int round = 0; round < 50; round++) {
+            TreeSet<Integer> values = new TreeSet<>();
+            CompressedBitmap bitmap = fill(random, values);
+
+            CompressedBitmap copy = CompressedBitmap.fromBytes(bitmap.toBytes());
+
+            assertMatches(copy, values);
+            assertThat(copy.toBytes()).isEqualTo(bitmap.toBytes());
+            // The copy must keep accepting values after being read back
+            copy.add(values.isEmpty() ? 0 : values.last() + 1);
+            assertThat(copy.cardinality()).isEqualTo(values.size() + 1);
+        }
+        assertThat(CompressedBitmap.fromBytes(null).isEmpty()).isTrue();
+        assertThat(CompressedBitmap.fromBytes(new CompressedBitmap().toBytes()).isEmpty()).isTrue();
+    }
+
+    // A mix of sparse values and dense runs over a few 65536-wide chunks
+    private static CompressedBitmap fill(Random random, TreeSet<Integer> values) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        int operations = random.nextInt(3);
+        for (int op = 0; op <= operations; op++) {
+            int chunk = random.nextInt(4);
+            int base = chunk * 65_536 + random.nextInt(1_000);
+            int count = random.nextBoolean() ? random.nextInt(200) : 3_000 + random.nextInt(3_000);
+            int stride = 1 + random.nextInt(3);
+            for (int i = 0; i < count; i++) {
+                int value = base + i * stride;
+                assertThat(bitmap.add(value)).isEqualTo(values.add(value));
+            }
+        }
+        return bitmap;
+    }
+
+    private static void assertMatches(CompressedBitmap bitmap, TreeSet<Integer> values) {
+        assertThat(bitmap.cardinality()).isEqualTo(values.size());
+        assertThat(bitmap.isEmpty()).isEqualTo(values.isEmpty());
+        for (int value : values) {
+            assertThat(bitmap.contains(value)).isTrue();
+            assertThat(bitmap.contains(value + 1)).isEqualTo(values.contains(value + 1));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.unslg.aulavirtual.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Firing times are checked against the definition: a task fires on the first advance whose
+// tick reaches the deadline rounded up to a whole tick, exactly once
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void firesOnTheFirstAdvanceAtOrAfterTheDeadline() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(100, 8, 3, 0);
+
+        assertThat(wheel.schedule(250, "a")).isTrue();
+        assertThat(wheel.schedule(5_000, "b")).isTrue();
+
+        assertThat(wheel.advance(299)).isEmpty();
+        assertThat(wheel.advance(300)).containsExactly("a");
+        assertThat(wheel.advance(4_999)).isEmpty();
+        assertThat(wheel.advance(60_000)).containsExactly("b");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void rejectsDueDeadlinesAndDeadlinesPastTheHorizon() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(100, 8, 3, 1_000);
+
+        assertThat(wheel.schedule(1_000, "due")).isFalse();
+        assertThat(wheel.schedule(1_000 + wheel.getHorizonMs(), "edge")).isTrue();
+        assertThatThrownBy(() -> wheel.schedule(1_000 + 100L * 8 * 8 * 8 * 2, "far"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void randomSchedulesFireExactlyOnceAtTheirTick() {
+        Random random = new Random(13);
+        for (int round = 0; round < 50; round++) {
+            long tickMs = 1 + random.nextInt(50);
+            int wheelSize = 2 + random.nextInt(16);
+            int levels = 1 + random.nextInt(4);
+            long now = random.nextInt(1_000_000);
+            HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, levels, now);
+
+            Map<Integer, Long> dueTicks = new HashMap<>();
+            List<Integer> fired = new ArrayList<>();
+            int nextTask = 0;
+            for (int step = 0; step < 300; step++) {
+                for (int i = random.nextInt(5); i > 0; i--) {
+                    long deadline = now + random.nextLong(wheel.getHorizonMs() + 1);
+                    int task = nextTask++;
+                    if (wheel.schedule(deadline, task)) {
+                        dueTicks.put(task, (deadline + tickMs - 1) / tickMs);
+                    } else {
+                        assertThat((deadline + tickMs - 1) / tickMs).isLessThanOrEqualTo(now / tickMs);
+                    }
+                }
+
+                now += random.nextInt(random.nextBoolean() ? (int) tickMs * 3 : (int) tickMs * wheelSize * 2);
+                long tick = now / tickMs;
+                for (int task : wheel.advance(now)) {
+                    Long dueTick = dueTicks.remove(task);
+                    assertThat(dueTick).as("task %d fired twice or was never scheduled", task).isNotNull();
+                    assertThat(dueTick).isLessThanOrEqualTo(tick);
+                    fired.add(task);
+                }
+                // Anything still pending must not be due yet
+                for (long dueTick : dueTicks.values()) {
+                    assertThat(dueTick).isGreaterThan(tick);
+                }
+                assertThat(wheel.size()).isEqualTo(dueTicks.size());
+            }
+
+            wheel.advance(now + wheel.getHorizonMs() + tickMs);
+            assertThat(wheel.size()).isZero();
+        }
+    }
+
+    @Test
+    void clearDropsEveryTask() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 4, 2, 0);
+        wheel.schedule(15, "a");
+        wheel.schedule(150, "b");
+
+        wheel.clear();
+
+        assertThat(wheel.size()).isZero();
+        assertThat(wheel.advance(1_000)).isEmpty();
+    }
+}
@@ -0,0 +1,87 @@
+package com.unslg.aulavirtual.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Overlap queries are checked against a linear scan over the same intervals
+class IntervalIndexTest {
+
+    private record Interval(long start, long end, int id) {
+    }
+
+    @Test
+    void matchesClosedIntervalsOnBothEnds() {
+        IntervalIndex<Interval> index = index(List.of(new Interval(10, 20, 1), new Interval(20, 30, 2), new Interval(31, 40, 3)));
+
+        assertThat(index.overlapping(20, 20)).extracting(Interval::id).containsExactly(1, 2);
+        assertThat(index.overlapping(30, 31)).extracting(Interval::id).containsExactly(2, 3);
+        assertThat(index.overlapping(41, 50)).isEmpty();
+        assertThat(index.overlapping(0, 9)).isEmpty();
+    }
+
+    @Test
+    void longIntervalIsFoundFromAnyPartOfTheTree() {
+        List<Interval> intervals = new ArrayList<>();
+        intervals.add(new Interval(0, 1_000, 0));
+        for (int i = 1; i < 100; i++) {
+            intervals.add(new Interval(i * 10L, i * 10L + 1, i));
+        }
+        IntervalIndex<Interval> index = index(intervals);
+
+        assertThat(index.overlapping(991, 995)).extracting(Interval::id).containsExactly(0, 99);
+        assertThat(index.overlapping(503, 505)).extracting(Interval::id).containsExactly(0);
+    }
+
+    @Test
+    void emptyIndexHasNoMatches() {
+        IntervalIndex<Interval> index = index(List.of());
+
+        assertThat(index.size()).isZero();
+        assertThat(index.overlapping(Long.MIN_VALUE, Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    void queriesMatchALinearScan() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            List<Interval> intervals = new ArrayList<>();
+            int size = random.nextInt(300);
+            for (int i = 0; i < size; i++) {
+                long start = random.nextInt(10_000);
+                // Mostly short intervals, some long ones, and some that start at the same instant
+                long length = random.nextInt(10) == 0 ? random.nextInt(5_000) : random.nextInt(50);
+                intervals.add(new Interval(random.nextInt(8) == 0 ? 5_000 : start, start + length, i));
+            }
+            IntervalIndex<Interval> index = index(intervals);
+
+            for (int query = 0; query < 50; query++) {
+                long from = random.nextInt(11_000) - 500;
+                long to = from + random.nextInt(random.nextBoolean() ? 20 : 3_000);
+                assertThat(index.overlapping(from, to)).isEqualTo(scan(intervals, from, to));
+            }
+        }
+    }
+
+    // The index sort is stable, so intervals with equal starts keep their input order
+    private static List<Interval> scan(List<Interval> intervals, long from, long to) {
+        List<Interval> sorted = new ArrayList<>(intervals);
+        sorted.sort(Comparator.comparingLong(Interval::start));
+        List<Interval> matches = new ArrayList<>();
+        for (Interval interval : sorted) {
+            if (interval.start() <= to && interval.end() >= from) {
+                matches.add(interval);
+            }
+        }
+        return matches;
+    }
+
+    private static IntervalIndex<Interval> index(List<Interval> intervals) {
+        return new IntervalIndex<>(intervals, Interval::start, Interval::end);
+    }
+}
@@ -0,0 +1,244 @@
+package com.unslg.aulavirtual.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Expansion jumps to the period containing the window; every case is checked against a naive
+// walk that enumerates the series from its start and filters the window afterwards
+class RecurrenceRuleTest {
+
+    private static final String[] DAYS = {"MO", "TU", "WE", "TH", "FR", "SA", "SU"};
+
+    @Test
+    void weeklyCountAfterAJumpIncludesThePartialFirstWeek() {
+        // Starts on a Wednesday: the first week holds WE and FR, every later week MO, WE and FR
+        LocalDateTime start = LocalDateTime.of(2024, 1, 3, 10, 0);
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,WE,FR;COUNT=8");
+
+        List<LocalDateTime> late = rule.between(start, LocalDateTime.of(2024, 1, 15, 0, 0), LocalDateTime.of(2024, 2, 1, 0, 0));
+
+        // 2 + 3 occurrences before the 15th, so the 15th, 17th and 19th are the 6th to 8th
+        assertThat(late).containsExactly(
+                LocalDateTime.of(2024, 1, 15, 10, 0),
+                LocalDateTime.of(2024, 1, 17, 10, 0),
+                LocalDateTime.of(2024, 1, 19, 10, 0));
+        assertThat(rule.lastStart(start)).isEqualTo(LocalDateTime.of(2024, 1, 19, 10, 0));
+    }
+
+    @Test
+    void weeklyCountWithIntervalSkipsTheWeeksInBetween() {
+        LocalDateTime start = LocalDateTime.of(2024, 3, 7, 8, 30);
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2;BYDAY=TU,TH;COUNT=5");
+
+        assertThat(rule.between(start, LocalDateTime.of(2024, 3, 25, 0, 0), LocalDateTime.of(2024, 5, 1, 0, 0))).containsExactly(
+                LocalDateTime.of(2024, 4, 2, 8, 30),
+                LocalDateTime.of(2024, 4, 4, 8, 30));
+        assertThat(rule.between(start, start, LocalDateTime.of(2024, 12, 31, 0, 0)))
+                .isEqualTo(naive("FREQ=WEEKLY;INTERVAL=2;BYDAY=TU,TH;COUNT=5", start, start, LocalDateTime.of(2024, 12, 31, 0, 0)));
+    }
+
+    @Test
+    void monthlyOnThe31stSkipsShortMonthsWithoutCountingThem() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 31, 9, 0);
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=MONTHLY;COUNT=4");
+
+        assertThat(rule.between(start, LocalDateTime.of(2024, 4, 1, 0, 0), LocalDateTime.of(2025, 1, 1, 0, 0))).containsExactly(
+                LocalDateTime.of(2024, 5, 31, 9, 0),
+                LocalDateTime.of(2024, 7, 31, 9, 0));
+        assertThat(rule.lastStart(start)).isEqualTo(LocalDateTime.of(2024, 7, 31, 9, 0));
+    }
+
+    @Test
+    void monthlyWithoutCountJumpsOverShortMonths() {
+        LocalDateTime start = LocalDateTime.of(2023, 10, 30, 9, 0);
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=MONTHLY");
+
+        assertThat(rule.between(start, LocalDateTime.of(2024, 2, 1, 0, 0), LocalDateTime.of(2024, 3, 31, 0, 0)))
+                .containsExactly(LocalDateTime.of(2024, 3, 30, 9, 0));
+    }
+
+    @Test
+    void untilAndCountStopAtWhicheverComesFirst() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0);
+        RecurrenceRule untilFirst = RecurrenceRule.parse("FREQ=DAILY;COUNT=10;UNTIL=20240105T120000");
+        RecurrenceRule countFirst = RecurrenceRule.parse("FREQ=DAILY;COUNT=3;UNTIL=20240105T120000");
+        LocalDateTime to = LocalDateTime.of(2024, 2, 1, 0, 0);
+
+        assertThat(untilFirst.between(start, start, to)).hasSize(5).last().isEqualTo(LocalDateTime.of(2024, 1, 5, 12, 0));
+        assertThat(countFirst.between(start, start, to)).hasSize(3).last().isEqualTo(LocalDateTime.of(2024, 1, 3, 12, 0));
+        assertThat(countFirst.between(start, LocalDateTime.of(2024, 1, 3, 0, 0), to)).containsExactly(LocalDateTime.of(2024, 1, 3, 12, 0));
+        assertThat(untilFirst.lastStart(start)).isEqualTo(LocalDateTime.of(2024, 1, 5, 12, 0));
+    }
+
+    @Test
+    void untilAsADateIncludesThatWholeDay() {
+        LocalDateTime start = LocalDateTime.of(2024, 6, 3, 18, 0);
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;UNTIL=20240617");
+
+        assertThat(rule.between(start, start, LocalDateTime.of(2024, 12, 31, 0, 0))).containsExactly(
+                start, start.plusWeeks(1), start.plusWeeks(2));
+    }
+
+    @Test
+    void jumpedExpansionMatchesTheNaiveWalk() {
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            String text = randomRule(random);
+            RecurrenceRule rule = RecurrenceRule.parse(text);
+            LocalDateTime start = randomStart(random, text);
+            LocalDateTime from = start.plusHours(random.nextInt(24 * 800) - 24 * 30);
+            LocalDateTime to = from.plusHours(random.nextInt(24 * 120));
+
+            assertThat(rule.between(start, from, to))
+                    .as("%s from %s within [%s, %s]", text, start, from, to)
+                    .isEqualTo(naive(text, start, from, to));
+        }
+    }
+
+    @Test
+    void rejectsUnsupportedRules() {
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=YEARLY")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=MONTHLY;BYDAY=MO")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("INTERVAL=2")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;COUNT=0")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO").checkStart(LocalDateTime.of(2024, 1, 2, 0, 0)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void toStringRoundTrips() {
+        RecurrenceRule rule = RecurrenceRule.parse("RRULE:freq=weekly;byday=fr,mo;interval=2;count=6");
+
+        assertThat(rule.toString()).isEqualTo("FREQ=WEEKLY;INTERVAL=2;COUNT=6;BYDAY=MO,FR");
+        assertThat(RecurrenceRule.parse(rule.toString()).toString()).isEqualTo(rule.toString());
+    }
+
+    private static String randomRule(Random random) {
+        StringBuilder text = new StringBuilder();
+        int frequency = random.nextInt(3);
+        text.append(new String[]{"FREQ=DAILY", "FREQ=WEEKLY", "FREQ=MONTHLY"}[frequency]);
+        if (random.nextBoolean()) {
+            text.append(";INTERVAL=").append(1 + random.nextInt(4));
+        }
+        if (random.nextBoolean()) {
+            text.append(";COUNT=").append(1 + random.nextInt(40));
+        }
+        if (random.nextInt(3) == 0) {
+            text.append(";UNTIL=").append(LocalDate.of(2024, 1, 1).plusDays(random.nextInt(700)).toString().replace("-", ""))
+                    .append("T120000");
+        }
+        if (frequency == 1 && random.nextBoolean()) {
+            List<String> days = new ArrayList<>();
+            for (String day : DAYS) {
+                if (random.nextInt(3) == 0) {
+                    days.add(day);
+                }
+            }
+            if (!days.isEmpty()) {
+                text.append(";BYDAY=").append(String.join(",", days));
+            }
+        }
+        return text.toString();
+    }
+
+    // A start that satisfies checkStart; monthly starts favour the 29th to 31st
+    private static LocalDateTime randomStart(Random random, String text) {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, random.nextInt(24), 15 * random.nextInt(4))
+                .plusDays(random.nextInt(400));
+        if (text.startsWith("FREQ=MONTHLY") && random.nextBoolean()) {
+            YearMonth month = YearMonth.from(start);
+            start = start.withDayOfMonth(Math.min(29 + random.nextInt(3), month.lengthOfMonth()));
+        }
+        int byDay = text.indexOf("BYDAY=");
+        if (byDay >= 0) {
+            DayOfWeek first = dayOf(text.substring(byDay + 6, byDay + 8));
+            start = start.with(TemporalAdjusters.nextOrSame(first));
+        }
+        return start;
+    }
+
+    // Enumerates every occurrence from the series start, counting each, and stops at COUNT,
+    // UNTIL or the end of the window
+    private static List<LocalDateTime> naive(String text, LocalDateTime start,
+                                             LocalDateTime from, LocalDateTime to) {
+        int interval = 1;
+        Integer count = null;
+        LocalDateTime until = null;
+        EnumSet<DayOfWeek> byDay = EnumSet.noneOf(DayOfWeek.class);
+        for (String part : text.split(";")) {
+            String[] pair = part.split("=");
+            switch (pair[0]) {
+                case "INTERVAL" -> interval = Integer.parseInt(pair[1]);
+                case "COUNT" -> count = Integer.parseInt(pair[1]);
+                case "UNTIL" -> until = LocalDateTime.parse(pair[1].substring(0, 4) + "-" + pair[1].substring(4, 6) + "-"
+                        + pair[1].substring(6, 8) + "T" + pair[1].substring(9, 11) + ":" + pair[1].substring(11, 13));
+                case "BYDAY" -> {
+                    for (String day : pair[1].split(",")) {
+                        byDay.add(dayOf(day));
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        if (byDay.isEmpty()) {
+            byDay.add(start.getDayOfWeek());
+        }
+
+        List<LocalDateTime> all = new ArrayList<>();
+        LocalDateTime last = until != null && until.isBefore(to) ? until : to;
+        if (text.startsWith("FREQ=DAILY")) {
+            for (LocalDateTime occurrence = start; !occurrence.isAfter(last); occurrence = occurrence.plusDays(interval)) {
+                all.add(occurrence);
+            }
+        } else if (text.startsWith("FREQ=WEEKLY")) {
+            LocalDate week = start.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            for (; !week.atStartOfDay().isAfter(last); week = week.plusWeeks(interval)) {
+                for (DayOfWeek day : byDay) {
+                    LocalDateTime occurrence = LocalDateTime.of(week.with(TemporalAdjusters.nextOrSame(day)), start.toLocalTime());
+                    if (!occurrence.isBefore(start) && !occurrence.isAfter(last)) {
+                        all.add(occurrence);
+                    }
+                }
+            }
+        } else {
+            for (YearMonth month = YearMonth.from(start); !month.atDay(1).atStartOfDay().isAfter(last); month = month.plusMonths(interval)) {
+                if (month.isValidDay(start.getDayOfMonth())) {
+                    LocalDateTime occurrence = LocalDateTime.of(month.atDay(start.getDayOfMonth()), start.toLocalTime());
+                    if (!occurrence.isAfter(last)) {
+                        all.add(occurrence);
+                    }
+                }
+            }
+        }
+
+        List<LocalDateTime> expected = new ArrayList<>();
+        for (int i = 0; i < all.size() && (count == null || i < count); i++) {
+            if (!all.get(i).isBefore(from) && !to.isBefore(start)) {
+                expected.add(all.get(i));
+            }
+        }
+        return expected;
+    }
+
+    private static DayOfWeek dayOf(String code) {
+        for (int i = 0; i < DAYS.length; i++) {
+            if (DAYS[i].equals(code)) {
+                return DayOfWeek.of(i + 1);
+            }
+        }
+        throw new IllegalArgumentException(code);
+    }
+}
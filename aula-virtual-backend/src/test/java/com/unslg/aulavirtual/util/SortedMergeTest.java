@@ -0,0 +1,79 @@
+package com.unslg.aulavirtual.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SortedMergeTest {
+
+    private static final Comparator<long[]> ORDER = Comparator.<long[]>comparingLong(item -> item[0])
+            .thenComparingLong(item -> item[1]);
+
+    @Test
+    void mergesUpToTheLimit() {
+        List<List<Integer>> sources = List.of(List.of(1, 4, 7), List.of(), List.of(2, 3, 9), List.of(5));
+
+        assertThat(SortedMerge.merge(sources, Comparator.naturalOrder(), 5)).containsExactly(1, 2, 3, 4, 5);
+        assertThat(SortedMerge.merge(sources, Comparator.naturalOrder(), 100)).containsExactly(1, 2, 3, 4, 5, 7, 9);
+        assertThat(SortedMerge.merge(List.<List<Integer>>of(), Comparator.naturalOrder(), 10)).isEmpty();
+    }
+
+    @Test
+    void indexAfterSkipsEqualKeys() {
+        List<Integer> sorted = List.of(1, 3, 3, 3, 8);
+
+        assertThat(SortedMerge.indexAfter(sorted, 0, Comparator.naturalOrder())).isZero();
+        assertThat(SortedMerge.indexAfter(sorted, 3, Comparator.naturalOrder())).isEqualTo(4);
+        assertThat(SortedMerge.indexAfter(sorted, 5, Comparator.naturalOrder())).isEqualTo(4);
+        assertThat(SortedMerge.indexAfter(sorted, 8, Comparator.naturalOrder())).isEqualTo(5);
+    }
+
+    // Pages resumed from the last item of the previous page must reproduce the full sorted order
+    // without gaps or repeats, the way the feeds and the agenda page through their sources
+    @Test
+    void keysetPagesMatchASortOfAllSources() {
+        Random random = new Random(11);
+        for (int round = 0; round < 200; round++) {
+            List<List<long[]>> sources = new ArrayList<>();
+            List<long[]> all = new ArrayList<>();
+            int sourceCount = random.nextInt(6);
+            long id = 0;
+            for (int s = 0; s < sourceCount; s++) {
+                List<long[]> source = new ArrayList<>();
+                int size = random.nextInt(40);
+                for (int i = 0; i < size; i++) {
+                    // Few distinct keys, so ties are broken by the id across sources
+                    source.add(new long[]{random.nextInt(20), id++});
+                }
+                source.sort(ORDER);
+                sources.add(source);
+                all.addAll(source);
+            }
+            all.sort(ORDER);
+
+            int pageSize = 1 + random.nextInt(10);
+            List<long[]> paged = new ArrayList<>();
+            long[] after = null;
+            while (true) {
+                List<List<long[]>> remaining = new ArrayList<>();
+                for (List<long[]> source : sources) {
+                    int start = after != null ? SortedMerge.indexAfter(source, after, ORDER) : 0;
+                    remaining.add(source.subList(start, source.size()));
+                }
+                List<long[]> page = SortedMerge.merge(remaining, ORDER, pageSize);
+                paged.addAll(page);
+                if (page.size() < pageSize) {
+                    break;
+                }
+                after = page.get(page.size() - 1);
+            }
+
+            assertThat(paged).containsExactlyElementsOf(all);
+        }
+    }
+}